@@ -0,0 +1,74 @@
+package com.app.ss_test_bknd.config;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+import com.app.ss_test_bknd.model.Document;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.sap.olingo.jpa.processor.core.api.JPAODataMediaStorage;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
+
+/**
+ * Moves content uploaded before the media storage was used from column Content into the media storage. Documents
+ * that have content but no content reference get the reference of the stored content and their Content column is
+ * cleared. Each document is migrated in its own transaction, so a restart continues with the documents not yet
+ * migrated.<p>
+ * Only the schema given at the entities is migrated. Schemas of tenants, see
+ * {@link com.app.ss_test_bknd.util.TenantSchemaResolver}, have to be migrated by an instance that uses them as its
+ * schema.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentContentMigration implements ApplicationRunner {
+  private final EntityManagerFactory emf;
+  private final JPAODataMediaStorage mediaStorage;
+
+  @Override
+  public void run(final ApplicationArguments args) throws ODataJPAProcessException {
+    final EntityManager em = emf.createEntityManager();
+    try {
+      final List<Integer> docIds = em.createQuery(
+          "SELECT d.docId FROM Document d WHERE d.contentReference IS NULL AND d.content IS NOT NULL", Integer.class)
+          .getResultList();
+      for (final Integer docId : docIds) {
+        migrate(em, docId);
+        em.clear();
+      }
+      if (!docIds.isEmpty())
+        log.info("Moved content of {} documents into the media storage", docIds.size());
+    } finally {
+      em.close();
+    }
+  }
+
+  private void migrate(final EntityManager em, final Integer docId) throws ODataJPAProcessException {
+    final EntityTransaction transaction = em.getTransaction();
+    transaction.begin();
+    String reference = null;
+    try {
+      final Document document = em.find(Document.class, docId);
+      if (document != null && document.getContentReference() == null && document.getContent() != null) {
+        reference = mediaStorage.store(new ByteArrayInputStream(document.getContent()));
+        document.setContentReference(reference);
+        document.setContent(null);
+      }
+      transaction.commit();
+    } catch (final RuntimeException | ODataJPAProcessException e) {
+      if (transaction.isActive())
+        transaction.rollback();
+      if (reference != null)
+        mediaStorage.release(reference);
+      throw e;
+    }
+  }
+}
@@ -28,6 +28,8 @@ public class EclipseLinkJpaConfiguration extends JpaBaseConfiguration {
   private String rootPackage;
   @Value("${eclipselink.ddl.auto.create.delete}")
   private boolean ddlAuto;
+  @Value("${odata.jpa.change_set_batch_size:0}")
+  private int changeSetBatchSize;
   
   protected EclipseLinkJpaConfiguration(DataSource dataSource, JpaProperties properties,
       ObjectProvider<JtaTransactionManager> jtaTransactionManager) {
@@ -55,6 +57,11 @@ public class EclipseLinkJpaConfiguration extends JpaBaseConfiguration {
     jpaProperties.put(PersistenceUnitProperties.LOGGING_LEVEL, "FINE");
     jpaProperties.put("eclipselink.logging.level.sql", "FINE");
     jpaProperties.put("eclipselink.logging.parameters", "true");
+    // Batch writing can only be set per persistence unit. It is used by change sets, see ProcessorConfiguration
+    if(changeSetBatchSize > 0) {
+      jpaProperties.put(PersistenceUnitProperties.BATCH_WRITING, "JDBC");
+      jpaProperties.put(PersistenceUnitProperties.BATCH_WRITING_SIZE, String.valueOf(changeSetBatchSize));
+    }
     if(ddlAuto)
       jpaProperties.put(PersistenceUnitProperties.DDL_GENERATION, PersistenceUnitProperties.DROP_AND_CREATE);
     return jpaProperties;
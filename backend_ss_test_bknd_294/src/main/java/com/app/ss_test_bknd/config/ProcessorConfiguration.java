@@ -2,10 +2,17 @@ package com.app.ss_test_bknd.config;
 
 import static org.springframework.web.context.WebApplicationContext.SCOPE_REQUEST;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.HttpServletRequest;
 
 import com.sap.olingo.jpa.processor.core.database.JPA_POSTSQL_DatabaseProcessor;
 import com.app.ss_test_bknd.nameBuilder.APINameBuilder;
+import com.app.ss_test_bknd.util.TenantSchemaResolver;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.server.api.debug.DefaultDebugSupport;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,21 +20,39 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
+import com.sap.olingo.jpa.processor.core.api.JPAODataExternalRequestContext;
+import com.sap.olingo.jpa.processor.core.api.JPAODataMediaStorage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContext;
 import com.sap.olingo.jpa.processor.core.api.JPAODataServiceContext;
 import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
 import com.sap.olingo.jpa.processor.core.api.example.JPAExampleCUDRequestHandler;
+import com.sap.olingo.jpa.processor.core.api.example.JPAExampleFileMediaStorage;
 
 @Configuration
 public class ProcessorConfiguration {
+  // Schema given at the entities, which gets replaced by the schema of the tenant
+  private static final String METADATA_SCHEMA = "\"ss_test_bknd_226\"";
   @Value("${odata.jpa.punit_name}")
   private String punit;
   @Value("${odata.jpa.root_packages}") 
   private String rootPackages;
+  @Value("${odata.jpa.media_root}")
+  private String mediaRoot;
+  @Value("${odata.jpa.change_set_batch_size:0}")
+  private int changeSetBatchSize;
   
   @Bean
-  public JPAODataSessionContextAccess sessionContext(@Autowired final EntityManagerFactory emf) throws ODataException {
+  public JPAODataMediaStorage mediaStorage() throws IOException {
+    return new JPAExampleFileMediaStorage(Paths.get(mediaRoot));
+  }
+
+  @Bean
+  public JPAODataSessionContextAccess sessionContext(@Autowired final EntityManagerFactory emf,
+      @Autowired final JPAODataMediaStorage mediaStorage) throws ODataException {
 
     return JPAODataServiceContext.with()
         .setPUnit(punit)
@@ -35,17 +60,43 @@ public class ProcessorConfiguration {
         .setTypePackage(rootPackages)
             .setEdmNameBuilder(new APINameBuilder(punit))
             .setDatabaseProcessor(new JPA_POSTSQL_DatabaseProcessor())
+            .setMediaStorage(mediaStorage)
+            .setChangeSetBatchSize(changeSetBatchSize)
         .setRequestMappingPath("ss_test_bknd")
         .build();
   }
   
+  /**
+   * Requests of a tenant, see {@link TenantSchemaResolver}, read from the schema of the tenant. As only the queries of
+   * the criteria builder are mapped to that schema, modifying requests of a tenant are rejected.
+   */
   @Bean
   @Scope(scopeName = SCOPE_REQUEST)
-  public JPAODataRequestContext requestContext() {
+  public JPAODataRequestContext requestContext(@Autowired final JPAODataSessionContextAccess sessionContext,
+      @Autowired final HttpServletRequest request, @Autowired final TenantSchemaResolver tenantResolver) {
 
-    return JPAODataRequestContext.with()
+    final JPAODataExternalRequestContext.Builder builder = JPAODataRequestContext.with()
         .setCUDRequestHandler(new JPAExampleCUDRequestHandler())
-        .setDebugSupport(new DefaultDebugSupport())
-        .build();
+        .setDebugSupport(new DefaultDebugSupport());
+    tenantResolver.resolveSchema(request)
+        .ifPresent(schema -> builder.setEntityManager(createTenantEntityManager(sessionContext, schema)));
+    return builder.build();
+  }
+
+  private EntityManager createTenantEntityManager(final JPAODataSessionContextAccess sessionContext,
+      final String schema) {
+
+    final EntityManager em = sessionContext.getEntityManagerFactory()
+        .orElseThrow(() -> new IllegalStateException("No entity manager factory"))
+        .createEntityManager(Collections.singletonMap(ProcessorEntityManager.SCHEMA_MAPPING,
+            Collections.singletonMap(METADATA_SCHEMA, schema)));
+    if (!(em instanceof ProcessorEntityManager)) {
+      em.close();
+      throw new IllegalStateException("Schema of tenant requires the criteria builder extension");
+    }
+    // The request handler only closes entity managers it has created itself
+    RequestContextHolder.currentRequestAttributes().registerDestructionCallback("tenantEntityManager", em::close,
+        RequestAttributes.SCOPE_REQUEST);
+    return em;
   }
 }
\ No newline at end of file
@@ -60,6 +60,7 @@ import javax.persistence.OneToOne;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 import javax.persistence.Lob;
+import com.sap.olingo.jpa.metadata.core.edm.annotation.EdmIgnore;
 import com.sap.olingo.jpa.metadata.core.edm.annotation.EdmMediaStream;
 
 @Entity(name = "Document")
@@ -90,9 +91,15 @@ public class Document {
   @Column(name = "\"FileDescription\"", nullable = true )
   private String fileDescription;
   
+  // Content uploaded before the media storage was used. It is kept until it has been moved into the storage.
+  @EdmIgnore
   @Column(name = "\"Content\"")
-  @EdmMediaStream(contentTypeAttribute = "docFileType")
   private byte[] content;
+
+  // Reference of the content within the media storage, which is the SHA-256 hash of the content
+  @Column(name = "\"ContentReference\"", length = 64)
+  @EdmMediaStream(contentTypeAttribute = "docFileType")
+  private String contentReference;
   
   @Column(name = "\"DocFileType\"")
   private String docFileType;
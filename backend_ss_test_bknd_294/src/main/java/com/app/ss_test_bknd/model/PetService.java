@@ -10,6 +10,7 @@ import javax.persistence.Inheritance;
 import javax.persistence.Table;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
+import javax.persistence.SequenceGenerator;
 
 
  
@@ -71,7 +72,10 @@ public class PetService {
   }
 	  
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  // Keys are taken from the sequence of the serial column in blocks, so inserts can be written in JDBC batches
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "serviceIdSequence")
+  @SequenceGenerator(name = "serviceIdSequence", schema = "\"ss_test_bknd_226\"",
+      sequenceName = "\"PetService_ServiceId_seq\"", allocationSize = 50)
   @Column(name = "\"ServiceId\"", nullable = true )
   private Integer serviceId;
 	  
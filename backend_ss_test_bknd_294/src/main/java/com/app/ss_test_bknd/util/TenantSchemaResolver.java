@@ -0,0 +1,42 @@
+package com.app.ss_test_bknd.util;
+
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletRequest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Determines the database schema of the tenant of a request. The tenant is taken from claim {@value #TENANT_CLAIM} of
+ * the JWT. If the token does not contain the claim, header {@value #TENANT_HEADER} is used, which shall only be set
+ * by a trusted gateway. Requests without tenant use the schema given at the entities.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantSchemaResolver {
+  public static final String TENANT_CLAIM = "tenant";
+  public static final String TENANT_HEADER = "X-Tenant";
+  private static final String BEARER = "Bearer ";
+  private final JwtTokenUtil tokenUtil;
+
+  /**
+   * @return The quoted schema of the tenant or empty, if the request has no tenant
+   */
+  public Optional<String> resolveSchema(final HttpServletRequest request) {
+    return resolveTenant(request).map(tenant -> "\"" + tenant + "\"");
+  }
+
+  private Optional<String> resolveTenant(final HttpServletRequest request) {
+    final String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (authorization != null && authorization.startsWith(BEARER)) {
+      final String tenant = tokenUtil.getClaimFromToken(authorization.substring(BEARER.length()),
+          claims -> claims.get(TENANT_CLAIM, String.class));
+      if (tenant != null && !tenant.isEmpty())
+        return Optional.of(tenant);
+    }
+    return Optional.ofNullable(request.getHeader(TENANT_HEADER))
+        .filter(tenant -> !tenant.isEmpty());
+  }
+}
@@ -5,10 +5,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Collection;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.app.ss_test_bknd.SpringApp;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.junit.jupiter.api.AfterEach;
@@ -339,6 +342,147 @@ class ControllerTest {
 	
 
 	
+  @Test
+  void  testCreateDocumentStreamsMediaContent() {
+    final byte[] content = createMediaContent(100000);
+    final Integer docId = given()
+        .contentType("image/png")
+        .body(content)
+        .when()
+        .post("/ss_test_bknd/Documents")
+        .then()
+        .statusCode(HttpStatusCode.CREATED.getStatusCode())
+        .extract()
+        .path("DocId");
+
+    final byte[] act = given()
+        .when()
+        .get("/ss_test_bknd/Documents(" + docId + ")/$value")
+        .then()
+        .statusCode(HttpStatusCode.OK.getStatusCode())
+        .contentType("image/png")
+        .extract()
+        .asByteArray();
+    assertArrayEquals(content, act);
+  }
+
+  @Test
+  void  testUpdateDocumentStreamsMediaContent() {
+    final Integer docId = given()
+        .contentType("image/png")
+        .body(createMediaContent(10))
+        .when()
+        .post("/ss_test_bknd/Documents")
+        .then()
+        .statusCode(HttpStatusCode.CREATED.getStatusCode())
+        .extract()
+        .path("DocId");
+    final byte[] content = createMediaContent(50000);
+    given()
+        .contentType("image/jpeg")
+        .body(content)
+        .when()
+        .put("/ss_test_bknd/Documents(" + docId + ")/$value")
+        .then()
+        .statusCode(HttpStatusCode.NO_CONTENT.getStatusCode());
+
+    final byte[] act = given()
+        .when()
+        .get("/ss_test_bknd/Documents(" + docId + ")/$value")
+        .then()
+        .statusCode(HttpStatusCode.OK.getStatusCode())
+        .contentType("image/jpeg")
+        .extract()
+        .asByteArray();
+    assertArrayEquals(content, act);
+  }
+
+  @Test
+  void  testReadDocumentMediaContentRange() {
+    final byte[] content = createMediaContent(1000);
+    final Integer docId = given()
+        .contentType("image/png")
+        .body(content)
+        .when()
+        .post("/ss_test_bknd/Documents")
+        .then()
+        .statusCode(HttpStatusCode.CREATED.getStatusCode())
+        .extract()
+        .path("DocId");
+
+    final byte[] act = given()
+        .header("Range", "bytes=100-199")
+        .when()
+        .get("/ss_test_bknd/Documents(" + docId + ")/$value")
+        .then()
+        .statusCode(HttpStatusCode.PARTIAL_CONTENT.getStatusCode())
+        .header("Content-Range", "bytes 100-199/1000")
+        .extract()
+        .asByteArray();
+    assertArrayEquals(Arrays.copyOfRange(content, 100, 200), act);
+
+    given()
+        .header("Range", "bytes=1000-")
+        .when()
+        .get("/ss_test_bknd/Documents(" + docId + ")/$value")
+        .then()
+        .statusCode(HttpStatusCode.RANGE_NOT_SATISFIABLE.getStatusCode());
+  }
+
+  @Test
+  void  testDocumentsShareStoredMediaContent() {
+    final byte[] content = createMediaContent(2000);
+    final Integer firstDocId = createDocument(content);
+    final Integer secondDocId = createDocument(content);
+
+    given()
+        .when()
+        .delete("/ss_test_bknd/Documents(" + firstDocId + ")/$value")
+        .then()
+        .statusCode(HttpStatusCode.NO_CONTENT.getStatusCode());
+
+    final byte[] act = given()
+        .when()
+        .get("/ss_test_bknd/Documents(" + secondDocId + ")/$value")
+        .then()
+        .statusCode(HttpStatusCode.OK.getStatusCode())
+        .extract()
+        .asByteArray();
+    assertArrayEquals(content, act);
+  }
+
+  @Test
+  void  testUpdateDocumentCanNotChangeContentReference() {
+    final Integer docId = createDocument(createMediaContent(10));
+
+    given()
+        .contentType("application/json")
+        .body("{\"ContentReference\":\"0000000000000000000000000000000000000000000000000000000000000000\"}")
+        .when()
+        .patch("/ss_test_bknd/Documents(" + docId + ")")
+        .then()
+        .statusCode(HttpStatusCode.BAD_REQUEST.getStatusCode());
+  }
+
+  private Integer createDocument(final byte[] content) {
+    return given()
+        .contentType("image/png")
+        .body(content)
+        .when()
+        .post("/ss_test_bknd/Documents")
+        .then()
+        .statusCode(HttpStatusCode.CREATED.getStatusCode())
+        .extract()
+        .path("DocId");
+  }
+
+  private byte[] createMediaContent(final int length) {
+    final byte[] content = new byte[length];
+    for (int i = 0; i < length; i++)
+      content[i] = (byte) i;
+    return content;
+  }
+
   @Test
   void  testCreatePetInstance() throws IOException {
     given()
@@ -390,6 +534,103 @@ class ControllerTest {
   
   
  
+  @Test
+  void  testBatchChangeSetCreatesPetsAndPetServices() throws IOException {
+    final String response = given()
+        .contentType("multipart/mixed;boundary=batch_1")
+        .body("--batch_1\r\n"
+            + "Content-Type: multipart/mixed;boundary=changeset_1\r\n\r\n"
+            + createChangeSetPart(1, "Pets", getPayloadWithoutKey("PetInstance.json", "PetId"))
+            + createChangeSetPart(2, "Pets", getPayloadWithoutKey("PetInstance.json", "PetId"))
+            + createChangeSetPart(3, "PetServices", getPayloadWithoutKey("PetServiceInstance.json", "ServiceId"))
+            + "--changeset_1--\r\n"
+            + "--batch_1--\r\n")
+        .when()
+        .post("/ss_test_bknd/$batch")
+        .then()
+        .statusCode(HttpStatusCode.OK.getStatusCode())
+        .extract()
+        .asString();
+
+    assertEquals(3, response.split("HTTP/1.1 201 Created", -1).length - 1);
+    given()
+        .when()
+        .get("/ss_test_bknd/Pets/$count")
+        .then()
+        .statusCode(HttpStatusCode.OK.getStatusCode())
+        .body(is("2"));
+    given()
+        .when()
+        .get("/ss_test_bknd/PetServices/$count")
+        .then()
+        .statusCode(HttpStatusCode.OK.getStatusCode())
+        .body(is("1"));
+  }
+
+  @Test
+  void  testCreatePetCollection() throws IOException {
+    given()
+        .contentType("application/json")
+        .body(createPetArray("Bello", "Minka", "Rex"))
+        .when()
+        .post("/ss_test_bknd/Pets")
+        .then()
+        .statusCode(HttpStatusCode.CREATED.getStatusCode())
+        .body("value.size()", is(3))
+        .body("value.PetName", hasItems("Bello", "Minka", "Rex"));
+    given()
+        .when()
+        .get("/ss_test_bknd/Pets/$count")
+        .then()
+        .statusCode(HttpStatusCode.OK.getStatusCode())
+        .body(is("3"));
+  }
+
+  @Test
+  void  testCreatePetCollectionReturnMinimal() throws IOException {
+    given()
+        .contentType("application/json")
+        .header("Prefer", "return=minimal")
+        .body(createPetArray("Bello", "Minka"))
+        .when()
+        .post("/ss_test_bknd/Pets")
+        .then()
+        .statusCode(HttpStatusCode.NO_CONTENT.getStatusCode());
+    given()
+        .when()
+        .get("/ss_test_bknd/Pets/$count")
+        .then()
+        .statusCode(HttpStatusCode.OK.getStatusCode())
+        .body(is("2"));
+  }
+
+  private String createPetArray(final String... petNames) throws IOException {
+    final ArrayNode pets = mapper.createArrayNode();
+    for (final String petName : petNames) {
+      final ObjectNode pet = (ObjectNode) getJSONFromFile("PetInstance.json");
+      pet.remove("PetId");
+      pet.put("PetName", petName);
+      pets.add(pet);
+    }
+    return mapper.writeValueAsString(pets);
+  }
+
+  private String getPayloadWithoutKey(final String filePath, final String key) throws IOException {
+    final ObjectNode payload = (ObjectNode) getJSONFromFile(filePath);
+    payload.remove(key);
+    return mapper.writeValueAsString(payload);
+  }
+
+  private String createChangeSetPart(final int contentId, final String entitySet, final String payload) {
+    return "--changeset_1\r\n"
+        + "Content-Type: application/http\r\n"
+        + "Content-Transfer-Encoding: binary\r\n"
+        + "Content-ID: " + contentId + "\r\n\r\n"
+        + "POST " + entitySet + " HTTP/1.1\r\n"
+        + "Content-Type: application/json\r\n\r\n"
+        + payload + "\r\n";
+  }
+
   @AfterEach
   void  teardown() {
     jdbcTemplate.execute("DELETE FROM ss_test_bknd_226.PetService");
@@ -4,11 +4,14 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.annotation.Nonnull;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.metamodel.Metamodel;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 import org.apache.olingo.commons.api.edm.provider.CsdlAbstractEdmProvider;
 import org.apache.olingo.commons.api.edm.provider.CsdlAction;
@@ -28,17 +31,23 @@ import org.apache.olingo.commons.api.edm.provider.CsdlTerm;
 import org.apache.olingo.commons.api.edm.provider.CsdlTypeDefinition;
 import org.apache.olingo.commons.api.edmx.EdmxReference;
 import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEdmNameBuilder;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAException;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPADefaultEdmNameBuilder;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPAServiceDocumentFactory;
 
 public class JPAEdmProvider extends CsdlAbstractEdmProvider {
+  private static final Log LOGGER = LogFactory.getLog(JPAEdmProvider.class);
 
   private final JPAEdmNameBuilder nameBuilder;
-  private final JPAServiceDocument serviceDocument;
+  private final JPAEdmMetadataPostProcessor postProcessor;
+  private final JPAServiceDocumentFactory serviceDocumentFactory;
+  private final Optional<JPAEdmSnapshot> snapshot;
+  private volatile JPAServiceDocument serviceDocument; // NOSONAR
 
   // http://docs.oasis-open.org/odata/odata/v4.0/errata02/os/complete/part3-csdl/odata-v4.0-errata02-os-part3-csdl-complete.html#_Toc406397930
   public JPAEdmProvider(@Nonnull final String namespace, @Nonnull final EntityManagerFactory emf,
@@ -54,11 +63,32 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
 
   public JPAEdmProvider(final Metamodel jpaMetamodel, final JPAEdmMetadataPostProcessor postProcessor,
       final String[] packageName, final JPAEdmNameBuilder nameBuilder) throws ODataException {
+    this(jpaMetamodel, postProcessor, packageName, nameBuilder, null);
+  }
+
+  /**
+   * Creates an edm provider that answers requests for CSDL elements from a snapshot, instead of building them from
+   * the JPA metamodel. The snapshot is ignored if it has not been created for the given metamodel, post processor and
+   * namespace. If the snapshot is used, the intermediate model is not built before it is needed the first time, see
+   * {@link #getServiceDocument()}.
+   * @param jpaMetamodel metamodel of the persistence unit
+   * @param postProcessor post processor of the metadata, may be null
+   * @param packageName packages to look for enumerations and Java based functions
+   * @param nameBuilder builder of the EDM names
+   * @param snapshot see {@link JPAEdmSnapshot}
+   * @throws ODataException
+   */
+  public JPAEdmProvider(final Metamodel jpaMetamodel, final JPAEdmMetadataPostProcessor postProcessor,
+      final String[] packageName, final JPAEdmNameBuilder nameBuilder, final JPAEdmSnapshot snapshot)
+      throws ODataException {
     super();
     this.nameBuilder = nameBuilder;
+    this.postProcessor = postProcessor;
+    this.serviceDocumentFactory = new JPAServiceDocumentFactory(nameBuilder, jpaMetamodel, postProcessor, packageName);
+    this.snapshot = Optional.ofNullable(snapshot).filter(s -> isSnapshotUsable(s, jpaMetamodel));
     // After this call either a schema exists or an exception has been thrown
-    this.serviceDocument = new JPAServiceDocumentFactory(nameBuilder, jpaMetamodel, postProcessor, packageName)
-        .getServiceDocument();
+    if (!this.snapshot.isPresent())
+      this.serviceDocument = serviceDocumentFactory.getServiceDocument();
   }
 
   /**
@@ -70,7 +100,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
    */
   @Override
   public CsdlComplexType getComplexType(final FullQualifiedName complexTypeName) throws ODataException {
-    for (final CsdlSchema schema : serviceDocument.getAllSchemas()) {
+    for (final CsdlSchema schema : getAllSchemas(complexTypeName)) {
       if (schema.getNamespace().equals(complexTypeName.getNamespace())
           || (schema.getAlias() != null && schema.getAlias().equals(complexTypeName.getNamespace()))) {
         return schema.getComplexType(complexTypeName.getName());
@@ -86,7 +116,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
    */
   @Override
   public CsdlEntityContainer getEntityContainer() throws ODataException {
-    return serviceDocument.getEdmEntityContainer();
+    return getEdmEntityContainer();
   }
 
   /**
@@ -120,7 +150,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
   @Override
   public CsdlEntitySet getEntitySet(final FullQualifiedName entityContainerFQN, final String entitySetName)
       throws ODataException {
-    final CsdlEntityContainer container = serviceDocument.getEdmEntityContainer();
+    final CsdlEntityContainer container = getEdmEntityContainer();
     if (entityContainerFQN.equals(buildFQN(container.getName()))) {
       return container.getEntitySet(entitySetName);
     }
@@ -130,7 +160,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
   @Override
   public CsdlSingleton getSingleton(final FullQualifiedName entityContainerFQN, final String singletonName)
       throws ODataException {
-    final CsdlEntityContainer container = serviceDocument.getEdmEntityContainer();
+    final CsdlEntityContainer container = getEdmEntityContainer();
     if (entityContainerFQN.equals(buildFQN(container.getName()))) {
       return container.getSingleton(singletonName);
     }
@@ -147,7 +177,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
   @Override
   public CsdlEntityType getEntityType(final FullQualifiedName entityTypeName) throws ODataException {
 
-    for (final CsdlSchema schema : serviceDocument.getEdmSchemas()) {
+    for (final CsdlSchema schema : getEdmSchemas()) {
       if (schema.getNamespace().equals(entityTypeName.getNamespace())) {
         return schema.getEntityType(entityTypeName.getName());
       }
@@ -166,7 +196,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
   @Override
   public CsdlFunctionImport getFunctionImport(final FullQualifiedName entityContainerFQN,
       final String functionImportName) throws ODataException {
-    final CsdlEntityContainer container = serviceDocument.getEdmEntityContainer();
+    final CsdlEntityContainer container = getEdmEntityContainer();
     if (entityContainerFQN.equals(buildFQN(container.getName()))) {
       return container.getFunctionImport(functionImportName);
     }
@@ -183,7 +213,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
    */
   @Override
   public List<CsdlFunction> getFunctions(final FullQualifiedName functionName) throws ODataException {
-    for (final CsdlSchema schema : serviceDocument.getEdmSchemas()) {
+    for (final CsdlSchema schema : getEdmSchemas()) {
       if (schema.getNamespace().equals(functionName.getNamespace())) {
         final List<CsdlFunction> functions = schema.getFunctions(functionName.getName());
         return functions.isEmpty() ? null : functions;
@@ -203,7 +233,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
    */
   @Override
   public List<CsdlAction> getActions(final FullQualifiedName actionName) throws ODataException {
-    for (final CsdlSchema schema : serviceDocument.getEdmSchemas()) {
+    for (final CsdlSchema schema : getEdmSchemas()) {
       if (schema.getNamespace().equals(actionName.getNamespace())) {
         return schema.getActions(actionName.getName());
       }
@@ -222,7 +252,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
   @Override
   public CsdlActionImport getActionImport(final FullQualifiedName entityContainerFQN, final String actionImportName)
       throws ODataException {
-    final CsdlEntityContainer container = serviceDocument.getEdmEntityContainer();
+    final CsdlEntityContainer container = getEdmEntityContainer();
     if (entityContainerFQN.equals(buildFQN(container.getName()))) {
       return container.getActionImport(actionImportName);
     }
@@ -239,7 +269,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
   @Override
   public CsdlEnumType getEnumType(final FullQualifiedName enumTypeNameFQN) throws ODataException {
 
-    for (final CsdlSchema schema : serviceDocument.getEdmSchemas()) {
+    for (final CsdlSchema schema : getEdmSchemas()) {
       if (schema.getNamespace().equals(enumTypeNameFQN.getNamespace())) {
         return schema.getEnumType(enumTypeNameFQN.getName());
       }
@@ -269,7 +299,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
    */
   @Override
   public CsdlTerm getTerm(final FullQualifiedName termName) throws ODataException {
-    return serviceDocument.getTerm(termName);
+    return getServiceDocument().getTerm(termName);
   }
 
   /**
@@ -281,7 +311,7 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
    */
   @Override
   public CsdlTypeDefinition getTypeDefinition(final FullQualifiedName typeDefinitionName) throws ODataException {
-    for (final CsdlSchema schema : serviceDocument.getAllSchemas()) {
+    for (final CsdlSchema schema : getAllSchemas(typeDefinitionName)) {
       if (schema.getNamespace().equals(typeDefinitionName.getNamespace())) {
         return schema.getTypeDefinition(typeDefinitionName.getName());
       }
@@ -297,11 +327,26 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
    */
   @Override
   public List<CsdlSchema> getSchemas() throws ODataException {
-    return serviceDocument.getEdmSchemas();
+    return getEdmSchemas();
   }
 
+  /**
+   * Returns the intermediate model. If a snapshot is used, the model is built with the first call.
+   * @return The intermediate model
+   * @throws ODataRuntimeException if the intermediate model could not be built
+   */
   public JPAServiceDocument getServiceDocument() {
-    return serviceDocument;
+    JPAServiceDocument result = serviceDocument;
+    if (result == null) {
+      synchronized (serviceDocumentFactory) {
+        result = serviceDocument;
+        if (result == null) {
+          result = buildServiceDocument();
+          serviceDocument = result;
+        }
+      }
+    }
+    return result;
   }
 
   public void setRequestLocales(final Enumeration<Locale> locales) {
@@ -309,14 +354,70 @@ public class JPAEdmProvider extends CsdlAbstractEdmProvider {
   }
 
   public List<EdmxReference> getReferences() {
-    return serviceDocument.getReferences();
+    return getServiceDocument().getReferences();
   }
 
   public JPAEdmNameBuilder getEdmNameBuilder() {
     return nameBuilder;
   }
 
+  JPAEdmMetadataPostProcessor getPostProcessor() {
+    return postProcessor;
+  }
+
   protected final FullQualifiedName buildFQN(final String name) {
     return new FullQualifiedName(nameBuilder.getNamespace(), name);
   }
+
+  private List<CsdlSchema> getEdmSchemas() throws ODataJPAModelException {
+    if (snapshot.isPresent())
+      return snapshot.get().getSchemas();
+    return getServiceDocument().getEdmSchemas();
+  }
+
+  private CsdlEntityContainer getEdmEntityContainer() throws ODataJPAModelException {
+    if (snapshot.isPresent())
+      return snapshot.get().getEntityContainer();
+    return getServiceDocument().getEdmEntityContainer();
+  }
+
+  /**
+   * Referenced schemas are not part of a snapshot, so the service document is only asked for types of other
+   * namespaces.
+   */
+  private List<CsdlSchema> getAllSchemas(final FullQualifiedName typeName) throws ODataJPAModelException {
+    if (snapshot.isPresent()) {
+      for (final CsdlSchema schema : snapshot.get().getSchemas()) {
+        if (schema.getNamespace().equals(typeName.getNamespace()))
+          return snapshot.get().getSchemas();
+      }
+    }
+    return getServiceDocument().getAllSchemas();
+  }
+
+  private JPAServiceDocument buildServiceDocument() {
+    try {
+      return serviceDocumentFactory.getServiceDocument();
+    } catch (final ODataJPAModelException e) {
+      throw new ODataRuntimeException(e);
+    }
+  }
+
+  private boolean isSnapshotUsable(final JPAEdmSnapshot edmSnapshot, final Metamodel jpaMetamodel) {
+    if (edmSnapshot.getEntityContainer() == null
+        || edmSnapshot.getSchemas().stream().noneMatch(s -> s.getNamespace().equals(nameBuilder.getNamespace()))) {
+      LOGGER.warn("EDM snapshot ignored, as it was not created for namespace " + nameBuilder.getNamespace());
+      return false;
+    }
+    if (!edmSnapshot.isValidFor(jpaMetamodel)) {
+      LOGGER.warn("EDM snapshot ignored, as the JPA metamodel has changed");
+      return false;
+    }
+    if (!edmSnapshot.isValidFor(postProcessor)) {
+      LOGGER.warn("EDM snapshot ignored, as it was not created with metadata post processor "
+          + (postProcessor != null ? postProcessor.getClass().getName() : null));
+      return false;
+    }
+    return true;
+  }
 }
@@ -0,0 +1,282 @@
+package com.sap.olingo.jpa.metadata.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.edm.geo.SRID;
+import org.apache.olingo.commons.api.edm.provider.CsdlEntityContainer;
+import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlAnnotationPath;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlApply;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlCast;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlCollection;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlConstantExpression;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlConstantExpression.ConstantExpressionType;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlExpression;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlIf;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlIsOf;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlLabeledElement;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlLabeledElementReference;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlLogicalOrComparisonExpression;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlLogicalOrComparisonExpression.LogicalOrComparisonExpressionType;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlNavigationPropertyPath;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlNull;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlPath;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlPropertyPath;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlRecord;
+import org.apache.olingo.commons.api.edm.provider.annotation.CsdlUrlRef;
+import org.apache.olingo.commons.api.ex.ODataException;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Snapshot of the CSDL schemas of a service, which is written at build time and read at startup. Providing a snapshot
+ * to the {@link JPAEdmProvider}, Olingo's requests for metadata are answered from the snapshot, so the complete model
+ * has not to be build via reflection. The intermediate model, which is needed to process requests for data, is not
+ * part of a snapshot. It is still build via reflection when {@link JPAEdmProvider#getServiceDocument()} is called the
+ * first time, which happens with the first request for data.<p>
+ * A snapshot contains a hash of the classes of the JPA metamodel and a hash of the class of the metadata post
+ * processor. A snapshot is only used if both hashes match the metamodel and the post processor at runtime. Changes of
+ * enumerations, Java operations or of classes used by the post processor are not covered by the hashes and require a
+ * new snapshot.<p>
+ * A snapshot can be created using {@link #of(JPAEdmProvider, Metamodel)} or from a build via
+ * {@link JPAEdmSnapshotGenerator}.
+ */
+public final class JPAEdmSnapshot {
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final String VERSION = "2";
+  private static final ObjectMapper MAPPER = createMapper();
+
+  private final String modelHash;
+  private final String postProcessorHash;
+  private final List<CsdlSchema> schemas;
+
+  private JPAEdmSnapshot(final String modelHash, final String postProcessorHash, final List<CsdlSchema> schemas) {
+    super();
+    this.modelHash = modelHash;
+    this.postProcessorHash = postProcessorHash;
+    this.schemas = Collections.unmodifiableList(schemas);
+  }
+
+  /**
+   * Creates a snapshot of the schemas provided by an edm provider. This builds the complete model. The snapshot is
+   * bound to the metadata post processor of the provider.
+   * @param provider provider the schemas are taken from
+   * @param jpaMetamodel metamodel the provider was created for
+   * @return snapshot of the schemas
+   * @throws ODataException
+   */
+  public static JPAEdmSnapshot of(@Nonnull final JPAEdmProvider provider, @Nonnull final Metamodel jpaMetamodel)
+      throws ODataException {
+    return new JPAEdmSnapshot(buildModelHash(jpaMetamodel), buildPostProcessorHash(provider.getPostProcessor()),
+        provider.getSchemas());
+  }
+
+  /**
+   * Reads a snapshot written by {@link #write(OutputStream)}.
+   * @param input stream containing the JSON document. The stream is not closed
+   * @return snapshot read
+   * @throws IOException in case the input is not a snapshot or was written by another version
+   */
+  public static JPAEdmSnapshot read(@Nonnull final InputStream input) throws IOException {
+    final SnapshotContent content = MAPPER.readValue(input, SnapshotContent.class);
+    if (!VERSION.equals(content.version) || content.modelHash == null || content.postProcessorHash == null
+        || content.schemas == null)
+      throw new IOException("Unsupported snapshot version: " + content.version);
+    return new JPAEdmSnapshot(content.modelHash, content.postProcessorHash, content.schemas);
+  }
+
+  /**
+   * Creates a hash over the names and the byte code of the classes of a JPA metamodel.
+   * @param jpaMetamodel metamodel to be hashed
+   * @return hex encoded SHA-256 hash
+   */
+  public static String buildModelHash(@Nonnull final Metamodel jpaMetamodel) {
+    final Map<String, Class<?>> types = new TreeMap<>();
+    for (final ManagedType<?> type : jpaMetamodel.getManagedTypes())
+      types.put(type.getJavaType().getName(), type.getJavaType());
+    return buildHash(types);
+  }
+
+  /**
+   * Creates a hash over the names and the byte code of the class of a metadata post processor and its super classes.
+   * @param postProcessor post processor to be hashed, may be null
+   * @return hex encoded SHA-256 hash
+   */
+  public static String buildPostProcessorHash(final JPAEdmMetadataPostProcessor postProcessor) {
+    final Map<String, Class<?>> types = new TreeMap<>();
+    if (postProcessor != null) {
+      for (Class<?> type = postProcessor.getClass(); type != JPAEdmMetadataPostProcessor.class; type = type
+          .getSuperclass())
+        types.put(type.getName(), type);
+    }
+    return buildHash(types);
+  }
+
+  private static String buildHash(final Map<String, Class<?>> types) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      final byte[] buffer = new byte[8192];
+      for (final Map.Entry<String, Class<?>> type : types.entrySet()) {
+        digest.update(type.getKey().getBytes(UTF_8));
+        final String resourceName = type.getKey().substring(type.getKey().lastIndexOf('.') + 1) + ".class";
+        try (InputStream byteCode = type.getValue().getResourceAsStream(resourceName)) {
+          if (byteCode != null) {
+            int read;
+            while ((read = byteCode.read(buffer)) > 0)
+              digest.update(buffer, 0, read);
+          }
+        }
+      }
+      final StringBuilder hash = new StringBuilder();
+      for (final byte b : digest.digest())
+        hash.append(String.format("%02x", b));
+      return hash.toString();
+    } catch (NoSuchAlgorithmException | IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Writes the snapshot as JSON document.
+   * @param output stream the document is written to. The stream is not closed
+   * @throws IOException
+   */
+  public void write(@Nonnull final OutputStream output) throws IOException {
+    final SnapshotContent content = new SnapshotContent();
+    content.version = VERSION;
+    content.modelHash = modelHash;
+    content.postProcessorHash = postProcessorHash;
+    content.schemas = schemas;
+    MAPPER.writeValue(output, content);
+  }
+
+  public String getModelHash() {
+    return modelHash;
+  }
+
+  public String getPostProcessorHash() {
+    return postProcessorHash;
+  }
+
+  public List<CsdlSchema> getSchemas() {
+    return schemas;
+  }
+
+  /**
+   * @param jpaMetamodel metamodel the snapshot shall be used for
+   * @return true if the snapshot has been created for the given metamodel
+   */
+  public boolean isValidFor(@Nonnull final Metamodel jpaMetamodel) {
+    return modelHash.equals(buildModelHash(jpaMetamodel));
+  }
+
+  /**
+   * @param postProcessor post processor the snapshot shall be used with, may be null
+   * @return true if the snapshot has been created with the given metadata post processor
+   */
+  public boolean isValidFor(final JPAEdmMetadataPostProcessor postProcessor) {
+    return postProcessorHash.equals(buildPostProcessorHash(postProcessor));
+  }
+
+  /**
+   * Returns the entity container of the snapshot or null if non of the schemas contains one.
+   */
+  CsdlEntityContainer getEntityContainer() {
+    for (final CsdlSchema schema : schemas) {
+      if (schema.getEntityContainer() != null)
+        return schema.getEntityContainer();
+    }
+    return null;
+  }
+
+  /**
+   * The CSDL classes are (de-)serialized using their fields, as their getter and setter are not symmetric.
+   */
+  private static ObjectMapper createMapper() {
+    final ObjectMapper mapper = new ObjectMapper();
+    mapper.setVisibility(PropertyAccessor.ALL, Visibility.NONE);
+    mapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+    mapper.setSerializationInclusion(Include.NON_NULL);
+    mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    mapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    mapper.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+    mapper.addMixIn(FullQualifiedName.class, FullQualifiedNameMixIn.class);
+    mapper.addMixIn(SRID.class, SridMixIn.class);
+    mapper.addMixIn(CsdlExpression.class, ExpressionMixIn.class);
+    mapper.addMixIn(CsdlConstantExpression.class, ConstantExpressionMixIn.class);
+    mapper.addMixIn(CsdlLogicalOrComparisonExpression.class, LogicalOrComparisonExpressionMixIn.class);
+    return mapper;
+  }
+
+  private static class SnapshotContent {
+    private String version;
+    private String modelHash;
+    private String postProcessorHash;
+    private List<CsdlSchema> schemas = new ArrayList<>();
+  }
+
+  private abstract static class FullQualifiedNameMixIn {
+    @JsonCreator
+    FullQualifiedNameMixIn(final String namespaceAndName) {}
+
+    @JsonValue
+    abstract String getFullQualifiedNameAsString();
+  }
+
+  private abstract static class SridMixIn {
+    @JsonCreator
+    static SRID valueOf(final String exp) {
+      return null;
+    }
+
+    @Override
+    @JsonValue
+    public abstract String toString();
+  }
+
+  @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+  @JsonSubTypes({ @Type(CsdlAnnotationPath.class), @Type(CsdlApply.class), @Type(CsdlCast.class),
+      @Type(CsdlCollection.class), @Type(CsdlConstantExpression.class), @Type(CsdlIf.class), @Type(CsdlIsOf.class),
+      @Type(CsdlLabeledElement.class), @Type(CsdlLabeledElementReference.class),
+      @Type(CsdlLogicalOrComparisonExpression.class), @Type(CsdlNavigationPropertyPath.class), @Type(CsdlNull.class),
+      @Type(CsdlPath.class), @Type(CsdlPropertyPath.class), @Type(CsdlRecord.class), @Type(CsdlUrlRef.class) })
+  private abstract static class ExpressionMixIn {}
+
+  private abstract static class ConstantExpressionMixIn {
+    @JsonCreator
+    ConstantExpressionMixIn(@JsonProperty("type") final ConstantExpressionType type) {}
+  }
+
+  private abstract static class LogicalOrComparisonExpressionMixIn {
+    @JsonCreator
+    LogicalOrComparisonExpressionMixIn(@JsonProperty("type") final LogicalOrComparisonExpressionType type) {}
+  }
+}
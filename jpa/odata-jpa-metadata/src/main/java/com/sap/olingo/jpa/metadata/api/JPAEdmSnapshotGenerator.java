@@ -0,0 +1,113 @@
+package com.sap.olingo.jpa.metadata.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+
+/**
+ * Writes a {@link JPAEdmSnapshot} of a persistence unit into a file, so it can be packed together with the
+ * application. The namespace of the service is the name of the persistence unit. The generator can be executed as part
+ * of a build, e.g. by the exec-maven-plugin in phase <i>process-classes</i>:
+ * <pre>
+ * &lt;mainClass&gt;com.sap.olingo.jpa.metadata.api.JPAEdmSnapshotGenerator&lt;/mainClass&gt;
+ * &lt;arguments&gt;
+ * &lt;argument&gt;Trippin&lt;/argument&gt;
+ * &lt;argument&gt;${project.build.outputDirectory}/edm-snapshot.json&lt;/argument&gt;
+ * &lt;argument&gt;com.example.enums&lt;/argument&gt;
+ * &lt;argument&gt;--postProcessor=com.example.MetadataPostProcessor&lt;/argument&gt;
+ * &lt;/arguments&gt;
+ * </pre>
+ * The persistence unit needs to be creatable without a database connection. A service using a metadata post processor
+ * has to name it via <code>--postProcessor</code>, as a snapshot is only used together with the post processor it was
+ * created with. The post processor needs a public constructor without parameters.
+ */
+public final class JPAEdmSnapshotGenerator {
+
+  private static final String POST_PROCESSOR_OPTION = "--postProcessor=";
+
+  private JPAEdmSnapshotGenerator() {
+    throw new IllegalStateException("JPAEdmSnapshotGenerator class");
+  }
+
+  /**
+   * @param args persistence unit, target file, optional packages containing enumerations and optional
+   * <code>--postProcessor=</code> followed by the class name of the metadata post processor
+   * @throws ODataException
+   * @throws IOException
+   */
+  public static void main(final String... args) throws ODataException, IOException {
+    if (args.length < 2)
+      throw new IllegalArgumentException(
+          "Usage: JPAEdmSnapshotGenerator <persistence unit> <file> [packages...] [" + POST_PROCESSOR_OPTION
+              + "<class>]");
+    JPAEdmMetadataPostProcessor postProcessor = null;
+    final List<String> packageName = new ArrayList<>();
+    for (final String arg : Arrays.copyOfRange(args, 2, args.length)) {
+      if (arg.startsWith(POST_PROCESSOR_OPTION))
+        postProcessor = createPostProcessor(arg.substring(POST_PROCESSOR_OPTION.length()));
+      else
+        packageName.add(arg);
+    }
+    final EntityManagerFactory emf = Persistence.createEntityManagerFactory(args[0]);
+    try {
+      generate(args[0], emf, postProcessor, Paths.get(args[1]), packageName.toArray(new String[packageName.size()]));
+    } finally {
+      emf.close();
+    }
+  }
+
+  /**
+   * Creates a snapshot of the metadata of a persistence unit without metadata post processor and writes it into a
+   * file.
+   * @param namespace namespace of the service, which is the name of the persistence unit by default
+   * @param emf entity manager factory of the persistence unit
+   * @param target file the snapshot is written to
+   * @param packageName packages to look for enumerations and Java based functions
+   * @throws ODataException
+   * @throws IOException
+   */
+  public static void generate(final String namespace, final EntityManagerFactory emf, final Path target,
+      final String... packageName) throws ODataException, IOException {
+    generate(namespace, emf, null, target, packageName);
+  }
+
+  /**
+   * Creates a snapshot of the metadata of a persistence unit and writes it into a file.
+   * @param namespace namespace of the service, which is the name of the persistence unit by default
+   * @param emf entity manager factory of the persistence unit
+   * @param postProcessor metadata post processor of the service, may be null
+   * @param target file the snapshot is written to
+   * @param packageName packages to look for enumerations and Java based functions
+   * @throws ODataException
+   * @throws IOException
+   */
+  public static void generate(final String namespace, final EntityManagerFactory emf,
+      final JPAEdmMetadataPostProcessor postProcessor, final Path target, final String... packageName)
+      throws ODataException, IOException {
+    final JPAEdmProvider provider = new JPAEdmProvider(namespace, emf, postProcessor, packageName);
+    final JPAEdmSnapshot snapshot = JPAEdmSnapshot.of(provider, emf.getMetamodel());
+    if (target.getParent() != null)
+      Files.createDirectories(target.getParent());
+    try (OutputStream output = Files.newOutputStream(target)) {
+      snapshot.write(output);
+    }
+  }
+
+  private static JPAEdmMetadataPostProcessor createPostProcessor(final String className) {
+    try {
+      return (JPAEdmMetadataPostProcessor) Class.forName(className).getConstructor().newInstance();
+    } catch (final ReflectiveOperationException | ClassCastException e) {
+      throw new IllegalArgumentException("Metadata post processor could not be created: " + className, e);
+    }
+  }
+}
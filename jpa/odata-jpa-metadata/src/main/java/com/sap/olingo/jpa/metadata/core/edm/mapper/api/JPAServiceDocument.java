@@ -91,6 +91,17 @@ public interface JPAServiceDocument extends CustomETagSupport {
 
   JPAEdmNameBuilder getNameBuilder();
 
+  /**
+   * Resolves all schemas, types, paths, association paths and protections at once. Otherwise they are resolved
+   * lazily on first access. After compilation the model is read only, so concurrent requests do not need to build
+   * parts of it. Errors of the model are reported by this method instead of on first access.<p>
+   * The default implementation does nothing, so implementations that do not support it resolve lazily as before.
+   * @throws ODataJPAModelException
+   */
+  default void compile() throws ODataJPAModelException {
+    // Nothing to compile
+  }
+
   /**
    * Returns a map of claims by claim names. It can be used e.g. to convert the values of a JWT token. In case the same
    * claim name is used multiple time just one occurrence is returned, assuming that they have the same type.
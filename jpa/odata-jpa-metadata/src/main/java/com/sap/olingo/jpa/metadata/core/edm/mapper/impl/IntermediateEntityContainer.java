@@ -36,7 +36,7 @@ final class IntermediateEntityContainer extends IntermediateModelElement impleme
   private final Map<String, IntermediateEntitySet> entitySetListInternalKey;
   private final Map<String, IntermediateSingleton> singletonListInternalKey;
 
-  private CsdlEntityContainer edmContainer;
+  private volatile CsdlEntityContainer edmContainer;
 
   IntermediateEntityContainer(final JPAEdmNameBuilder nameBuilder, final Map<String, IntermediateSchema> schemaList) {
     super(nameBuilder, nameBuilder.buildContainerName());
@@ -55,13 +55,15 @@ final class IntermediateEntityContainer extends IntermediateModelElement impleme
   protected synchronized void lazyBuildEdmItem() throws ODataJPAModelException {
     if (edmContainer == null) {
       postProcessor.processEntityContainer(this);
-      edmContainer = new CsdlEntityContainer();
-      edmContainer.setName(getExternalName());
-      edmContainer.setEntitySets(buildEntitySets());
-      edmContainer.setFunctionImports(buildFunctionImports());
-      edmContainer.setActionImports(buildActionImports());
-      edmContainer.setAnnotations(edmAnnotations);
-      edmContainer.setSingletons(buildSingletons());
+      // The container is published after the entity sets and singletons are built, as readers do not synchronize
+      final CsdlEntityContainer container = new CsdlEntityContainer();
+      container.setName(getExternalName());
+      container.setEntitySets(buildEntitySets());
+      container.setFunctionImports(buildFunctionImports());
+      container.setActionImports(buildActionImports());
+      container.setAnnotations(edmAnnotations);
+      container.setSingletons(buildSingletons());
+      edmContainer = container;
     }
   }
 
@@ -57,9 +57,9 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.IntermediateEntityT
  */
 public final class IntermediateEntityType<T> extends IntermediateStructuredType<T> implements JPAEntityType,
     IntermediateEntityTypeAccess {
-  private Optional<JPAPath> etagPath;
-  private Optional<Optional<JPAQueryExtension<EdmQueryExtensionProvider>>> extensionQueryProvider;
-  private List<JPAAttribute> keyAttributes;
+  private volatile Optional<JPAPath> etagPath;
+  private volatile Optional<Optional<JPAQueryExtension<EdmQueryExtensionProvider>>> extensionQueryProvider;
+  private volatile List<JPAAttribute> keyAttributes;
   private final boolean asTopLevelOnly;
   private final boolean asEntitySet;
   private final boolean asSingleton;
@@ -171,9 +171,9 @@ public final class IntermediateEntityType<T> extends IntermediateStructuredType<
     for (final Entry<String, IntermediateProperty> property : this.declaredPropertiesList.entrySet()) {
       final JPAAttribute attribute = property.getValue();
       if (attribute instanceof IntermediateEmbeddedIdProperty) {
-        result.add(intermediatePathMap.get(attribute.getExternalName()));
+        result.add(getIntermediatePathMap().get(attribute.getExternalName()));
       } else if (attribute.isKey()) {
-        result.add(resolvedPathMap.get(attribute.getExternalName()));
+        result.add(getResolvedPathMap().get(attribute.getExternalName()));
       }
     }
     final IntermediateStructuredType<?> baseType = getBaseType();
@@ -203,7 +203,8 @@ public final class IntermediateEntityType<T> extends IntermediateStructuredType<
 
   @Override
   public Optional<JPAQueryExtension<EdmQueryExtensionProvider>> getQueryExtention() throws ODataJPAModelException {
-    return extensionQueryProvider.orElse(determineExtensionQueryProvide());
+    final Optional<Optional<JPAQueryExtension<EdmQueryExtensionProvider>>> provider = extensionQueryProvider;
+    return provider.isPresent() ? provider.get() : determineExtensionQueryProvide();
   }
 
   @Override
@@ -272,6 +273,8 @@ public final class IntermediateEntityType<T> extends IntermediateStructuredType<
   @Override
   public List<JPAPath> searchChildPath(final JPAPath selectItemPath) {
     final List<JPAPath> result = new ArrayList<>();
+    if (resolvedPathMap == null)
+      return result;
     for (final Entry<String, JPAPathImpl> path : this.resolvedPathMap.entrySet()) {
       final JPAPath p = path.getValue();
       if (!p.ignore() && p.getAlias().startsWith(selectItemPath.getAlias()))
@@ -385,6 +388,13 @@ public final class IntermediateEntityType<T> extends IntermediateStructuredType<
         .collect(Collectors.toList());
   }
 
+  @Override
+  void compile() throws ODataJPAModelException {
+    super.compile();
+    getKey();
+    getQueryExtention();
+  }
+
   @Override
   CsdlEntityType getEdmItem() throws ODataJPAModelException {
     if (edmStructuralType == null) {
@@ -468,19 +478,19 @@ public final class IntermediateEntityType<T> extends IntermediateStructuredType<
   @SuppressWarnings("unchecked")
   private Optional<JPAQueryExtension<EdmQueryExtensionProvider>> determineExtensionQueryProvide()
       throws ODataJPAModelException {
-    extensionQueryProvider = Optional.of(Optional.empty());
+    Optional<JPAQueryExtension<EdmQueryExtensionProvider>> result = Optional.empty();
     final EdmEntityType jpaEntityType = this.jpaManagedType.getJavaType().getAnnotation(EdmEntityType.class);
     if (jpaEntityType != null) {
       final Class<EdmQueryExtensionProvider> provider = (Class<EdmQueryExtensionProvider>) jpaEntityType
           .extensionProvider();
       final Class<?> defaultProvider = EdmQueryExtensionProvider.class;
       if (provider != null && provider != defaultProvider)
-        extensionQueryProvider = Optional.of(Optional.of(new JPAQueryExtensionProvider<>(
-            provider)));
+        result = Optional.of(new JPAQueryExtensionProvider<>(provider));
     }
-    if (!extensionQueryProvider.get().isPresent() && getBaseType() != null)
-      extensionQueryProvider = Optional.ofNullable(((IntermediateEntityType<?>) getBaseType()).getQueryExtention());
-    return extensionQueryProvider.get();
+    if (!result.isPresent() && getBaseType() != null)
+      result = ((IntermediateEntityType<?>) getBaseType()).getQueryExtention();
+    extensionQueryProvider = Optional.of(result);
+    return result;
   }
 
   private void determineHasEtag() throws ODataJPAModelException {
@@ -48,7 +48,7 @@ final class IntermediateSchema extends IntermediateModelElement {
   private final Map<String, IntermediateEnumerationType> enumTypeListInternalKey;
   private IntermediateEntityContainer container;
   private final Reflections reflections;
-  private CsdlSchema edmSchema;
+  private volatile CsdlSchema edmSchema;
 
   IntermediateSchema(final JPAEdmNameBuilder nameBuilder, final Metamodel jpaMetamodel, final Reflections reflections)
       throws ODataJPAModelException {
@@ -105,6 +105,17 @@ final class IntermediateSchema extends IntermediateModelElement {
 
   }
 
+  /**
+   * Builds the complete model of the schema, so that no lazy initialization is needed afterwards. Complex types are
+   * compiled together with the entity types using them.
+   * @throws ODataJPAModelException
+   */
+  void compile() throws ODataJPAModelException {
+    getEdmItem();
+    for (final IntermediateEntityType<?> et : entityTypeListInternalKey.values())
+      et.compile();
+  }
+
   JPAAction getAction(final String externalName) {
     for (final Entry<String, IntermediateJavaAction> action : actionListInternalKey.entrySet()) {
       if (action.getValue().getExternalName().equals(externalName) && !action.getValue().ignore())
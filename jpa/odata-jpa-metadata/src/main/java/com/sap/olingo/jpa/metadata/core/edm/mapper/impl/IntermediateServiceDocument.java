@@ -1,6 +1,7 @@
 package com.sap.olingo.jpa.metadata.core.edm.mapper.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,7 +58,7 @@ class IntermediateServiceDocument implements JPAServiceDocument {
   private final IntermediateReferences references;
   private final JPAEdmMetadataPostProcessor pP;
   private final Reflections reflections;
-  private Map<String, JPAProtectionInfo> claims;
+  private volatile Map<String, JPAProtectionInfo> claims;
 
   IntermediateServiceDocument(final String namespace, final Metamodel jpaMetamodel,
       final JPAEdmMetadataPostProcessor postProcessor, final String[] packageName) throws ODataJPAModelException {
@@ -287,6 +288,20 @@ class IntermediateServiceDocument implements JPAServiceDocument {
     return false;
   }
 
+  /*
+   * (non-Javadoc)
+   *
+   * @see com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument#compile()
+   */
+  @Override
+  public void compile() throws ODataJPAModelException {
+    extractEdmSchemas();
+    container.getEdmItem();
+    for (final IntermediateSchema schema : schemaListInternalKey.values())
+      schema.compile();
+    getClaims();
+  }
+
   @Override
   public JPAEdmNameBuilder getNameBuilder() {
     return nameBuilder;
@@ -354,14 +369,15 @@ class IntermediateServiceDocument implements JPAServiceDocument {
   @Override
   public Map<String, JPAProtectionInfo> getClaims() throws ODataJPAModelException {
     if (claims == null) {
-      claims = new HashMap<>();
+      final Map<String, JPAProtectionInfo> claimMap = new HashMap<>();
       for (final IntermediateSchema schema : schemaListInternalKey.values()) {
         for (final IntermediateEntityType<?> et : schema.getEntityTypes()) {
           for (final JPAProtectionInfo protection : et.getProtections()) {
-            claims.put(protection.getClaimName(), protection);
+            claimMap.put(protection.getClaimName(), protection);
           }
         }
       }
+      claims = Collections.unmodifiableMap(claimMap);
     }
     return claims;
   }
@@ -63,25 +63,24 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
   private static final Log LOGGER = LogFactory.getLog(IntermediateStructuredType.class);
   protected final Map<String, IntermediateProperty> declaredPropertiesList;
   protected final Map<String, IntermediateNavigationProperty> declaredNaviPropertiesList;
-  protected final Map<String, JPAPathImpl> resolvedPathMap;
-  protected final Map<String, JPAPath> intermediatePathMap;
-  protected final Map<String, JPAAssociationPathImpl> resolvedAssociationPathMap;
+  // The path maps and the protection list are built once and published as unmodifiable collections, so they can be
+  // read without synchronization. See compile()
+  protected volatile Map<String, JPAPathImpl> resolvedPathMap;
+  protected volatile Map<String, JPAPath> intermediatePathMap;
+  protected volatile Map<String, JPAAssociationPathImpl> resolvedAssociationPathMap;
   protected final ManagedType<T> jpaManagedType;
   protected final Optional<MappedSuperclassType<? super T>> mappedSuperclass;
   protected final IntermediateSchema schema;
-  protected List<JPAProtectionInfo> protectedAttributes;
-  protected CsdlStructuralType edmStructuralType;
-  private Optional<List<IntermediateSimpleProperty>> streamProperty;
+  protected volatile List<JPAProtectionInfo> protectedAttributes;
+  protected volatile CsdlStructuralType edmStructuralType;
+  private volatile Optional<List<IntermediateSimpleProperty>> streamProperty;
 
   IntermediateStructuredType(final JPAEdmNameBuilder nameBuilder, final ManagedType<T> jpaManagedType,
       final IntermediateSchema schema) {
 
     super(nameBuilder, IntNameBuilder.buildStructuredTypeName(jpaManagedType.getJavaType()));
     this.declaredPropertiesList = new HashMap<>();
-    this.resolvedPathMap = new HashMap<>();
-    this.intermediatePathMap = new HashMap<>();
     this.declaredNaviPropertiesList = new HashMap<>();
-    this.resolvedAssociationPathMap = new HashMap<>();
     this.jpaManagedType = jpaManagedType;
     this.schema = schema;
     this.mappedSuperclass = determineMappedSuperclass(jpaManagedType);
@@ -485,6 +484,23 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
         schema);
   }
 
+  /**
+   * Resolves all paths, association paths and protections of the type and of the complex types it uses up front.
+   * Afterwards all lookups are read only and can be done concurrently without synchronization.
+   * @throws ODataJPAModelException
+   */
+  void compile() throws ODataJPAModelException {
+    getEdmItem();
+    lazyBuildCompletePathMap();
+    lazyBuildCompleteAssociationPathMap();
+    lazyBuildCompleteProtectionList();
+    getStreamProperty();
+    for (final IntermediateProperty property : declaredPropertiesList.values()) {
+      if (property.isComplex())
+        ((IntermediateStructuredType<?>) property.getStructuredType()).compile();
+    }
+  }
+
   @Override
   abstract CsdlStructuralType getEdmItem() throws ODataJPAModelException;
 
@@ -692,10 +708,11 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
     JPAAssociationPathImpl associationPath;
     lazyBuildCompletePathMap();
     // TODO check if ignore has to be handled
-    if (resolvedAssociationPathMap.size() == 0) {
+    if (resolvedAssociationPathMap == null) {
+      final Map<String, JPAAssociationPathImpl> associationPathMap = new HashMap<>();
       for (final JPAAttribute association : getAssociations()) {
         associationPath = new JPAAssociationPathImpl((IntermediateNavigationProperty) association, this);
-        resolvedAssociationPathMap.put(associationPath.getAlias(), associationPath);
+        associationPathMap.put(associationPath.getAlias(), associationPath);
       }
 
       for (final Entry<String, JPAPath> entity : this.intermediatePathMap.entrySet()) {
@@ -707,10 +724,11 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
           for (final JPAAssociationPath association : is.getAssociationPathList()) {
             associationPath = new JPAAssociationPathImpl(association, this, determineJoinColumns(property, association),
                 property);
-            resolvedAssociationPathMap.put(associationPath.getAlias(), associationPath);
+            associationPathMap.put(associationPath.getAlias(), associationPath);
           }
         }
       }
+      resolvedAssociationPathMap = Collections.unmodifiableMap(associationPathMap);
     }
   }
 
@@ -718,11 +736,13 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
     ArrayList<JPAElement> pathList;
     if (edmStructuralType == null)
       lazyBuildEdmItem();
-    if (resolvedPathMap.size() == 0) {
+    if (resolvedPathMap == null) {
+      final Map<String, JPAPathImpl> resolvedPaths = new HashMap<>();
+      final Map<String, JPAPath> intermediatePaths = new HashMap<>();
       for (final Entry<String, IntermediateProperty> propertyEntity : declaredPropertiesList.entrySet()) {
         final IntermediateProperty property = propertyEntity.getValue();
         if (property.isComplex()) {
-          intermediatePathMap.put(property.getExternalName(),
+          intermediatePaths.put(property.getExternalName(),
               new JPAPathImpl(property.getExternalName(), null, property));
           final Map<String, JPAPath> intermediatePath = ((IntermediateStructuredType<?>) property
               .getStructuredType()).getIntermediatePathMap();
@@ -739,7 +759,7 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
             pathList.add(0, property);
             final JPAPath newPath = new JPAPathImpl(buildPath(property.getExternalName(), path.getKey()), null,
                 pathList);
-            intermediatePathMap.put(newPath.getAlias(), newPath);
+            intermediatePaths.put(newPath.getAlias(), newPath);
           }
 
           final Map<String, JPAPathImpl> resolvedPath = ((IntermediateStructuredType<?>) property
@@ -755,21 +775,24 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
             } else {
 
               newPath = new JPAPathImpl(buildPath(property.getExternalName(), path.getKey()),
-                  determineDBFieldName(property, path.getValue()), rebuildPathList(pathList));
+                  determineDBFieldName(property, path.getValue()), rebuildPathList(pathList, intermediatePaths));
             }
-            resolvedPathMap.put(newPath.getAlias(), newPath);
+            resolvedPaths.put(newPath.getAlias(), newPath);
 
           }
         } else {
-          resolvedPathMap.put(property.getExternalName(), new JPAPathImpl(property.getExternalName(), property
+          resolvedPaths.put(property.getExternalName(), new JPAPathImpl(property.getExternalName(), property
               .getDBFieldName(), property));
         }
       }
       final IntermediateStructuredType<? super T> baseType = getBaseType();
       if (baseType != null) {
-        resolvedPathMap.putAll(baseType.getResolvedPathMap());
-        intermediatePathMap.putAll(baseType.getIntermediatePathMap());
+        resolvedPaths.putAll(baseType.getResolvedPathMap());
+        intermediatePaths.putAll(baseType.getIntermediatePathMap());
       }
+      // Publish the resolved paths last, as they are used to check if the maps are complete
+      intermediatePathMap = Collections.unmodifiableMap(intermediatePaths);
+      resolvedPathMap = Collections.unmodifiableMap(resolvedPaths);
     }
   }
 
@@ -777,7 +800,7 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
     if (protectedAttributes == null) {
       if (edmStructuralType == null)
         lazyBuildEdmItem();
-      this.protectedAttributes = new ArrayList<>();
+      final List<JPAProtectionInfo> protections = new ArrayList<>();
       for (final JPAAttribute attribute : getDeclaredAttributes()) {
         if (attribute.hasProtection()) {
           if (attribute.isComplex()) {
@@ -787,12 +810,12 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
                 if (path == null) // Annotation EdmProtectedBy found at '%2$s' of '%1$s', but the given 'path' '%3$s'...
                   throw new ODataJPAModelException(COMPLEX_PROPERTY_WRONG_PROTECTION_PATH, attribute.getInternalName(),
                       this.getTypeClass().getSimpleName(), pathName);
-                protectedAttributes.add(new ProtectionInfo(path, claimName, attribute));
+                protections.add(new ProtectionInfo(path, claimName, attribute));
               }
             }
           } else {
             for (final String claimName : attribute.getProtectionClaimNames()) {
-              protectedAttributes.add(new ProtectionInfo(this.getPath(attribute.getExternalName(), false), claimName,
+              protections.add(new ProtectionInfo(this.getPath(attribute.getExternalName(), false), claimName,
                   attribute));
             }
           }
@@ -801,14 +824,16 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
             // Copy and extend path
             final String pathName = attribute.getExternalName() + JPAPath.PATH_SEPARATOR + info.getPath().getAlias();
             final JPAPath path = this.getPath(pathName, false);
-            protectedAttributes.add(new ProtectionInfo(path, info));
+            protections.add(new ProtectionInfo(path, info));
           }
         }
       }
+      protectedAttributes = Collections.unmodifiableList(protections);
     }
   }
 
-  private List<JPAElement> rebuildPathList(final List<JPAElement> pathList) throws ODataJPAModelException {
+  private List<JPAElement> rebuildPathList(final List<JPAElement> pathList,
+      final Map<String, JPAPath> intermediatePaths) throws ODataJPAModelException {
 
     final StringBuilder path = new StringBuilder();
     for (int i = 0; i < pathList.size() - 1; i++) {
@@ -816,7 +841,7 @@ abstract class IntermediateStructuredType<T> extends IntermediateModelElement im
       path.append(JPAPath.PATH_SEPARATOR);
     }
     path.deleteCharAt(path.length() - 1);
-    final JPAPath parentPath = intermediatePathMap.get(path.toString());
+    final JPAPath parentPath = intermediatePaths.get(path.toString());
     if (parentPath == null)
       return pathList;
     else {
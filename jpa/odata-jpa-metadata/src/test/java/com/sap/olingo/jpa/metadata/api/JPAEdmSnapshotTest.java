@@ -0,0 +1,208 @@
+package com.sap.olingo.jpa.metadata.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.edm.provider.CsdlEntityType;
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.IntermediateEntityTypeAccess;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.IntermediateNavigationPropertyAccess;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.IntermediatePropertyAccess;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.IntermediateReferenceList;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPADefaultEdmNameBuilder;
+import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
+
+class JPAEdmSnapshotTest {
+  private static final String PUNIT_NAME = "com.sap.olingo.jpa";
+  private static final String[] enumPackages = { "com.sap.olingo.jpa.processor.core.testmodel" };
+  private static EntityManagerFactory emf;
+  private static DataSource ds;
+  private JPAEdmProvider provider;
+  private JPAEdmSnapshot cut;
+
+  @BeforeAll
+  public static void setupClass() throws ODataJPAModelException {
+    ds = DataSourceHelper.createDataSource(DataSourceHelper.DB_H2);
+    emf = JPAEntityManagerFactory.getEntityManagerFactory(PUNIT_NAME, ds);
+  }
+
+  @BeforeEach
+  void setup() throws ODataException {
+    provider = new JPAEdmProvider(PUNIT_NAME, emf, null, enumPackages);
+    cut = JPAEdmSnapshot.of(provider, emf.getMetamodel());
+  }
+
+  @Test
+  void checkSnapshotIsValidForSameMetamodel() {
+    assertTrue(cut.isValidFor(emf.getMetamodel()));
+    assertEquals(JPAEdmSnapshot.buildModelHash(emf.getMetamodel()), cut.getModelHash());
+  }
+
+  @Test
+  void checkSnapshotIsOnlyValidForSamePostProcessor() throws ODataException {
+    final JPAEdmSnapshot act = JPAEdmSnapshot.of(new JPAEdmProvider(PUNIT_NAME, emf, new TestPostProcessor(),
+        enumPackages), emf.getMetamodel());
+
+    assertTrue(cut.isValidFor((JPAEdmMetadataPostProcessor) null));
+    assertFalse(cut.isValidFor(new TestPostProcessor()));
+    assertTrue(act.isValidFor(new TestPostProcessor()));
+    assertFalse(act.isValidFor((JPAEdmMetadataPostProcessor) null));
+    assertEquals(cut.getModelHash(), act.getModelHash());
+  }
+
+  @Test
+  void checkReadReturnsWrittenSnapshot() throws IOException {
+    final String expected = write(cut);
+    final JPAEdmSnapshot act = read(expected);
+
+    assertEquals(cut.getModelHash(), act.getModelHash());
+    assertEquals(cut.getPostProcessorHash(), act.getPostProcessorHash());
+    assertEquals(cut.getSchemas().size(), act.getSchemas().size());
+    assertEquals(expected, write(act));
+  }
+
+  @Test
+  void checkReadThrowsExceptionOnUnknownVersion() throws IOException {
+    final String snapshot = write(cut).replace("\"version\":\"2\"", "\"version\":\"1\"");
+
+    assertThrows(IOException.class, () -> read(snapshot));
+  }
+
+  @Test
+  void checkProviderUsesSnapshot() throws ODataException, IOException {
+    final JPAEdmSnapshot snapshot = read(write(cut));
+    final JPAEdmProvider act = new JPAEdmProvider(emf.getMetamodel(), null, enumPackages,
+        new JPADefaultEdmNameBuilder(PUNIT_NAME), snapshot);
+
+    assertSame(snapshot.getSchemas().get(0), act.getSchemas().get(0));
+    assertSame(snapshot.getEntityContainer(), act.getEntityContainer());
+    final FullQualifiedName fqn = new FullQualifiedName(PUNIT_NAME, "Organization");
+    final CsdlEntityType et = act.getEntityType(fqn);
+    assertNotNull(et);
+    assertEquals(provider.getEntityType(fqn).getProperties().size(), et.getProperties().size());
+    assertNotNull(act.getEntitySet(new FullQualifiedName(PUNIT_NAME, act.getEntityContainer().getName()),
+        "Organizations"));
+    assertNotNull(act.getComplexType(new FullQualifiedName(PUNIT_NAME, "CommunicationData")));
+  }
+
+  @Test
+  void checkProviderReturnsSchemasOfSnapshot() throws ODataException {
+    final JPAEdmProvider act = new JPAEdmProvider(emf.getMetamodel(), null, enumPackages,
+        new JPADefaultEdmNameBuilder(PUNIT_NAME), cut);
+
+    assertSame(cut.getSchemas(), act.getSchemas());
+  }
+
+  @Test
+  void checkProviderBuildsServiceDocumentOnFirstUseIfSnapshotUsed() throws ODataException {
+    final JPAEdmSnapshot snapshot = JPAEdmSnapshot.of(new JPAEdmProvider(PUNIT_NAME, emf, mock(
+        JPAEdmMetadataPostProcessor.class), enumPackages), emf.getMetamodel());
+    final JPAEdmMetadataPostProcessor postProcessor = mock(JPAEdmMetadataPostProcessor.class);
+    final JPAEdmProvider act = new JPAEdmProvider(emf.getMetamodel(), postProcessor, enumPackages,
+        new JPADefaultEdmNameBuilder(PUNIT_NAME), snapshot);
+    assertSame(snapshot.getSchemas(), act.getSchemas());
+    assertNotNull(act.getEntityContainer());
+    verify(postProcessor, never()).provideReferences(any());
+
+    assertNotNull(act.getServiceDocument().getEntity("Organizations"));
+    assertSame(act.getServiceDocument(), act.getServiceDocument());
+    verify(postProcessor).provideReferences(any());
+  }
+
+  @Test
+  void checkProviderIgnoresSnapshotOfOtherModel() throws ODataException, IOException {
+    final JPAEdmSnapshot snapshot = read(write(cut).replace(cut.getModelHash(), "0815"));
+    final JPAEdmProvider act = new JPAEdmProvider(emf.getMetamodel(), null, enumPackages,
+        new JPADefaultEdmNameBuilder(PUNIT_NAME), snapshot);
+
+    assertNotSame(snapshot.getSchemas().get(0), act.getSchemas().get(0));
+    assertNotNull(act.getEntityType(new FullQualifiedName(PUNIT_NAME, "Organization")));
+  }
+
+  @Test
+  void checkProviderIgnoresSnapshotOfOtherPostProcessor() throws ODataException {
+    final JPAEdmProvider act = new JPAEdmProvider(emf.getMetamodel(), new TestPostProcessor(), enumPackages,
+        new JPADefaultEdmNameBuilder(PUNIT_NAME), cut);
+
+    assertNotSame(cut.getSchemas(), act.getSchemas());
+    assertNotNull(act.getEntityType(new FullQualifiedName(PUNIT_NAME, "Organization")));
+  }
+
+  @Test
+  void checkProviderIgnoresSnapshotOfOtherNamespace() throws ODataException {
+    final JPAEdmProvider act = new JPAEdmProvider(emf.getMetamodel(), null, enumPackages,
+        new JPADefaultEdmNameBuilder("Willi"), cut);
+
+    assertEquals("Willi", act.getSchemas().get(0).getNamespace());
+  }
+
+  @Test
+  void checkGeneratorWritesSnapshot(@TempDir final Path tempDir) throws ODataException, IOException {
+    final Path target = tempDir.resolve("edm/snapshot.json");
+    JPAEdmSnapshotGenerator.generate(PUNIT_NAME, emf, target, enumPackages);
+
+    assertEquals(write(cut), new String(Files.readAllBytes(target), UTF_8));
+  }
+
+  @Test
+  void checkGeneratorWritesSnapshotOfPostProcessor(@TempDir final Path tempDir) throws ODataException,
+      IOException {
+    final Path target = tempDir.resolve("snapshot.json");
+    JPAEdmSnapshotGenerator.generate(PUNIT_NAME, emf, new TestPostProcessor(), target, enumPackages);
+
+    final JPAEdmSnapshot act = read(new String(Files.readAllBytes(target), UTF_8));
+    assertTrue(act.isValidFor(new TestPostProcessor()));
+    assertFalse(act.isValidFor((JPAEdmMetadataPostProcessor) null));
+  }
+
+  private String write(final JPAEdmSnapshot snapshot) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    snapshot.write(output);
+    return new String(output.toByteArray(), UTF_8);
+  }
+
+  private JPAEdmSnapshot read(final String snapshot) throws IOException {
+    return JPAEdmSnapshot.read(new ByteArrayInputStream(snapshot.getBytes(UTF_8)));
+  }
+
+  public static class TestPostProcessor extends JPAEdmMetadataPostProcessor {
+    @Override
+    public void processNavigationProperty(final IntermediateNavigationPropertyAccess property,
+        final String jpaManagedTypeClassName) {}
+
+    @Override
+    public void processProperty(final IntermediatePropertyAccess property, final String jpaManagedTypeClassName) {}
+
+    @Override
+    public void processEntityType(final IntermediateEntityTypeAccess entityType) {}
+
+    @Override
+    public void provideReferences(final IntermediateReferenceList references) throws ODataJPAModelException {}
+  }
+}
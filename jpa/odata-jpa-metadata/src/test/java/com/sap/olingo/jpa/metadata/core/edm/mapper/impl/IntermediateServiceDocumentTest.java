@@ -4,13 +4,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import org.apache.olingo.commons.api.edm.EdmAction;
@@ -21,6 +29,7 @@ import org.apache.olingo.commons.api.edm.EdmFunction;
 import org.apache.olingo.commons.api.edm.EdmType;
 import org.apache.olingo.commons.api.edm.FullQualifiedName;
 import org.apache.olingo.commons.api.edm.provider.CsdlEntityContainer;
+import org.apache.olingo.commons.api.edm.provider.CsdlEntitySet;
 import org.apache.olingo.commons.api.edm.provider.CsdlSchema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,7 +37,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAProtectionInfo;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
@@ -341,6 +352,56 @@ class IntermediateServiceDocumentTest extends TestMappingRoot {
     assertNotNull(act);
   }
 
+  @Test
+  void checkCompileResolvesPathsOfAllEntityTypes() throws ODataJPAModelException {
+    final IntermediateServiceDocument sd = (IntermediateServiceDocument) cut;
+    sd.compile();
+    for (final CsdlEntitySet es : sd.getEdmEntityContainer().getEntitySets()) {
+      final JPAEntityType et = sd.getEntity(es.getName());
+      assertFalse(et.getPathList().isEmpty());
+      assertThrows(UnsupportedOperationException.class, () -> et.getProtections().add(null));
+    }
+  }
+
+  @Test
+  void checkCompiledServiceDocumentCanBeReadConcurrently() throws ODataJPAModelException, InterruptedException,
+      ExecutionException {
+    final IntermediateServiceDocument sd = (IntermediateServiceDocument) cut;
+    sd.compile();
+    final List<String> entitySets = new ArrayList<>();
+    for (final CsdlEntitySet es : sd.getEdmEntityContainer().getEntitySets())
+      entitySets.add(es.getName());
+    final List<String> expected = readAllPaths(sd, entitySets);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Callable<List<String>>> tasks = new ArrayList<>();
+      for (int i = 0; i < 64; i++)
+        tasks.add(() -> readAllPaths(sd, entitySets));
+      for (final Future<List<String>> act : executor.invokeAll(tasks))
+        assertEquals(expected, act.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private List<String> readAllPaths(final JPAServiceDocument sd, final List<String> entitySets)
+      throws ODataJPAModelException {
+    final List<String> result = new ArrayList<>();
+    for (final String esName : entitySets) {
+      final JPAEntityType et = sd.getEntity(esName);
+      for (final JPAPath path : et.getPathList())
+        result.add(esName + "/" + et.getPath(path.getAlias()).getAlias());
+      for (final JPAAssociationPath path : et.getAssociationPathList())
+        result.add(esName + "/" + et.getAssociationPath(path.getAlias()).getAlias());
+      for (final JPAPath path : et.getKeyPath())
+        result.add(esName + "#" + path.getAlias());
+      result.add(esName + "$" + et.getProtections().size());
+    }
+    Collections.sort(result);
+    return result;
+  }
+
   private IntermediateServiceDocument createCutWithCustomNameBuilder() throws ODataJPAModelException {
     return new IntermediateServiceDocument(new CustomJPANameBuilder(), emf.getMetamodel(), null,
         new String[] { "com.sap.olingo.jpa.processor.core.testmodel",
@@ -0,0 +1,142 @@
+package com.sap.olingo.jpa.metadata.core.edm.mapper.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.olingo.commons.api.edm.provider.CsdlEntitySet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+
+/**
+ * Resolves the paths, association paths, keys and protections of all entity sets the way the first requests after a
+ * start do, once with a lazily built service document and once with a service document compiled at start up.
+ * Compares the memory allocated by these first requests and checks that concurrent first requests get the same model.
+ */
+class ServiceDocumentCompileTest extends TestMappingRoot {
+  private static final int NO_THREADS = 8;
+  private List<String> entitySets;
+
+  @BeforeEach
+  void setup() throws ODataJPAModelException {
+    final IntermediateServiceDocument sd = createServiceDocument();
+    entitySets = new ArrayList<>();
+    for (final CsdlEntitySet es : sd.getEdmEntityContainer().getEntitySets())
+      entitySets.add(es.getName());
+    // Warm up, so class loading is not measured
+    readAllPaths(sd);
+  }
+
+  @Test
+  void testFirstRequestOnCompiledModelAllocatesLessMemory() throws ODataJPAModelException {
+    final com.sun.management.ThreadMXBean threads = getThreadMXBean();
+    final IntermediateServiceDocument lazy = createServiceDocument();
+    final IntermediateServiceDocument compiled = createServiceDocument();
+    compiled.compile();
+
+    final long lazyStart = threads.getCurrentThreadAllocatedBytes();
+    final List<String> lazyPaths = readAllPaths(lazy);
+    final long lazyFirstRequest = threads.getCurrentThreadAllocatedBytes() - lazyStart;
+
+    final long compiledStart = threads.getCurrentThreadAllocatedBytes();
+    final List<String> compiledPaths = readAllPaths(compiled);
+    final long compiledFirstRequest = threads.getCurrentThreadAllocatedBytes() - compiledStart;
+
+    assertEquals(lazyPaths, compiledPaths);
+    assertTrue(compiledFirstRequest * 2 < lazyFirstRequest, "Allocated bytes of first request: compiled "
+        + compiledFirstRequest + ", lazy " + lazyFirstRequest);
+  }
+
+  @Test
+  void testConcurrentFirstRequestsOnLazyModelGetSameModel() throws ODataJPAModelException, InterruptedException,
+      ExecutionException {
+    final IntermediateServiceDocument compiled = createServiceDocument();
+    compiled.compile();
+    final List<String> expected = readAllPaths(compiled);
+
+    assertEquals(Collections.nCopies(NO_THREADS, expected), readConcurrently(createServiceDocument()));
+  }
+
+  @Test
+  void testConcurrentFirstRequestsOnCompiledModelGetSameModel() throws ODataJPAModelException,
+      InterruptedException, ExecutionException {
+    final IntermediateServiceDocument lazy = createServiceDocument();
+    final List<String> expected = readAllPaths(lazy);
+    final IntermediateServiceDocument compiled = createServiceDocument();
+    compiled.compile();
+
+    assertEquals(Collections.nCopies(NO_THREADS, expected), readConcurrently(compiled));
+  }
+
+  /**
+   * Starts all threads at the same time, so they run into the not yet built parts of the model together.
+   */
+  private List<List<String>> readConcurrently(final IntermediateServiceDocument sd) throws InterruptedException,
+      ExecutionException {
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(NO_THREADS);
+    try {
+      final List<Callable<List<String>>> tasks = new ArrayList<>();
+      for (int i = 0; i < NO_THREADS; i++)
+        tasks.add(() -> {
+          start.await();
+          return readAllPaths(sd);
+        });
+      final List<Future<List<String>>> futures = new ArrayList<>();
+      for (final Callable<List<String>> task : tasks)
+        futures.add(executor.submit(task));
+      start.countDown();
+      final List<List<String>> result = new ArrayList<>();
+      for (final Future<List<String>> future : futures)
+        result.add(future.get());
+      return result;
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private List<String> readAllPaths(final IntermediateServiceDocument sd) throws ODataJPAModelException {
+    final List<String> result = new ArrayList<>();
+    for (final String esName : entitySets) {
+      final JPAEntityType et = sd.getEntity(esName);
+      for (final JPAPath path : et.getPathList())
+        result.add(esName + "/" + et.getPath(path.getAlias()).getAlias());
+      for (final JPAAssociationPath path : et.getAssociationPathList())
+        result.add(esName + "/" + et.getAssociationPath(path.getAlias()).getAlias());
+      for (final JPAPath path : et.getKeyPath())
+        result.add(esName + "#" + path.getAlias());
+      result.add(esName + "$" + et.getProtections().size());
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  private IntermediateServiceDocument createServiceDocument() throws ODataJPAModelException {
+    return new IntermediateServiceDocument(PUNIT_NAME, emf.getMetamodel(), null,
+        new String[] { "com.sap.olingo.jpa.processor.core.testmodel" });
+  }
+
+  private static com.sun.management.ThreadMXBean getThreadMXBean() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+        .getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+    return threads;
+  }
+}
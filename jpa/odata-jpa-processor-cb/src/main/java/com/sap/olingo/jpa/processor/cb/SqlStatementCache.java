@@ -0,0 +1,124 @@
+package com.sap.olingo.jpa.processor.cb;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Cache of the SQL statements generated for criteria queries, keyed by the structural fingerprint of a query.<p>
+ * The fingerprint is collected from the query without creating SQL and ignores the values of literals, which are
+ * always bound as parameters. If a query shape was seen before, the statement is taken from the cache and only the
+ * parameters get bound. As repeated shapes get the same statement instance, also the prepared statement caches of the
+ * JPA provider and the JDBC driver can hit.<p>
+ * The cache is bounded. If it is full, the least recently used statement is removed. It can be shared between entity
+ * managers and provides the number of hits and misses.
+ */
+public final class SqlStatementCache {
+  public static final int DEFAULT_MAX_ENTRIES = 1000;
+  private final int maxEntries;
+  private final Map<Object, Entry> statements;
+  private final AtomicLong clock;
+  private final LongAdder hits;
+  private final LongAdder misses;
+
+  public SqlStatementCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * @param maxEntries Maximum number of statements kept. With zero no statement is cached.
+   */
+  public SqlStatementCache(final int maxEntries) {
+    super();
+    if (maxEntries < 0)
+      throw new IllegalArgumentException("Maximum number of entries must not be negative");
+    this.maxEntries = maxEntries;
+    this.statements = new ConcurrentHashMap<>();
+    this.clock = new AtomicLong();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  /**
+   * Returns the statement of a query shape.
+   * @param fingerprint Structural fingerprint of a query
+   * @return The cached statement or null, if the shape is not cached
+   */
+  @CheckForNull
+  public String getStatement(@Nonnull final Object fingerprint) {
+    final Entry entry = statements.get(fingerprint);
+    if (entry != null) {
+      hits.increment();
+      entry.lastUsed = clock.incrementAndGet();
+      return entry.statement;
+    }
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Adds the statement of a query shape. If the cache is full, the least recently used statement gets removed.
+   * @param fingerprint Structural fingerprint of a query
+   * @param statement Normalized SQL statement of the query
+   */
+  public void putStatement(@Nonnull final Object fingerprint, @Nonnull final String statement) {
+    if (maxEntries == 0)
+      return;
+    statements.put(fingerprint, new Entry(statement, clock.incrementAndGet()));
+    while (statements.size() > maxEntries)
+      removeLeastRecentlyUsed();
+  }
+
+  /**
+   * @return Number of statements found in the cache
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return Number of statements not found in the cache
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return Number of statements currently cached
+   */
+  public int size() {
+    return statements.size();
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public void clear() {
+    statements.clear();
+  }
+
+  private void removeLeastRecentlyUsed() {
+    Map.Entry<Object, Entry> eldest = null;
+    for (final Map.Entry<Object, Entry> candidate : statements.entrySet()) {
+      if (eldest == null || candidate.getValue().lastUsed < eldest.getValue().lastUsed)
+        eldest = candidate;
+    }
+    if (eldest != null)
+      statements.remove(eldest.getKey(), eldest.getValue());
+  }
+
+  private static final class Entry {
+    private final String statement;
+    private volatile long lastUsed;
+
+    private Entry(final String statement, final long lastUsed) {
+      this.statement = statement;
+      this.lastUsed = lastUsed;
+    }
+  }
+}
@@ -12,43 +12,76 @@ import javax.persistence.SynchronizationType;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.metamodel.Metamodel;
 
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
+import com.sap.olingo.jpa.processor.cb.SqlStatementCache;
 import com.sap.olingo.jpa.processor.cb.impl.EntityManagerWrapper;
 
 public final class EntityManagerFactoryWrapper implements EntityManagerFactory {
   private final EntityManagerFactory emf;
-  private final JPAServiceDocument sd;
+  private final ProcessorCriteriaBuilder cb;
+  private final SqlStatementCache statementCache;
 
   public EntityManagerFactoryWrapper(final EntityManagerFactory emf, final JPAServiceDocument sd) {
     super();
     this.emf = emf;
-    this.sd = sd;
+    this.statementCache = new SqlStatementCache();
+    this.cb = EntityManagerWrapper.createCriteriaBuilder(sd, statementCache);
+  }
+
+  /**
+   * Creates a wrapper that asks the edm provider for the service document not before the first query gets created.
+   */
+  public EntityManagerFactoryWrapper(final EntityManagerFactory emf, final JPAEdmProvider edmProvider) {
+    super();
+    this.emf = emf;
+    this.statementCache = new SqlStatementCache();
+    this.cb = EntityManagerWrapper.createCriteriaBuilder(edmProvider, statementCache);
   }
 
   @Override
   public EntityManager createEntityManager() {
-    return new EntityManagerWrapper(emf.createEntityManager(), sd);
+    return new EntityManagerWrapper(emf.createEntityManager(), cb);
   }
 
+  /**
+   * Creates a new entity manager with the given properties. A schema mapping given via
+   * {@link ProcessorEntityManager#SCHEMA_MAPPING} is applied to the created entity manager, so one factory can serve
+   * tenants with different database schemas.
+   */
   @Override
   public EntityManager createEntityManager(@SuppressWarnings("rawtypes") final Map map) {
-    return new EntityManagerWrapper(emf.createEntityManager(map), sd);
+    return withProperties(new EntityManagerWrapper(emf.createEntityManager(map), cb), map);
   }
 
   @Override
   public EntityManager createEntityManager(final SynchronizationType synchronizationType) {
-    return new EntityManagerWrapper(emf.createEntityManager(synchronizationType), sd);
+    return new EntityManagerWrapper(emf.createEntityManager(synchronizationType), cb);
   }
 
   @Override
   public EntityManager createEntityManager(final SynchronizationType synchronizationType,
       @SuppressWarnings("rawtypes") final Map map) {
-    return new EntityManagerWrapper(emf.createEntityManager(synchronizationType, map), sd);
+    return withProperties(new EntityManagerWrapper(emf.createEntityManager(synchronizationType, map), cb),
+        map);
   }
 
+  /**
+   * Returns the criteria builder shared by all entity managers created by this factory. No entity manager is created
+   * to get it.
+   */
   @Override
   public CriteriaBuilder getCriteriaBuilder() {
-    return new EntityManagerWrapper(emf.createEntityManager(), sd).getCriteriaBuilder();
+    return cb;
+  }
+
+  /**
+   * Returns the cache of the statements created by the entity managers of this factory, e.g. to monitor its hit rate.
+   */
+  public SqlStatementCache getStatementCache() {
+    return statementCache;
   }
 
   @Override
@@ -96,4 +129,9 @@ public final class EntityManagerFactoryWrapper implements EntityManagerFactory {
     emf.addNamedEntityGraph(graphName, entityGraph);
   }
 
+  private EntityManager withProperties(final EntityManager em, final Map<?, ?> map) {
+    if (map != null && map.containsKey(ProcessorEntityManager.SCHEMA_MAPPING))
+      em.setProperty(ProcessorEntityManager.SCHEMA_MAPPING, map.get(ProcessorEntityManager.SCHEMA_MAPPING));
+    return em;
+  }
 }
@@ -53,6 +53,16 @@ abstract class AbstractJoinImp<Z, X> extends FromImpl<Z, X> implements Join<Z, X
     return statement;
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass())
+        .token(SqlJoinType.byJoinType(getJoinType()))
+        .token(st.getTableName())
+        .token(tableAlias.orElse(null))
+        .children(getJoins())
+        .child(on);
+  }
+
   /**
    * Return the predicate that corresponds to the ON
    * restriction(s) on the join, or null if no ON condition
@@ -73,6 +73,20 @@ class CollectionJoinImpl<Z, X> extends AbstractJoinImp<Z, X> {
     }
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    try {
+      fingerprint.token(getClass())
+          .token(SqlJoinType.byJoinType(getJoinType()))
+          .token(attribute.asAssociation().getJoinTable().getTableName())
+          .token(tableAlias.orElse(null))
+          .child(on);
+    } catch (final ODataJPAModelException e) {
+      // The statement can not be created either
+      fingerprint.notCacheable();
+    }
+  }
+
   @Override
   List<Path<Object>> resolvePathElements() {
     final List<Path<Object>> pathList = new ArrayList<>();
@@ -0,0 +1,143 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.SELECTION_REPLACEMENT;
+import static com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.SELECTION_REPLACEMENT_REGEX;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Selection;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
+import com.sap.olingo.jpa.processor.cb.SqlStatementCache;
+
+/**
+ * Combines a list of tuple queries into one statement, so they can be executed with one database round trip.<p>
+ * Each query becomes a branch of a UNION ALL. A branch gets its own range of columns, the columns of the other
+ * branches are filled with NULL. So each column has exactly one typed source. In addition each branch provides its
+ * index and a row number, which are used to restore the order of the rows per query. As the order of a derived table
+ * is not kept by the union, the row number is determined within the branch by the ORDER BY of the query:
+ * <pre>
+ * SELECT * FROM (
+ * SELECT 0 D, U0.R R, U0.S0 C0, U0.S1 C1, NULL C2 FROM (SELECT ..., ROW_NUMBER() OVER( ORDER BY ...) R ...) U0
+ * UNION ALL SELECT 1 D, U1.R R, NULL C0, NULL C1, U1.S0 C2 FROM (SELECT ..., ROW_NUMBER() OVER() R ...) U1) U
+ * ORDER BY D, R
+ * </pre>
+ */
+class CombinedQueryImpl {
+  private static final String BRANCH_COLUMN = "D";
+  private static final String ROW_NUMBER_COLUMN = "R";
+  private static final String COLUMN_PREFIX = "C";
+  private static final String BRANCH_ALIAS_PREFIX = "U";
+  private static final int NO_DATA_COLUMNS = 2;
+
+  private final List<CriteriaQueryImpl<Tuple>> queries;
+  private final List<List<String>> columns;
+  private final Query q;
+
+  CombinedQueryImpl(@Nonnull final List<CriteriaQuery<Tuple>> criteriaQueries, @Nonnull final EntityManager em,
+      @Nonnull final ParameterBuffer parameterBuffer, @Nonnull final SqlStatementCache statementCache,
+      @Nonnull final SchemaMapping schemaMapping) {
+    final SqlFingerprint fingerprint = new SqlFingerprint();
+    this.queries = new ArrayList<>(criteriaQueries.size());
+    this.columns = new ArrayList<>(criteriaQueries.size());
+    fingerprint.token(getClass()).token(criteriaQueries.size());
+    for (final CriteriaQuery<Tuple> query : criteriaQueries) {
+      this.queries.add((CriteriaQueryImpl<Tuple>) query);
+      ((CriteriaQueryImpl<Tuple>) query).fingerprint(fingerprint, ROW_NUMBER_COLUMN);
+      this.columns.add(getColumnNames((SqlSelection<?>) query.getSelection()));
+    }
+    final SqlStatement statement = SqlStatement.of(fingerprint, () -> asSQL(new StringBuilder()), statementCache);
+    this.q = em.createNativeQuery(schemaMapping.apply(statement.getSql()));
+    statement.bindParameter(q, parameterBuffer);
+  }
+
+  List<List<Tuple>> getResultLists() {
+    final List<List<Tuple>> results = new ArrayList<>(queries.size());
+    final List<TupleReader> readers = new ArrayList<>(queries.size());
+    final int[] offsets = new int[queries.size()];
+    int offset = NO_DATA_COLUMNS;
+    for (int i = 0; i < queries.size(); i++) {
+      final List<Entry<String, JPAPath>> selPath = ((ProcessorSelection<?>) queries.get(i).getSelection())
+          .getResolvedSelection();
+      readers.add(new TupleReader(TypedQueryImpl.toAttributeList(selPath), TypedQueryImpl.buildSelectionIndex(
+          selPath)));
+      offsets[i] = offset;
+      offset += columns.get(i).size();
+      results.add(new ArrayList<>());
+    }
+    if (queries.isEmpty())
+      return results;
+    for (final Object row : q.getResultList()) {
+      final Object[] values = (Object[]) row;
+      final int branch = ((Number) values[0]).intValue();
+      results.get(branch).add(new TupleImpl(Arrays.copyOfRange(values, offsets[branch], offsets[branch]
+          + columns.get(branch).size()), readers.get(branch)));
+    }
+    return results;
+  }
+
+  StringBuilder asSQL(@Nonnull final StringBuilder statement) {
+    final List<StringBuilder> branches = new ArrayList<>(queries.size());
+    for (final CriteriaQueryImpl<Tuple> query : queries) {
+      branches.add(query.asSQL(new StringBuilder(), ROW_NUMBER_COLUMN));
+    }
+    statement.append(SqlKeyWords.SELECT)
+        .append(" * ")
+        .append(SqlKeyWords.FROM)
+        .append(" (");
+    for (int i = 0; i < branches.size(); i++) {
+      if (i > 0)
+        statement.append(" ").append(SqlKeyWords.UNION).append(" ").append(SqlKeyWords.ALL).append(" ");
+      statement.append(SqlKeyWords.SELECT)
+          .append(" ")
+          .append(i).append(" ").append(BRANCH_COLUMN)
+          .append(", ").append(BRANCH_ALIAS_PREFIX).append(i).append(".").append(ROW_NUMBER_COLUMN)
+          .append(" ").append(ROW_NUMBER_COLUMN);
+      int columnIndex = 0;
+      for (int j = 0; j < branches.size(); j++) {
+        for (final String column : columns.get(j)) {
+          statement.append(", ");
+          if (i == j)
+            statement.append(BRANCH_ALIAS_PREFIX).append(i).append(".").append(column);
+          else
+            statement.append("NULL");
+          statement.append(" ").append(COLUMN_PREFIX).append(columnIndex++);
+        }
+      }
+      statement.append(" ")
+          .append(SqlKeyWords.FROM)
+          .append(" (")
+          .append(branches.get(i))
+          .append(") ")
+          .append(BRANCH_ALIAS_PREFIX).append(i);
+    }
+    return statement.append(") ")
+        .append(BRANCH_ALIAS_PREFIX)
+        .append(" ")
+        .append(SqlKeyWords.ORDERBY)
+        .append(" ")
+        .append(BRANCH_COLUMN)
+        .append(", ")
+        .append(ROW_NUMBER_COLUMN);
+  }
+
+  private List<String> getColumnNames(final SqlSelection<?> selection) {
+    final List<Selection<?>> items = selection.isCompoundSelection()
+        ? selection.getCompoundSelectionItems()
+        : Collections.singletonList(selection);
+    final List<String> names = new ArrayList<>(items.size());
+    for (final Selection<?> item : items)
+      names.add(item.getAlias().replaceAll(SELECTION_REPLACEMENT_REGEX, SELECTION_REPLACEMENT));
+    return names;
+  }
+}
@@ -55,6 +55,11 @@ final class CompoundSelectionImpl<X> implements CompoundSelection<X>, SqlSelecti
     return statement;
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass()).children(getCompoundSelectionItems());
+  }
+
   /**
    * Return the alias assigned to the tuple element or null,
    * if no alias has been assigned.
@@ -13,9 +13,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.persistence.Tuple;
 import javax.persistence.criteria.CollectionJoin;
 import javax.persistence.criteria.CompoundSelection;
@@ -36,6 +38,7 @@ import javax.persistence.criteria.Subquery;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
 import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaQuery;
+import com.sap.olingo.jpa.processor.cb.SqlStatementCache;
 import com.sap.olingo.jpa.processor.cb.exeptions.NotImplementedException;
 import com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.ParameterExpression;
 import com.sap.olingo.jpa.processor.cb.impl.PredicateImpl.BinaryExpressionPredicate.Operation;
@@ -43,12 +46,28 @@ import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
 
 class CriteriaBuilderImpl implements ProcessorCriteriaBuilder { // NOSONAR
 
-  private final JPAServiceDocument sd;
+  private final Supplier<JPAServiceDocument> sd;
   private final ParameterBuffer parameter;
+  private final SqlStatementCache statementCache;
 
   CriteriaBuilderImpl(final JPAServiceDocument sd, final ParameterBuffer parameterBuffer) {
+    this(() -> sd, parameterBuffer, new SqlStatementCache());
+  }
+
+  CriteriaBuilderImpl(final Supplier<JPAServiceDocument> sd, final ParameterBuffer parameterBuffer) {
+    this(sd, parameterBuffer, new SqlStatementCache());
+  }
+
+  /**
+   * @param sd Provides the service document when it is needed the first time
+   * @param parameterBuffer Buffer collecting the parameters of the statements
+   * @param statementCache Cache of the statements created for the queries of this builder
+   */
+  CriteriaBuilderImpl(final Supplier<JPAServiceDocument> sd, final ParameterBuffer parameterBuffer,
+      final SqlStatementCache statementCache) {
     this.sd = sd;
     this.parameter = parameterBuffer;
+    this.statementCache = statementCache;
   }
 
   /**
@@ -284,17 +303,17 @@ class CriteriaBuilderImpl implements ProcessorCriteriaBuilder { // NOSONAR
 
   @Override
   public ProcessorCriteriaQuery<Object> createQuery() {
-    return new CriteriaQueryImpl<>(Object.class, sd, this);
+    return new CriteriaQueryImpl<>(Object.class, sd.get(), this);
   }
 
   @Override
   public <T> ProcessorCriteriaQuery<T> createQuery(final Class<T> resultClass) {
-    return new CriteriaQueryImpl<>(resultClass, sd, this);
+    return new CriteriaQueryImpl<>(resultClass, sd.get(), this);
   }
 
   @Override
   public ProcessorCriteriaQuery<Tuple> createTupleQuery() {
-    return new CriteriaQueryImpl<>(Tuple.class, sd, this);
+    return new CriteriaQueryImpl<>(Tuple.class, sd.get(), this);
   }
 
   @Override
@@ -447,6 +466,10 @@ class CriteriaBuilderImpl implements ProcessorCriteriaBuilder { // NOSONAR
     return parameter;
   }
 
+  public SqlStatementCache getStatementCache() {
+    return statementCache;
+  }
+
   /**
    * Create a predicate for testing whether the first argument is
    * greater than the second.
@@ -536,8 +559,7 @@ class CriteriaBuilderImpl implements ProcessorCriteriaBuilder { // NOSONAR
    */
   @Override
   public <T> In<T> in(final Expression<? extends T> expression) {
-    // e.g.: return new Expressions.In<>(expression); //NOSONAR
-    throw new NotImplementedException();
+    return new PredicateImpl.In<>(expression, parameter);
   }
 
   /**
@@ -1685,8 +1707,33 @@ class CriteriaBuilderImpl implements ProcessorCriteriaBuilder { // NOSONAR
     return new ExpressionImpl.WindowFunctionExpression<>(SqlWindowFunctions.ROW_NUMBER);
   }
 
+  /**
+   * Creates an expression for a window function counting the rows: <code>COUNT(*) OVER()</code>.
+   */
+  @Override
+  public WindowFunction<Long> countRows() {
+    return new ExpressionImpl.WindowFunctionExpression<>(SqlWindowFunctions.COUNT);
+  }
+
+  /**
+   * Creates a predicate that restricts the row number of each partition to a page:
+   * <code>(rowNumber > skip) AND (rowNumber <= skip + top)</code>.
+   */
+  @Override
+  public Predicate limitPerPartition(@Nonnull final Expression<? extends Number> rowNumber,
+      @Nullable final Integer skip, @Nullable final Integer top) {
+
+    if ((skip != null && skip < 0) || (top != null && top < 0))
+      throw new IllegalArgumentException("Skip and top must not be negative");
+    final int firstRow = skip == null ? 0 : skip;
+    final Predicate offset = gt(rowNumber, firstRow);
+    if (top == null)
+      return offset;
+    return and(offset, le(rowNumber, (long) firstRow + top));
+  }
+
   public JPAServiceDocument getServiceDocument() {
-    return sd;
+    return sd.get();
   }
 
   private Predicate binaryExpression(@Nonnull final Expression<?> x, @Nonnull final Expression<?> y,
@@ -37,12 +37,13 @@ import com.sap.olingo.jpa.processor.cb.joiner.ExpressionCollector;
 import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
 import com.sap.olingo.jpa.processor.cb.joiner.StringBuilderCollector;
 
-class CriteriaQueryImpl<T> implements ProcessorCriteriaQuery<T>, SqlConvertible {
+class CriteriaQueryImpl<T> implements ProcessorCriteriaQuery<T>, SqlConvertible, SqlFingerprintable {
   private final Class<T> resultType;
   private final Set<FromImpl<?, ?>> roots = new HashSet<>();
   private final JPAServiceDocument sd;
   private SqlSelection<?> selection;
   private Optional<Expression<Boolean>> where;
+  private boolean inheritanceWhereAdded;
   private boolean distinct;
   private final AliasBuilder aliasBuilder;
   private final AliasBuilder selectAliasBuilder;
@@ -71,17 +72,33 @@ class CriteriaQueryImpl<T> implements ProcessorCriteriaQuery<T>, SqlConvertible
 
   @Override
   public StringBuilder asSQL(final StringBuilder statement) {
-    final List<Expression<Boolean>> filterExpressions = new ArrayList<>();
-    where.ifPresent(filterExpressions::add);
-    roots.stream().forEach(r -> addInheritanceWhere(r, filterExpressions));
+    return asSQL(statement, Optional.empty());
+  }
 
-    where = Optional.ofNullable(filterExpressions.stream().filter(Objects::nonNull).collect(new ExpressionCollector(
-        cb, BooleanOperator.AND)));
+  /**
+   * Renders the query with an additional column, which contains the position of a row within the requested order. This
+   * allows to restore the order of the rows, e.g. after the query became part of a union. For a distinct query the rank
+   * is used, so rows that differ only by their row number do not become distinct.
+   * @param statement Statement the query is appended to
+   * @param rowNumberAlias Alias of the additional column
+   * @return The statement
+   */
+  StringBuilder asSQL(@Nonnull final StringBuilder statement, @Nonnull final String rowNumberAlias) {
+    return asSQL(statement, Optional.of(rowNumberAlias));
+  }
 
+  private StringBuilder asSQL(final StringBuilder statement, final Optional<String> rowNumberAlias) {
+    addInheritanceWhere();
     statement.append(SqlKeyWords.SELECT)
         .append(" ")
         .append(addDistinct());
     selection.asSQL(statement);
+    rowNumberAlias.ifPresent(alias -> {
+      final ExpressionImpl.WindowFunctionExpression<Long> rowNumber = new ExpressionImpl.WindowFunctionExpression<>(
+          distinct ? SqlWindowFunctions.DENSE_RANK : SqlWindowFunctions.ROW_NUMBER);
+      orderList.ifPresent(rowNumber::orderBy);
+      rowNumber.asSQL(statement.append(", ")).append(" ").append(alias);
+    });
     statement.append(" ")
         .append(SqlKeyWords.FROM)
         .append(" ");
@@ -109,6 +126,34 @@ class CriteriaQueryImpl<T> implements ProcessorCriteriaQuery<T>, SqlConvertible
     return statement;
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint(fingerprint, Optional.empty());
+  }
+
+  /**
+   * Creates the fingerprint of the query rendered with an additional row number column, see
+   * {@link #asSQL(StringBuilder, String)}.
+   */
+  void fingerprint(@Nonnull final SqlFingerprint fingerprint, @Nonnull final String rowNumberAlias) {
+    fingerprint(fingerprint, Optional.of(rowNumberAlias));
+  }
+
+  private void fingerprint(final SqlFingerprint fingerprint, final Optional<String> rowNumberAlias) {
+    addInheritanceWhere();
+    fingerprint.token(getClass())
+        .token(distinct)
+        .child(selection)
+        .token(rowNumberAlias.orElse(null));
+    // The row number is ordered like the query
+    rowNumberAlias.ifPresent(alias -> fingerprint.optionalChildren(orderList));
+    fingerprint.children(roots)
+        .optional(where)
+        .optionalChildren(groupBy)
+        .optionalChildren(orderList)
+        .optional(having);
+  }
+
   @Override
   public CriteriaQuery<T> distinct(final boolean distinct) {
     this.distinct = distinct;
@@ -405,6 +450,7 @@ class CriteriaQueryImpl<T> implements ProcessorCriteriaQuery<T>, SqlConvertible
   @Override
   public CriteriaQuery<T> where(@Nullable final Expression<Boolean> restriction) {
     where = Optional.ofNullable(restriction);
+    inheritanceWhereAdded = false;
     return this;
   }
 
@@ -434,6 +480,22 @@ class CriteriaQueryImpl<T> implements ProcessorCriteriaQuery<T>, SqlConvertible
     return "";
   }
 
+  /**
+   * Adds the restrictions required by the inheritance of the roots and joins to the where clause. This is done only
+   * once, so the query gets the same parameters when it is rendered after its fingerprint was created.
+   */
+  private void addInheritanceWhere() {
+    if (inheritanceWhereAdded)
+      return;
+    final List<Expression<Boolean>> filterExpressions = new ArrayList<>();
+    where.ifPresent(filterExpressions::add);
+    roots.stream().forEach(r -> addInheritanceWhere(r, filterExpressions));
+
+    where = Optional.ofNullable(filterExpressions.stream().filter(Objects::nonNull).collect(new ExpressionCollector(
+        cb, BooleanOperator.AND)));
+    inheritanceWhereAdded = true;
+  }
+
   private void addInheritanceWhere(final FromImpl<?, ?> from, final List<Expression<Boolean>> inheritanceWhere) {
 
     inheritanceWhere.add(from.createInheritanceWhere());
@@ -1,9 +1,11 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 
+import javax.annotation.Nonnull;
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
@@ -15,6 +17,7 @@ import javax.persistence.PersistenceException;
 import javax.persistence.Query;
 import javax.persistence.StoredProcedureQuery;
 import javax.persistence.TransactionRequiredException;
+import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
@@ -24,23 +27,72 @@ import javax.persistence.metamodel.Metamodel;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
+import com.sap.olingo.jpa.processor.cb.SqlStatementCache;
 import com.sap.olingo.jpa.processor.cb.exeptions.NotImplementedException;
 
-public class EntityManagerWrapper implements EntityManager { // NOSONAR
+public class EntityManagerWrapper implements ProcessorEntityManager { // NOSONAR
   private static final Log LOG = LogFactory.getLog(EntityManagerWrapper.class);
-  private Optional<ProcessorCriteriaBuilder> cb;
+  private final ProcessorCriteriaBuilder cb;
   private final EntityManager em;
-  private final JPAServiceDocument sd;
-  private final ParameterBuffer parameterBuffer;
+  private SchemaMapping schemaMapping;
 
   public EntityManagerWrapper(final EntityManager em, final JPAServiceDocument sd) {
+    this(em, createCriteriaBuilder(sd));
+  }
+
+  /**
+   * @param em Entity manager of the JPA provider, which executes the statements
+   * @param cb Criteria builder created by {@link #createCriteriaBuilder(JPAServiceDocument)}, which may be shared with
+   * other entity managers
+   * @throws IllegalArgumentException if the criteria builder was not created by
+   * {@link #createCriteriaBuilder(JPAServiceDocument)}
+   */
+  public EntityManagerWrapper(final EntityManager em, final ProcessorCriteriaBuilder cb) {
     super();
     this.em = em;
-    this.sd = sd;
-    this.cb = Optional.empty();
-    this.parameterBuffer = new ParameterBuffer();
+    if (!(Objects.requireNonNull(cb) instanceof CriteriaBuilderImpl))
+      throw new IllegalArgumentException("Criteria builder not created by createCriteriaBuilder");
+    this.cb = cb;
+    this.schemaMapping = SchemaMapping.NONE;
+  }
+
+  /**
+   * Creates a criteria builder that does not depend on an entity manager. The builder is thread safe and can be shared
+   * by all entity managers of a service document.
+   */
+  public static ProcessorCriteriaBuilder createCriteriaBuilder(final JPAServiceDocument sd) {
+    return createCriteriaBuilder(sd, new SqlStatementCache());
+  }
+
+  /**
+   * Creates a criteria builder like {@link #createCriteriaBuilder(JPAServiceDocument)}, which takes the statements of
+   * repeated query shapes from the given cache.
+   */
+  public static ProcessorCriteriaBuilder createCriteriaBuilder(final JPAServiceDocument sd,
+      final SqlStatementCache statementCache) {
+    return new CriteriaBuilderImpl(() -> sd, new ParameterBuffer(), statementCache);
+  }
+
+  /**
+   * Creates a criteria builder that does not depend on an entity manager and asks the edm provider for the service
+   * document not before it is needed. So the intermediate model of a provider that uses a snapshot is not built when
+   * the builder gets created.
+   */
+  public static ProcessorCriteriaBuilder createCriteriaBuilder(final JPAEdmProvider edmProvider) {
+    return createCriteriaBuilder(edmProvider, new SqlStatementCache());
+  }
+
+  /**
+   * Creates a criteria builder like {@link #createCriteriaBuilder(JPAEdmProvider)}, which takes the statements of
+   * repeated query shapes from the given cache.
+   */
+  public static ProcessorCriteriaBuilder createCriteriaBuilder(final JPAEdmProvider edmProvider,
+      final SqlStatementCache statementCache) {
+    return new CriteriaBuilderImpl(edmProvider::getServiceDocument, new ParameterBuffer(), statementCache);
   }
 
   /**
@@ -59,6 +111,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public void persist(final Object entity) {
+    checkNoSchemaMapping();
     em.persist(entity);
   }
 
@@ -75,6 +128,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public <T> T merge(final T entity) {
+    checkNoSchemaMapping();
     return em.merge(entity);
   }
 
@@ -90,6 +144,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public void remove(final Object entity) {
+    checkNoSchemaMapping();
     em.remove(entity);
   }
 
@@ -109,6 +164,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public <T> T find(final Class<T> entityClass, final Object primaryKey) {
+    checkNoSchemaMapping();
     return em.find(entityClass, primaryKey);
   }
 
@@ -133,22 +189,26 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public <T> T find(final Class<T> entityClass, final Object primaryKey, final Map<String, Object> properties) {
+    checkNoSchemaMapping();
     return em.find(entityClass, primaryKey, properties);
   }
 
   @Override
   public <T> T find(final Class<T> entityClass, final Object primaryKey, final LockModeType lockMode) {
+    checkNoSchemaMapping();
     return em.find(entityClass, primaryKey, lockMode);
   }
 
   @Override
   public <T> T find(final Class<T> entityClass, final Object primaryKey, final LockModeType lockMode,
       final Map<String, Object> properties) {
+    checkNoSchemaMapping();
     return em.find(entityClass, primaryKey, lockMode, properties);
   }
 
   @Override
   public <T> T getReference(final Class<T> entityClass, final Object primaryKey) {
+    checkNoSchemaMapping();
     return em.getReference(entityClass, primaryKey);
   }
 
@@ -169,31 +229,37 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
 
   @Override
   public void lock(final Object entity, final LockModeType lockMode) {
+    checkNoSchemaMapping();
     em.lock(entity, lockMode);
   }
 
   @Override
   public void lock(final Object entity, final LockModeType lockMode, final Map<String, Object> properties) {
+    checkNoSchemaMapping();
     em.lock(entity, lockMode, properties);
   }
 
   @Override
   public void refresh(final Object entity) {
+    checkNoSchemaMapping();
     em.refresh(entity);
   }
 
   @Override
   public void refresh(final Object entity, final Map<String, Object> properties) {
+    checkNoSchemaMapping();
     em.refresh(entity, properties);
   }
 
   @Override
   public void refresh(final Object entity, final LockModeType lockMode) {
+    checkNoSchemaMapping();
     em.refresh(entity, lockMode);
   }
 
   @Override
   public void refresh(final Object entity, final LockModeType lockMode, final Map<String, Object> properties) {
+    checkNoSchemaMapping();
     em.refresh(entity, lockMode, properties);
   }
 
@@ -256,7 +322,10 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
   /**
    * Set an entity manager property or hint.
    * If a vendor-specific property or hint is not recognized, it is
-   * silently ignored.
+   * silently ignored.<p>
+   * Property {@link ProcessorEntityManager#SCHEMA_MAPPING} is handled by the wrapper and applied to the queries created
+   * from criteria queries afterwards. As the JPA provider keeps using the schemas of the metadata, operations that are
+   * executed by the JPA provider, like persist, merge, remove and find, are rejected as long as a mapping is set.
    * @param propertyName name of property or hint
    * @param value value for property or hint
    * @throws IllegalArgumentException if the second argument is
@@ -265,7 +334,10 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public void setProperty(final String propertyName, final Object value) {
-    em.setProperty(propertyName, value);
+    if (SCHEMA_MAPPING.equals(propertyName))
+      schemaMapping = SchemaMapping.of(value);
+    else
+      em.setProperty(propertyName, value);
   }
 
   /**
@@ -277,7 +349,11 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public Map<String, Object> getProperties() {
-    return em.getProperties();
+    if (schemaMapping.isEmpty())
+      return em.getProperties();
+    final Map<String, Object> properties = new HashMap<>(em.getProperties());
+    properties.put(SCHEMA_MAPPING, schemaMapping.getMapping());
+    return properties;
   }
 
   /**
@@ -290,6 +366,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public Query createQuery(final String qlString) {
+    checkNoSchemaMapping();
     return em.createQuery(qlString);
   }
 
@@ -304,7 +381,13 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public <T> TypedQuery<T> createQuery(final CriteriaQuery<T> criteriaQuery) {
-    return new TypedQueryImpl<>(criteriaQuery, this, parameterBuffer);
+    return new TypedQueryImpl<>(criteriaQuery, this, getParameterBuffer(), getStatementCache(), schemaMapping);
+  }
+
+  @Override
+  public List<List<Tuple>> getResultLists(final List<CriteriaQuery<Tuple>> queries) {
+    return new CombinedQueryImpl(queries, this, getParameterBuffer(), getStatementCache(), schemaMapping)
+        .getResultLists();
   }
 
   /**
@@ -318,6 +401,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public Query createQuery(@SuppressWarnings("rawtypes") final CriteriaUpdate updateQuery) {
+    checkNoSchemaMapping();
     return em.createQuery(updateQuery);
   }
 
@@ -332,6 +416,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
    */
   @Override
   public Query createQuery(@SuppressWarnings("rawtypes") final CriteriaDelete deleteQuery) {
+    checkNoSchemaMapping();
     return em.createQuery(deleteQuery);
   }
 
@@ -366,6 +451,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
   @Override
   public Query createNamedQuery(final String name) {
     LOG.trace("Create query: " + name);
+    checkNoSchemaMapping();
     return em.createNamedQuery(name);
   }
 
@@ -387,6 +473,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
   @Override
   public <T> TypedQuery<T> createNamedQuery(final String name, final Class<T> resultClass) {
     LOG.trace("Create query: " + name);
+    checkNoSchemaMapping();
     return em.createNamedQuery(name, resultClass);
   }
 
@@ -419,6 +506,7 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
   @Override
   public Query createNativeQuery(final String sqlString, @SuppressWarnings("rawtypes") final Class resultClass) {
     LOG.trace(sqlString);
+    checkNoSchemaMapping();
     return em.createNativeQuery(sqlString, resultClass);
   }
 
@@ -665,10 +753,29 @@ public class EntityManagerWrapper implements EntityManager { // NOSONAR
   public ProcessorCriteriaBuilder getCriteriaBuilder() {
     if (!em.isOpen())
       throw new IllegalStateException("Entity Manager had been closed");
-    return cb.orElseGet(() -> {
-      cb = Optional.of(new CriteriaBuilderImpl(sd, parameterBuffer));
-      return cb.get();
-    });
+    return cb;
+  }
+
+  @Override
+  public String mapTableName(@Nonnull final String tableName) {
+    return schemaMapping.apply(tableName);
+  }
+
+  /**
+   * The JPA provider uses the schemas of the metadata and would read or write the tables of the wrong schema. In
+   * addition, its cache would mix the entities of the different schemas.
+   */
+  private void checkNoSchemaMapping() {
+    if (!schemaMapping.isEmpty())
+      throw new IllegalStateException("Operation executed by the JPA provider not supported with a schema mapping");
+  }
+
+  private ParameterBuffer getParameterBuffer() {
+    return ((CriteriaBuilderImpl) cb).getParameter();
+  }
+
+  private SqlStatementCache getStatementCache() {
+    return ((CriteriaBuilderImpl) cb).getStatementCache();
   }
 
   /**
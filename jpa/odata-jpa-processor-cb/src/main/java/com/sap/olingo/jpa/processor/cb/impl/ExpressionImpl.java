@@ -32,7 +32,7 @@ import com.sap.olingo.jpa.processor.cb.exeptions.NotImplementedException;
 import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
 import com.sap.olingo.jpa.processor.cb.joiner.StringBuilderCollector;
 
-abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
+abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible, SqlFingerprintable {
 
   public static final String OPENING_BRACKET = "(";
   public static final String CLOSING_BRACKET = ")";
@@ -70,6 +70,14 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
     throw new NotImplementedException();
   }
 
+  /**
+   * Expressions that do not provide a fingerprint prevent that the statement of a query gets cached.
+   */
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.notCacheable();
+  }
+
   @Override
   public String getAlias() {
     return alias.orElse("");
@@ -165,6 +173,17 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       }
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(function);
+      if (expression instanceof FromImpl<?, ?>) {
+        final FromImpl<?, ?> from = (FromImpl<?, ?>) expression;
+        fingerprint.token(Boolean.TRUE).token(from.st).token(from.tableAlias.orElse(null));
+      } else {
+        fingerprint.token(Boolean.FALSE).child(expression);
+      }
+    }
+
     SqlConvertible getExpression() {
       return expression;
     }
@@ -194,6 +213,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
           .append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(operation).child(left).child(right);
+    }
+
   }
 
   static class CoalesceExpression<T> extends ExpressionImpl<T> implements Coalesce<T> {
@@ -213,6 +237,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       return statement.append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).children(values);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Coalesce<T> value(@Nonnull final Expression<? extends T> value) {
@@ -244,6 +273,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       second.asSQL(statement);
       return statement.append(CLOSING_BRACKET);
     }
+
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).child(first).child(second);
+    }
   }
 
   static class DistinctExpression<T> extends ExpressionImpl<T> {
@@ -272,6 +306,18 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       }
       return left.asSQL(statement.append(SqlKeyWords.DISTINCT).append(OPENING_BRACKET)).append(CLOSING_BRACKET);
     }
+
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass());
+      if (left instanceof FromImpl<?, ?>) {
+        final FromImpl<?, ?> from = (FromImpl<?, ?>) left;
+        fingerprint.token(Boolean.TRUE).token(from.st).token(from.path.orElse(null)).token(from.tableAlias.orElse(
+            null));
+      } else {
+        fingerprint.token(Boolean.FALSE).child(left);
+      }
+    }
   }
 
   static class FunctionExpression<T> extends ExpressionImpl<T> {
@@ -293,6 +339,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       return statement.append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(functionName).children(args);
+    }
+
     @Override
     public Class<? extends T> getJavaType() {
       return type;
@@ -323,6 +374,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       from.ifPresent(l -> l.asSQL(statement.append(", ")));
       return statement.append(CLOSING_BRACKET);
     }
+
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).child(pattern).child(expression).optional(from);
+    }
   }
 
   static final class ParameterExpression<T, S> extends ExpressionImpl<T> implements Parameter<T> {
@@ -359,6 +415,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       return statement.append("?").append(index.toString());
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.parameter(this);
+    }
+
     @Override
     public String getName() {
       return null;
@@ -399,6 +460,10 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       return query.asSQL(statement).append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(operator).child(query);
+    }
   }
 
   static class SubstringExpression extends ExpressionImpl<String> {
@@ -423,6 +488,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       len.ifPresent(l -> l.asSQL(statement.append(", ")));
       return statement.append(CLOSING_BRACKET);
     }
+
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).child(expression).child(from).optional(len);
+    }
   }
 
   static class TimeExpression<T> extends ExpressionImpl<T> {
@@ -438,6 +508,10 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       return statement.append(function);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(function);
+    }
   }
 
   static class UnaryFunctionalExpression<T> extends ExpressionImpl<T> {
@@ -455,6 +529,10 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       return left.asSQL(statement).append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(function).child(left);
+    }
   }
 
   static class WindowFunctionExpression<T> extends ExpressionImpl<T> implements WindowFunction<T> {
@@ -479,6 +557,7 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
     public StringBuilder asSQL(final StringBuilder statement) {
       statement.append(function)
           .append(OPENING_BRACKET)
+          .append(function.getArgument())
           .append(CLOSING_BRACKET)
           .append(" OVER")
           .append(OPENING_BRACKET);
@@ -499,6 +578,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       return statement.append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(function).optionalChildren(partitionBy).optionalChildren(orderBy);
+    }
+
     @Override
     public WindowFunction<T> orderBy(final Order... o) {
       this.orderBy = Optional.ofNullable(Arrays.asList(o));
@@ -554,6 +638,11 @@ abstract class ExpressionImpl<T> implements Expression<T>, SqlConvertible {
       return statement;
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(tableAlias.orElse(null)).token(dbFieldName.orElse(null));
+    }
+
     @Override
     public Bindable<T> getModel() {
       throw new NotImplementedException();
@@ -110,6 +110,14 @@ class FromImpl<Z, X> extends PathImpl<X> implements From<Z, X> {
     return statement;
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass())
+        .token(st.getTableName())
+        .token(tableAlias.orElse(null))
+        .children(joins);
+  }
+
   /**
    * Create a fetch join to the specified collection-valued
    * attribute using an inner join.
@@ -3,6 +3,7 @@ package com.sap.olingo.jpa.processor.cb.impl;
 import javax.annotation.Nonnull;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.metamodel.Attribute;
 
@@ -79,6 +80,25 @@ class JoinTableJoin<Z, X> extends AbstractJoinImp<Z, X> {
       ((SqlConvertible) on).asSQL(statement);
       return statement;
     }
+
+    /**
+     * Within the inner join the join table join is rendered as a join, see {@link JoinTableJoin#asSQL(StringBuilder)}.
+     */
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass())
+          .token(SqlJoinType.byJoinType(getJoinType()))
+          .token(association.getJoinTable().getTableName())
+          .token(tableAlias.orElse(null))
+          .token(getJoins().size());
+      for (final Join<X, ?> join : getJoins()) {
+        if (join instanceof JoinTableJoin<?, ?> && ((JoinTableJoin<?, ?>) join).related == this)
+          ((JoinTableJoin<?, ?>) join).fingerprintAsJoin(fingerprint);
+        else
+          fingerprint.child(join);
+      }
+      fingerprint.child(on);
+    }
   }
 
   @Override
@@ -90,4 +110,13 @@ class JoinTableJoin<Z, X> extends AbstractJoinImp<Z, X> {
       return ((SqlConvertible) related).asSQL(statement);
     }
   }
+
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.child(related);
+  }
+
+  private void fingerprintAsJoin(final SqlFingerprint fingerprint) {
+    super.fingerprint(fingerprint);
+  }
 }
@@ -2,6 +2,7 @@ package com.sap.olingo.jpa.processor.cb.impl;
 
 import java.util.Optional;
 
+import javax.annotation.Nonnull;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Order;
 
@@ -9,7 +10,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelExcept
 import com.sap.olingo.jpa.processor.cb.exeptions.InternalServerError;
 import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
 
-class OrderImpl implements Order, SqlConvertible {
+class OrderImpl implements Order, SqlConvertible, SqlFingerprintable {
 
   private static final String SEPARATOR = ", ";
   private static final int SEPARATOR_LENGTH = SEPARATOR.length();
@@ -29,6 +30,17 @@ class OrderImpl implements Order, SqlConvertible {
     return expression.asSQL(statement).append(" ").append(isAscending ? SqlKeyWords.ASC : SqlKeyWords.DESC);
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass()).token(isAscending);
+    if (expression instanceof FromImpl<?, ?>) {
+      final FromImpl<?, ?> from = (FromImpl<?, ?>) expression;
+      fingerprint.token(Boolean.TRUE).token(from.st).token(from.tableAlias.orElse(null));
+    } else {
+      fingerprint.token(Boolean.FALSE).child(expression);
+    }
+  }
+
   private StringBuilder resolveExpression(final FromImpl<?, ?> from, final StringBuilder statement) {
 
     try {
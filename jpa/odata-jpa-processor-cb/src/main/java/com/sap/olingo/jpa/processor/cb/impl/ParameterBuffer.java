@@ -1,21 +1,42 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.persistence.criteria.Expression;
 
 import com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.ParameterExpression;
 
+/**
+ * Numbers the parameters created by a criteria builder. As a criteria builder may be shared between entity managers
+ * and threads, the buffer is thread safe. A parameter is only weakly referenced. It is kept by the query it belongs
+ * to, so the buffer does not grow with the number of queries created by the criteria builder.<p>
+ * The number of a parameter only identifies it within the buffer. The position of a parameter within a statement is
+ * given by {@link SqlStatement}, which numbers the parameters of each query starting with one. Numbers of parameters
+ * that are no longer in use are given out again, so the numbers stay below the number of parameters in use and do not
+ * depend on the number of queries created before.
+ */
 class ParameterBuffer {
-  private int index = 1;
-  private final Map<Integer, ParameterExpression<?, ?>> parameter;
+  private final AtomicInteger index = new AtomicInteger(1);
+  private final Map<Integer, ParameterReference> parameter;
+  private final ReferenceQueue<ParameterExpression<?, ?>> released;
+  private final Queue<Integer> free;
 
   ParameterBuffer() {
     super();
-    parameter = new HashMap<>();
+    parameter = new ConcurrentHashMap<>();
+    released = new ReferenceQueue<>();
+    free = new ConcurrentLinkedQueue<>();
   }
 
   <T, S> ParameterExpression<T, S> addValue(@Nonnull final S value) {
@@ -24,13 +45,53 @@ class ParameterBuffer {
 
   <T, S> ParameterExpression<T, S> addValue(@Nonnull final S value, final Expression<?> x) {
 
-    final ParameterExpression<T, S> param = new ParameterExpression<>(index, Objects.requireNonNull(value));
+    removeReleased();
+    final Integer reused = free.poll();
+    final int position = reused != null ? reused : index.getAndIncrement();
+    final ParameterExpression<T, S> param = new ParameterExpression<>(position, Objects.requireNonNull(value));
     param.setPath(x);
-    this.parameter.put(index++, param);
+    this.parameter.put(position, new ParameterReference(position, param, released));
     return param;
   }
 
+  /**
+   * @return The parameter at the given position or null, if the parameter is no longer in use
+   */
+  @CheckForNull
+  ParameterExpression<?, ?> getParameter(final int position) {
+    final ParameterReference reference = parameter.get(position);
+    return reference != null ? reference.get() : null;
+  }
+
+  /**
+   * @return A snapshot of the parameter still in use
+   */
   Map<Integer, ParameterExpression<?, ?>> getParameter() {
-    return parameter;
+    final Map<Integer, ParameterExpression<?, ?>> result = new HashMap<>(parameter.size());
+    for (final ParameterReference reference : parameter.values()) {
+      final ParameterExpression<?, ?> param = reference.get();
+      if (param != null)
+        result.put(reference.position, param);
+    }
+    return result;
+  }
+
+  private void removeReleased() {
+    Reference<? extends ParameterExpression<?, ?>> reference;
+    while ((reference = released.poll()) != null) {
+      final int position = ((ParameterReference) reference).position;
+      parameter.remove(position);
+      free.add(position);
+    }
+  }
+
+  private static final class ParameterReference extends WeakReference<ParameterExpression<?, ?>> {
+    private final int position;
+
+    private ParameterReference(final int position, final ParameterExpression<?, ?> referent,
+        final ReferenceQueue<ParameterExpression<?, ?>> queue) {
+      super(referent, queue);
+      this.position = position;
+    }
   }
 }
@@ -74,6 +74,13 @@ class PathImpl<X> extends ExpressionImpl<X> implements Path<X> {
     return statement;
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass())
+        .token(tableAlias.orElse(null))
+        .token(path.map(JPAPath::getDBFieldName).orElse(null));
+  }
+
   /**
    * Create a path corresponding to the referenced
    * map-valued attribute.
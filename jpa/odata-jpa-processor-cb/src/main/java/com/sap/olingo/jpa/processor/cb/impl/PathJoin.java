@@ -47,6 +47,11 @@ class PathJoin<Z, X> extends AbstractJoinImp<Z, X> {
     return statement;
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass()).children(getJoins());
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   FromImpl<?, Z> determineParent() {
@@ -1,5 +1,6 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -186,6 +187,11 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
       return this.expressions.get(1).asSQL(statement).append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).child(attribute).child(expressions.get(0)).child(expressions.get(1));
+    }
+
     @Override
     public BooleanOperator getOperator() {
       return null;
@@ -210,6 +216,11 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
       return this.expressions.get(1).asSQL(statement).append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(expression).child(expressions.get(0)).child(expressions.get(1));
+    }
+
     @Override
     public BooleanOperator getOperator() {
       return null;
@@ -249,6 +260,11 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
       return statement;
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(getOperator()).child(expressions.get(0)).child(expressions.get(1));
+    }
+
     @Override
     public String toString() {
       return "AndPredicate [left=" + expressions.get(0) + ", right=" + expressions.get(1) + "]";
@@ -286,6 +302,11 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
       return statement.append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).child(expressions.get(0)).child(pattern).optional(escape);
+    }
+
     @Override
     public BooleanOperator getOperator() {
       return null;
@@ -310,6 +331,11 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
           .append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).child(positive);
+    }
+
     @Override
     public BooleanOperator getOperator() {
       return null;
@@ -336,6 +362,11 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
           .append(" ").append(check).append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(check).child(expressions.get(0));
+    }
+
     @Override
     public BooleanOperator getOperator() {
       return null;
@@ -359,12 +390,28 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
     }
   }
 
+  /**
+   * IN predicate either with a subquery or with a list of values. The number of values of a list is padded to the next
+   * power of two by repeating the last value. So lists of different length share the same statement, which allows the
+   * database and the JDBC driver to reuse a prepared statement.
+   */
   static class In<X> extends PredicateImpl implements CriteriaBuilder.In<X> {
-    private final List<Path<? extends X>> paths;
+    private final List<Expression<? extends X>> paths;
+    private final List<Expression<? extends X>> values;
+    private final ParameterBuffer parameter;
 
     In(final List<Path<? extends X>> paths, final Subquery<?> subquery) {
       super((SqlConvertible) Objects.requireNonNull(subquery));
-      this.paths = paths;
+      this.paths = Collections.unmodifiableList(paths);
+      this.values = Collections.emptyList();
+      this.parameter = null;
+    }
+
+    In(@Nonnull final Expression<? extends X> expression, @Nonnull final ParameterBuffer parameter) {
+      super();
+      this.paths = Collections.singletonList(Objects.requireNonNull(expression));
+      this.values = new ArrayList<>();
+      this.parameter = Objects.requireNonNull(parameter);
     }
 
     @Override
@@ -379,18 +426,52 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
           .append(SqlKeyWords.IN)
           .append(" ")
           .append(OPENING_BRACKET);
-      final SqlConvertible sub = expressions.get(0);
-      return sub.asSQL(statement).append(CLOSING_BRACKET);
+      if (parameter == null) {
+        final SqlConvertible sub = expressions.get(0);
+        return sub.asSQL(statement).append(CLOSING_BRACKET);
+      }
+      if (values.isEmpty())
+        throw new IllegalStateException("IN predicate requires at least one value");
+      statement.append(values
+          .stream()
+          .map(v -> ((Expression<?>) v)) // NOSONAR
+          .collect(new StringBuilderCollector.ExpressionCollector(statement, ", ")));
+      final SqlConvertible last = (SqlConvertible) values.get(values.size() - 1);
+      for (int i = values.size(); i < bucketSize(values.size()); i++)
+        last.asSQL(statement.append(", "));
+      return statement.append(CLOSING_BRACKET);
+    }
+
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).children(paths).token(parameter == null);
+      if (parameter == null) {
+        fingerprint.child(expressions.get(0));
+      } else {
+        fingerprint.children(values);
+        for (int i = values.size(); i < bucketSize(values.size()); i++)
+          fingerprint.child(values.get(values.size() - 1));
+      }
+    }
+
+    static int bucketSize(final int size) {
+      return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
     }
 
     @Override
     public javax.persistence.criteria.CriteriaBuilder.In<X> value(final X value) {
-      throw new NotImplementedException();
+      if (parameter == null)
+        throw new NotImplementedException();
+      values.add(parameter.addValue(Objects.requireNonNull(value), paths.get(0)));
+      return this;
     }
 
     @Override
     public javax.persistence.criteria.CriteriaBuilder.In<X> value(final Expression<? extends X> value) {
-      throw new NotImplementedException();
+      if (parameter == null)
+        throw new NotImplementedException();
+      values.add(Objects.requireNonNull(value));
+      return this;
     }
 
     @Override
@@ -423,6 +504,11 @@ abstract class PredicateImpl extends ExpressionImpl<Boolean> implements Predicat
       return query.asSQL(statement).append(CLOSING_BRACKET);
     }
 
+    @Override
+    public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+      fingerprint.token(getClass()).token(operator).child(query);
+    }
+
     @Override
     public BooleanOperator getOperator() {
       return null;
@@ -0,0 +1,106 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Maps the database schemas given at the tables of the metadata to the schemas used by a request, e.g. the schema of a
+ * tenant.<p>
+ * The SQL statements are generated with the schemas of the metadata and kept in the
+ * {@link com.sap.olingo.jpa.processor.cb.SqlStatementCache}. The mapping is applied to the normalized statement just
+ * before a query is created, so the statement cache is shared by all requests independent of their schemas. As
+ * literal values are bound as parameters, a schema can only occur as qualifier of a table name.<p>
+ * Only queries created from criteria queries are mapped. See
+ * {@link com.sap.olingo.jpa.processor.cb.ProcessorEntityManager#SCHEMA_MAPPING}.
+ *
+ * @since 1.0.9
+ */
+final class SchemaMapping {
+  static final SchemaMapping NONE = new SchemaMapping(Collections.emptyMap());
+  private static final Pattern IDENTIFIER = Pattern.compile("(\"[^\"]+\")|([A-Za-z_][A-Za-z0-9_$]*)");
+  private static final char QUALIFIER_SEPARATOR = '.';
+  private final Map<String, String> mapping;
+
+  private SchemaMapping(final Map<String, String> mapping) {
+    this.mapping = mapping;
+  }
+
+  /**
+   * Creates a schema mapping. The schemas are taken as they are given at the tables, so quoted schemas have to be
+   * given with quotes.
+   * @param mapping Map from the schema of the metadata to the schema to be used
+   * @throws IllegalArgumentException if the mapping is not a map of strings or a schema is not a valid identifier
+   */
+  static SchemaMapping of(final Object mapping) {
+    if (mapping == null)
+      return NONE;
+    if (!(mapping instanceof Map))
+      throw new IllegalArgumentException("Schema mapping has to be a map, but is " + mapping.getClass()
+          .getSimpleName());
+    final Map<String, String> schemas = new HashMap<>();
+    for (final Entry<?, ?> entry : ((Map<?, ?>) mapping).entrySet()) {
+      schemas.put(checkIdentifier(entry.getKey()), checkIdentifier(entry.getValue()));
+    }
+    return schemas.isEmpty() ? NONE : new SchemaMapping(Collections.unmodifiableMap(schemas));
+  }
+
+  /**
+   * Replaces the schema qualifiers of the table names of a statement.
+   */
+  String apply(@Nonnull final String sql) {
+    if (mapping.isEmpty())
+      return sql;
+    StringBuilder mapped = null;
+    int copied = 0;
+    int i = 0;
+    while (i < sql.length()) {
+      final String schema = findSchema(sql, i);
+      if (schema != null) {
+        if (mapped == null)
+          mapped = new StringBuilder(sql.length() + 16);
+        mapped.append(sql, copied, i).append(mapping.get(schema));
+        i += schema.length();
+        copied = i;
+      } else {
+        i++;
+      }
+    }
+    return mapped == null ? sql : mapped.append(sql, copied, sql.length()).toString();
+  }
+
+  Map<String, String> getMapping() {
+    return mapping;
+  }
+
+  boolean isEmpty() {
+    return mapping.isEmpty();
+  }
+
+  private String findSchema(final String sql, final int start) {
+    if (start > 0 && isIdentifierPart(sql.charAt(start - 1)))
+      return null;
+    for (final String schema : mapping.keySet()) {
+      final int end = start + schema.length();
+      if (sql.startsWith(schema, start)
+          && end < sql.length()
+          && sql.charAt(end) == QUALIFIER_SEPARATOR)
+        return schema;
+    }
+    return null;
+  }
+
+  private static boolean isIdentifierPart(final char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '"' || c == QUALIFIER_SEPARATOR;
+  }
+
+  private static String checkIdentifier(final Object schema) {
+    if (!(schema instanceof String) || !IDENTIFIER.matcher((String) schema).matches())
+      throw new IllegalArgumentException("Not a valid schema: " + schema);
+    return (String) schema;
+  }
+}
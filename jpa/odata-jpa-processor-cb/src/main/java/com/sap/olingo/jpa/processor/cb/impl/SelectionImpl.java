@@ -65,6 +65,13 @@ final class SelectionImpl<X> implements SqlSelection<X> {
         .append(getAlias().replaceAll(SELECTION_REPLACEMENT_REGEX, SELECTION_REPLACEMENT));
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass())
+        .child(selection)
+        .token(getAlias());
+  }
+
   /**
    * Return the alias assigned to the tuple element or creates on,
    * if no alias has been assigned.
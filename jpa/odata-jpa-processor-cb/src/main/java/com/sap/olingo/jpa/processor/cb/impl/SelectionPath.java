@@ -39,6 +39,13 @@ class SelectionPath<X> extends ExpressionImpl<X> implements Path<X> {
     return statement.append(selection.getAlias().replaceAll(SELECTION_REPLACEMENT_REGEX, SELECTION_REPLACEMENT));
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass())
+        .token(tableAlias.orElse(null))
+        .token(selection.getAlias());
+  }
+
   @Override
   public <Y> Path<Y> get(final SingularAttribute<? super X, Y> arg0) {
     throw new NotImplementedException();
@@ -0,0 +1,137 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.ParameterExpression;
+
+/**
+ * Structural fingerprint of a query. Each part of a query adds its class followed by everything its SQL depends on,
+ * like table names, column names, aliases and operators, and then the fingerprints of its children. As the number of
+ * children is added as well, two fingerprints are only equal if the queries create the same statement.<p>
+ * Parameters only add a marker, so queries that differ only in their literal values have the same fingerprint. The
+ * parameters are collected in the order of their appearance within the statement, which allows to bind them without
+ * creating the statement.<p>
+ * A query part that does not know how to create a fingerprint makes the whole fingerprint unusable as cache key.
+ */
+final class SqlFingerprint {
+  private final List<Object> tokens;
+  private final List<ParameterExpression<?, ?>> parameters;
+  private boolean cacheable;
+  private Key key;
+
+  SqlFingerprint() {
+    super();
+    this.tokens = new ArrayList<>();
+    this.parameters = new ArrayList<>();
+    this.cacheable = true;
+  }
+
+  /**
+   * Adds a value the statement depends on. Values are compared via equals, so only immutable objects like strings,
+   * enumerations and classes, or objects without own equals, like the entity types of the service document, shall be
+   * used.
+   */
+  SqlFingerprint token(@Nullable final Object token) {
+    tokens.add(token);
+    return this;
+  }
+
+  SqlFingerprint child(@Nullable final Object child) {
+    if (child instanceof SqlFingerprintable)
+      ((SqlFingerprintable) child).fingerprint(this);
+    else
+      cacheable = false;
+    return this;
+  }
+
+  SqlFingerprint children(@Nonnull final Collection<?> children) {
+    tokens.add(children.size());
+    for (final Object child : children)
+      child(child);
+    return this;
+  }
+
+  SqlFingerprint optional(@Nonnull final Optional<?> child) {
+    tokens.add(child.isPresent());
+    child.ifPresent(this::child);
+    return this;
+  }
+
+  SqlFingerprint optionalChildren(@Nonnull final Optional<? extends Collection<?>> children) {
+    tokens.add(children.isPresent());
+    children.ifPresent(this::children);
+    return this;
+  }
+
+  SqlFingerprint parameter(@Nonnull final ParameterExpression<?, ?> parameter) {
+    tokens.add(ParameterExpression.class);
+    parameters.add(parameter);
+    return this;
+  }
+
+  /**
+   * Marks the fingerprint as not usable as cache key, e.g. because a query part is not able to describe all the
+   * information its SQL depends on.
+   */
+  void notCacheable() {
+    cacheable = false;
+  }
+
+  boolean isCacheable() {
+    return cacheable;
+  }
+
+  /**
+   * @return Key that identifies the shape of the query or null if the fingerprint is not cacheable
+   */
+  @CheckForNull
+  Object getKey() {
+    if (!cacheable)
+      return null;
+    if (key == null)
+      key = new Key(tokens.toArray());
+    return key;
+  }
+
+  /**
+   * @return Numbers of the parameters within the {@link ParameterBuffer} in the order of their appearance
+   */
+  List<Integer> getParameterPositions() {
+    final List<Integer> positions = new ArrayList<>(parameters.size());
+    for (final ParameterExpression<?, ?> parameter : parameters)
+      positions.add(parameter.getPosition());
+    return Collections.unmodifiableList(positions);
+  }
+
+  private static final class Key {
+    private final Object[] tokens;
+    private final int hash;
+
+    private Key(final Object[] tokens) {
+      this.tokens = tokens;
+      this.hash = Arrays.hashCode(tokens);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) return true;
+      if (!(obj instanceof Key)) return false;
+      final Key other = (Key) obj;
+      return hash == other.hash && Arrays.equals(tokens, other.tokens);
+    }
+  }
+}
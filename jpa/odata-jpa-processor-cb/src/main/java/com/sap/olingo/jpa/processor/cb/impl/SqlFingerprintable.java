@@ -0,0 +1,13 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Part of a query that can describe its shape without creating SQL. The fingerprint has to contain all information
+ * {@link com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible#asSQL(StringBuilder)} depends on, except the values of
+ * parameters, and has to visit the parameters in the order they appear in the statement.
+ */
+interface SqlFingerprintable {
+
+  void fingerprint(@Nonnull final SqlFingerprint fingerprint);
+}
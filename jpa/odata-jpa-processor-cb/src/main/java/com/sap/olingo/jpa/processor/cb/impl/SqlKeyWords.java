@@ -18,8 +18,10 @@ enum SqlKeyWords {
   HAVING("HAVING"),
   IN("IN"),
   LIKE("LIKE"),
+  LIMIT("LIMIT"),
   MOD("MOD"),
   NOT("NOT"),
+  OFFSET("OFFSET"),
   ORDERBY("ORDER BY"),
   OVER("OVER"),
   PARTITION("PARTITION BY"),
@@ -5,6 +5,6 @@ import javax.persistence.criteria.Selection;
 import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
 import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
 
-interface SqlSelection<X> extends ProcessorSelection<X>, SqlConvertible {
+interface SqlSelection<X> extends ProcessorSelection<X>, SqlConvertible, SqlFingerprintable {
   Selection<X> getSelection();
 }
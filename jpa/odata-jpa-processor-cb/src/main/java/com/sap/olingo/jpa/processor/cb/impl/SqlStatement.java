@@ -0,0 +1,109 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.persistence.Query;
+
+import com.sap.olingo.jpa.processor.cb.SqlStatementCache;
+import com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.ParameterExpression;
+
+/**
+ * Normalized form of a generated SQL statement.<p>
+ * The numbers of the parameters are taken from the {@link ParameterBuffer} of the criteria builder, which is shared by
+ * all queries of the builder. So the same query shape would create a different statement depending on the queries
+ * created in parallel. The parameters are therefore renumbered per statement in the order of their appearance. This
+ * way the statement text only depends on the shape of a query, so the prepared statement caches of the JPA provider
+ * and the JDBC driver can hit.<p>
+ * In addition statements are cached by the {@link SqlFingerprint} of their query. For a known query shape no SQL needs
+ * to be created, the parameters are taken from the fingerprint.
+ */
+final class SqlStatement {
+  private static final char PARAMETER_MARKER = '?';
+  private final String sql;
+  private final List<Integer> parameterPositions;
+
+  private SqlStatement(final String sql, final List<Integer> parameterPositions) {
+    this.sql = sql;
+    this.parameterPositions = Collections.unmodifiableList(parameterPositions);
+  }
+
+  static SqlStatement of(@Nonnull final CharSequence sql) {
+    final List<Integer> positions = new ArrayList<>();
+    return new SqlStatement(normalize(sql, positions), positions);
+  }
+
+  /**
+   * Returns the statement of a query. It is taken from the cache, if the shape of the query is known. Otherwise the
+   * query gets rendered and the statement is added to the cache, provided the fingerprint of the query found the same
+   * parameters as the rendering.
+   * @param fingerprint Fingerprint of the query
+   * @param renderer Creates the SQL of the query
+   * @param statementCache Cache of the statements, usually shared by the entity managers of a factory
+   */
+  static SqlStatement of(@Nonnull final SqlFingerprint fingerprint, @Nonnull final Supplier<CharSequence> renderer,
+      @Nonnull final SqlStatementCache statementCache) {
+    final Object key = fingerprint.getKey();
+    final List<Integer> positions = fingerprint.getParameterPositions();
+    if (key != null) {
+      final String sql = statementCache.getStatement(key);
+      if (sql != null)
+        return new SqlStatement(sql, positions);
+    }
+    final SqlStatement statement = of(renderer.get());
+    if (key != null && statement.parameterPositions.equals(positions))
+      statementCache.putStatement(key, statement.sql);
+    return statement;
+  }
+
+  /**
+   * Renumbers the parameter markers, like <code>?7</code>, in the order of their appearance and collects the original
+   * numbers.
+   */
+  static String normalize(@Nonnull final CharSequence sql, @Nonnull final List<Integer> positions) {
+    final StringBuilder normalized = new StringBuilder(sql.length());
+    int i = 0;
+    while (i < sql.length()) {
+      final char c = sql.charAt(i++);
+      normalized.append(c);
+      if (c == PARAMETER_MARKER) {
+        int position = 0;
+        final int start = i;
+        while (i < sql.length() && Character.isDigit(sql.charAt(i)))
+          position = position * 10 + Character.digit(sql.charAt(i++), 10);
+        if (i > start) {
+          positions.add(position);
+          normalized.append(positions.size());
+        }
+      }
+    }
+    return normalized.toString();
+  }
+
+  String getSql() {
+    return sql;
+  }
+
+  /**
+   * @return Numbers of the parameters within the {@link ParameterBuffer}. The first entry belongs to statement
+   * parameter one.
+   */
+  List<Integer> getParameterPositions() {
+    return parameterPositions;
+  }
+
+  /**
+   * Binds the values of the parameters used by the statement.
+   */
+  void bindParameter(@Nonnull final Query q, @Nonnull final ParameterBuffer parameter) {
+    for (int i = 0; i < parameterPositions.size(); i++) {
+      final ParameterExpression<?, ?> value = parameter.getParameter(parameterPositions.get(i));
+      if (value == null)
+        throw new IllegalStateException("Unknown parameter ?" + parameterPositions.get(i));
+      q.setParameter(i + 1, value.getValue());
+    }
+  }
+}
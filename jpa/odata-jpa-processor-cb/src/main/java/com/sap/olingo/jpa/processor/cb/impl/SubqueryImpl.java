@@ -44,12 +44,13 @@ import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
  *
  * @param <T> the type of the selection item.
  */
-class SubqueryImpl<T> implements ProcessorSubquery<T>, SqlConvertible {
+class SubqueryImpl<T> implements ProcessorSubquery<T>, SqlConvertible, SqlFingerprintable {
   private final Class<T> type;
   private final CriteriaQuery<?> parent;
   private final ProcessorCriteriaQuery<T> inner;
-  private Optional<Integer> maxResult;
-  private Optional<Integer> firstResult;
+  private final CriteriaBuilder cb;
+  private Optional<Expression<Integer>> maxResult;
+  private Optional<Expression<Integer>> firstResult;
 
   SubqueryImpl(@Nonnull final Class<T> type, @Nonnull final CriteriaQuery<?> parent, final AliasBuilder ab,
       final CriteriaBuilder cb) {
@@ -57,6 +58,7 @@ class SubqueryImpl<T> implements ProcessorSubquery<T>, SqlConvertible {
     this.type = Objects.requireNonNull(type);
     this.parent = Objects.requireNonNull(parent);
     this.inner = new CriteriaQueryImpl<>(type, ((CriteriaQueryImpl<?>) parent).getServiceDocument(), ab, cb);
+    this.cb = cb;
     maxResult = Optional.empty();
     firstResult = Optional.empty();
   }
@@ -305,23 +307,40 @@ class SubqueryImpl<T> implements ProcessorSubquery<T>, SqlConvertible {
     throw new NotImplementedException();
   }
 
+  /**
+   * The maximum number of results is passed as parameter, so the statement does not change from page to page.
+   */
   @Override
   public ProcessorSubquery<T> setMaxResults(final Integer maxResult) {
-    this.maxResult = Optional.ofNullable(maxResult);
+    this.maxResult = Optional.ofNullable(maxResult).map(cb::literal);
     return this;
   }
 
+  /**
+   * The start position is passed as parameter, so the statement does not change from page to page.
+   */
   @Override
   public ProcessorSubquery<T> setFirstResult(final Integer startPosition) {
-    this.firstResult = Optional.ofNullable(startPosition);
+    this.firstResult = Optional.ofNullable(startPosition).map(cb::literal);
     return this;
   }
 
   @Override
   public StringBuilder asSQL(@Nonnull final StringBuilder statement) {
-    return ((SqlConvertible) inner).asSQL(statement)
-        .append(maxResult.map(i -> " LIMIT " + i).orElse(""))
-        .append(firstResult.map(i -> " OFFSET " + i).orElse(""));
+    ((SqlConvertible) inner).asSQL(statement);
+    maxResult.ifPresent(limit -> ((SqlConvertible) limit).asSQL(statement.append(" ").append(SqlKeyWords.LIMIT)
+        .append(" ")));
+    firstResult.ifPresent(offset -> ((SqlConvertible) offset).asSQL(statement.append(" ").append(SqlKeyWords.OFFSET)
+        .append(" ")));
+    return statement;
+  }
+
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass())
+        .child(inner)
+        .optional(maxResult)
+        .optional(firstResult);
   }
 
   @Override
@@ -36,6 +36,13 @@ class SubqueryRootImpl<X> extends FromImpl<X, X> implements Root<X> {
     return statement;
   }
 
+  @Override
+  public void fingerprint(@Nonnull final SqlFingerprint fingerprint) {
+    fingerprint.token(getClass())
+        .child(query)
+        .token(tableAlias.orElse(null));
+  }
+
   @Override
   public EntityType<X> getModel() {
     throw new NotImplementedException();
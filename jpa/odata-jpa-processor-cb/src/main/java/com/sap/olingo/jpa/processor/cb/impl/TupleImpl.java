@@ -2,12 +2,12 @@ package com.sap.olingo.jpa.processor.cb.impl;
 
 import static com.sap.olingo.jpa.processor.cb.impl.TypeConverter.convert;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import javax.persistence.Tuple;
 import javax.persistence.TupleElement;
@@ -21,8 +21,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
  */
 class TupleImpl implements Tuple {
   private final Object[] values;
-  private final List<Entry<String, JPAAttribute>> selection;
-  private final Map<String, Integer> selectionIndex;
+  private final TupleReader reader;
   private Optional<List<TupleElement<?>>> tupleElements;
 
   TupleImpl(final Object value, final List<Entry<String, JPAAttribute>> selection,
@@ -32,17 +31,23 @@ class TupleImpl implements Tuple {
 
   TupleImpl(final Object[] values, final List<Entry<String, JPAAttribute>> selPath,
       final Map<String, Integer> selectionIndex) {
+    this(values, new TupleReader(selPath, selectionIndex));
+  }
+
+  TupleImpl(final Object value, final TupleReader reader) {
+    this(new Object[] { value }, reader);
+  }
+
+  TupleImpl(final Object[] values, final TupleReader reader) {
     super();
     this.values = values;
-    this.selection = selPath;
-    this.selectionIndex = selectionIndex;
+    this.reader = reader;
     this.tupleElements = Optional.empty();
   }
 
   /**
    * Get the value of the element at the specified
-   * position in the result tuple. The first position is 0.<p>
-   * <b>Please note:</b> As of now <b>no</b> conversions are made.
+   * position in the result tuple. The first position is 0.
    * @param i position in result tuple
    * @return value of the tuple element
    * @throws IllegalArgumentException if i exceeds
@@ -52,13 +57,12 @@ class TupleImpl implements Tuple {
   public Object get(final int index) {
     if (index >= values.length || index < 0)
       throw new IllegalArgumentException("Index out of bound");
-    return values[index];
+    return reader.read(index, values[index]);
   }
 
   /**
    * Get the value of the element at the specified
-   * position in the result tuple. The first position is 0.<p>
-   * <b>Please note:</b> As of now <b>no</b> conversions are made.
+   * position in the result tuple. The first position is 0.
    * @param i position in result tuple
    * @param type type of the tuple element
    * @return value of the tuple element
@@ -83,23 +87,7 @@ class TupleImpl implements Tuple {
    */
   @Override
   public Object get(final String alias) {
-
-    if (selectionIndex.containsKey(alias)) {
-      final int index = selectionIndex.get(alias);
-      final JPAAttribute attribute = selection.get(index).getValue();
-      if (values[index] == null)
-        return null;
-      if (attribute.isEnum() && attribute.getConverter() == null) {
-        final int value = (Integer) convert(values[index], Integer.class);
-        return attribute.getType().getEnumConstants()[value];
-      }
-      final Object value = convert(values[index], attribute.getDbType());
-      if (attribute.getRawConverter() != null)
-        return attribute.getRawConverter().convertToEntityAttribute(value);
-      return value;
-    } else {
-      throw new IllegalArgumentException("Unknown alias: " + alias);
-    }
+    return get(reader.getIndex(alias));
   }
 
   /**
@@ -151,12 +139,11 @@ class TupleImpl implements Tuple {
   }
 
   private List<TupleElement<?>> asTupleElements() {
-    tupleElements = Optional.of(
-        selectionIndex.entrySet()
-            .stream()
-            .map(e -> new TupleElementImpl<>(e.getValue()))
-            .collect(Collectors.toList()));
-    return tupleElements.orElseThrow(IllegalStateException::new);
+    final List<TupleElement<?>> elements = new ArrayList<>(reader.size());
+    for (int i = 0; i < reader.size(); i++)
+      elements.add(new TupleElementImpl<>(i));
+    tupleElements = Optional.of(elements);
+    return elements;
   }
 
   private class TupleElementImpl<X> implements TupleElement<X> {
@@ -169,13 +156,13 @@ class TupleImpl implements Tuple {
 
     @Override
     public String getAlias() {
-      return selection.get(index).getKey();
+      return reader.getAlias(index);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public Class<? extends X> getJavaType() {
-      return (Class<? extends X>) selection.get(index).getValue().getType();
+      return (Class<? extends X>) reader.getJavaType(index);
     }
   }
 }
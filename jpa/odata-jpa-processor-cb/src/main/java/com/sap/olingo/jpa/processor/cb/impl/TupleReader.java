@@ -0,0 +1,83 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static com.sap.olingo.jpa.processor.cb.impl.TypeConverter.convert;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.annotation.Nonnull;
+import javax.persistence.AttributeConverter;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+
+/**
+ * Reads the values of the rows of a query result. A reader is created once per query, so that the position of an
+ * alias and the conversions of a column are determined once and not on each access to a row.
+ *
+ * @since 1.0.9
+ */
+final class TupleReader {
+  private final List<Entry<String, JPAAttribute>> selection;
+  private final Map<String, Integer> selectionIndex;
+  private final ColumnConverter[] converters;
+
+  TupleReader(@Nonnull final List<Entry<String, JPAAttribute>> selection,
+      @Nonnull final Map<String, Integer> selectionIndex) {
+    super();
+    this.selection = selection;
+    this.selectionIndex = selectionIndex;
+    this.converters = new ColumnConverter[selection.size()];
+    for (int i = 0; i < converters.length; i++)
+      converters[i] = createConverter(selection.get(i).getValue());
+  }
+
+  /**
+   * @return Position of the column with the given alias
+   * @throws IllegalArgumentException if the alias is not part of the selection
+   */
+  int getIndex(final String alias) {
+    final Integer index = selectionIndex.get(alias);
+    if (index == null)
+      throw new IllegalArgumentException("Unknown alias: " + alias);
+    return index;
+  }
+
+  /**
+   * Converts the database value of a column into the type of the attribute.
+   */
+  Object read(final int index, final Object value) {
+    if (value == null || index >= converters.length)
+      return value;
+    return converters[index].convert(value);
+  }
+
+  String getAlias(final int index) {
+    return selection.get(index).getKey();
+  }
+
+  Class<?> getJavaType(final int index) {
+    return selection.get(index).getValue().getType();
+  }
+
+  int size() {
+    return selection.size();
+  }
+
+  private static ColumnConverter createConverter(final JPAAttribute attribute) {
+    if (attribute.isEnum() && attribute.getConverter() == null) {
+      final Object[] constants = attribute.getType().getEnumConstants();
+      return value -> constants[(Integer) convert(value, Integer.class)];
+    }
+    final Class<?> dbType = attribute.getDbType();
+    final AttributeConverter<Object, Object> rawConverter = attribute.getRawConverter();
+    if (rawConverter != null)
+      return value -> rawConverter.convertToEntityAttribute(convert(value, dbType));
+    return value -> convert(value, dbType);
+  }
+
+  @FunctionalInterface
+  private interface ColumnConverter {
+    Object convert(Object value);
+  }
+}
@@ -1,14 +1,22 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.EntityManager;
 import javax.persistence.FlushModeType;
@@ -27,25 +35,38 @@ import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaQuery;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
-import com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.ParameterExpression;
+import com.sap.olingo.jpa.processor.cb.SqlStatementCache;
 
 class TypedQueryImpl<T> implements TypedQuery<T> {
+  private static final Log LOGGER = LogFactory.getLog(TypedQueryImpl.class);
+  static final String FETCH_SIZE_HINT = "eclipselink.jdbc.fetch-size";
+  static final int DEFAULT_FETCH_SIZE = 500;
+  private static final String SCROLLABLE_CURSOR_HINT = "eclipselink.cursor.scrollable";
+  private static final String RESULT_SET_TYPE_HINT = "eclipselink.cursor.scrollable.result-set-type";
+  private static final String FORWARD_ONLY = "ForwardOnly";
+  private static final String ECLIPSELINK_PACKAGE = "org.eclipse.persistence.";
 
   private final CriteriaQueryImpl<T> parent;
   private final Query q;
   private final ProcessorSelection<T> selection;
 
   TypedQueryImpl(final CriteriaQuery<T> criteriaQuery, final EntityManager em,
-      final ParameterBuffer parameterBuffer) {
-    final StringBuilder sql = new StringBuilder();
+      final ParameterBuffer parameterBuffer, final SqlStatementCache statementCache, final SchemaMapping schemaMapping) {
+    final SqlFingerprint fingerprint = new SqlFingerprint();
     this.parent = (CriteriaQueryImpl<T>) criteriaQuery;
     this.parent.getResultType();
     this.selection = (ProcessorSelection<T>) parent.getSelection();
-    this.q = em.createNativeQuery(parent.asSQL(sql).toString());
-    copyParameter(parameterBuffer.getParameter());
+    parent.fingerprint(fingerprint);
+    final SqlStatement statement = SqlStatement.of(fingerprint, () -> parent.asSQL(new StringBuilder()),
+        statementCache);
+    this.q = em.createNativeQuery(schemaMapping.apply(statement.getSql()));
+    statement.bindParameter(q, parameterBuffer);
   }
 
   @Override
@@ -147,20 +168,79 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
       if (result.isEmpty())
         return Collections.emptyList();
       final List<Entry<String, JPAPath>> selPath = buildSelection();
-      final Map<String, Integer> index = buildSelectionIndex(selPath);
-      final List<Entry<String, JPAAttribute>> selAttributes = toAttributeList(selPath);
+      final TupleReader reader = new TupleReader(toAttributeList(selPath), buildSelectionIndex(selPath));
       if (result.get(0).getClass().isArray()) {
         return (List<T>) ((List<Object[]>) result).stream()
-            .map(r -> new TupleImpl(r, selAttributes, index))
+            .map(r -> new TupleImpl(r, reader))
             .collect(Collectors.toList());
       }
       return (List<T>) ((List<Object>) result).stream()
-          .map(r -> new TupleImpl(r, selAttributes, index))
+          .map(r -> new TupleImpl(r, reader))
           .collect(Collectors.toList());
     }
     return (List<T>) result;
   }
 
+  /**
+   * Execute a SELECT query and return the query results as a <code>Stream</code>. In case EclipseLink is used, the rows
+   * are read via a forward only cursor and converted when they are consumed. So the result does not need to be kept in
+   * memory. The number of rows fetched per round trip can be set via hint {@value #FETCH_SIZE_HINT}, default is
+   * {@value #DEFAULT_FETCH_SIZE}. The stream has to be closed to release the cursor.<p>
+   * Some JDBC drivers, e.g. the one of PostgreSQL, use the fetch size only if auto commit is switched off. Otherwise
+   * they read the complete result when the query gets executed. So streamed reads should be done within a transaction.
+   * A warning is logged, if the cursor was opened on a connection with auto commit.<p>
+   * Other JPA providers read the result completely, but the rows are still converted one by one.
+   * @return a stream of the results
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public Stream<T> getResultStream() {
+    final Stream<Object> rows;
+    if (q.getClass().getName().startsWith(ECLIPSELINK_PACKAGE)) {
+      final Map<String, Object> hints = q.getHints();
+      if (hints == null || !hints.containsKey(FETCH_SIZE_HINT)) {
+        // JDBC does not allow a fetch size greater than the maximum number of rows
+        q.setHint(FETCH_SIZE_HINT, Math.min(DEFAULT_FETCH_SIZE, Math.max(q.getMaxResults(), 1)));
+      }
+      q.setHint(SCROLLABLE_CURSOR_HINT, Boolean.TRUE);
+      q.setHint(RESULT_SET_TYPE_HINT, FORWARD_ONLY);
+      final Iterator<Object> cursor = (Iterator<Object>) q.getSingleResult();
+      checkAutoCommit(cursor);
+      rows = StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+          .onClose(() -> closeCursor(cursor));
+    } else {
+      rows = q.getResultStream();
+    }
+    if (parent.getResultType().isAssignableFrom(Tuple.class)) {
+      final List<Entry<String, JPAPath>> selPath = buildSelection();
+      final TupleReader reader = new TupleReader(toAttributeList(selPath), buildSelectionIndex(selPath));
+      return (Stream<T>) rows.map(r -> r != null && r.getClass().isArray()
+          ? new TupleImpl((Object[]) r, reader)
+          : new TupleImpl(r, reader));
+    }
+    return (Stream<T>) rows;
+  }
+
+  private static void checkAutoCommit(final Iterator<Object> cursor) {
+    try {
+      final Object resultSet = cursor.getClass().getMethod("getResultSet").invoke(cursor);
+      if (resultSet instanceof ResultSet
+          && ((ResultSet) resultSet).getStatement().getConnection().getAutoCommit())
+        LOGGER.warn("Result stream read with auto commit. Some JDBC drivers ignore the fetch size in this case and read"
+            + " the complete result. Start a transaction to read the result in chunks.");
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | SQLException e) {
+      LOGGER.debug("Auto commit of the cursor connection could not be determined", e);
+    }
+  }
+
+  private static void closeCursor(final Iterator<Object> cursor) {
+    try {
+      cursor.getClass().getMethod("close").invoke(cursor);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      throw new PersistenceException("Cursor could not be closed", e);
+    }
+  }
+
   /**
    * Execute a SELECT query that returns a single untyped result.
    * @return the result
@@ -290,18 +370,14 @@ class TypedQueryImpl<T> implements TypedQuery<T> {
     return selection.getResolvedSelection();
   }
 
-  private Map<String, Integer> buildSelectionIndex(final List<Entry<String, JPAPath>> selPath) {
+  static Map<String, Integer> buildSelectionIndex(final List<Entry<String, JPAPath>> selPath) {
 
     final int[] count = { 0 };
     return selPath.stream()
         .collect(Collectors.toMap(Entry::getKey, p -> count[0]++));
   }
 
-  private void copyParameter(final Map<Integer, ParameterExpression<?, ?>> map) {
-    map.entrySet().stream().forEach(e -> this.q.setParameter(e.getKey(), e.getValue().getValue()));
-  }
-
-  private List<Entry<String, JPAAttribute>> toAttributeList(final List<Entry<String, JPAPath>> selPath) {
+  static List<Entry<String, JPAAttribute>> toAttributeList(final List<Entry<String, JPAPath>> selPath) {
     final List<Entry<String, JPAAttribute>> result = new ArrayList<>(selPath.size());
     for (final Entry<String, JPAPath> entity : selPath) {
       result.add(new ProcessorSelection.SelectionAttribute(entity.getKey(), entity.getValue().getLeaf()));
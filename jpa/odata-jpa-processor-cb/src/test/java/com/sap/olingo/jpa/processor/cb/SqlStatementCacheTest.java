@@ -0,0 +1,67 @@
+package com.sap.olingo.jpa.processor.cb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementCacheTest {
+  private SqlStatementCache cut;
+
+  @BeforeEach
+  void setup() {
+    cut = new SqlStatementCache(2);
+  }
+
+  @Test
+  void testDefaultMaxEntries() {
+    assertEquals(SqlStatementCache.DEFAULT_MAX_ENTRIES, new SqlStatementCache().getMaxEntries());
+  }
+
+  @Test
+  void testNegativeMaxEntriesRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new SqlStatementCache(-1));
+  }
+
+  @Test
+  void testGetStatementCountsHitsAndMisses() {
+    cut.putStatement("A", "SELECT A");
+
+    assertEquals("SELECT A", cut.getStatement("A"));
+    assertNull(cut.getStatement("B"));
+    assertEquals(1, cut.getHits());
+    assertEquals(1, cut.getMisses());
+  }
+
+  @Test
+  void testPutStatementRemovesLeastRecentlyUsed() {
+    cut.putStatement("A", "SELECT A");
+    cut.putStatement("B", "SELECT B");
+    cut.getStatement("A");
+    cut.putStatement("C", "SELECT C");
+
+    assertEquals(2, cut.size());
+    assertEquals("SELECT A", cut.getStatement("A"));
+    assertNull(cut.getStatement("B"));
+    assertEquals("SELECT C", cut.getStatement("C"));
+  }
+
+  @Test
+  void testZeroMaxEntriesCachesNothing() {
+    cut = new SqlStatementCache(0);
+    cut.putStatement("A", "SELECT A");
+
+    assertEquals(0, cut.size());
+    assertNull(cut.getStatement("A"));
+  }
+
+  @Test
+  void testClearRemovesStatements() {
+    cut.putStatement("A", "SELECT A");
+    cut.clear();
+
+    assertEquals(0, cut.size());
+  }
+}
@@ -1,14 +1,18 @@
 package com.sap.olingo.jpa.processor.cb.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -30,7 +34,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
 import com.sap.olingo.jpa.processor.cb.impl.EntityManagerWrapper;
 
 class EntityManagerFactoryWrapperTest {
@@ -145,4 +152,40 @@ class EntityManagerFactoryWrapperTest {
   void testCbWrapperCreated() {
     assertTrue(cut.getCriteriaBuilder() instanceof CriteriaBuilder);
   }
+
+  @Test
+  void testCbSharedWithoutEntityManager() {
+    final EntityManagerFactory factory = mock(EntityManagerFactory.class);
+    when(factory.createEntityManager()).thenReturn(em);
+    cut = new EntityManagerFactoryWrapper(factory, sd);
+
+    assertSame(cut.getCriteriaBuilder(), cut.getCriteriaBuilder());
+    verify(factory, never()).createEntityManager();
+    assertSame(cut.getCriteriaBuilder(), cut.createEntityManager().getCriteriaBuilder());
+  }
+
+  @Test
+  void testCbTakesServiceDocumentFromProviderOnFirstQuery() {
+    final JPAEdmProvider edmProvider = mock(JPAEdmProvider.class);
+    when(edmProvider.getServiceDocument()).thenReturn(sd);
+    cut = new EntityManagerFactoryWrapper(emf, edmProvider);
+    final ProcessorCriteriaBuilder cb = (ProcessorCriteriaBuilder) cut.getCriteriaBuilder();
+    verify(edmProvider, never()).getServiceDocument();
+
+    assertNotNull(cb.createTupleQuery());
+    verify(edmProvider).getServiceDocument();
+  }
+
+  @Test
+  void testCreateEntityManagerTakesOverSchemaMapping() {
+    final EntityManagerFactory factory = mock(EntityManagerFactory.class);
+    final Map<String, Object> properties = new HashMap<>();
+    final Map<String, String> mapping = Collections.singletonMap("\"OLINGO\"", "\"TENANT1\"");
+    properties.put(ProcessorEntityManager.SCHEMA_MAPPING, mapping);
+    when(factory.createEntityManager(properties)).thenReturn(mock(EntityManager.class));
+    cut = new EntityManagerFactoryWrapper(factory, sd);
+
+    assertEquals(mapping, cut.createEntityManager(properties).getProperties().get(
+        ProcessorEntityManager.SCHEMA_MAPPING));
+  }
 }
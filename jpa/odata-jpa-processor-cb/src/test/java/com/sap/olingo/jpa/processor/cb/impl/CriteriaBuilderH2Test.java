@@ -2,13 +2,18 @@ package com.sap.olingo.jpa.processor.cb.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Root;
 import javax.sql.DataSource;
@@ -22,9 +27,12 @@ import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaQuery;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
 import com.sap.olingo.jpa.processor.cb.ProcessorSubquery;
 import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivision;
 import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
+import com.sap.olingo.jpa.processor.core.testmodel.Organization;
+import com.sap.olingo.jpa.processor.core.testmodel.Team;
 
 class CriteriaBuilderH2Test extends CriteriaBuilderOverallTest {
   private static final String PUNIT_NAME = "com.sap.olingo.jpa";
@@ -96,6 +104,190 @@ class CriteriaBuilderH2Test extends CriteriaBuilderOverallTest {
     assertEquals("BE212", result.get(0).get("divisionCode"));
   }
 
+  @Test
+  void testSubqueryPagesShareStatement() {
+    assertEquals("BE32", readNuts2Page(1).get(0).get("divisionCode"));
+    assertEquals("BE34", readNuts2Page(3).get(0).get("divisionCode"));
+
+    assertEquals(2, statements.size());
+    assertEquals(1, new HashSet<>(statements).size());
+  }
+
+  private List<Tuple> readNuts2Page(final int skip) {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final ProcessorSubquery<AdministrativeDivision> page = cq.subquery(AdministrativeDivision.class);
+    final Root<AdministrativeDivision> pageRoot = page.from(AdministrativeDivision.class);
+    page.multiselect(pageRoot.get("codePublisher"), pageRoot.get("codeID"), pageRoot.get("divisionCode"));
+    page.where(cb.and(cb.equal(pageRoot.get("codeID"), "NUTS2"), cb.like(pageRoot.get("divisionCode"), "BE3%")));
+    page.orderBy(cb.asc(pageRoot.get("divisionCode")));
+    page.setMaxResults(1);
+    page.setFirstResult(skip);
+
+    final Root<AdministrativeDivision> root = cq.from(AdministrativeDivision.class);
+    cq.multiselect(root.get("divisionCode").alias("divisionCode"));
+    cq.where(cb.in(Arrays.asList(root.get("codePublisher"), root.get("codeID"), root.get("divisionCode")), page));
+    return em.createQuery(cq).getResultList();
+  }
+
+  @Test
+  void testLimitPerPartitionReturnsTopRowsPerParent() {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final ProcessorSubquery<AdministrativeDivision> rowQuery = cq.subquery(AdministrativeDivision.class);
+    final Root<AdministrativeDivision> rowRoot = rowQuery.from(AdministrativeDivision.class);
+    rowQuery.multiselect(rowRoot, createRowNumber(rowRoot));
+    rowQuery.where(cb.and(cb.equal(rowRoot.get("codeID"), "NUTS2"), cb.like(rowRoot.get("parentDivisionCode"),
+        "BE%")));
+
+    final Root<?> root = cq.from(rowQuery);
+    cq.multiselect(root.get("parentDivisionCode").alias("parent"), root.get("divisionCode").alias("divisionCode"));
+    cq.where(cb.limitPerPartition(root.get("row_no"), 1, 2));
+    cq.orderBy(cb.asc(root.get("parentDivisionCode")), cb.asc(root.get("divisionCode")));
+
+    final List<Tuple> act = em.createQuery(cq).getResultList();
+    assertEquals(Arrays.asList("BE22", "BE23", "BE32", "BE33"), act.stream()
+        .map(t -> t.get("divisionCode"))
+        .collect(Collectors.toList()));
+  }
+
+  @Test
+  void testCountRowsReturnsCountOfAllRowsWithPage() {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final Root<AdministrativeDivision> root = cq.from(AdministrativeDivision.class);
+    cq.multiselect(root.get("divisionCode").alias("divisionCode"), cb.countRows().alias("count"));
+    cq.where(cb.equal(root.get("codeID"), "NUTS1"));
+    cq.orderBy(cb.asc(root.get("divisionCode")));
+
+    final List<Tuple> act = em.createQuery(cq).setFirstResult(2).setMaxResults(3).getResultList();
+    assertEquals(3, act.size());
+    for (final Tuple row : act)
+      assertEquals(19L, ((Number) row.get("count")).longValue());
+  }
+
+  @Test
+  void testSchemaMappingReadsTenantSchema() {
+    executeUpdate("CREATE SCHEMA \"TENANT1\"");
+    try {
+      executeUpdate("CREATE TABLE \"TENANT1\".\"AdministrativeDivision\" AS SELECT * "
+          + "FROM \"OLINGO\".\"AdministrativeDivision\" WHERE \"CodeID\" = 'NUTS1'");
+      final long all = countDivisions();
+      em.setProperty(ProcessorEntityManager.SCHEMA_MAPPING, Collections.singletonMap("\"OLINGO\"", "\"TENANT1\""));
+      final long tenant = countDivisions();
+
+      assertEquals(19L, tenant);
+      assertTrue(all > tenant);
+    } finally {
+      executeUpdate("DROP SCHEMA \"TENANT1\" CASCADE");
+    }
+  }
+
+  private long countDivisions() {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final Root<AdministrativeDivision> root = cq.from(AdministrativeDivision.class);
+    cq.multiselect(cb.count(root).alias("count"));
+    return ((Number) em.createQuery(cq).getSingleResult().get("count")).longValue();
+  }
+
+  private void executeUpdate(final String sql) {
+    em.getTransaction().begin();
+    em.createNativeQuery(sql).executeUpdate();
+    em.getTransaction().commit();
+  }
+
+  @Test
+  void testGetResultListsReturnsResultPerQuery() {
+    final ProcessorCriteriaQuery<Tuple> orgQuery = cb.createTupleQuery();
+    final Root<Organization> org = orgQuery.from(Organization.class);
+    orgQuery.multiselect(org.get("iD").alias("iD"), org.get("name1").alias("name1"));
+    orgQuery.where(cb.lessThan(org.get("iD"), "3"));
+    orgQuery.orderBy(cb.desc(org.get("iD")));
+
+    final ProcessorCriteriaQuery<Tuple> teamQuery = cb.createTupleQuery();
+    final Root<Team> team = teamQuery.from(Team.class);
+    teamQuery.multiselect(team.get("iD").alias("iD"));
+    teamQuery.orderBy(cb.asc(team.get("iD")));
+
+    final List<CriteriaQuery<Tuple>> queries = Arrays.asList(orgQuery, teamQuery);
+    final List<List<Tuple>> act = ((ProcessorEntityManager) em).getResultLists(queries);
+    assertEquals(2, act.size());
+    assertEquals(3, act.get(0).size());
+    assertEquals("2", act.get(0).get(0).get("iD"));
+    assertEquals("1", act.get(0).get(2).get("iD"));
+    assertNotNull(act.get(0).get(0).get("name1"));
+    assertEquals(4, act.get(1).size());
+    assertEquals("A", act.get(1).get(0).get("iD"));
+  }
+
+  @Test
+  void testGetResultListsReturnsEmptyListForQueryWithoutResult() {
+    final ProcessorCriteriaQuery<Tuple> orgQuery = cb.createTupleQuery();
+    final Root<Organization> org = orgQuery.from(Organization.class);
+    orgQuery.multiselect(org.get("iD").alias("iD"));
+    orgQuery.where(cb.equal(org.get("iD"), "99"));
+
+    final ProcessorCriteriaQuery<Tuple> teamQuery = cb.createTupleQuery();
+    final Root<Team> team = teamQuery.from(Team.class);
+    teamQuery.multiselect(team.get("iD").alias("iD"), team.get("name").alias("name"));
+    teamQuery.where(cb.equal(team.get("iD"), "A"));
+
+    final List<CriteriaQuery<Tuple>> queries = Arrays.asList(orgQuery, teamQuery);
+    final List<List<Tuple>> act = ((ProcessorEntityManager) em).getResultLists(queries);
+    assertEquals(0, act.get(0).size());
+    assertEquals(1, act.get(1).size());
+    assertEquals("A", act.get(1).get(0).get("iD"));
+    assertNotNull(act.get(1).get(0).get("name"));
+  }
+
+  @Test
+  void testGetResultListsKeepsRequestedOrderPerQuery() {
+    final List<CriteriaQuery<Tuple>> queries = Arrays.asList(createDivisionsByPopulation(), createBE2DivisionsDesc());
+    final List<List<Tuple>> act = ((ProcessorEntityManager) em).getResultLists(queries);
+
+    // The order of a derived table is not kept by a union, so the rows need to be numbered within the branch
+    assertTrue(statements.get(0).contains(
+        "ROW_NUMBER() OVER( ORDER BY E0.\"Population\" DESC, E0.\"DivisionCode\" ASC) R"));
+    assertTrue(statements.get(0).contains("ROW_NUMBER() OVER( ORDER BY E0.\"DivisionCode\" DESC) R"));
+    assertEquals(toDivisionCodes(em.createQuery(createDivisionsByPopulation()).getResultList()),
+        toDivisionCodes(act.get(0)));
+    assertEquals(Arrays.asList("BE25", "BE24", "BE23", "BE22", "BE21"), toDivisionCodes(act.get(1)));
+  }
+
+  @Test
+  void testGetResultListsKeepsDistinctRows() {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final Root<AdministrativeDivision> root = cq.from(AdministrativeDivision.class);
+    cq.multiselect(root.get("codeID").alias("codeID"));
+    cq.distinct(true);
+    cq.orderBy(cb.desc(root.get("codeID")));
+
+    final List<List<Tuple>> act = ((ProcessorEntityManager) em).getResultLists(Arrays.asList(cq,
+        createBE2DivisionsDesc()));
+    assertEquals(Arrays.asList("NUTS3", "NUTS2", "NUTS1", "LAU2", "3166-2", "3166-1"), act.get(0).stream()
+        .map(t -> t.get("codeID"))
+        .collect(Collectors.toList()));
+  }
+
+  private CriteriaQuery<Tuple> createDivisionsByPopulation() {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final Root<AdministrativeDivision> root = cq.from(AdministrativeDivision.class);
+    cq.multiselect(root.get("divisionCode").alias("divisionCode"));
+    cq.where(cb.equal(root.get("codeID"), "NUTS1"));
+    cq.orderBy(cb.desc(root.get("population")), cb.asc(root.get("divisionCode")));
+    return cq;
+  }
+
+  private CriteriaQuery<Tuple> createBE2DivisionsDesc() {
+    final ProcessorCriteriaQuery<Tuple> cq = cb.createTupleQuery();
+    final Root<AdministrativeDivision> root = cq.from(AdministrativeDivision.class);
+    cq.multiselect(root.get("divisionCode").alias("divisionCode"));
+    cq.where(cb.and(cb.equal(root.get("codeID"), "NUTS2"), cb.like(root.get("divisionCode"), "BE2%")));
+    cq.orderBy(cb.desc(root.get("divisionCode")));
+    return cq;
+  }
+
+  private List<Object> toDivisionCodes(final List<Tuple> rows) {
+    return rows.stream().map(t -> t.get("divisionCode")).collect(Collectors.toList());
+  }
+
   private Expression<Long> createRowNumber(final Root<AdministrativeDivision> root) {
     return (Expression<Long>) cb.rowNumber()
         .orderBy(cb.asc(root))
@@ -14,6 +14,7 @@ import java.util.stream.Stream;
 
 import javax.persistence.Tuple;
 import javax.persistence.criteria.CollectionJoin;
+import javax.persistence.criteria.CriteriaBuilder.In;
 import javax.persistence.criteria.CriteriaBuilder.Trimspec;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -78,7 +79,6 @@ class CriteriaBuilderImplTest extends BuilderBaseTest {
         arguments(c.getMethod("array", Selection[].class)),
         arguments(c.getMethod("tuple", Selection[].class)),
         arguments(c.getMethod("construct", Class.class, Selection[].class)),
-        arguments(c.getMethod("in", Expression.class)),
         arguments(c.getMethod("values", Map.class)),
         arguments(c.getMethod("keys", Map.class)),
         arguments(c.getMethod("treat", Root.class, Class.class)),
@@ -253,6 +253,32 @@ class CriteriaBuilderImplTest extends BuilderBaseTest {
     assertEquals(0, cut.getParameter().getParameter().size());
   }
 
+  @Test
+  void testLimitPerPartitionWithSkipAndTop() {
+    final Root<?> adminDiv = q.from(AdministrativeDivision.class);
+    final Predicate act = cut.limitPerPartition(adminDiv.get("area"), 2, 3);
+
+    assertEquals("((E0.\"Area\" > ?1) AND (E0.\"Area\" <= ?2))", ((SqlConvertible) act).asSQL(stmt).toString());
+    assertEquals(2, cut.getParameter().getParameter().get(1).getValue());
+    assertEquals(5L, cut.getParameter().getParameter().get(2).getValue());
+  }
+
+  @Test
+  void testLimitPerPartitionWithoutTop() {
+    final Root<?> adminDiv = q.from(AdministrativeDivision.class);
+    final Predicate act = cut.limitPerPartition(adminDiv.get("area"), null, null);
+
+    assertEquals("(E0.\"Area\" > ?1)", ((SqlConvertible) act).asSQL(stmt).toString());
+    assertEquals(0, cut.getParameter().getParameter().get(1).getValue());
+  }
+
+  @Test
+  void testLimitPerPartitionThrowsExceptionOnNegativeTop() {
+    final Root<?> adminDiv = q.from(AdministrativeDivision.class);
+    final Path<Integer> area = adminDiv.get("area");
+    assertThrows(IllegalArgumentException.class, () -> cut.limitPerPartition(area, null, -1));
+  }
+
   @ParameterizedTest
   @MethodSource("binaryValueImplemented")
   void testBinaryExpressionWithObject(final Method m, final String exp) throws IllegalAccessException,
@@ -816,4 +842,35 @@ class CriteriaBuilderImplTest extends BuilderBaseTest {
         .orderBy(cut.asc(adminDiv.get("codeID")));
     assertEquals(exp, ((SqlConvertible) act).asSQL(stmt).toString());
   }
+
+  @Test
+  void testCreateCountRows() {
+    final String exp = "COUNT(*) OVER()";
+    final Selection<Long> act = cut.countRows();
+    assertEquals(exp, ((SqlConvertible) act).asSQL(stmt).toString());
+  }
+
+  @Test
+  void testCreateInWithValuesPaddedToPowerOfTwo() {
+    final String exp = "(E0.\"DivisionCode\") IN (?1, ?2, ?3, ?3)";
+    final Root<?> adminDiv = q.from(AdministrativeDivision.class);
+    final In<Object> act = cut.in(adminDiv.get("divisionCode")).value("BE31").value("BE32").value("BE33");
+    assertEquals(exp, ((SqlConvertible) act).asSQL(stmt).toString());
+    assertEquals(3, cut.getParameter().getParameter().size());
+  }
+
+  @Test
+  void testCreateInWithExpression() {
+    final String exp = "(E0.\"DivisionCode\") IN (E0.\"ParentDivisionCode\")";
+    final Root<?> adminDiv = q.from(AdministrativeDivision.class);
+    final In<Object> act = cut.in(adminDiv.get("divisionCode")).value(adminDiv.get("parentDivisionCode"));
+    assertEquals(exp, ((SqlConvertible) act).asSQL(stmt).toString());
+  }
+
+  @Test
+  void testCreateInWithoutValueThrowsException() {
+    final Root<?> adminDiv = q.from(AdministrativeDivision.class);
+    final In<Object> act = cut.in(adminDiv.get("divisionCode"));
+    assertThrows(IllegalStateException.class, () -> ((SqlConvertible) act).asSQL(stmt));
+  }
 }
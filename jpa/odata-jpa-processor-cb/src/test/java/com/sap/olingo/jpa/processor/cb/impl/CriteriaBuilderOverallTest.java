@@ -1,18 +1,26 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder.In;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
@@ -38,9 +46,11 @@ abstract class CriteriaBuilderOverallTest {
   protected EntityManager em;
   protected StringBuilder stmt;
   protected CriteriaQuery<Tuple> q;
+  protected List<String> statements;
 
   void setup(final EntityManagerFactory emf, final JPAServiceDocument sd) {
-    em = new EntityManagerWrapper(emf.createEntityManager(), sd);
+    statements = new ArrayList<>();
+    em = new EntityManagerWrapper(recordNativeQueries(emf.createEntityManager()), sd);
     cb = (ProcessorCriteriaBuilder) em.getCriteriaBuilder();
     assertNotNull(cb);
     stmt = new StringBuilder();
@@ -100,6 +110,96 @@ abstract class CriteriaBuilderOverallTest {
     assertEquals(1, act.size());
   }
 
+  @Test
+  void testRepeatedQueryShapeCreatesSameStatement() {
+    assertEquals(1, readDivisions("NUTS2", "BE34").size());
+    assertEquals(0, readDivisions("NUTS2", "XX99").size());
+    assertEquals(1, readDivisions("NUTS2", "BE34").size());
+
+    assertEquals(3, statements.size());
+    assertEquals(1, new HashSet<>(statements).size());
+  }
+
+  @Test
+  void testResultStreamReturnsSameAsResultList() {
+    final Root<?> adminDiv = q.from(AdministrativeDivision.class);
+    q.multiselect(adminDiv.get("codeID").alias("codeID"), adminDiv.get("divisionCode").alias("divisionCode"),
+        adminDiv.get("population").alias("population"));
+    q.where(cb.equal(adminDiv.get("codeID"), "NUTS2"));
+    q.orderBy(cb.asc(adminDiv.get("divisionCode")));
+    final List<Tuple> exp = em.createQuery(q).getResultList();
+    final TypedQuery<Tuple> tq = em.createQuery(q);
+    tq.setHint(TypedQueryImpl.FETCH_SIZE_HINT, 2);
+
+    try (Stream<Tuple> act = tq.getResultStream()) {
+      final List<Tuple> result = act.collect(Collectors.toList());
+      assertEquals(exp.size(), result.size());
+      for (int i = 0; i < exp.size(); i++) {
+        assertEquals(exp.get(i).get("divisionCode"), result.get(i).get("divisionCode"));
+        assertEquals(exp.get(i).get("population"), result.get(i).get("population"));
+      }
+    }
+  }
+
+  @Test
+  void testResultStreamWithSingleColumn() {
+    final Root<?> adminDiv = q.from(AdministrativeDivision.class);
+    q.multiselect(adminDiv.get("divisionCode").alias("divisionCode"));
+    q.where(cb.equal(adminDiv.get("codeID"), "NUTS1"));
+
+    try (Stream<Tuple> act = em.createQuery(q).getResultStream()) {
+      final List<Object> result = act.map(t -> t.get("divisionCode")).collect(Collectors.toList());
+      assertFalse(result.isEmpty());
+      assertTrue(result.stream().allMatch(String.class::isInstance));
+    }
+  }
+
+  @Test
+  void testInWithValuesOfDifferentLengthCreatesSameStatement() {
+    assertEquals(3, readDivisionsIn("BE31", "BE32", "BE33").size());
+    assertEquals(4, readDivisionsIn("BE31", "BE32", "BE33", "BE34").size());
+    assertEquals(1, readDivisionsIn("BE35").size());
+
+    assertEquals(3, statements.size());
+    assertEquals(2, new HashSet<>(statements).size());
+  }
+
+  private List<Tuple> readDivisionsIn(final String... divisionCodes) {
+    final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    final Root<?> adminDiv = query.from(AdministrativeDivision.class);
+    final In<Object> in = cb.in(adminDiv.get("divisionCode"));
+    for (final String divisionCode : divisionCodes)
+      in.value(divisionCode);
+    query.multiselect(adminDiv.get("divisionCode"));
+    query.where(cb.and(cb.equal(adminDiv.get("codeID"), "NUTS2"), in));
+    return em.createQuery(query).getResultList();
+  }
+
+  /**
+   * Records the statements send to the database, to check that the same query shape creates the same statement
+   */
+  private EntityManager recordNativeQueries(final EntityManager delegate) {
+    return (EntityManager) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { EntityManager.class },
+        (proxy, method, args) -> {
+          if ("createNativeQuery".equals(method.getName()))
+            statements.add((String) args[0]);
+          try {
+            return method.invoke(delegate, args);
+          } catch (final InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+  }
+
+  private List<Tuple> readDivisions(final String codeID, final String divisionCode) {
+    final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    final Root<?> adminDiv = query.from(AdministrativeDivision.class);
+    query.multiselect(adminDiv.get("codeID"));
+    query.where(cb.and(cb.equal(adminDiv.get("codeID"), codeID),
+        cb.equal(adminDiv.get("divisionCode"), divisionCode)));
+    return em.createQuery(query).getResultList();
+  }
+
   @Test
   void testSimpleLikeQueryAll() {
     final Root<?> adminDiv = q.from(AdministrativeDivision.class);
@@ -1,18 +1,22 @@
 package com.sap.olingo.jpa.processor.cb.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +43,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
 import com.sap.olingo.jpa.processor.cb.exeptions.NotImplementedException;
 import com.sap.olingo.jpa.processor.core.testmodel.Person;
 
@@ -276,4 +282,64 @@ class EntityManagerWrapperTest {
     when(em.isOpen()).thenReturn(false);
     assertThrows(IllegalStateException.class, () -> cut.getCriteriaBuilder());
   }
+
+  @Test
+  void testCreateWithSharedCriteriaBuilder() {
+    final EntityManager openEm = mock(EntityManager.class);
+    when(openEm.isOpen()).thenReturn(true);
+    final ProcessorCriteriaBuilder cb = EntityManagerWrapper.createCriteriaBuilder(sd);
+    cut = new EntityManagerWrapper(openEm, cb);
+    assertSame(cb, cut.getCriteriaBuilder());
+  }
+
+  @Test
+  void testCreateWithForeignCriteriaBuilderThrowsException() {
+    final ProcessorCriteriaBuilder cb = mock(ProcessorCriteriaBuilder.class);
+    assertThrows(IllegalArgumentException.class, () -> new EntityManagerWrapper(em, cb));
+  }
+
+  @Test
+  void testSetSchemaMappingNotPassedToEntityManager() {
+    final EntityManager localEm = mock(EntityManager.class);
+    final Map<String, String> mapping = Collections.singletonMap("\"OLINGO\"", "\"TENANT1\"");
+    when(localEm.getProperties()).thenReturn(Collections.singletonMap("Test", "Value"));
+    cut = new EntityManagerWrapper(localEm, sd);
+    cut.setProperty(ProcessorEntityManager.SCHEMA_MAPPING, mapping);
+
+    verify(localEm, never()).setProperty(eq(ProcessorEntityManager.SCHEMA_MAPPING), any());
+    assertEquals(mapping, cut.getProperties().get(ProcessorEntityManager.SCHEMA_MAPPING));
+    assertEquals("Value", cut.getProperties().get("Test"));
+  }
+
+  @Test
+  void testProviderOperationsRejectedWithSchemaMapping() {
+    final EntityManager localEm = mock(EntityManager.class);
+    final Object entity = new Object();
+    cut = new EntityManagerWrapper(localEm, sd);
+    cut.setProperty(ProcessorEntityManager.SCHEMA_MAPPING, Collections.singletonMap("\"OLINGO\"", "\"TENANT1\""));
+
+    assertThrows(IllegalStateException.class, () -> cut.persist(entity));
+    assertThrows(IllegalStateException.class, () -> cut.merge(entity));
+    assertThrows(IllegalStateException.class, () -> cut.remove(entity));
+    assertThrows(IllegalStateException.class, () -> cut.find(Object.class, "1"));
+    assertThrows(IllegalStateException.class, () -> cut.refresh(entity));
+    assertThrows(IllegalStateException.class, () -> cut.createQuery("SELECT e FROM Entity e"));
+    verify(localEm, never()).persist(any());
+    verify(localEm, never()).merge(any());
+    verify(localEm, never()).remove(any());
+  }
+
+  @Test
+  void testMapTableNameUsesSchemaMapping() {
+    assertEquals("\"OLINGO\".\"Table\"", cut.mapTableName("\"OLINGO\".\"Table\""));
+    cut.setProperty(ProcessorEntityManager.SCHEMA_MAPPING, Collections.singletonMap("\"OLINGO\"", "\"TENANT1\""));
+    assertEquals("\"TENANT1\".\"Table\"", cut.mapTableName("\"OLINGO\".\"Table\""));
+  }
+
+  @Test
+  void testSetSchemaMappingThrowsExceptionOnInvalidSchema() {
+    final Map<String, String> mapping = Collections.singletonMap("\"OLINGO\"", "\"TENANT1\"; DROP");
+    assertThrows(IllegalArgumentException.class, () -> cut.setProperty(ProcessorEntityManager.SCHEMA_MAPPING,
+        mapping));
+  }
 }
@@ -0,0 +1,67 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.processor.cb.impl.ExpressionImpl.ParameterExpression;
+
+class ParameterBufferTest {
+  private ParameterBuffer cut;
+
+  @BeforeEach
+  void setup() {
+    cut = new ParameterBuffer();
+  }
+
+  @Test
+  void testAddValueReturnsParameterAtPosition() {
+    final ParameterExpression<String, String> first = cut.addValue("A");
+    final ParameterExpression<String, String> second = cut.addValue("B");
+
+    assertEquals(1, first.getPosition());
+    assertEquals(2, second.getPosition());
+    assertSame(second, cut.getParameter(2));
+    assertEquals(2, cut.getParameter().size());
+  }
+
+  @Test
+  void testGetParameterReturnsNullForUnknownPosition() {
+    assertNull(cut.getParameter(5));
+  }
+
+  @Test
+  void testAddValueInParallelCreatesUniquePositions() {
+    final List<ParameterExpression<Integer, Integer>> parameter = IntStream.range(0, 1000)
+        .parallel()
+        .mapToObj(cut::<Integer, Integer> addValue)
+        .collect(Collectors.toList());
+    final Set<Integer> positions = parameter.stream()
+        .map(ParameterExpression::getPosition)
+        .collect(Collectors.toSet());
+
+    assertEquals(1000, positions.size());
+    assertEquals(1000, cut.getParameter().size());
+  }
+
+  @Test
+  void testAddValueReusesPositionOfReleasedParameter() {
+    boolean reused = false;
+    for (int round = 0; round < 20 && !reused; round++) {
+      for (int i = 0; i < 1000; i++)
+        cut.addValue(i);
+      System.gc(); // NOSONAR
+      reused = cut.addValue(-1).getPosition() <= 1000;
+    }
+    assertTrue(reused);
+  }
+}
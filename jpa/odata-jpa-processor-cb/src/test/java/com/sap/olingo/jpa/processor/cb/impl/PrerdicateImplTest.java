@@ -162,6 +162,16 @@ class PredicateImplTest extends BuilderBaseTest {
     assertEquals(exp, ((SqlConvertible) act).asSQL(stmt).toString());
   }
 
+  @Test
+  void testInBucketSize() {
+    assertEquals(0, PredicateImpl.In.bucketSize(0));
+    assertEquals(1, PredicateImpl.In.bucketSize(1));
+    assertEquals(2, PredicateImpl.In.bucketSize(2));
+    assertEquals(4, PredicateImpl.In.bucketSize(3));
+    assertEquals(8, PredicateImpl.In.bucketSize(8));
+    assertEquals(16, PredicateImpl.In.bucketSize(9));
+  }
+
   @Test
   void testIsCompoundSelectionFalse() {
     assertFalse(cut.isCompoundSelection());
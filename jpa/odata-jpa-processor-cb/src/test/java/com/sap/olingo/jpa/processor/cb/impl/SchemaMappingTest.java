@@ -0,0 +1,56 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SchemaMappingTest {
+
+  @Test
+  void testApplyReplacesQualifiedSchemas() {
+    final Map<String, String> mapping = new HashMap<>();
+    mapping.put("\"OLINGO\"", "\"TENANT1\"");
+    mapping.put("SHARED", "COMMON");
+    final SchemaMapping cut = SchemaMapping.of(mapping);
+
+    assertEquals("SELECT E0.\"ID\" S0 FROM \"TENANT1\".\"T\" E0 INNER JOIN COMMON.\"S\" E1 ON (E0.\"ID\" = E1.\"ID\")",
+        cut.apply(
+            "SELECT E0.\"ID\" S0 FROM \"OLINGO\".\"T\" E0 INNER JOIN SHARED.\"S\" E1 ON (E0.\"ID\" = E1.\"ID\")"));
+  }
+
+  @Test
+  void testApplyKeepsUnqualifiedOccurrences() {
+    final SchemaMapping cut = SchemaMapping.of(Collections.singletonMap("OLINGO", "TENANT1"));
+    final String sql = "SELECT E0.OLINGO S0 FROM \"OLINGO\".\"T\" E0 WHERE (E0.\"OLINGO\" = ?1)";
+
+    assertSame(sql, cut.apply(sql));
+  }
+
+  @Test
+  void testNoneReturnsSameStatement() {
+    final String sql = "SELECT E0.\"ID\" S0 FROM \"OLINGO\".\"T\" E0";
+    assertSame(sql, SchemaMapping.NONE.apply(sql));
+    assertSame(SchemaMapping.NONE, SchemaMapping.of(null));
+    assertSame(SchemaMapping.NONE, SchemaMapping.of(Collections.emptyMap()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "\"A\".\"T\" E0; DROP TABLE \"T\"", "\"A\"\"", "A B", "", "1A" })
+  void testOfThrowsExceptionOnInvalidSchema(final String schema) {
+    final Map<String, String> mapping = Collections.singletonMap("\"OLINGO\"", schema);
+    assertThrows(IllegalArgumentException.class, () -> SchemaMapping.of(mapping));
+  }
+
+  @Test
+  void testOfThrowsExceptionOnNoMap() {
+    assertThrows(IllegalArgumentException.class, () -> SchemaMapping.of("\"TENANT1\""));
+  }
+}
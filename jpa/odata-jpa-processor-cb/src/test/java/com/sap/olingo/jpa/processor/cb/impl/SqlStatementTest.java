@@ -0,0 +1,70 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.Query;
+import javax.persistence.criteria.Expression;
+
+import org.junit.jupiter.api.Test;
+
+
+class SqlStatementTest {
+
+  @Test
+  void testNormalizeRenumbersParameter() {
+    final List<Integer> positions = new ArrayList<>();
+    assertEquals("SELECT E0.\"ID\" S0 FROM \"T\" E0 WHERE ((E0.\"A\" = ?1) AND (E0.\"B\" IN (?2, ?3)))",
+        SqlStatement.normalize(
+            "SELECT E0.\"ID\" S0 FROM \"T\" E0 WHERE ((E0.\"A\" = ?12) AND (E0.\"B\" IN (?7, ?13)))", positions));
+    assertEquals(Arrays.asList(12, 7, 13), positions);
+  }
+
+  @Test
+  void testNormalizeKeepsStatementWithoutParameter() {
+    final List<Integer> positions = new ArrayList<>();
+    assertEquals("SELECT E0.\"ID\" S0 FROM \"T\" E0", SqlStatement.normalize("SELECT E0.\"ID\" S0 FROM \"T\" E0",
+        positions));
+    assertEquals(0, positions.size());
+  }
+
+  @Test
+  void testSameShapeReturnsSameStatement() {
+    final SqlStatement first = SqlStatement.of(new StringBuilder("SELECT * FROM \"T\" E0 WHERE (E0.\"A\" = ?1)"));
+    final SqlStatement second = SqlStatement.of(new StringBuilder("SELECT * FROM \"T\" E0 WHERE (E0.\"A\" = ?5)"));
+
+    assertEquals(first.getSql(), second.getSql());
+    assertEquals(Arrays.asList(1), first.getParameterPositions());
+    assertEquals(Arrays.asList(5), second.getParameterPositions());
+  }
+
+  @Test
+  void testBindParameterOnlyUsedOnes() {
+    final ParameterBuffer buffer = new ParameterBuffer();
+    final List<Expression<?>> parameter = Arrays.asList(buffer.addValue("A"), buffer.addValue("B"),
+        buffer.addValue("C"));
+    final Query q = mock(Query.class);
+    final SqlStatement cut = SqlStatement.of("SELECT * FROM \"T\" E0 WHERE ((E0.\"A\" = ?3) OR (E0.\"A\" = ?2))");
+    cut.bindParameter(q, buffer);
+
+    verify(q).setParameter(1, "C");
+    verify(q).setParameter(2, "B");
+    verifyNoMoreInteractions(q);
+    assertEquals(3, parameter.size());
+  }
+
+  @Test
+  void testBindParameterThrowsExceptionOnUnknownParameter() {
+    final Query q = mock(Query.class);
+    final SqlStatement cut = SqlStatement.of("SELECT * FROM \"T\" E0 WHERE (E0.\"A\" = ?3)");
+
+    assertThrows(IllegalStateException.class, () -> cut.bindParameter(q, new ParameterBuffer()));
+  }
+}
@@ -0,0 +1,161 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.sql.DataSource;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.cb.SqlStatementCache;
+import com.sap.olingo.jpa.processor.cb.joiner.SqlConvertible;
+import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivision;
+import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
+
+/**
+ * Executes 100 queries of the same shape with different literals using one entity manager. Compares the number of
+ * different statement texts rendered by the criteria builder, as they were sent to the database before the parameters
+ * got renumbered, with the number of different statement texts prepared at the database. Only a statement text that
+ * repeats can be found in the prepared statement caches of the JPA provider and the JDBC driver. In addition it is
+ * checked that repeated shapes take their statement from the {@link SqlStatementCache}.
+ */
+class StatementReuseTest {
+  private static final String PUNIT_NAME = "com.sap.olingo.jpa";
+  private static final String[] enumPackages = { "com.sap.olingo.jpa.processor.core.testmodel" };
+  private static final int NO_QUERIES = 100;
+  private static EntityManagerFactory emf;
+  private static JPAServiceDocument sd;
+  private static List<String> preparedStatements;
+  private EntityManager em;
+  private ProcessorCriteriaBuilder cb;
+  private SqlStatementCache statementCache;
+
+  @BeforeAll
+  static void classSetup() throws ODataException {
+    preparedStatements = Collections.synchronizedList(new ArrayList<>());
+    emf = JPAEntityManagerFactory.getEntityManagerFactory(PUNIT_NAME, recordingDataSource(DataSourceHelper
+        .createDataSource(DataSourceHelper.DB_H2)));
+    sd = new JPAEdmProvider(PUNIT_NAME, emf, null, enumPackages).getServiceDocument();
+    sd.getEdmEntityContainer();
+  }
+
+  @BeforeEach
+  void setup() {
+    statementCache = new SqlStatementCache();
+    em = new EntityManagerWrapper(emf.createEntityManager(), EntityManagerWrapper.createCriteriaBuilder(sd,
+        statementCache));
+    cb = (ProcessorCriteriaBuilder) em.getCriteriaBuilder();
+    preparedStatements.clear();
+  }
+
+  @Test
+  void testSameShapePreparesOneStatement() {
+    // Keep the queries, so the numbers of their parameters are not released and reused
+    final List<CriteriaQuery<Tuple>> queries = new ArrayList<>();
+    final List<String> rendered = new ArrayList<>();
+    for (int i = 0; i < NO_QUERIES; i++) {
+      final CriteriaQuery<Tuple> query = createQuery("BE" + i);
+      queries.add(query);
+      rendered.add(((SqlConvertible) query).asSQL(new StringBuilder()).toString());
+      em.createQuery(query).getResultList();
+    }
+
+    assertEquals(NO_QUERIES, queries.size());
+    assertEquals(NO_QUERIES, new HashSet<>(rendered).size());
+    assertEquals(NO_QUERIES, preparedStatements.size());
+    assertEquals(1, new HashSet<>(preparedStatements).size());
+  }
+
+  @Test
+  void testSameShapeTakesStatementFromCache() {
+    for (int i = 0; i < NO_QUERIES; i++)
+      em.createQuery(createQuery("BE" + i)).getResultList();
+
+    assertEquals(1, statementCache.size());
+    assertEquals(1, statementCache.getMisses());
+    assertEquals(NO_QUERIES - 1, statementCache.getHits());
+    assertEquals(1, new HashSet<>(preparedStatements).size());
+  }
+
+  @Test
+  void testDifferentShapeNotTakenFromCache() {
+    final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    final Root<?> adminDiv = query.from(AdministrativeDivision.class);
+    query.multiselect(adminDiv.get("codeID"));
+    query.where(cb.and(cb.equal(adminDiv.get("codeID"), "NUTS2"),
+        cb.equal(adminDiv.get("parentDivisionCode"), "BE2")));
+
+    em.createQuery(createQuery("BE2")).getResultList();
+    em.createQuery(query).getResultList();
+
+    assertEquals(2, statementCache.size());
+    assertEquals(2, statementCache.getMisses());
+    assertEquals(0, statementCache.getHits());
+    assertEquals(2, new HashSet<>(preparedStatements).size());
+  }
+
+  private CriteriaQuery<Tuple> createQuery(final String divisionCode) {
+    final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    final Root<?> adminDiv = query.from(AdministrativeDivision.class);
+    query.multiselect(adminDiv.get("codeID"));
+    query.where(cb.and(cb.equal(adminDiv.get("codeID"), "NUTS2"),
+        cb.equal(adminDiv.get("divisionCode"), divisionCode)));
+    return query;
+  }
+
+  /**
+   * Records the statements prepared at the database
+   */
+  private static DataSource recordingDataSource(final DataSource dataSource) {
+    return (DataSource) Proxy.newProxyInstance(StatementReuseTest.class.getClassLoader(),
+        new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+          // The entity manager factories are cached per data source, so the proxy needs an own identity
+          if ("hashCode".equals(method.getName()))
+            return System.identityHashCode(proxy);
+          if ("equals".equals(method.getName()))
+            return proxy == args[0];
+          final Object result = invoke(dataSource, method, args);
+          if ("getConnection".equals(method.getName()))
+            return recordingConnection((Connection) result);
+          return result;
+        });
+  }
+
+  private static Connection recordingConnection(final Connection connection) {
+    return (Connection) Proxy.newProxyInstance(StatementReuseTest.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+          if ("prepareStatement".equals(method.getName()))
+            preparedStatements.add((String) args[0]);
+          return invoke(connection, method, args);
+        });
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static com.sap.olingo.jpa.processor.cb.impl.TypeConverter.convert;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Tuple;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
+import com.sap.olingo.jpa.processor.core.testmodel.ABCClassification;
+import com.sap.olingo.jpa.processor.core.testmodel.DateTimeConverter;
+
+/**
+ * Reads all columns of 100000 rows by alias, once with the conversion decided on each access, as done before the
+ * {@link TupleReader} was introduced, and once with the tuples of a query. Compares the number of times the metadata
+ * of the attributes are read to decide the conversion.
+ */
+class TupleAccessTest {
+  private static final int NO_ROWS = 100000;
+  private static final String[] ALIASES = { "Number", "Time", "Classification" };
+  private AtomicInteger metadataCalls;
+  private List<Entry<String, JPAAttribute>> selection;
+  private Map<String, Integer> selectionIndex;
+  private List<Object[]> rows;
+
+  @BeforeEach
+  void setup() {
+    metadataCalls = new AtomicInteger();
+    final AttributeConverter<?, ?> dateTimeConverter = new DateTimeConverter();
+    selection = new ArrayList<>();
+    selection.add(new ProcessorSelection.SelectionAttribute(ALIASES[0], createAttribute(Long.class, Long.class,
+        false, null)));
+    selection.add(new ProcessorSelection.SelectionAttribute(ALIASES[1], createAttribute(LocalDateTime.class,
+        Timestamp.class, false, dateTimeConverter)));
+    selection.add(new ProcessorSelection.SelectionAttribute(ALIASES[2], createAttribute(ABCClassification.class,
+        Integer.class, true, null)));
+    selectionIndex = new HashMap<>();
+    for (int i = 0; i < ALIASES.length; i++)
+      selectionIndex.put(ALIASES[i], i);
+    rows = new ArrayList<>(NO_ROWS);
+    for (int i = 0; i < NO_ROWS; i++)
+      rows.add(new Object[] { i, new Timestamp(i * 1000L), i % 3 });
+  }
+
+  @Test
+  void testBothReadSameValues() {
+    final TupleReader reader = new TupleReader(selection, selectionIndex);
+    for (final Object[] row : rows.subList(0, 100)) {
+      final Tuple tuple = new TupleImpl(row, reader);
+      for (final String alias : ALIASES)
+        assertEquals(readPerAccess(row, alias), tuple.get(alias));
+    }
+  }
+
+  @Test
+  void testTupleReaderReadsMetadataOncePerQuery() {
+    final TupleReader reader = new TupleReader(selection, selectionIndex);
+    final int perQuery = metadataCalls.get();
+    for (final Object[] row : rows) {
+      final Tuple tuple = new TupleImpl(row, reader);
+      for (final String alias : ALIASES)
+        tuple.get(alias);
+    }
+
+    assertEquals(perQuery, metadataCalls.get());
+    assertTrue(perQuery <= 3 * ALIASES.length);
+  }
+
+  @Test
+  void testConversionPerAccessReadsMetadataForEachValue() {
+    for (final Object[] row : rows) {
+      for (final String alias : ALIASES)
+        readPerAccess(row, alias);
+    }
+
+    // Number: isEnum, getDbType, getRawConverter; Time: in addition getRawConverter a second time;
+    // Classification: isEnum, getConverter, getType
+    assertEquals(NO_ROWS * (3 + 4 + 3), metadataCalls.get());
+  }
+
+  /**
+   * Access by alias as done before the tuple reader was introduced
+   */
+  private Object readPerAccess(final Object[] values, final String alias) {
+    if (selectionIndex.containsKey(alias)) {
+      final int index = selectionIndex.get(alias);
+      final JPAAttribute attribute = selection.get(index).getValue();
+      if (values[index] == null)
+        return null;
+      if (attribute.isEnum() && attribute.getConverter() == null) {
+        final int value = (Integer) convert(values[index], Integer.class);
+        return attribute.getType().getEnumConstants()[value];
+      }
+      final Object value = convert(values[index], attribute.getDbType());
+      if (attribute.getRawConverter() != null)
+        return attribute.getRawConverter().convertToEntityAttribute(value);
+      return value;
+    } else {
+      throw new IllegalArgumentException("Unknown alias: " + alias);
+    }
+  }
+
+  /**
+   * Creates an attribute that counts how often its metadata are read
+   */
+  private JPAAttribute createAttribute(final Class<?> type, final Class<?> dbType, final boolean isEnum,
+      final AttributeConverter<?, ?> rawConverter) {
+    return (JPAAttribute) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { JPAAttribute.class },
+        (proxy, method, args) -> {
+          metadataCalls.incrementAndGet();
+          switch (method.getName()) {
+            case "getType":
+              return type;
+            case "getDbType":
+              return dbType;
+            case "isEnum":
+              return isEnum;
+            case "getRawConverter":
+              return rawConverter;
+            case "getConverter":
+              return null;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+}
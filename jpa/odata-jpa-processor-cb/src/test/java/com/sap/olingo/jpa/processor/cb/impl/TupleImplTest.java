@@ -161,6 +161,18 @@ class TupleImplTest {
     assertTrue(secondFound);
   }
 
+  @Test
+  void testGetByIndexReturnsConvertedValue() {
+    assertTrue(cut.get(3) instanceof LocalDateTime);
+  }
+
+  @Test
+  void testGetTupleElementsInSelectionOrder() {
+    final List<TupleElement<?>> act = cut.getElements();
+    assertEquals(FIRST_VALUE, act.get(0).getAlias());
+    assertEquals(TIME_VALUE, act.get(3).getAlias());
+  }
+
   @Test
   void testTupleReturnsConvertedValue() {
     cut = new TupleImpl(values, selPath, selectionIndex);
@@ -0,0 +1,96 @@
+package com.sap.olingo.jpa.processor.cb.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.processor.cb.ProcessorSelection;
+import com.sap.olingo.jpa.processor.core.testmodel.ABCClassification;
+import com.sap.olingo.jpa.processor.core.testmodel.DateTimeConverter;
+
+class TupleReaderTest {
+  private TupleReader cut;
+  private JPAAttribute number;
+  private JPAAttribute time;
+  private JPAAttribute classification;
+
+  @BeforeEach
+  void setup() {
+    number = mock(JPAAttribute.class);
+    mockTypes(number, Long.class, Long.class);
+    time = mock(JPAAttribute.class);
+    mockTypes(time, LocalDateTime.class, Timestamp.class);
+    when(time.getRawConverter()).thenAnswer(invocation -> new DateTimeConverter());
+    classification = mock(JPAAttribute.class);
+    mockTypes(classification, ABCClassification.class, Integer.class);
+    when(classification.isEnum()).thenReturn(true);
+
+    final List<Entry<String, JPAAttribute>> selection = new ArrayList<>();
+    selection.add(new ProcessorSelection.SelectionAttribute("Number", number));
+    selection.add(new ProcessorSelection.SelectionAttribute("Time", time));
+    selection.add(new ProcessorSelection.SelectionAttribute("Classification", classification));
+    final Map<String, Integer> index = new HashMap<>();
+    index.put("Number", 0);
+    index.put("Time", 1);
+    index.put("Classification", 2);
+    cut = new TupleReader(selection, index);
+  }
+
+  @Test
+  void testGetIndex() {
+    assertEquals(1, cut.getIndex("Time"));
+    assertThrows(IllegalArgumentException.class, () -> cut.getIndex("Willi"));
+  }
+
+  @Test
+  void testReadConvertsToDbType() {
+    assertEquals(5L, cut.read(0, Integer.valueOf(5)));
+    assertNull(cut.read(0, null));
+  }
+
+  @Test
+  void testReadUsesRawConverter() {
+    assertEquals(LocalDateTime.of(2019, 1, 25, 14, 0, 25), cut.read(1, Timestamp.valueOf("2019-01-25 14:00:25")));
+  }
+
+  @Test
+  void testReadConvertsEnum() {
+    assertEquals(ABCClassification.B, cut.read(2, 1));
+  }
+
+  @Test
+  void testConverterResolvedOnce() {
+    cut.read(1, Timestamp.valueOf("2019-01-25 14:00:25"));
+    cut.read(1, Timestamp.valueOf("2019-01-26 14:00:25"));
+
+    verify(time, times(1)).getRawConverter();
+  }
+
+  @Test
+  void testElementInformation() {
+    assertEquals(3, cut.size());
+    assertEquals("Classification", cut.getAlias(2));
+    assertEquals(ABCClassification.class, cut.getJavaType(2));
+  }
+
+  private void mockTypes(final JPAAttribute attribute, final Class<?> type, final Class<?> dbType) {
+    when(attribute.getType()).thenAnswer(invocation -> type);
+    when(attribute.getDbType()).thenAnswer(invocation -> dbType);
+  }
+}
@@ -2,14 +2,19 @@ package com.sap.olingo.jpa.processor.cb.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.FlushModeType;
@@ -21,6 +26,8 @@ import javax.persistence.TemporalType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.sap.olingo.jpa.processor.cb.SqlStatementCache;
+
 class TypedQueryImplTest extends BuilderBaseTest {
   private TypedQueryImpl<Long> cut;
   private EntityManager em;
@@ -37,7 +44,7 @@ class TypedQueryImplTest extends BuilderBaseTest {
     q = mock(Query.class);
     when(cq.asSQL(any())).thenReturn(new StringBuilder().append("Test"));
     when(em.createNativeQuery("Test")).thenReturn(q);
-    cut = new TypedQueryImpl<>(cq, em, parameterBuffer);
+    cut = new TypedQueryImpl<>(cq, em, parameterBuffer, new SqlStatementCache(), SchemaMapping.NONE);
   }
 
   @Test
@@ -235,4 +242,13 @@ class TypedQueryImplTest extends BuilderBaseTest {
     cut.unwrap(String.class);
     verify(q).unwrap(String.class);
   }
+
+  @Test
+  void testGetResultStreamWithoutCursorSupport() {
+    when(cq.getResultType()).thenReturn(Long.class);
+    when(q.getResultStream()).thenReturn(Stream.of(1L, 2L));
+
+    assertEquals(Arrays.asList(1L, 2L), cut.getResultStream().collect(Collectors.toList()));
+    verify(q, never()).setHint(anyString(), any());
+  }
 }
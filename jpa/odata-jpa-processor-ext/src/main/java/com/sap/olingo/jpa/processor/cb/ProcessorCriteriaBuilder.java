@@ -2,11 +2,13 @@ package com.sap.olingo.jpa.processor.cb;
 
 import java.util.List;
 
+import javax.annotation.Nullable;
 import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Subquery;
 
 public interface ProcessorCriteriaBuilder extends CriteriaBuilder {
@@ -22,6 +24,28 @@ public interface ProcessorCriteriaBuilder extends CriteriaBuilder {
 
   public WindowFunction<Long> rowNumber();
 
+  /**
+   * Create a window function that counts rows: <code>COUNT(*) OVER()</code>. Without partition, each row gets the
+   * number of rows of the complete result. As the window function is evaluated before $top and $skip are applied, a
+   * page can be read together with the total number of rows with one database round trip.
+   * @return window function counting rows
+   */
+  public WindowFunction<Long> countRows();
+
+  /**
+   * Create a predicate that restricts the rows of each partition of a row number to a page, like the first N children
+   * of each parent (top-N per parent). Together with a sub query that selects the row number partitioned by the parent
+   * key, paging of e.g. expanded entities is done by the database.<br>
+   * Skip and top are bound as parameters, so pages of different size share one statement.
+   * @param rowNumber row number created by {@link #rowNumber()}, typically selected by a sub query
+   * @param skip number of rows to be skipped per partition. Null is handled like zero
+   * @param top maximum number of rows per partition. Null means that the number is not restricted
+   * @return predicate restricting the row number
+   * @throws IllegalArgumentException if skip or top is negative
+   */
+  public Predicate limitPerPartition(final Expression<? extends Number> rowNumber, @Nullable final Integer skip,
+      @Nullable final Integer top);
+
   /**
    * Create predicate to test whether given expression
    * is contained in a list of values.
@@ -0,0 +1,40 @@
+package com.sap.olingo.jpa.processor.cb;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaQuery;
+
+public interface ProcessorEntityManager extends EntityManager {
+  /**
+   * Name of the entity manager property that maps the database schemas used at the tables of the metadata to the
+   * schemas to be used by the queries created from criteria queries, e.g. the schema of the tenant of a request. The
+   * value is a Map&lt;String, String&gt;. Schemas are given as they are given at the tables, so quoted schemas
+   * including the quotes. The property can be set via {@link EntityManager#setProperty(String, Object)} or when the
+   * entity manager gets created.<p>
+   * The mapping is not known to the JPA provider. So operations executed by the JPA provider, like persist, merge,
+   * remove or find, are rejected with an IllegalStateException as long as a mapping is set. Native queries are not
+   * mapped, see {@link #mapTableName(String)}.
+   */
+  String SCHEMA_MAPPING = "com.sap.olingo.jpa.processor.schema-mapping";
+
+  /**
+   * Executes a list of tuple queries with one database round trip. The queries are combined into one statement using
+   * UNION ALL. Each query keeps its own selection, ordering and parameter.
+   * @param queries list of criteria queries created by the criteria builder of this entity manager
+   * @return per query the list of result tuples. The results are returned in the same order as the queries were
+   * provided
+   */
+  List<List<Tuple>> getResultLists(@Nonnull final List<CriteriaQuery<Tuple>> queries);
+
+  /**
+   * Applies the {@link #SCHEMA_MAPPING} to a table name, e.g. to use it within a native query.
+   * @param tableName table name as given at the metadata, qualified by its schema
+   * @return table name qualified by the schema to be used
+   */
+  default String mapTableName(@Nonnull final String tableName) {
+    return tableName;
+  }
+}
@@ -1,16 +1,80 @@
 package com.sap.olingo.jpa.processor.core.api;
 
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.sap.olingo.jpa.processor.core.processor.JPAODataParallelBatchProcessor;
 
+/**
+ * Factory for batch processors that process GET requests in parallel. The parts are processed by the given executor.
+ * A dedicated executor, e.g. one created by {@link #createBoundedExecutor(int, int)}, prevents that batch requests
+ * block other tasks of the common fork join pool. The number of parts of one batch request processed at the same time
+ * is limited by the max parallelism.
+ */
 public class JPAODataParallelBatchProcessorFactory implements
     JPAODataBatchProcessorFactory<JPAODataParallelBatchProcessor> {
 
+  private final Executor executor;
+  private final int maxParallelism;
+  private final Duration timeout;
+
+  public JPAODataParallelBatchProcessorFactory() {
+    this(ForkJoinPool.commonPool(), JPAODataParallelBatchProcessor.DEFAULT_MAX_PARALLELISM, null);
+  }
+
+  /**
+   * @param executor Executor the parts are processed with
+   * @param maxParallelism Maximum number of parts of one batch request processed at the same time
+   * @param timeout Maximum time a group of parallel parts may take. If not provided, there is no time limit.
+   */
+  public JPAODataParallelBatchProcessorFactory(@Nonnull final Executor executor, final int maxParallelism,
+      @Nullable final Duration timeout) {
+    super();
+    if (maxParallelism < 1)
+      throw new IllegalArgumentException("Maximum parallelism must be at least one");
+    this.executor = Objects.requireNonNull(executor);
+    this.maxParallelism = maxParallelism;
+    this.timeout = timeout;
+  }
+
   @Override
   public JPAODataParallelBatchProcessor getBatchProcessor(@Nonnull final JPAODataSessionContextAccess serviceContext,
       @Nonnull final JPAODataRequestContextAccess requestContext) {
-    return new JPAODataParallelBatchProcessor(serviceContext, requestContext);
+    return new JPAODataParallelBatchProcessor(serviceContext, requestContext, executor, maxParallelism, timeout);
+  }
+
+  /**
+   * Creates an executor with a fixed number of daemon threads and a bounded queue. If the queue is full, the part is
+   * processed by the thread of the batch request, which slows down the acceptance of new parts. The executor has to be
+   * shut down by the application.
+   * @param threads Number of threads
+   * @param queueCapacity Number of parts that can wait for a thread
+   * @return Executor to be handed over to {@link #JPAODataParallelBatchProcessorFactory(Executor, int, Duration)}
+   */
+  public static ExecutorService createBoundedExecutor(final int threads, final int queueCapacity) {
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new BatchThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
   }
 
+  private static class BatchThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, "odata-jpa-batch-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
 }
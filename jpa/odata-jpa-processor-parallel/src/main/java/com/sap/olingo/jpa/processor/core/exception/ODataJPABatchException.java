@@ -12,7 +12,8 @@ public class ODataJPABatchException extends ODataJPAProcessException { // NOSONA
   private static final String BUNDLE_NAME = "processor-exceptions-i18n";
 
   public enum MessageKeys implements ODataJPAMessageKey {
-    UNSUPPORTED_BATCH_PARTS;
+    UNSUPPORTED_BATCH_PARTS,
+    PARALLEL_PARTS_TIMEOUT;
 
     @Override
     public String getKey() {
@@ -24,8 +25,15 @@ public class ODataJPABatchException extends ODataJPAProcessException { // NOSONA
     super(messageKey.getKey(), statusCode);
   }
 
+  public ODataJPABatchException(final MessageKeys messageKey, final HttpStatusCode statusCode,
+      final String... params) {
+    super(messageKey.getKey(), statusCode, params);
+  }
+
   public ODataJPABatchException(final ODataJPABatchRuntimeException e) {
-    super(e.getCause(), HttpStatusCode.INTERNAL_SERVER_ERROR);
+    super(e.getCause(), e.getCause() instanceof ODataJPABatchException
+        ? HttpStatusCode.fromStatusCode(((ODataJPABatchException) e.getCause()).getStatusCode())
+        : HttpStatusCode.INTERNAL_SERVER_ERROR);
   }
 
   @Override
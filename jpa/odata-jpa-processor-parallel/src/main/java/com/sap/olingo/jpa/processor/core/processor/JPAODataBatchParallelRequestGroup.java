@@ -1,10 +1,27 @@
 package com.sap.olingo.jpa.processor.core.processor;
 
+import static com.sap.olingo.jpa.processor.core.exception.ODataJPABatchException.MessageKeys.PARALLEL_PARTS_TIMEOUT;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
 import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.ODataHandler;
 import org.apache.olingo.server.api.ODataLibraryException;
@@ -13,9 +30,20 @@ import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
 import org.apache.olingo.server.core.batchhandler.BatchFacadeImpl;
 
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestProcessor;
+import com.sap.olingo.jpa.processor.core.api.JPAServiceDebugger;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPABatchException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPABatchRuntimeException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 
+/**
+ * Processes the parts of a group in parallel. Each part gets an own request context with an own entity manager. Both
+ * are created by the thread of the batch request, the entity manager is closed after the part has been processed. The
+ * number of parts processed at the same time is limited
+ * by the max parallelism of the batch processor. If all permits are in use, the next part is started as soon as a
+ * part has finished. If the group takes longer than the timeout of the batch processor, the processing is aborted.
+ */
 class JPAODataBatchParallelRequestGroup implements JPAODataBatchRequestGroup {
   private final List<BatchRequestPart> requestParts;
   private final JPAODataParallelBatchProcessor processor;
@@ -29,39 +57,139 @@ class JPAODataBatchParallelRequestGroup implements JPAODataBatchRequestGroup {
 
   @Override
   public List<ODataResponsePart> execute() {
+    final JPAServiceDebugger debugger = processor.getRequestContext().getDebugger();
+    debugger.debug(this, "Number of groups elements : %d", requestParts.size());
+
+    final Optional<? extends EntityManagerFactory> emf = processor.getServiceContext().getEntityManagerFactory();
+    if (!emf.isPresent()) {
+      debugger.debug(this, "No entity manager factory provided, parts are processed sequentially");
+      return new JPAODataBatchSequentialRequestGroup(processor, requestParts).execute();
+    }
+    final Map<String, Object> properties = JPAParallelQueryExecutor.entityManagerProperties(processor
+        .getRequestContext().getEntityManager());
+    final Semaphore permits = new Semaphore(processor.getMaxParallelism());
+    final Optional<Long> deadline = processor.getTimeout().map(timeout -> System.nanoTime() + timeout.toNanos());
+    final List<ParallelPart> parts = new ArrayList<>(requestParts.size());
+    final List<CompletableFuture<ODataResponsePart>> requests = new ArrayList<>(requestParts.size());
     try {
+      for (final BatchRequestPart requestPart : requestParts) {
+        acquire(permits, deadline);
+        final ParallelPart part = new ParallelPart(createEntityManager(emf.get(), properties), requestPart, permits);
+        parts.add(part);
+        requests.add(startBatchPart(part));
+      }
+      await(requests, deadline);
+      return requests.stream()
+          .map(CompletableFuture::join)
+          .collect(Collectors.toList());
+    } catch (final TimeoutException e) {
+      abandon(parts, requests);
+      throw new ODataJPABatchRuntimeException(new ODataJPABatchException(PARALLEL_PARTS_TIMEOUT,
+          HttpStatusCode.SERVICE_UNAVAILABLE, processor.getTimeout().map(Duration::toMillis).map(String::valueOf)
+              .orElse("")));
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      abandon(parts, requests);
+      throw new ODataJPABatchRuntimeException(new ODataException(e));
+    } catch (final ODataJPAProcessorException e) {
+      abandon(parts, requests);
+      throw new ODataJPABatchRuntimeException(e);
+    }
+  }
 
-      processor.getRequestContext().getDebugger().debug(this, "Number of groups elements : %d", requestParts.size());
+  private EntityManager createEntityManager(final EntityManagerFactory emf, final Map<String, Object> properties) {
+    return properties.isEmpty() ? emf.createEntityManager() : emf.createEntityManager(properties);
+  }
 
-      final List<CompletableFuture<ODataResponsePart>> requests = requestParts.stream()
-          .map(part -> startBatchPart(buildFacade(), part))
-          .collect(Collectors.toList());
+  /**
+   * Parts that have not been started are not processed any longer, their entity managers get closed.
+   */
+  private void abandon(final List<ParallelPart> parts, final List<CompletableFuture<ODataResponsePart>> requests) {
+    requests.forEach(request -> request.cancel(false));
+    parts.forEach(ParallelPart::abandon);
+  }
+
+  private void acquire(final Semaphore permits, final Optional<Long> deadline) throws InterruptedException,
+      TimeoutException {
+    if (!deadline.isPresent())
+      permits.acquire();
+    else if (!permits.tryAcquire(remaining(deadline.get()), TimeUnit.NANOSECONDS))
+      throw new TimeoutException();
+  }
 
-      return CompletableFuture.allOf(requests.toArray(new CompletableFuture[requests.size()]))
-          .thenApply(dummy -> requests.stream()
-              .map(CompletableFuture::join)
-              .collect(Collectors.toList())).join();
-    } catch (RuntimeException e) {
-      // startBatchPart throws an runtime exception that wraps the original exception. This runtime exception gets is
-      // wrapped into an CompletionException. The original exception has to be re-wrapped, so the caller can handle it.
-      throw new ODataJPABatchRuntimeException((ODataException) e.getCause().getCause());
+  private void await(final List<CompletableFuture<ODataResponsePart>> requests, final Optional<Long> deadline)
+      throws InterruptedException, TimeoutException {
+    final CompletableFuture<Void> all = CompletableFuture.allOf(requests.toArray(new CompletableFuture[requests
+        .size()]));
+    try {
+      if (deadline.isPresent())
+        all.get(remaining(deadline.get()), TimeUnit.NANOSECONDS);
+      else
+        all.get();
+    } catch (final ExecutionException e) {
+      // executePart throws a runtime exception that wraps the original exception, so the caller can handle it
+      if (e.getCause() instanceof ODataJPABatchRuntimeException)
+        throw (ODataJPABatchRuntimeException) e.getCause();
+      throw new ODataJPABatchRuntimeException(new ODataException(e.getCause()));
+    }
+  }
+
+  private long remaining(final long deadline) {
+    return Math.max(0L, deadline - System.nanoTime());
+  }
+
+  /**
+   * An executor with a bounded queue may reject the part. In this case it is processed by the calling thread.
+   */
+  private CompletableFuture<ODataResponsePart> startBatchPart(final ParallelPart part) {
+    try {
+      return CompletableFuture.supplyAsync(part, processor.getExecutor());
+    } catch (final RejectedExecutionException e) {
+      return CompletableFuture.completedFuture(part.get());
     }
   }
 
-  private BatchFacade buildFacade() {
+  private BatchFacade buildFacade(final JPAODataRequestContextAccess requestContext) {
     final ODataHandler odataHandler = processor.getOdata().createRawHandler(processor.getServiceMetadata());
-    odataHandler.register(new JPAODataRequestProcessor(processor.getServiceContext(), processor.getRequestContext()));
+    odataHandler.register(new JPAODataRequestProcessor(processor.getServiceContext(), requestContext));
     return new BatchFacadeImpl(odataHandler, processor, true);
   }
 
-  private CompletableFuture<ODataResponsePart> startBatchPart(final BatchFacade facade,
-      final BatchRequestPart requestPart) {
-    return CompletableFuture.supplyAsync(() -> {
+  private class ParallelPart implements Supplier<ODataResponsePart> {
+    private final EntityManager em;
+    private final JPAODataRequestContextAccess requestContext;
+    private final BatchRequestPart requestPart;
+    private final Semaphore permits;
+    private final AtomicBoolean claimed;
+
+    private ParallelPart(final EntityManager em, final BatchRequestPart requestPart, final Semaphore permits)
+        throws ODataJPAProcessorException {
+      final JPAODataRequestContextAccess batchContext = processor.getRequestContext();
+      this.em = em;
+      this.requestContext = new JPAODataInternalRequestContext(batchContext.getUriInfo(), batchContext, batchContext
+          .getHeader(), em);
+      this.requestPart = requestPart;
+      this.permits = permits;
+      this.claimed = new AtomicBoolean();
+    }
+
+    @Override
+    public ODataResponsePart get() {
+      if (!claimed.compareAndSet(false, true))
+        return null;
       try {
-        return facade.handleBatchRequest(requestPart);
+        return buildFacade(requestContext).handleBatchRequest(requestPart);
       } catch (ODataApplicationException | ODataLibraryException e) {
         throw new ODataJPABatchRuntimeException(e);
+      } finally {
+        em.close();
+        permits.release();
       }
-    });
+    }
+
+    private void abandon() {
+      if (claimed.compareAndSet(false, true))
+        em.close();
+    }
   }
 }
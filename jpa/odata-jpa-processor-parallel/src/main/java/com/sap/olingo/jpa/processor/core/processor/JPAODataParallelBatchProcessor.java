@@ -2,12 +2,18 @@ package com.sap.olingo.jpa.processor.core.processor;
 
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPABatchException.MessageKeys.UNSUPPORTED_BATCH_PARTS;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
@@ -35,14 +41,40 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPABatchRuntimeException
  * <li> In case the client sends an continue-on-error=true</li>
  * <li> It is guaranteed that the GET do not fail
  * </ol>
+ * Each part of a parallel group is processed with an own entity manager created by the entity manager factory of the
+ * service context. If no factory is available, the parts are processed sequentially, as an entity manager must not be
+ * used by several threads.
  * @author Oliver Grande
  * Created: 27.02.2020
  */
 public class JPAODataParallelBatchProcessor extends JPAODataBatchProcessor {
+  public static final int DEFAULT_MAX_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+  private final Executor executor;
+  private final int maxParallelism;
+  private final Optional<Duration> timeout;
 
   public JPAODataParallelBatchProcessor(final JPAODataSessionContextAccess serviceContext,
       final JPAODataRequestContextAccess requestContext) {
+    this(serviceContext, requestContext, ForkJoinPool.commonPool(), DEFAULT_MAX_PARALLELISM, null);
+  }
+
+  /**
+   * @param serviceContext Context of the service
+   * @param requestContext Context of the batch request
+   * @param executor Executor the parts of a parallel group are processed with
+   * @param maxParallelism Maximum number of parts of one batch request processed at the same time
+   * @param timeout Maximum time a parallel group may take. If not provided, there is no time limit.
+   */
+  public JPAODataParallelBatchProcessor(final JPAODataSessionContextAccess serviceContext,
+      final JPAODataRequestContextAccess requestContext, @Nonnull final Executor executor, final int maxParallelism,
+      @Nullable final Duration timeout) {
     super(serviceContext, requestContext);
+    if (maxParallelism < 1)
+      throw new IllegalArgumentException("Maximum parallelism must be at least one");
+    this.executor = Objects.requireNonNull(executor);
+    this.maxParallelism = maxParallelism;
+    this.timeout = Optional.ofNullable(timeout);
   }
 
   @Override
@@ -94,11 +126,11 @@ public class JPAODataParallelBatchProcessor extends JPAODataBatchProcessor {
   OData getOdata() {
     return odata;
   }
-  
+
   JPAODataRequestContextAccess getRequestContext() {
     return requestContext;
   }
-  
+
   JPAODataSessionContextAccess getServiceContext() {
     return serviceContext;
   }
@@ -107,6 +139,18 @@ public class JPAODataParallelBatchProcessor extends JPAODataBatchProcessor {
     return serviceMetadata;
   }
 
+  Executor getExecutor() {
+    return executor;
+  }
+
+  int getMaxParallelism() {
+    return maxParallelism;
+  }
+
+  Optional<Duration> getTimeout() {
+    return timeout;
+  }
+
   private void addLastGroup(final List<JPAODataBatchRequestGroup> groups, final Boolean isGetGroup,
       final List<BatchRequestPart> groupElements) {
     if (Boolean.FALSE.equals(isGetGroup) || groupElements.size() == 1)
@@ -1,12 +1,25 @@
 package com.sap.olingo.jpa.processor.core.processor;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
@@ -16,24 +29,40 @@ import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.deserializer.batch.BatchRequestPart;
 import org.apache.olingo.server.api.deserializer.batch.ODataResponsePart;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import com.sap.olingo.jpa.metadata.api.JPAHttpHeaderMap;
+import com.sap.olingo.jpa.metadata.api.JPARequestParameterMap;
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
+import com.sap.olingo.jpa.processor.core.api.JPAServiceDebugger;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPABatchException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPABatchRuntimeException;
 
 class JPAODataBatchParallelRequestGroupTest extends JPAODataBatchAbstractRequestGroupTest {
   private JPAODataBatchParallelRequestGroup cut;
+  private EntityManagerFactory emf;
+  private ExecutorService executor;
 
   @Override
   @BeforeEach
   void setup() throws ODataApplicationException, ODataLibraryException {
     super.setup();
+    emf = mock(EntityManagerFactory.class);
+    executor = Executors.newFixedThreadPool(8);
     cut = new JPAODataBatchParallelRequestGroup(processor, groupElements);
   }
 
+  @AfterEach
+  void teardown() {
+    executor.shutdownNow();
+  }
+
   @Test
   void testEmptyGroupsReturnEmptyResult() {
     Assertions.assertTrue(cut.execute().isEmpty());
@@ -127,6 +156,120 @@ class JPAODataBatchParallelRequestGroupTest extends JPAODataBatchAbstractRequest
     Assertions.assertThrows(ODataJPABatchRuntimeException.class, cut::execute);
   }
 
+  @Test
+  void testEachPartUsesOwnEntityManager() {
+    useEntityManagerFactory();
+    final List<EntityManager> entityManagers = new ArrayList<>();
+    when(emf.createEntityManager()).thenAnswer(invocation -> {
+      final EntityManager em = mock(EntityManager.class);
+      synchronized (entityManagers) {
+        entityManagers.add(em);
+      }
+      return em;
+    });
+    for (int i = 0; i < 5; i++)
+      when(odataHandler.process(buildPart())).thenReturn(mock(ODataResponse.class));
+
+    Assertions.assertEquals(5, cut.execute().size());
+    Assertions.assertEquals(5, entityManagers.size());
+    entityManagers.forEach(em -> verify(em).close());
+  }
+
+  @Test
+  void testPartsProcessedSequentiallyWithoutEntityManagerFactory() {
+    final ExecutorService spyExecutor = mock(ExecutorService.class);
+    doReturn(spyExecutor).when(processor).getExecutor();
+    buildPart();
+    buildPart();
+
+    Assertions.assertEquals(2, cut.execute().size());
+    verify(spyExecutor, never()).execute(any());
+  }
+
+  @Test
+  void testMaxParallelismLimitsConcurrentParts() {
+    useEntityManagerFactory();
+    doReturn(2).when(processor).getMaxParallelism();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    for (int i = 0; i < 8; i++) {
+      when(odataHandler.process(buildPart())).thenAnswer(invocation -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        Thread.sleep(20); // NOSONAR
+        running.decrementAndGet();
+        return mock(ODataResponse.class);
+      });
+    }
+
+    Assertions.assertEquals(8, cut.execute().size());
+    Assertions.assertTrue(maxRunning.get() <= 2);
+  }
+
+  @Test
+  void testTimeoutAbortsGroup() {
+    useEntityManagerFactory();
+    doReturn(Optional.of(Duration.ofMillis(50))).when(processor).getTimeout();
+    final ODataRequest request = buildPart();
+    when(odataHandler.process(request)).thenAnswer(new AnswerLate<>(1000, mock(ODataResponse.class)));
+
+    final ODataJPABatchRuntimeException act = Assertions.assertThrows(ODataJPABatchRuntimeException.class,
+        cut::execute);
+    Assertions.assertTrue(act.getCause() instanceof ODataJPABatchException);
+    Assertions.assertEquals(503, ((ODataJPABatchException) act.getCause()).getStatusCode());
+  }
+
+  @Test
+  void testRejectedPartProcessedByCallingThread() {
+    useEntityManagerFactory();
+    final ExecutorService rejecting = mock(ExecutorService.class);
+    doThrow(RejectedExecutionException.class).when(rejecting).execute(any());
+    doReturn(rejecting).when(processor).getExecutor();
+    final ODataResponse response = mock(ODataResponse.class);
+    when(odataHandler.process(buildPart())).thenReturn(response);
+    when(odataHandler.process(buildPart())).thenReturn(response);
+
+    final List<ODataResponsePart> act = cut.execute();
+    Assertions.assertEquals(2, act.size());
+    Assertions.assertEquals(response, act.get(1).getResponses().get(0));
+  }
+
+  /**
+   * Load test: 50 read parts, each waiting 20 milliseconds for the database, are processed at least three times faster
+   * than one after the other.
+   */
+  @Test
+  void testFiftyPartsFasterThanSequential() {
+    useEntityManagerFactory();
+    final JPAODataRequestContextAccess requestContext = mock(JPAODataRequestContextAccess.class);
+    final JPAServiceDebugger debugger = mock(JPAServiceDebugger.class);
+    when(requestContext.getDebugger()).thenReturn(debugger);
+    when(requestContext.getEntityManager()).thenReturn(mock(EntityManager.class));
+    when(requestContext.getHeader()).thenReturn(mock(JPAHttpHeaderMap.class));
+    when(requestContext.getRequestParameter()).thenReturn(mock(JPARequestParameterMap.class));
+    doReturn(requestContext).when(processor).getRequestContext();
+    doReturn(8).when(processor).getMaxParallelism();
+    for (int i = 0; i < 50; i++)
+      when(odataHandler.process(buildPart())).thenAnswer(new AnswerLate<>(20, mock(ODataResponse.class)));
+
+    final long sequentialStart = System.nanoTime();
+    Assertions.assertEquals(50, new JPAODataBatchSequentialRequestGroup(processor, groupElements).execute().size());
+    final long sequential = System.nanoTime() - sequentialStart;
+
+    final long parallelStart = System.nanoTime();
+    Assertions.assertEquals(50, cut.execute().size());
+    final long parallel = System.nanoTime() - parallelStart;
+
+    Assertions.assertTrue(parallel * 3 < sequential, "Parallel: " + parallel / 1_000_000 + " ms, sequential: "
+        + sequential / 1_000_000 + " ms");
+  }
+
+  private void useEntityManagerFactory() {
+    final JPAODataSessionContextAccess serviceContext = processor.getServiceContext();
+    doReturn(Optional.of(emf)).when(serviceContext).getEntityManagerFactory();
+    doReturn(executor).when(processor).getExecutor();
+    when(emf.createEntityManager()).thenAnswer(invocation -> mock(EntityManager.class));
+  }
+
   private static class AnswerLate<T> implements Answer<T> {
     private final int millisDelay;
     private final T response;
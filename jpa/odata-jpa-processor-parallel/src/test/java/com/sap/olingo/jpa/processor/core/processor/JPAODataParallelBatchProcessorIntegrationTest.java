@@ -86,6 +86,46 @@ class JPAODataParallelBatchProcessorIntegrationTest {
     assertEquals("5", value.get("ID").asText());
   }
 
+  @Test
+  void testFiftyGetRequestsParallelReturnSameAsSequential() throws IOException, ODataException {
+    final StringBuilder requestBody = createBodyGets(50);
+
+    final IntegrationTestHelper sequential = new IntegrationTestHelper(emf, "$batch", requestBody);
+    final IntegrationTestHelper parallel = new IntegrationTestHelper(emf, "$batch", requestBody, true);
+
+    for (int i = 1; i <= 50; i++) {
+      assertEquals(200, parallel.getBatchResultStatus(i));
+      final JsonNode value = parallel.getBatchResult(i);
+      assertEquals(String.valueOf((i - 1) % 10 + 1), value.get("ID").asText());
+      assertEquals(sequential.getBatchResult(i), value);
+    }
+  }
+
+  @Test
+  void testTwoGetRequestSecondFailParallelCheckStatus() throws IOException, ODataException {
+    final StringBuilder requestBody = createBodyTwoGetOneFail();
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "$batch", requestBody, true);
+    assertEquals(200, helper.getBatchResultStatus(1));
+    assertEquals(404, helper.getBatchResultStatus(2));
+  }
+
+  private StringBuilder createBodyGets(final int numberOfParts) {
+    final StringBuilder requestBody = new StringBuilder();
+    for (int i = 0; i < numberOfParts; i++) {
+      requestBody.append("--abc123\r\n");
+      requestBody.append("Content-Type: application/http\r\n");
+      requestBody.append("Content-Transfer-Encoding: binary\r\n");
+      requestBody.append("\r\n");
+      requestBody.append("GET Organizations('" + (i % 10 + 1) + "') HTTP/1.1\r\n");
+      requestBody.append("Content-Type: application/json\r\n");
+      requestBody.append("\r\n");
+      requestBody.append("\r\n");
+    }
+    requestBody.append("--abc123--");
+    return requestBody;
+  }
+
   private StringBuilder createBodyTwoGetOneFail() {
     final StringBuilder requestBody = new StringBuilder("--abc123\r\n");
     requestBody.append("Content-Type: application/http\r\n");
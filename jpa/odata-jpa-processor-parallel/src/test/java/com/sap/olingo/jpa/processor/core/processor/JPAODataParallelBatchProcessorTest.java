@@ -3,10 +3,12 @@ package com.sap.olingo.jpa.processor.core.processor;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.RollbackException;
@@ -218,4 +220,27 @@ class JPAODataParallelBatchProcessorTest {
     requests.addAll(Arrays.asList(get));
     return requests;
   }
+
+  @Test
+  void testConstructorThrowsExceptionOnParallelismBelowOne() {
+    final Executor executor = mock(Executor.class);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new JPAODataParallelBatchProcessor(context,
+        requestContext, executor, 0, null));
+  }
+
+  @Test
+  void testConstructorTakesExecutorParallelismAndTimeout() {
+    final Executor executor = mock(Executor.class);
+    cut = new JPAODataParallelBatchProcessor(context, requestContext, executor, 3, Duration.ofSeconds(2));
+
+    Assertions.assertEquals(executor, cut.getExecutor());
+    Assertions.assertEquals(3, cut.getMaxParallelism());
+    Assertions.assertEquals(Duration.ofSeconds(2), cut.getTimeout().get());
+  }
+
+  @Test
+  void testDefaultHasNoTimeout() {
+    Assertions.assertFalse(cut.getTimeout().isPresent());
+    Assertions.assertEquals(JPAODataParallelBatchProcessor.DEFAULT_MAX_PARALLELISM, cut.getMaxParallelism());
+  }
 }
@@ -1,5 +1,6 @@
 package com.sap.olingo.jpa.processor.test.util;
 
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -13,6 +14,7 @@ import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
@@ -36,6 +38,7 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataRequestProcessor;
 import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
 import com.sap.olingo.jpa.processor.core.database.JPADefaultDatabaseProcessor;
 import com.sap.olingo.jpa.processor.core.processor.JPAODataInternalRequestContext;
+import com.sap.olingo.jpa.processor.core.processor.JPAODataParallelBatchProcessor;
 import com.sap.olingo.jpa.processor.core.util.HttpRequestHeaderDouble;
 import com.sap.olingo.jpa.processor.core.util.ServletInputStreamDouble;
 
@@ -50,6 +53,15 @@ public class IntegrationTestHelper {
 
   public IntegrationTestHelper(final EntityManagerFactory emf, final String urlPath, final StringBuilder requestBody)
       throws IOException, ODataException {
+    this(emf, urlPath, requestBody, false);
+  }
+
+  /**
+   * @param parallel If true, the batch request is processed by the parallel batch processor, which gets the entity
+   * manager factory
+   */
+  public IntegrationTestHelper(final EntityManagerFactory emf, final String urlPath, final StringBuilder requestBody,
+      final boolean parallel) throws IOException, ODataException {
 
     final OData odata = OData.newInstance();
     final EntityManager em = emf.createEntityManager();
@@ -68,7 +80,12 @@ public class IntegrationTestHelper {
     final JPAODataInternalRequestContext requestContext = new JPAODataInternalRequestContext(customContext,
         sessionContext);
     handler.register(new JPAODataRequestProcessor(sessionContext, requestContext));
-    handler.register(new JPAODataBatchProcessor(sessionContext, requestContext));
+    if (parallel) {
+      doReturn(Optional.of(emf)).when(sessionContext).getEntityManagerFactory();
+      handler.register(new JPAODataParallelBatchProcessor(sessionContext, requestContext));
+    } else {
+      handler.register(new JPAODataBatchProcessor(sessionContext, requestContext));
+    }
     handler.process(req, resp);
   }
 
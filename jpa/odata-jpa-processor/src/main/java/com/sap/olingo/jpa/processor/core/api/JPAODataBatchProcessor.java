@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 import javax.persistence.OptimisticLockException;
 import javax.persistence.RollbackException;
 
@@ -118,7 +120,11 @@ public class JPAODataBatchProcessor implements BatchProcessor {
    * <p>
    * This requires that the batch processor can create transactions. To do so it takes an instance of
    * {@link JPAODataTransactionFactory } from the request context and requests a new transaction. In case this is not
-   * possible a exception with http status code 501 <i>Not Implemented</i> will be raised.
+   * possible a exception with http status code 501 <i>Not Implemented</i> will be raised.<p>
+   * If a change set batch size is set ({@link JPAODataServiceContext.Builder#setChangeSetBatchSize(int)}), the flush
+   * mode of the entity manager is set to {@link FlushModeType#AUTO} while the change set is processed. So the changes
+   * of the change set are written at the end of the change set and can be grouped into JDBC batches. Only if a query
+   * is executed in between, the pending changes are written before, so later requests do not read stale data.
    */
   @Override
   public final ODataResponsePart processChangeSet(final BatchFacade facade, final List<ODataRequest> requests)
@@ -129,6 +135,7 @@ public class JPAODataBatchProcessor implements BatchProcessor {
      */
     final int handle = requestContext.getDebugger().startRuntimeMeasurement(this, "processChangeSet");
     final List<ODataResponse> responses = new ArrayList<>();
+    final Optional<FlushModeType> flushMode = deferFlush();
     try {
       final JPAODataTransaction t = requestContext.getTransactionFactory().createTransaction();
       try {
@@ -190,9 +197,24 @@ public class JPAODataBatchProcessor implements BatchProcessor {
       }
     } catch (final ODataJPATransactionException e) {
       throw new ODataJPAProcessorException(e, HttpStatusCode.NOT_IMPLEMENTED);
+    } finally {
+      flushMode.ifPresent(requestContext.getEntityManager()::setFlushMode);
     }
   }
 
+  /**
+   * Sets the flush mode to {@link FlushModeType#AUTO} if changes of a change set shall be written in JDBC batches.
+   * @return The flush mode to be restored after the change set has been processed
+   */
+  private Optional<FlushModeType> deferFlush() {
+    if (requestContext.getChangeSetBatchSize() <= 0)
+      return Optional.empty();
+    final EntityManager em = requestContext.getEntityManager();
+    final FlushModeType flushMode = em.getFlushMode();
+    em.setFlushMode(FlushModeType.AUTO);
+    return Optional.ofNullable(flushMode);
+  }
+
   /**
    * OData Version 4.0 Part 1: Protocol Plus Errata 02 11.7.2 Batch Request Body states: <p>
    * <cite>
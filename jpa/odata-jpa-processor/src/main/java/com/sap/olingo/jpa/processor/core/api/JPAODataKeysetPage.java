@@ -0,0 +1,35 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.apache.olingo.server.api.uri.UriInfo;
+
+/**
+ * Page of a keyset (seek) based server-driven paging. Instead of skipping the entities of the previous pages, a page
+ * starts after the last entity of the previous page. To do so, the entities are ordered by their key. The page
+ * provides the key of this last entity, so the costs of reading a page do not depend on its position.<p>
+ * Keyset pages are only supported for requests without <code>$orderby</code> and <code>$skip</code>. As the number of
+ * entities is not known upfront, the skip token of the next page is requested from the paging provider, after the page
+ * has been read, see {@link JPAODataPagingProvider#getNextSkipToken(JPAODataKeysetPage, Map)}.
+ */
+public class JPAODataKeysetPage extends JPAODataPage {
+  private final Map<String, Object> lastKey;
+
+  /**
+   * @param uriInfo request the page belongs to
+   * @param top maximum number of entities of the page
+   * @param lastKey key of the last entity of the previous page. The values are mapped to the external name of the key
+   * attributes. Empty for the first page
+   */
+  public JPAODataKeysetPage(final UriInfo uriInfo, final int top, @Nonnull final Map<String, Object> lastKey) {
+    super(uriInfo, 0, top, null);
+    this.lastKey = Collections.unmodifiableMap(lastKey);
+  }
+
+  public Map<String, Object> getLastKey() {
+    return lastKey;
+  }
+}
@@ -0,0 +1,46 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+
+import javax.annotation.Nonnull;
+
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
+
+/**
+ * Storage for the content of media entities outside of the database. If a media storage is provided, see
+ * {@link JPAODataServiceContext.Builder#setMediaStorage(JPAODataMediaStorage)}, media stream attributes of type
+ * String hold a reference to the stored content instead of the content itself.<p>
+ * Storing the same content several times may return the same reference. Each call of {@link #store(InputStream)} is
+ * balanced by one call of {@link #release(String)}, so the content has to be kept until its last reference has been
+ * released.
+ *
+ * @since 1.0.9
+ */
+public interface JPAODataMediaStorage {
+
+  /**
+   * Stores the body of a media upload. Called on create and update of a media entity before the change is written to
+   * the database.
+   * @param content Body of the request. The stream is not closed by the storage
+   * @return Reference to the content, which is written into the media stream attribute
+   * @throws ODataJPAProcessException
+   */
+  String store(@Nonnull final InputStream content) throws ODataJPAProcessException;
+
+  /**
+   * Opens stored content for reading. The channel is closed by the caller.
+   * @param reference Reference returned by {@link #store(InputStream)}
+   * @return Channel positioned at the start of the content
+   * @throws ODataJPAProcessException
+   */
+  SeekableByteChannel read(@Nonnull final String reference) throws ODataJPAProcessException;
+
+  /**
+   * Releases a reference. Called after the change that replaced or removed the reference has been committed, or if the
+   * change that would have used a reference provided by {@link #store(InputStream)} failed.
+   * @param reference Reference returned by {@link #store(InputStream)}
+   * @throws ODataJPAProcessException
+   */
+  void release(@Nonnull final String reference) throws ODataJPAProcessException;
+}
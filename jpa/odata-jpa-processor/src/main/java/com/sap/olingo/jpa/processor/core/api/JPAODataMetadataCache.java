@@ -0,0 +1,222 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.etag.ServiceMetadataETagSupport;
+import org.apache.olingo.server.api.serializer.ODataSerializer;
+
+/**
+ * Cache for the serialized $metadata document and the service document. As the EDM does not change at runtime, each
+ * document is serialized only once per format. Together with the uncompressed document a gzip and a deflate variant
+ * are created, which are send if the client accepts them. Each variant gets a strong ETag, so a request with a
+ * matching <code>If-None-Match</code> header is answered with <i>304 Not Modified</i>. In case the service metadata
+ * provide an ETag via {@link ServiceMetadataETagSupport}, this one is used instead.<p>
+ * The documents do not depend on the locale of a request, so they are not cached per locale.
+ */
+public final class JPAODataMetadataCache {
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final String GZIP = "gzip";
+  private static final String DEFLATE = "deflate";
+  /** Service documents with absolute context URL are cached per base URI, which is taken from the request */
+  private static final int MAX_ENTRIES = 32;
+  private final Map<DocumentKey, CachedDocument> documents = new ConcurrentHashMap<>();
+
+  void readMetadata(final OData odata, final ServiceMetadata serviceMetadata, final ODataRequest request,
+      final ODataResponse response, final ContentType contentType) throws ODataLibraryException {
+
+    final ServiceMetadataETagSupport eTagSupport = serviceMetadata.getServiceMetadataETagSupport();
+    final String applicationETag = eTagSupport != null ? eTagSupport.getMetadataETag() : null;
+    final CachedDocument document = getDocument(new DocumentKey(DocumentKind.METADATA, contentType, null),
+        () -> odata.createSerializer(contentType).metadataDocument(serviceMetadata).getContent());
+    writeResponse(odata, request, response, contentType, applicationETag, document);
+  }
+
+  void readServiceDocument(final OData odata, final ServiceMetadata serviceMetadata, final ODataRequest request,
+      final ODataResponse response, final ContentType contentType, final String uri) throws ODataLibraryException {
+
+    final ServiceMetadataETagSupport eTagSupport = serviceMetadata.getServiceMetadataETagSupport();
+    final String applicationETag = eTagSupport != null ? eTagSupport.getServiceDocumentETag() : null;
+    final CachedDocument document = getDocument(new DocumentKey(DocumentKind.SERVICE_DOCUMENT, contentType, uri),
+        () -> odata.createSerializer(contentType).serviceDocument(serviceMetadata, uri).getContent());
+    writeResponse(odata, request, response, contentType, applicationETag, document);
+  }
+
+  private CachedDocument getDocument(final DocumentKey key, final DocumentSerializer serializer)
+      throws ODataLibraryException {
+    CachedDocument document = documents.get(key);
+    if (document == null) {
+      document = new CachedDocument(serializer.serialize());
+      if (documents.size() < MAX_ENTRIES)
+        documents.putIfAbsent(key, document);
+    }
+    return document;
+  }
+
+  private void writeResponse(final OData odata, final ODataRequest request, final ODataResponse response,
+      final ContentType contentType, final String applicationETag, final CachedDocument document)
+      throws ODataLibraryException {
+
+    final String encoding = determineEncoding(request.getHeaders(HttpHeader.ACCEPT_ENCODING));
+    final String eTag = applicationETag != null ? applicationETag : document.getETag(encoding);
+    response.setHeader(HttpHeader.ETAG, eTag);
+    response.setHeader(HttpHeader.VARY, HttpHeader.ACCEPT_ENCODING);
+    final boolean isNotModified = odata.createETagHelper().checkReadPreconditions(eTag,
+        request.getHeaders(HttpHeader.IF_MATCH), request.getHeaders(HttpHeader.IF_NONE_MATCH));
+
+    if (isNotModified) {
+      response.setStatusCode(HttpStatusCode.NOT_MODIFIED.getStatusCode());
+    } else {
+      // HTTP HEAD requires no payload but a 200 OK response
+      if (HttpMethod.HEAD != request.getMethod()) {
+        response.setContent(new ByteArrayInputStream(document.getContent(encoding)));
+        response.setHeader(HttpHeader.CONTENT_TYPE, contentType.toContentTypeString());
+        if (encoding != null)
+          response.setHeader(HttpHeader.CONTENT_ENCODING, encoding);
+      }
+      response.setStatusCode(HttpStatusCode.OK.getStatusCode());
+    }
+  }
+
+  /**
+   * Returns the preferred content coding accepted by the client or null if the document shall be send uncompressed.
+   * Codings with a quality of zero are treated as not accepted.
+   */
+  static String determineEncoding(final List<String> acceptEncoding) {
+    boolean deflateAccepted = false;
+    if (acceptEncoding != null) {
+      for (final String header : acceptEncoding) {
+        for (final String coding : header.split(",")) {
+          final String[] parts = coding.split(";");
+          final String name = parts[0].trim().toLowerCase(Locale.ENGLISH);
+          if (isAccepted(parts)) {
+            if (GZIP.equals(name))
+              return GZIP;
+            deflateAccepted |= DEFLATE.equals(name);
+          }
+        }
+      }
+    }
+    return deflateAccepted ? DEFLATE : null;
+  }
+
+  private static boolean isAccepted(final String[] codingParts) {
+    for (int i = 1; i < codingParts.length; i++) {
+      final String parameter = codingParts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2)) > 0.0;
+        } catch (final NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private enum DocumentKind {
+    METADATA, SERVICE_DOCUMENT
+  }
+
+  @FunctionalInterface
+  private interface DocumentSerializer {
+    InputStream serialize() throws ODataLibraryException;
+  }
+
+  private static final class DocumentKey {
+    private final DocumentKind kind;
+    private final String contentType;
+    private final String uri;
+
+    private DocumentKey(final DocumentKind kind, final ContentType contentType, final String uri) {
+      this.kind = kind;
+      this.contentType = contentType.toContentTypeString();
+      this.uri = uri;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(kind, contentType, uri);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj)
+        return true;
+      if (!(obj instanceof DocumentKey))
+        return false;
+      final DocumentKey other = (DocumentKey) obj;
+      return kind == other.kind && contentType.equals(other.contentType) && Objects.equals(uri, other.uri);
+    }
+  }
+
+  private static final class CachedDocument {
+    private final byte[] content;
+    private final byte[] gzipContent;
+    private final byte[] deflateContent;
+    private final String hash;
+
+    private CachedDocument(final InputStream source) {
+      try (InputStream input = source) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[8192];
+        int read;
+        while ((read = input.read(chunk)) > 0)
+          buffer.write(chunk, 0, read);
+        content = buffer.toByteArray();
+        gzipContent = compress(new ByteArrayOutputStream(), GZIP);
+        deflateContent = compress(new ByteArrayOutputStream(), DEFLATE);
+        hash = Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance(HASH_ALGORITHM)
+            .digest(content));
+      } catch (IOException | NoSuchAlgorithmException e) {
+        throw new ODataRuntimeException(e);
+      }
+    }
+
+    private byte[] compress(final ByteArrayOutputStream target, final String encoding) throws IOException {
+      try (OutputStream output = GZIP.equals(encoding) ? new GZIPOutputStream(target)
+          : new DeflaterOutputStream(target)) {
+        output.write(content);
+      }
+      return target.toByteArray();
+    }
+
+    private byte[] getContent(final String encoding) {
+      if (GZIP.equals(encoding))
+        return gzipContent;
+      if (DEFLATE.equals(encoding))
+        return deflateContent;
+      return content;
+    }
+
+    /**
+     * Strong ETags have to differ between the content codings of a document
+     */
+    private String getETag(final String encoding) {
+      return encoding == null ? "\"" + hash + "\"" : "\"" + hash + "-" + encoding + "\"";
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.processor.MetadataProcessor;
+import org.apache.olingo.server.api.uri.UriInfo;
+
+/**
+ * Processor for $metadata requests, which answers them from a {@link JPAODataMetadataCache}.
+ */
+public class JPAODataMetadataProcessor implements MetadataProcessor {
+
+  private final JPAODataMetadataCache cache;
+  private OData odata;
+  private ServiceMetadata serviceMetadata;
+
+  public JPAODataMetadataProcessor(final JPAODataMetadataCache cache) {
+    super();
+    this.cache = cache;
+  }
+
+  @Override
+  public void init(final OData odata, final ServiceMetadata serviceMetadata) {
+    this.odata = odata;
+    this.serviceMetadata = serviceMetadata;
+  }
+
+  @Override
+  public void readMetadata(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
+      final ContentType requestedContentType) throws ODataApplicationException, ODataLibraryException {
+    cache.readMetadata(odata, serviceMetadata, request, response, requestedContentType);
+  }
+}
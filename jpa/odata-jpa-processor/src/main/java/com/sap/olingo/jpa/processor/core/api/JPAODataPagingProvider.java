@@ -1,5 +1,7 @@
 package com.sap.olingo.jpa.processor.core.api;
 
+import java.util.Map;
+
 import javax.persistence.EntityManager;
 
 import org.apache.olingo.server.api.ODataApplicationException;
@@ -21,6 +23,20 @@ public interface JPAODataPagingProvider {
    */
   JPAODataPage getNextPage(final String skiptoken);
 
+  /**
+   * Returns the page related to a given skiptoken. In addition to {@link #getNextPage(String)}, the request the skip
+   * token is part of is provided. In case {@link #keepQueryOptionsInNextLink()} returns true, the request contains the
+   * query options of the request of the first page. This allows a provider to restore a page without keeping the
+   * previous requests.<br>
+   * If the skiptoken is not known the method returns null.
+   * @param skiptoken skip token of the next link, enclosed in quotes if it is a string
+   * @param uriInfo request containing the skip token
+   * @return next page or null
+   */
+  default JPAODataPage getNextPage(final String skiptoken, final UriInfo uriInfo) {
+    return getNextPage(skiptoken);
+  }
+
   /**
    * Based on the query the provider decides if a paging is required and return the first page.
    * @param uriInfo
@@ -30,4 +46,24 @@ public interface JPAODataPagingProvider {
   JPAODataPage getFirstPage(final UriInfo uriInfo, final Integer preferredPageSize, final JPACountQuery countQuery,
       final EntityManager em) throws ODataApplicationException;
 
+  /**
+   * Determines the content of the next link. By default it only contains the skip token. If true is returned, the next
+   * link contains also the query options of the request, like <code>$filter</code> or <code>$select</code>.
+   * @return true if the query options shall be part of the next link
+   */
+  default boolean keepQueryOptionsInNextLink() {
+    return false;
+  }
+
+  /**
+   * Called after a {@link JPAODataKeysetPage} has been read completely, that is the number of entities read equals
+   * the top of the page. Returns the skip token of the next page, which starts after the given key, or null if no
+   * further page shall be provided.
+   * @param page page read
+   * @param lastKey key of the last entity of the page. The values are mapped to the external name of the key attributes
+   * @return skip token of the next page or null
+   */
+  default Object getNextSkipToken(final JPAODataKeysetPage page, final Map<String, Object> lastKey) {
+    return null;
+  }
 }
@@ -3,10 +3,12 @@ package com.sap.olingo.jpa.processor.core.api;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import org.apache.olingo.server.api.uri.UriInfoResource;
 
@@ -19,6 +21,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseOperations;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+import com.sap.olingo.jpa.processor.core.filter.JPAFilterCompilationCache;
 import com.sap.olingo.jpa.processor.core.serializer.JPASerializer;
 
 public interface JPAODataRequestContextAccess {
@@ -68,4 +71,76 @@ public interface JPAODataRequestContextAccess {
    * @return list of locale provided for this request
    */
   public List<Locale> getProvidedLocale();
+
+  /**
+   *
+   * @return true if all $expand of a request shall be read with one database round trip
+   */
+  public default boolean useSingleStatementExpand() {
+    return false;
+  }
+
+  /**
+   *
+   * @return executor used to read sibling expands in parallel
+   */
+  public default Optional<Executor> getExpandExecutor() {
+    return Optional.empty();
+  }
+
+  /**
+   *
+   * @return true if entity collections shall be serialized while the rows are read from the database
+   */
+  public default boolean useStreamedEntityCollection() {
+    return false;
+  }
+
+  /**
+   *
+   * @return true if $count=true shall be read together with the entities using COUNT(*) OVER()
+   */
+  public default boolean useWindowFunctionCount() {
+    return false;
+  }
+
+  /**
+   *
+   * @return JDBC batch size used for change sets. With zero or less writing of change sets is not deferred
+   */
+  public default int getChangeSetBatchSize() {
+    return 0;
+  }
+
+  /**
+   *
+   * @return storage for the content of media entities
+   */
+  public default Optional<JPAODataMediaStorage> getMediaStorage() {
+    return Optional.empty();
+  }
+
+  /**
+   *
+   * @return paging provider of the service, if server-driven paging is supported
+   */
+  public default Optional<JPAODataPagingProvider> getPagingProvider() {
+    return Optional.empty();
+  }
+
+  /**
+   *
+   * @return factory to create additional entity manager, e.g. for queries executed in parallel
+   */
+  public default Optional<? extends EntityManagerFactory> getEntityManagerFactory() {
+    return Optional.empty();
+  }
+
+  /**
+   *
+   * @return cache of the attribute paths resolved while compiling $filter expressions of the service
+   */
+  public default Optional<JPAFilterCompilationCache> getFilterCompilationCache() {
+    return Optional.empty();
+  }
 }
@@ -76,8 +76,8 @@ public class JPAODataRequestHandler {
       throws ODataException {
 
     final JPAEdmProvider jpaEdm = requestContext.getEdmProvider();
-    final ODataHttpHandler handler = odata.createHandler(odata.createServiceMetadata(jpaEdm, jpaEdm.getReferences()));
-    serviceContext.getEdmProvider().setRequestLocales(request.getLocales());
+    final ODataHttpHandler handler = odata.createHandler(serviceContext.getServiceMetadata(odata, jpaEdm));
+    jpaEdm.setRequestLocales(request.getLocales());
     final HttpServletRequest mappedRequest = prepareRequestMapping(request, serviceContext.getMappingPath());
     handler.register(requestContext.getDebugSupport());
     handler.register(new JPAODataRequestProcessor(serviceContext, requestContext));
@@ -85,6 +85,7 @@ public class JPAODataRequestHandler {
     handler.register(serviceContext.getEdmProvider().getServiceDocument());
     handler.register(serviceContext.getErrorProcessor());
     handler.register(new JPAODataServiceDocumentProcessor(serviceContext));
+    serviceContext.getMetadataCache().ifPresent(cache -> handler.register(new JPAODataMetadataProcessor(cache)));
     handler.process(mappedRequest, response);
   }
 
@@ -4,9 +4,12 @@ import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.persistence.EntityManager;
@@ -19,24 +22,31 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.olingo.commons.api.edmx.EdmxReference;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.processor.ErrorProcessor;
 
 import com.sap.olingo.jpa.metadata.api.JPAEdmMetadataPostProcessor;
 import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.metadata.api.JPAEdmSnapshot;
 import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEdmNameBuilder;
-import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.impl.JPADefaultEdmNameBuilder;
 import com.sap.olingo.jpa.processor.core.database.JPADefaultDatabaseProcessor;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseOperations;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseProcessorFactory;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAFilterException;
+import com.sap.olingo.jpa.processor.core.filter.JPAFilterCompilationCache;
 
 public final class JPAODataServiceContext implements JPAODataSessionContextAccess {
   /**
    *
    */
   private static final Log LOGGER = LogFactory.getLog(JPAODataServiceContext.class);
+  private static final String ENTITY_MANAGER_DATA_SOURCE = "javax.persistence.nonJtaDataSource";
+  private static final String BATCH_WRITING = "eclipselink.jdbc.batch-writing";
+  private static final String BATCH_WRITING_SIZE = "eclipselink.jdbc.batch-writing.size";
+  private static final String SESSION_NAME = "eclipselink.session-name";
   private List<EdmxReference> references = new ArrayList<>();
   private final JPAODataDatabaseOperations operationConverter;
   private JPAEdmProvider jpaEdm;
@@ -50,6 +60,15 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
   private final String mappingPath;
   private final JPAODataBatchProcessorFactory<JPAODataBatchProcessor> batchProcessorFactory;
   private final boolean useAbsoluteContextURL;
+  private final boolean useSingleStatementExpand;
+  private final Optional<Executor> expandExecutor;
+  private final boolean useStreamedEntityCollection;
+  private final boolean useWindowFunctionCount;
+  private final int changeSetBatchSize;
+  private final Optional<JPAODataMediaStorage> mediaStorage;
+  private final Optional<JPAODataMetadataCache> metadataCache;
+  private final Optional<JPAFilterCompilationCache> filterCompilationCache;
+  private volatile ServiceMetadata serviceMetadata;
 
   public static Builder with() {
     return new Builder();
@@ -63,7 +82,7 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     references = builder.references;
     postProcessor = builder.postProcessor;
     packageName = builder.packageName;
-    errorProcessor = builder.errorProcessor;
+    errorProcessor = builder.errorProcessor == null ? new JPADefaultErrorProcessor() : builder.errorProcessor;
     pagingProvider = builder.pagingProvider;
     jpaEdm = builder.jpaEdm;
     emf = builder.emf;
@@ -71,6 +90,15 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     mappingPath = builder.mappingPath;
     batchProcessorFactory = (JPAODataBatchProcessorFactory<JPAODataBatchProcessor>) builder.batchProcessorFactory;
     useAbsoluteContextURL = builder.useAbsoluteContextURL;
+    useSingleStatementExpand = builder.useSingleStatementExpand;
+    expandExecutor = builder.expandExecutor;
+    useStreamedEntityCollection = builder.useStreamedEntityCollection;
+    useWindowFunctionCount = builder.useWindowFunctionCount;
+    changeSetBatchSize = builder.changeSetBatchSize;
+    mediaStorage = builder.mediaStorage;
+    metadataCache = builder.useMetadataCache ? Optional.of(new JPAODataMetadataCache()) : Optional.empty();
+    filterCompilationCache = builder.useFilterCompilationCache ? Optional.of(new JPAFilterCompilationCache())
+        : Optional.empty();
   }
 
   @Override
@@ -91,6 +119,28 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     return jpaEdm;
   }
 
+  /**
+   * Provides the Olingo service metadata of the service. As the EDM does not change at runtime, the metadata are
+   * created once, with the first request, and shared by all following requests. This prevents that the Olingo EDM
+   * gets re-build for each request.
+   * @param odata Olingo instance used to create the metadata
+   * @param edmProvider Provider the metadata shall be created for
+   * @return Metadata shared by all requests of the service
+   */
+  ServiceMetadata getServiceMetadata(@Nonnull final OData odata, @Nonnull final JPAEdmProvider edmProvider) {
+    ServiceMetadata metadata = serviceMetadata;
+    if (metadata == null) {
+      synchronized (this) {
+        metadata = serviceMetadata;
+        if (metadata == null) {
+          metadata = odata.createServiceMetadata(edmProvider, edmProvider.getReferences());
+          serviceMetadata = metadata;
+        }
+      }
+    }
+    return metadata;
+  }
+
   @Override
   public Optional<? extends EntityManagerFactory> getEntityManagerFactory() {
     return emf;
@@ -98,7 +148,7 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
 
   @Override
   public ErrorProcessor getErrorProcessor() {
-    return this.errorProcessor == null ? new JPADefaultErrorProcessor() : this.errorProcessor;
+    return this.errorProcessor;
   }
 
   @Override
@@ -131,6 +181,46 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     return useAbsoluteContextURL;
   }
 
+  @Override
+  public boolean useSingleStatementExpand() {
+    return useSingleStatementExpand;
+  }
+
+  @Override
+  public Optional<Executor> getExpandExecutor() {
+    return expandExecutor;
+  }
+
+  @Override
+  public boolean useStreamedEntityCollection() {
+    return useStreamedEntityCollection;
+  }
+
+  @Override
+  public boolean useWindowFunctionCount() {
+    return useWindowFunctionCount;
+  }
+
+  @Override
+  public int getChangeSetBatchSize() {
+    return changeSetBatchSize;
+  }
+
+  @Override
+  public Optional<JPAODataMediaStorage> getMediaStorage() {
+    return mediaStorage;
+  }
+
+  @Override
+  public Optional<JPAODataMetadataCache> getMetadataCache() {
+    return metadataCache;
+  }
+
+  @Override
+  public Optional<JPAFilterCompilationCache> getFilterCompilationCache() {
+    return filterCompilationCache;
+  }
+
   @Override
   public JPAODataBatchProcessorFactory<JPAODataBatchProcessor> getBatchProcessorFactory() {
     return batchProcessorFactory;
@@ -153,6 +243,16 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
     private String mappingPath;
     private JPAODataBatchProcessorFactory<?> batchProcessorFactory;
     private boolean useAbsoluteContextURL = false;
+    private boolean useSingleStatementExpand = false;
+    private Optional<Executor> expandExecutor = Optional.empty();
+    private boolean useStreamedEntityCollection = false;
+    private boolean useWindowFunctionCount = false;
+    private int changeSetBatchSize = 0;
+    private Optional<JPAODataMediaStorage> mediaStorage = Optional.empty();
+    private boolean compileModel = false;
+    private JPAEdmSnapshot edmSnapshot;
+    private boolean useMetadataCache = false;
+    private boolean useFilterCompilationCache = false;
 
     private Builder() {
       super();
@@ -167,10 +267,13 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
         if (packageName == null)
           packageName = new String[0];
         if (!emf.isPresent() && ds != null && namespace != null)
-          emf = Optional.ofNullable(JPAEntityManagerFactory.getEntityManagerFactory(namespace, ds));
+          emf = Optional.ofNullable(createEntityManagerFactory());
         createEmfWrapper();
         if (emf.isPresent() && jpaEdm == null)
-          jpaEdm = new JPAEdmProvider(emf.get().getMetamodel(), postProcessor, packageName, nameBuilder);
+          jpaEdm = new JPAEdmProvider(emf.get().getMetamodel(), postProcessor, packageName, nameBuilder,
+              edmSnapshot);
+        if (compileModel && jpaEdm != null)
+          jpaEdm.getServiceDocument().compile();
         if (databaseProcessor == null) {
           LOGGER.trace("No database-processor provided, use JPAODataDatabaseProcessorFactory to create one");
           databaseProcessor = new JPAODataDatabaseProcessorFactory().create(ds);
@@ -337,6 +440,143 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
       return this;
     }
 
+    /**
+     * The queries of all $expand of a request are executed with one database round trip instead of one per expanded
+     * navigation property. This requires the processor criteria builder (odata-jpa-processor-cb) and a database that
+     * supports ROW_NUMBER() OVER() and UNION ALL of derived tables. If the criteria builder is not available, the
+     * option is ignored.<br>
+     * Default: false
+     */
+    public Builder setUseSingleStatementExpand(final boolean useSingleStatementExpand) {
+      this.useSingleStatementExpand = useSingleStatementExpand;
+      return this;
+    }
+
+    /**
+     * For $count=true the number of entities is read together with the requested page using the window function
+     * COUNT(*) OVER(), instead of an additional count query. This requires the processor criteria builder
+     * (odata-jpa-processor-cb) and a database that supports window functions. If the criteria builder is not available,
+     * the option is ignored. A count already determined by the paging provider is reused in any case.<br>
+     * Default: false
+     */
+    public Builder setUseWindowFunctionCount(final boolean useWindowFunctionCount) {
+      this.useWindowFunctionCount = useWindowFunctionCount;
+      return this;
+    }
+
+    /**
+     * The changes of a $batch change set are flushed once at the end of the change set instead of before queries
+     * executed while the change set is processed. If the entity manager factory is created from the data source, see
+     * {@link Builder#setDataSource(DataSource)}, EclipseLink JDBC batch writing is switched on with the given batch
+     * size, so the inserts and updates of a change set are send with a few database round trips. A provided entity
+     * manager factory has to be configured accordingly, e.g. using <i>eclipselink.jdbc.batch-writing</i> and
+     * <i>eclipselink.jdbc.batch-writing.size</i>, as batch writing can only be set per persistence unit.<br>
+     * Keys generated by the database (identity columns) are only known after a flush. For such entities the changes
+     * are flushed when the entity is created, so the key can be returned.<br>
+     * Default: 0, which means that change sets are written as all other changes.
+     */
+    public Builder setChangeSetBatchSize(final int changeSetBatchSize) {
+      this.changeSetBatchSize = changeSetBatchSize;
+      return this;
+    }
+
+    /**
+     * Storage the content of media entities is written to instead of the database. The storage is used for media
+     * stream attributes ({@link com.sap.olingo.jpa.metadata.core.edm.annotation.EdmMediaStream EdmMediaStream}) of
+     * type String, which hold the reference returned by the storage. Other media stream attributes keep the content.
+     * <br>
+     * References replaced or removed by a request within a $batch change set are not released, as the commit of the
+     * change set is not known to the processor.<br>
+     * Default: no storage
+     */
+    public Builder setMediaStorage(@Nonnull final JPAODataMediaStorage mediaStorage) {
+      this.mediaStorage = Optional.of(Objects.requireNonNull(mediaStorage));
+      return this;
+    }
+
+    /**
+     * Executor used to read the queries of sibling expands and collection attributes in parallel. Each of the queries
+     * gets an own entity manager, which requires that an entity manager factory is provided, see
+     * {@link Builder#setEntityManagerFactory(EntityManagerFactory)}. The executor is not shut down by the service.<br>
+     * Default: queries are executed one after the other
+     */
+    public Builder setExpandExecutor(@Nonnull final Executor expandExecutor) {
+      this.expandExecutor = Optional.of(Objects.requireNonNull(expandExecutor));
+      return this;
+    }
+
+    /**
+     * Entity collections are serialized while the rows are read from the database, instead of building the complete
+     * result in memory first. Streaming is only used for requests without $expand on entity types without collection
+     * attributes. As the response is written after the processing has finished, a database error that occurs while
+     * reading leads to a truncated response instead of an error response.<br>
+     * Default: false
+     */
+    public Builder setUseStreamedEntityCollection(final boolean useStreamedEntityCollection) {
+      this.useStreamedEntityCollection = useStreamedEntityCollection;
+      return this;
+    }
+
+    /**
+     * The metadata model is build completely while the service context is created, instead of lazily on first use.
+     * This moves the build costs from the first requests to the start of the service, lets concurrent requests only
+     * read the model and reports errors of the model immediately.<br>
+     * Default: false
+     */
+    public Builder setCompileModel(final boolean compileModel) {
+      this.compileModel = compileModel;
+      return this;
+    }
+
+    /**
+     * Olingo's requests for metadata, like the $metadata document, are answered from the snapshot instead of building
+     * the complete metadata model via reflection. The snapshot is only used if it has been created for the JPA metamodel
+     * of the entity manager factory and for the metadata post processor, otherwise it is ignored. See
+     * {@link JPAEdmSnapshot}.<br>
+     * The snapshot does not contain the intermediate model, which the processor needs to handle a request. The
+     * intermediate model is still built via reflection, but with the first request instead of at start up. So a
+     * snapshot shortens the start up and the $metadata requests, while the first other request bears the costs of the
+     * reflection. Use {@link #setCompileModel(boolean)} to build the intermediate model at start up instead.
+     */
+    public Builder setEdmSnapshot(final JPAEdmSnapshot edmSnapshot) {
+      this.edmSnapshot = edmSnapshot;
+      return this;
+    }
+
+    /**
+     * The $metadata document and the service document are serialized only once per format and kept, together with
+     * a gzip and a deflate compressed variant. Responses carry a strong ETag and requests with a matching
+     * <code>If-None-Match</code> header are answered with 304 Not Modified. See {@link JPAODataMetadataCache}.<br>
+     * Default: false
+     */
+    public Builder setUseMetadataCache(final boolean useMetadataCache) {
+      this.useMetadataCache = useMetadataCache;
+      return this;
+    }
+
+    /**
+     * The attribute paths resolved while a $filter is compiled are cached per shape of the filter, that is the filter
+     * with its literals replaced by placeholders. Filters that only differ in their literals are compiled without
+     * resolving their members against the metadata again. See {@link JPAFilterCompilationCache}.<br>
+     * Default: false
+     */
+    public Builder setUseFilterCompilationCache(final boolean useFilterCompilationCache) {
+      this.useFilterCompilationCache = useFilterCompilationCache;
+      return this;
+    }
+
+    private EntityManagerFactory createEntityManagerFactory() {
+      if (changeSetBatchSize <= 0)
+        return JPAEntityManagerFactory.getEntityManagerFactory(namespace, ds);
+      final Map<String, Object> properties = new HashMap<>();
+      properties.put(ENTITY_MANAGER_DATA_SOURCE, ds);
+      properties.put(BATCH_WRITING, "JDBC");
+      properties.put(BATCH_WRITING_SIZE, String.valueOf(changeSetBatchSize));
+      // EclipseLink shares the session of a persistence unit. An own session name ensures batch writing gets applied
+      properties.put(SESSION_NAME, namespace + "_batch_writing_" + changeSetBatchSize);
+      return JPAEntityManagerFactory.getEntityManagerFactory(namespace, properties);
+    }
+
     @SuppressWarnings("unchecked")
     private void createEmfWrapper() {
       if (emf.isPresent()) {
@@ -344,9 +584,11 @@ public final class JPAODataServiceContext implements JPAODataSessionContextAcces
           final Class<? extends EntityManagerFactory> wrapperClass = (Class<? extends EntityManagerFactory>) Class
               .forName("com.sap.olingo.jpa.processor.cb.api.EntityManagerFactoryWrapper");
           if (jpaEdm == null)
-            jpaEdm = new JPAEdmProvider(emf.get().getMetamodel(), postProcessor, packageName, nameBuilder);
+            jpaEdm = new JPAEdmProvider(emf.get().getMetamodel(), postProcessor, packageName, nameBuilder,
+                edmSnapshot);
+          // The service document is taken from the provider when needed, so a snapshot can skip building it here
           emf = Optional.of(wrapperClass.getConstructor(EntityManagerFactory.class,
-              JPAServiceDocument.class).newInstance(emf.get(), jpaEdm.getServiceDocument()));
+              JPAEdmProvider.class).newInstance(emf.get(), jpaEdm));
           LOGGER.trace("Criteria Builder Extension found. It will be used");
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
             | NoSuchMethodException | SecurityException e) {
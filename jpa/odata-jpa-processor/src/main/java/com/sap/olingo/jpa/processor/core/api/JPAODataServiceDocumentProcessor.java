@@ -1,5 +1,7 @@
 package com.sap.olingo.jpa.processor.core.api;
 
+import java.util.Optional;
+
 import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpMethod;
@@ -43,6 +45,11 @@ public class JPAODataServiceDocumentProcessor implements ServiceDocumentProcesso
   public void readServiceDocument(final ODataRequest request, final ODataResponse response, final UriInfo uriInfo,
       final ContentType requestedContentType) throws ODataApplicationException, ODataLibraryException {
     String uri = serviceContext.useAbsoluteContextURL() ? request.getRawBaseUri() : null;
+    final Optional<JPAODataMetadataCache> cache = serviceContext.getMetadataCache();
+    if (cache.isPresent()) {
+      cache.get().readServiceDocument(odata, serviceMetadata, request, response, requestedContentType, uri);
+      return;
+    }
     boolean isNotModified = false;
     ServiceMetadataETagSupport eTagSupport = serviceMetadata.getServiceMetadataETagSupport();
     if (eTagSupport != null && eTagSupport.getServiceDocumentETag() != null) {
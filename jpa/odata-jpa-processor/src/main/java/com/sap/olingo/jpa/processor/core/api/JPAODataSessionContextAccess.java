@@ -2,6 +2,7 @@ package com.sap.olingo.jpa.processor.core.api;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManagerFactory;
 
@@ -11,6 +12,7 @@ import org.apache.olingo.server.api.processor.ErrorProcessor;
 
 import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseOperations;
+import com.sap.olingo.jpa.processor.core.filter.JPAFilterCompilationCache;
 
 /**
  *
@@ -61,4 +63,60 @@ public interface JPAODataSessionContextAccess {
   public default boolean useAbsoluteContextURL() {
     return false;
   }
+
+  public default boolean useSingleStatementExpand() {
+    return false;
+  }
+
+  /**
+   * Executor used to read sibling expands and collection attributes in parallel. Parallel reading also requires an
+   * entity manager factory, see {@link #getEntityManagerFactory()}.
+   */
+  public default Optional<Executor> getExpandExecutor() {
+    return Optional.empty();
+  }
+
+  public default boolean useStreamedEntityCollection() {
+    return false;
+  }
+
+  /**
+   * Read the number of entities requested by $count=true together with the entities using the window function
+   * COUNT(*) OVER().
+   */
+  public default boolean useWindowFunctionCount() {
+    return false;
+  }
+
+  /**
+   * Number of statements sent to the database with one JDBC batch, when the changes of a $batch change set are
+   * written. With zero or less the changes are flushed as usual.
+   */
+  public default int getChangeSetBatchSize() {
+    return 0;
+  }
+
+  /**
+   * Storage for the content of media entities. If a storage is provided, media stream attributes of type String hold
+   * the reference to the stored content.
+   */
+  public default Optional<JPAODataMediaStorage> getMediaStorage() {
+    return Optional.empty();
+  }
+
+  /**
+   * Cache for the serialized $metadata document and service document. If no cache is provided, both documents are
+   * serialized for each request.
+   */
+  public default Optional<JPAODataMetadataCache> getMetadataCache() {
+    return Optional.empty();
+  }
+
+  /**
+   * Cache for the attribute paths resolved while compiling $filter expressions. If no cache is provided, the members
+   * of each filter are resolved against the metadata for each request.
+   */
+  public default Optional<JPAFilterCompilationCache> getFilterCompilationCache() {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,165 @@
+package com.sap.olingo.jpa.processor.core.api.example;
+
+import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.MEDIA_REFERENCE_UNKNOWN;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+
+import com.sap.olingo.jpa.processor.core.api.JPAODataMediaStorage;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+
+/**
+ * Media storage that keeps the content in the local file system. Content is addressed by its SHA-256 hash, so content
+ * uploaded several times is stored only once and the database only holds the hash. The number of references is kept
+ * in a file next to the content, which is deleted together with the content when the last reference got released.<p>
+ * Uploads are written into a temporary file first and moved to their final name, a sub directory named after the
+ * first two characters of the hash, when the hash is known. Reference counts are changed while holding an exclusive
+ * lock on a lock file within the directory, so several instances, also of different processes, can share a directory.
+ * As file locks are provided by the operating system, this requires a file system that supports them; network file
+ * systems may not.
+ *
+ * @since 1.0.9
+ */
+public final class JPAExampleFileMediaStorage implements JPAODataMediaStorage {
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final String COUNT_SUFFIX = ".refs";
+  private static final String TEMP_PREFIX = "upload";
+  private static final String LOCK_FILE = ".lock";
+  private static final Pattern REFERENCE = Pattern.compile("[0-9a-f]{64}");
+  // File locks are held per process, so instances of the same process using a directory share a monitor in addition
+  private static final Map<Path, Object> DIRECTORY_LOCKS = new ConcurrentHashMap<>();
+  private final Path root;
+  private final Object lock;
+
+  /**
+   * @param root Directory the content is stored in. It is created if it does not exist
+   * @throws IOException If the directory does not exist and cannot be created
+   */
+  public JPAExampleFileMediaStorage(@Nonnull final Path root) throws IOException {
+    super();
+    this.root = Files.createDirectories(Objects.requireNonNull(root)).toRealPath();
+    this.lock = DIRECTORY_LOCKS.computeIfAbsent(this.root, directory -> new Object());
+  }
+
+  @Override
+  public String store(final InputStream content) throws ODataJPAProcessException {
+    Path upload = null;
+    try {
+      final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      upload = Files.createTempFile(root, TEMP_PREFIX, null);
+      Files.copy(new DigestInputStream(content, digest), upload, StandardCopyOption.REPLACE_EXISTING);
+      final String reference = toHex(digest.digest());
+      synchronized (lock) {
+        try (FileChannel lockFile = openLockFile(); FileLock fileLock = lockFile.lock()) { // NOSONAR
+          final Path target = getContentPath(reference);
+          final long count = readCount(reference);
+          if (count == 0 || !Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Files.move(upload, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+          }
+          writeCount(reference, count + 1);
+        }
+      }
+      return reference;
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    } finally {
+      // Content that is already stored is not moved, so the upload is still there
+      if (upload != null)
+        upload.toFile().delete(); // NOSONAR
+    }
+  }
+
+  @Override
+  public SeekableByteChannel read(final String reference) throws ODataJPAProcessException {
+    try {
+      return FileChannel.open(getContentPath(checkReference(reference)), StandardOpenOption.READ);
+    } catch (final NoSuchFileException e) {
+      throw new ODataJPAProcessorException(MEDIA_REFERENCE_UNKNOWN, HttpStatusCode.NOT_FOUND, e, reference);
+    } catch (final IOException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  @Override
+  public void release(final String reference) throws ODataJPAProcessException {
+    checkReference(reference);
+    try {
+      synchronized (lock) {
+        try (FileChannel lockFile = openLockFile(); FileLock fileLock = lockFile.lock()) { // NOSONAR
+          final long count = readCount(reference);
+          if (count > 1) {
+            writeCount(reference, count - 1);
+          } else {
+            Files.deleteIfExists(getContentPath(reference));
+            Files.deleteIfExists(getCountPath(reference));
+          }
+        }
+      }
+    } catch (final IOException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  private String checkReference(final String reference) throws ODataJPAProcessorException {
+    if (reference == null || !REFERENCE.matcher(reference).matches())
+      throw new ODataJPAProcessorException(MEDIA_REFERENCE_UNKNOWN, HttpStatusCode.NOT_FOUND, reference);
+    return reference;
+  }
+
+  private FileChannel openLockFile() throws IOException {
+    return FileChannel.open(root.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+  }
+
+  private Path getContentPath(final String reference) {
+    return root.resolve(reference.substring(0, 2)).resolve(reference);
+  }
+
+  private Path getCountPath(final String reference) {
+    return root.resolve(reference.substring(0, 2)).resolve(reference + COUNT_SUFFIX);
+  }
+
+  private long readCount(final String reference) throws IOException {
+    final Path countPath = getCountPath(reference);
+    if (!Files.exists(countPath))
+      return 0;
+    return Long.parseLong(new String(Files.readAllBytes(countPath), StandardCharsets.US_ASCII).trim());
+  }
+
+  private void writeCount(final String reference, final long count) throws IOException {
+    final Path countPath = getCountPath(reference);
+    final Path update = Files.createTempFile(countPath.getParent(), TEMP_PREFIX, null);
+    Files.write(update, String.valueOf(count).getBytes(StandardCharsets.US_ASCII));
+    Files.move(update, countPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static String toHex(final byte[] hash) {
+    final StringBuilder hex = new StringBuilder(hash.length * 2);
+    for (final byte b : hash) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+      hex.append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+}
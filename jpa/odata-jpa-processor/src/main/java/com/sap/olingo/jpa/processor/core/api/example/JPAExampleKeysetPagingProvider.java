@@ -0,0 +1,220 @@
+package com.sap.olingo.jpa.processor.core.api.example;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+
+/**
+ * Example of a paging provider using keyset pages. A page starts after the key of the last entity of the previous page,
+ * so reading a page does not require to skip the entities of the previous pages, and no count query is needed to
+ * decide if paging is required. A next link is provided as long as a page is filled completely.<p>
+ * The provider does not keep any state. The skip token contains the key of the last entity, the page size and the
+ * remaining <code>$top</code>, signed like the skip tokens of {@link JPAExampleStatelessPagingProvider}. Key attributes
+ * have to be of type String, a number type, UUID, Boolean or a <code>java.time</code> local date or time.<p>
+ * Keyset pages are only created for requests of an entity set without <code>$orderby</code> and <code>$skip</code>.
+ * Other requests are paged by an {@link JPAExampleStatelessPagingProvider}.
+ */
+public class JPAExampleKeysetPagingProvider implements JPAODataPagingProvider {
+
+  private static final String KEYSET_MARKER = "k";
+  private static final int RADIX = 36;
+  private static final String SEPARATOR = ".";
+  private final Map<String, Integer> maxPageSizes;
+  private final JPAExampleStatelessPagingProvider offsetProvider;
+
+  /**
+   * @param pageSizes Maximum page size per entity set
+   * @param secret Key used to sign the skip tokens. All servers of a cluster have to use the same secret. The secret
+   * must have at least 32 bytes.
+   */
+  public JPAExampleKeysetPagingProvider(final Map<String, Integer> pageSizes, final byte[] secret) {
+    maxPageSizes = pageSizes;
+    offsetProvider = new JPAExampleStatelessPagingProvider(pageSizes, secret);
+  }
+
+  /**
+   * Without the request the skip token can not be verified, so no page is returned.
+   */
+  @Override
+  public JPAODataPage getNextPage(final String skipToken) {
+    return null;
+  }
+
+  @Override
+  public JPAODataPage getNextPage(final String skipToken, final UriInfo uriInfo) {
+    final String token = skipToken.replace("'", "");
+    if (!token.startsWith(KEYSET_MARKER + SEPARATOR))
+      return offsetProvider.getNextPage(skipToken, uriInfo);
+
+    final int signatureStart = token.lastIndexOf(SEPARATOR);
+    final String content = token.substring(0, signatureStart);
+    if (!MessageDigest.isEqual(offsetProvider.sign(content, uriInfo).getBytes(UTF_8),
+        token.substring(signatureStart + 1).getBytes(UTF_8)))
+      return null;
+    final String[] values = content.split("\\" + SEPARATOR, -1);
+    if (values.length != 4)
+      return null;
+    try {
+      final int pageSize = Integer.parseInt(values[1], RADIX);
+      final Integer maxTop = values[2].isEmpty() ? null : Integer.valueOf(values[2], RADIX);
+      return new KeysetPage(uriInfo, pageSize, maxTop, decodeKey(values[3]));
+    } catch (final IllegalArgumentException | IOException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public JPAODataPage getFirstPage(final UriInfo uriInfo, final Integer preferredPageSize,
+      final JPACountQuery countQuery, final EntityManager em) throws ODataApplicationException {
+
+    final UriResource root = uriInfo.getUriResourceParts().get(0);
+    // Keyset paging will only be done for Entity Sets without ordering and skipping
+    if (uriInfo.getUriResourceParts().size() == 1
+        && root instanceof UriResourceEntitySet
+        && ((UriResourceEntitySet) root).getKeyPredicates().isEmpty()
+        && uriInfo.getOrderByOption() == null
+        && uriInfo.getSkipOption() == null) {
+      // Check if Entity Set shall be packaged
+      final Integer maxSize = maxPageSizes.get(((UriResourceEntitySet) root).getEntitySet().getName());
+      if (maxSize != null) {
+        final Integer size = preferredPageSize != null && preferredPageSize < maxSize ? preferredPageSize : maxSize;
+        final Integer maxTop = uriInfo.getTopOption() != null ? uriInfo.getTopOption().getValue() : null;
+        return new KeysetPage(uriInfo, size, maxTop, Collections.emptyMap());
+      }
+      return null;
+    }
+    return offsetProvider.getFirstPage(uriInfo, preferredPageSize, countQuery, em);
+  }
+
+  /**
+   * The skip token is only valid together with the query options of the request it was created for.
+   */
+  @Override
+  public boolean keepQueryOptionsInNextLink() {
+    return true;
+  }
+
+  @Override
+  public Object getNextSkipToken(final JPAODataKeysetPage page, final Map<String, Object> lastKey) {
+    if (page instanceof KeysetPage) {
+      final KeysetPage previousPage = (KeysetPage) page;
+      // Calculate the number of entities still requested by $top
+      final Integer maxTop = previousPage.maxTop != null ? previousPage.maxTop - previousPage.getTop() : null;
+      if (maxTop == null || maxTop > 0) {
+        final String content = KEYSET_MARKER + SEPARATOR + Integer.toString(previousPage.pageSize, RADIX) + SEPARATOR
+            + (maxTop != null ? Integer.toString(maxTop, RADIX) : "") + SEPARATOR + encodeKey(lastKey);
+        return content + SEPARATOR + offsetProvider.sign(content, previousPage.getUriInfo());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Writes name, type and value of each key attribute. The type is needed to restore the value with the type of the
+   * attribute, which is required to compare it with the key of the entities.
+   */
+  private String encodeKey(final Map<String, Object> lastKey) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      for (final Map.Entry<String, Object> keyElement : new TreeMap<>(lastKey).entrySet()) {
+        out.writeUTF(keyElement.getKey());
+        out.writeByte(KeyType.of(keyElement.getValue()).ordinal());
+        out.writeUTF(keyElement.getValue().toString());
+      }
+    } catch (final IOException e) {
+      throw new ODataRuntimeException(e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+  }
+
+  private Map<String, Object> decodeKey(final String encodedKey) throws IOException {
+    final Map<String, Object> lastKey = new HashMap<>();
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(
+        encodedKey)))) {
+      while (in.available() > 0) {
+        final String name = in.readUTF();
+        final KeyType type = KeyType.values()[in.readByte()];
+        lastKey.put(name, type.parse(in.readUTF()));
+      }
+    } catch (final ArrayIndexOutOfBoundsException e) {
+      throw new IOException(e);
+    }
+    return lastKey;
+  }
+
+  private enum KeyType {
+    STRING(String.class, value -> value),
+    INTEGER(Integer.class, Integer::valueOf),
+    LONG(Long.class, Long::valueOf),
+    SHORT(Short.class, Short::valueOf),
+    BYTE(Byte.class, Byte::valueOf),
+    BIG_INTEGER(BigInteger.class, BigInteger::new),
+    BIG_DECIMAL(BigDecimal.class, BigDecimal::new),
+    BOOLEAN(Boolean.class, Boolean::valueOf),
+    UUID(java.util.UUID.class, java.util.UUID::fromString),
+    LOCAL_DATE(LocalDate.class, LocalDate::parse),
+    LOCAL_DATE_TIME(LocalDateTime.class, LocalDateTime::parse),
+    LOCAL_TIME(LocalTime.class, LocalTime::parse);
+
+    private final Class<?> type;
+    private final Function<String, Object> parser;
+
+    KeyType(final Class<?> type, final Function<String, Object> parser) {
+      this.type = type;
+      this.parser = parser;
+    }
+
+    Object parse(final String value) {
+      return parser.apply(value);
+    }
+
+    static KeyType of(final Object value) {
+      for (final KeyType keyType : values()) {
+        if (keyType.type.isInstance(value))
+          return keyType;
+      }
+      throw new ODataRuntimeException("Key of type " + (value != null ? value.getClass().getName() : null)
+          + " not supported by keyset paging");
+    }
+  }
+
+  private static class KeysetPage extends JPAODataKeysetPage {
+    private final int pageSize;
+    private final Integer maxTop;
+
+    KeysetPage(final UriInfo uriInfo, final int pageSize, final Integer maxTop, final Map<String, Object> lastKey) {
+      super(uriInfo, maxTop != null && maxTop < pageSize ? maxTop : pageSize, lastKey);
+      this.pageSize = pageSize;
+      this.maxTop = maxTop;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package com.sap.olingo.jpa.processor.core.api.example;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.persistence.EntityManager;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriParameter;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceNavigation;
+import org.apache.olingo.server.api.uri.queryoption.CustomQueryOption;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOption;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
+
+import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+
+/**
+ * Example of a paging provider that does not keep any state. The skip token contains the position of the next page
+ * together with a signature, so each server of a cluster that knows the secret can fulfill a next link, independent
+ * from the server that has created it.<p>
+ * The signature covers the resource path and the query options of the request. As the query options are part of the
+ * next link, a skip token can not be used for another request or with modified query options.
+ */
+public class JPAExampleStatelessPagingProvider implements JPAODataPagingProvider {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int MIN_SECRET_LENGTH = 32;
+  private static final int RADIX = 36;
+  private static final String SEPARATOR = ".";
+  private final Map<String, Integer> maxPageSizes;
+  private final SecretKeySpec secret;
+
+  /**
+   * @param pageSizes Maximum page size per entity set
+   * @param secret Key used to sign the skip tokens. All servers of a cluster have to use the same secret. The secret
+   * must have at least 32 bytes.
+   */
+  public JPAExampleStatelessPagingProvider(final Map<String, Integer> pageSizes, final byte[] secret) {
+    if (secret == null || secret.length < MIN_SECRET_LENGTH)
+      throw new IllegalArgumentException("Secret must have at least " + MIN_SECRET_LENGTH + " bytes");
+    this.maxPageSizes = pageSizes;
+    this.secret = new SecretKeySpec(secret.clone(), ALGORITHM);
+  }
+
+  /**
+   * Without the request the skip token can not be verified, so no page is returned.
+   */
+  @Override
+  public JPAODataPage getNextPage(final String skipToken) {
+    return null;
+  }
+
+  @Override
+  public JPAODataPage getNextPage(final String skipToken, final UriInfo uriInfo) {
+    final String token = skipToken.replace("'", "");
+    final int signatureStart = token.lastIndexOf(SEPARATOR);
+    if (signatureStart < 0)
+      return null;
+    final String position = token.substring(0, signatureStart);
+    if (!MessageDigest.isEqual(sign(position, uriInfo).getBytes(UTF_8),
+        token.substring(signatureStart + 1).getBytes(UTF_8)))
+      return null;
+    final String[] values = position.split("\\" + SEPARATOR);
+    if (values.length != 3)
+      return null;
+    try {
+      final int previousSkip = Integer.parseInt(values[0], RADIX);
+      final int previousTop = Integer.parseInt(values[1], RADIX);
+      final long maxTop = Long.parseLong(values[2], RADIX);
+      // Calculate next page
+      final int skip = previousSkip + previousTop;
+      final int top = (int) (skip + previousTop < maxTop ? previousTop : maxTop - skip);
+      // Create a new skip token if next page is not the last one
+      final String nextToken = skip + previousTop < maxTop ? createSkipToken(skip, top, maxTop, uriInfo) : null;
+      return new JPAODataPage(uriInfo, skip, top, nextToken);
+    } catch (final NumberFormatException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public JPAODataPage getFirstPage(final UriInfo uriInfo, final Integer preferredPageSize,
+      final JPACountQuery countQuery, final EntityManager em) throws ODataApplicationException {
+
+    final UriResource root = uriInfo.getUriResourceParts().get(0);
+    // Paging will only be done for Entity Sets
+    if (root instanceof UriResourceEntitySet) {
+      // Check if Entity Set shall be packaged
+      final Integer maxSize = maxPageSizes.get(((UriResourceEntitySet) root).getEntitySet().getName());
+      if (maxSize != null) {
+        // Read $top and $skip
+        final Integer skipValue = uriInfo.getSkipOption() != null ? uriInfo.getSkipOption().getValue() : 0;
+        final Integer topValue = uriInfo.getTopOption() != null ? uriInfo.getTopOption().getValue() : null;
+        // Determine end of list
+        final Long count = topValue != null ? (topValue + skipValue) : countQuery.countResults();
+        // Determine page size
+        final Integer size = preferredPageSize != null && preferredPageSize < maxSize ? preferredPageSize : maxSize;
+        final int top = topValue != null && topValue < size ? topValue : size;
+        final String skipToken = size < count ? createSkipToken(skipValue, top, count, uriInfo) : null;
+        return new JPAODataPage(uriInfo, skipValue, top, skipToken);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The skip token is only valid together with the query options of the request it was created for.
+   */
+  @Override
+  public boolean keepQueryOptionsInNextLink() {
+    return true;
+  }
+
+  private String createSkipToken(final int skip, final int top, final long maxTop, final UriInfo uriInfo) {
+    final String position = Integer.toString(skip, RADIX) + SEPARATOR + Integer.toString(top, RADIX) + SEPARATOR
+        + Long.toString(maxTop, RADIX);
+    return position + SEPARATOR + sign(position, uriInfo);
+  }
+
+  /**
+   * Signs the content of a skip token together with the fingerprint of the request. Also used by
+   * {@link JPAExampleKeysetPagingProvider}.
+   */
+  String sign(final String content, final UriInfo uriInfo) {
+    try {
+      final Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(secret);
+      mac.update(content.getBytes(UTF_8));
+      mac.update(fingerprint(uriInfo).getBytes(UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal());
+    } catch (final GeneralSecurityException e) {
+      throw new ODataRuntimeException(e);
+    }
+  }
+
+  /**
+   * Creates a string representing the resource path and the query options of a request. System query options are
+   * sorted, so their order within the URL does not matter. The skip token itself is not part of the fingerprint.
+   */
+  private String fingerprint(final UriInfo uriInfo) {
+    final StringBuilder fingerprint = new StringBuilder();
+    for (final UriResource resource : uriInfo.getUriResourceParts()) {
+      fingerprint.append('/').append(resource.getSegmentValue());
+      if (resource instanceof UriResourceEntitySet)
+        appendKeys(fingerprint, ((UriResourceEntitySet) resource).getKeyPredicates());
+      else if (resource instanceof UriResourceNavigation)
+        appendKeys(fingerprint, ((UriResourceNavigation) resource).getKeyPredicates());
+    }
+    final Map<String, String> options = new TreeMap<>();
+    for (final SystemQueryOption option : uriInfo.getSystemQueryOptions()) {
+      if (option.getKind() != SystemQueryOptionKind.SKIPTOKEN)
+        options.put(option.getName(), option.getText());
+    }
+    for (final CustomQueryOption option : uriInfo.getCustomQueryOptions())
+      options.put(option.getName(), option.getText());
+    options.forEach((name, text) -> fingerprint.append('&').append(name).append('=').append(text));
+    return fingerprint.toString();
+  }
+
+  private void appendKeys(final StringBuilder fingerprint, final Iterable<UriParameter> keys) {
+    if (keys != null)
+      for (final UriParameter key : keys)
+        fingerprint.append('(').append(key.getName()).append('=').append(key.getText()).append(')');
+  }
+}
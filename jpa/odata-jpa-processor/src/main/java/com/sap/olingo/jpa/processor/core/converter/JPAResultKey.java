@@ -0,0 +1,158 @@
+package com.sap.olingo.jpa.processor.core.converter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.persistence.Tuple;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+
+/**
+ * Immutable key of a (partial) query result. Expand and collection results are grouped by the values of the join
+ * columns of the parent. The key keeps these values in the order they are stored in the corresponding association
+ * path. The hash code is calculated once at construction time, so keys can be used as map keys without repeated
+ * calculations.<p>
+ * Values are compared by their type and value. To be able to match parent and child rows, where the join columns
+ * are mapped to different integer types, <code>Byte</code>, <code>Short</code> and <code>Integer</code> values are
+ * stored as <code>Long</code>.
+ */
+public abstract class JPAResultKey {
+  /**
+   * Key of results that are not related to a parent row
+   */
+  public static final JPAResultKey ROOT = new JPAMultiValueKey(new Object[0]);
+
+  protected final int hash;
+
+  private JPAResultKey(final int hash) {
+    this.hash = hash;
+  }
+
+  public static JPAResultKey of(final Object value) {
+    return new JPASingleValueKey(normalize(value));
+  }
+
+  public static JPAResultKey of(final Object first, final Object second) {
+    return new JPATwoValueKey(normalize(first), normalize(second));
+  }
+
+  public static JPAResultKey of(@Nonnull final Object... values) {
+    if (values.length == 1)
+      return of(values[0]);
+    if (values.length == 2)
+      return of(values[0], values[1]);
+    final Object[] normalized = new Object[values.length];
+    for (int i = 0; i < values.length; i++)
+      normalized[i] = normalize(values[i]);
+    return new JPAMultiValueKey(normalized);
+  }
+
+  /**
+   * Creates a key from the values of a row.
+   * @param row row the values are taken from
+   * @param columns join columns
+   * @param aliasProvider provides the alias of a column within the row
+   * @return key that equals the key created for the same values by {@link #of(Object...)}
+   */
+  public static <T> JPAResultKey of(@Nonnull final Tuple row, @Nonnull final List<T> columns,
+      @Nonnull final Function<T, String> aliasProvider) {
+
+    if (columns.size() == 1)
+      return of(row.get(aliasProvider.apply(columns.get(0))));
+    if (columns.size() == 2)
+      return of(row.get(aliasProvider.apply(columns.get(0))), row.get(aliasProvider.apply(columns.get(1))));
+    final Object[] values = new Object[columns.size()];
+    for (int i = 0; i < values.length; i++)
+      values[i] = normalize(row.get(aliasProvider.apply(columns.get(i))));
+    return new JPAMultiValueKey(values);
+  }
+
+  private static Object normalize(final Object value) {
+    if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+      return Long.valueOf(((Number) value).longValue());
+    return value;
+  }
+
+  @Override
+  public final int hashCode() {
+    return hash;
+  }
+
+  private static final class JPASingleValueKey extends JPAResultKey {
+    private final Object value;
+
+    private JPASingleValueKey(final Object value) {
+      super(Objects.hashCode(value));
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      if (this == object)
+        return true;
+      if (!(object instanceof JPASingleValueKey))
+        return false;
+      final JPASingleValueKey other = (JPASingleValueKey) object;
+      return hash == other.hash && Objects.equals(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(value);
+    }
+  }
+
+  private static final class JPATwoValueKey extends JPAResultKey {
+    private final Object first;
+    private final Object second;
+
+    private JPATwoValueKey(final Object first, final Object second) {
+      super(31 * Objects.hashCode(first) + Objects.hashCode(second));
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      if (this == object)
+        return true;
+      if (!(object instanceof JPATwoValueKey))
+        return false;
+      final JPATwoValueKey other = (JPATwoValueKey) object;
+      return hash == other.hash && Objects.equals(first, other.first) && Objects.equals(second, other.second);
+    }
+
+    @Override
+    public String toString() {
+      return first + JPAPath.PATH_SEPARATOR + second;
+    }
+  }
+
+  private static final class JPAMultiValueKey extends JPAResultKey {
+    private final Object[] values;
+
+    private JPAMultiValueKey(final Object[] values) {
+      super(Arrays.hashCode(values));
+      this.values = values;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      if (this == object)
+        return true;
+      if (!(object instanceof JPAMultiValueKey))
+        return false;
+      final JPAMultiValueKey other = (JPAMultiValueKey) object;
+      return hash == other.hash && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public String toString() {
+      return Arrays.stream(values).map(String::valueOf).collect(Collectors.joining(JPAPath.PATH_SEPARATOR));
+    }
+  }
+}
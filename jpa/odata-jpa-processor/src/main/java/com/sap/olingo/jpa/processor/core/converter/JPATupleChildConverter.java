@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.persistence.Tuple;
@@ -18,6 +19,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.olingo.commons.api.data.ComplexValue;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
@@ -63,7 +65,7 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
     this(converter.sd, converter.uriHelper, converter.serviceMetadata, converter.requestContext);
   }
 
-  public Map<String, List<Object>> getCollectionResult(final JPACollectionResult jpaResult,
+  public Map<JPAResultKey, List<Object>> getCollectionResult(final JPACollectionResult jpaResult,
       final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
 
     return new JPATupleCollectionConverter(sd, uriHelper, serviceMetadata, requestContext)
@@ -71,26 +73,20 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
   }
 
   @Override
-  public Map<String, EntityCollection> getResult(@Nonnull final JPAExpandResult jpaResult,
+  public Map<JPAResultKey, EntityCollection> getResult(@Nonnull final JPAExpandResult jpaResult,
       @Nonnull final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
 
-    jpaQueryResult = jpaResult;
-    this.setName = determineSetName(jpaQueryResult);
-    this.jpaConversionTargetEntity = jpaQueryResult.getEntityType();
-    this.edmType = determineEdmType();
-    final Map<String, List<Tuple>> childResult = jpaResult.getResults();
+    prepareConversion(jpaResult);
+    final Map<JPAResultKey, List<Tuple>> childResult = jpaResult.getResults();
 
-    final Map<String, EntityCollection> result = new HashMap<>(childResult.size());
-    for (final Entry<String, List<Tuple>> tuple : childResult.entrySet()) {
+    final Map<JPAResultKey, EntityCollection> result = new HashMap<>(childResult.size());
+    for (final Entry<JPAResultKey, List<Tuple>> tuple : childResult.entrySet()) {
       final EntityCollection entityCollection = new EntityCollection();
       final List<Entity> entities = entityCollection.getEntities();
       final List<Tuple> rows = tuple.getValue();
 
       for (int i = 0; i < rows.size(); i++) {
-        final Tuple row = rows.set(i, null);
-        final Entity odataEntity = convertRow(jpaConversionTargetEntity, row, requestedSelection);
-        odataEntity.setMediaContentType(determineContentType(jpaConversionTargetEntity, row));
-        entities.add(odataEntity);
+        entities.add(convertRow(rows.set(i, null), requestedSelection));
       }
       result.put(tuple.getKey(), entityCollection);
     }
@@ -98,6 +94,29 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
     return result;
   }
 
+  /**
+   * Converts the rows one by one while the returned iterator is consumed, so the converted entities are not kept in
+   * memory. As expanded entities and collection attributes are read in advance, the result must not have children.
+   * @param jpaResult result without rows, which provides the entity type of the rows
+   * @param rows rows of the query, which get consumed by the iterator
+   * @param requestedSelection attributes requested by $select
+   * @return iterator converting one row per call of <code>next()</code>
+   * @throws ODataApplicationException
+   */
+  public EntityIterator getResultIterator(@Nonnull final JPAExpandResult jpaResult, @Nonnull final Stream<Tuple> rows,
+      @Nonnull final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
+
+    prepareConversion(jpaResult);
+    return new JPATupleEntityIterator(this, rows, requestedSelection);
+  }
+
+  Entity convertRow(final Tuple row, final Collection<JPAPath> requestedSelection)
+      throws ODataApplicationException {
+    final Entity odataEntity = convertRow(jpaConversionTargetEntity, row, requestedSelection);
+    odataEntity.setMediaContentType(determineContentType(jpaConversionTargetEntity, row));
+    return odataEntity;
+  }
+
   protected Entity convertRow(final JPAEntityType rowEntity, final Tuple row,
       final Collection<JPAPath> requestedSelection) throws ODataApplicationException {
 
@@ -169,7 +188,7 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
       final JPAExpandResult child) throws ODataJPAModelException {
 
     final Collection<Object> collectionResult = ((JPACollectionResult) child).getPropertyCollection(
-        buildConcatenatedKey(row, collection.asAssociation().getLeftColumnsList()));
+        buildResultKey(row, collection.asAssociation().getLeftColumnsList()));
 
     result.add(new Property(
         null,
@@ -259,6 +278,13 @@ public class JPATupleChildConverter extends JPATupleResultConverter {
     }
   }
 
+  private void prepareConversion(final JPAExpandResult jpaResult) throws ODataJPAQueryException {
+    jpaQueryResult = jpaResult;
+    this.setName = determineSetName(jpaQueryResult);
+    this.jpaConversionTargetEntity = jpaQueryResult.getEntityType();
+    this.edmType = determineEdmType();
+  }
+
   protected EdmEntityType determineEdmType() {
     return serviceMetadata.getEdm().getEntityType(jpaQueryResult.getEntityType().getExternalFQN());
   }
@@ -0,0 +1,63 @@
+package com.sap.olingo.jpa.processor.core.converter;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import javax.persistence.Tuple;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.server.api.ODataApplicationException;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+
+/**
+ * Converts the rows of a query result into OData entities while they are serialized. The underlying stream is closed
+ * as soon as the last row has been read.
+ */
+final class JPATupleEntityIterator extends EntityIterator {
+  private final JPATupleChildConverter converter;
+  private final Stream<Tuple> rows;
+  private final Iterator<Tuple> rowIterator;
+  private final Collection<JPAPath> requestedSelection;
+  private boolean closed;
+
+  JPATupleEntityIterator(final JPATupleChildConverter converter, final Stream<Tuple> rows,
+      final Collection<JPAPath> requestedSelection) {
+    super();
+    this.converter = converter;
+    this.rows = rows;
+    this.rowIterator = rows.iterator();
+    this.requestedSelection = requestedSelection;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed)
+      return false;
+    if (rowIterator.hasNext())
+      return true;
+    close();
+    return false;
+  }
+
+  @Override
+  public Entity next() {
+    if (!hasNext())
+      throw new NoSuchElementException();
+    try {
+      return converter.convertRow(rowIterator.next(), requestedSelection);
+    } catch (final ODataApplicationException e) {
+      close();
+      throw new ODataRuntimeException(e);
+    }
+  }
+
+  private void close() {
+    closed = true;
+    rows.close();
+  }
+}
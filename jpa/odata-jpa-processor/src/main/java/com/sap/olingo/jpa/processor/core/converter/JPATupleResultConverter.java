@@ -66,26 +66,13 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
     this.requestContext = requestContext;
   }
 
-  protected String buildConcatenatedKey(final Tuple row, final List<JPAPath> leftColumns) {
-    final StringBuilder buffer = new StringBuilder();
-    for (final JPAPath item : leftColumns) {
-      buffer.append(JPAPath.PATH_SEPARATOR);
-      // TODO Tuple returns the converted value in case a @Convert(converter = annotation is given
-      buffer.append(row.get(item.getAlias()));
-    }
-    buffer.deleteCharAt(0);
-    return buffer.toString();
+  protected JPAResultKey buildResultKey(final Tuple row, final List<JPAPath> leftColumns) {
+    // TODO Tuple returns the converted value in case a @Convert(converter = annotation is given
+    return JPAResultKey.of(row, leftColumns, JPAPath::getAlias);
   }
-  
-  protected String buildConcatenatedKeyNew(final Tuple row, final List<JPAOnConditionItem> leftColumns) {
-	    final StringBuilder buffer = new StringBuilder();
-	    for (final JPAOnConditionItem item : leftColumns) {
-	      buffer.append(JPAPath.PATH_SEPARATOR);
-	      // TODO Tuple returns the converted value in case a @Convert(converter = annotation is given
-	      buffer.append(row.get(item.getLeftPath().getAlias()));
-	    }
-	    buffer.deleteCharAt(0);
-	    return buffer.toString();
+
+  protected JPAResultKey buildResultKeyFromJoinColumns(final Tuple row, final List<JPAOnConditionItem> leftColumns) {
+    return JPAResultKey.of(row, leftColumns, item -> item.getLeftPath().getAlias());
   }
 
   protected String buildPath(final String prefix, final JPAAssociationAttribute association) {
@@ -290,21 +277,16 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
     }
   }
 
-  Integer determineCount(final JPAAssociationPath association, final Tuple parentRow, final JPAExpandResult child)
-      throws ODataJPAQueryException {
-    try {
-      //final Long count = child.getCount(buildConcatenatedKey(parentRow, association.getLeftColumnsList()));
-    	Long count = null;
-        if(association.getLeftColumnsList().isEmpty()){
-          count = child.getCount(buildConcatenatedKeyNew(parentRow, association.getJoinColumnsList()));
-        } else{
-          count = child.getCount(buildConcatenatedKey(parentRow, association.getLeftColumnsList()));
-        }
-    	return count != null ? count.intValue() : null;
-    } catch (final ODataJPAModelException e) {
-      throw new ODataJPAQueryException(ODataJPAQueryException.MessageKeys.QUERY_RESULT_CONV_ERROR,
-          HttpStatusCode.INTERNAL_SERVER_ERROR, e);
-    }
+  Integer determineCount(final JPAExpandResult child, final JPAResultKey parentKey) {
+    final Long count = child.getCount(parentKey);
+    return count != null ? count.intValue() : null;
+  }
+
+  private JPAResultKey buildParentKey(final JPAAssociationPath association, final Tuple parentRow)
+      throws ODataJPAModelException {
+    if (association.getLeftColumnsList().isEmpty())
+      return buildResultKeyFromJoinColumns(parentRow, association.getJoinColumnsList());
+    return buildResultKey(parentRow, association.getLeftColumnsList());
   }
 
   private Link getLink(final JPAAssociationPath association, final String linkURI) {
@@ -323,17 +305,9 @@ abstract class JPATupleResultConverter implements JPAResultConverter {
     link.setRel(Constants.NS_NAVIGATION_LINK_REL + link.getTitle());
     link.setType(Constants.ENTITY_NAVIGATION_LINK_TYPE);
     try {
-      //final EntityCollection expandCollection = ((JPAConvertibleResult) child).getEntityCollection(
-          //buildConcatenatedKey(parentRow, association.getLeftColumnsList()));
-    	EntityCollection expandCollection = null;
-        if(association.getLeftColumnsList().isEmpty()){
-          expandCollection = ((JPAConvertibleResult) child).getEntityCollection(
-                  buildConcatenatedKeyNew(parentRow, association.getJoinColumnsList()));
-        } else{
-          expandCollection = ((JPAConvertibleResult) child).getEntityCollection(
-                  buildConcatenatedKey(parentRow, association.getLeftColumnsList()));
-        }
-      expandCollection.setCount(determineCount(association, parentRow, child));
+      final JPAResultKey parentKey = buildParentKey(association, parentRow);
+      final EntityCollection expandCollection = ((JPAConvertibleResult) child).getEntityCollection(parentKey);
+      expandCollection.setCount(determineCount(child, parentKey));
       if (association.getLeaf().isCollection()) {
         link.setInlineEntitySet(expandCollection);
         link.setHref(linkURI);
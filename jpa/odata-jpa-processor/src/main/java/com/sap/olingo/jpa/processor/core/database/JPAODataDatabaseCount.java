@@ -0,0 +1,28 @@
+package com.sap.olingo.jpa.processor.core.database;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+
+import org.apache.olingo.server.api.ODataApplicationException;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+
+public interface JPAODataDatabaseCount {
+  /**
+   * Provides an estimation of the number of entities of an entity type, e.g. based on the statistics of the database
+   * optimizer. An estimation is only requested for an entity set without filter, if the client sends the preference
+   * <i>estimated-count</i>. It is used for $count=true and for /$count instead of an exact count, which may be
+   * expensive for large tables. A response containing an estimation has the preference in the
+   * <i>Preference-Applied</i> header.
+   * @param em Entity manager of the request
+   * @param entityType Metadata of the entity type to be counted
+   * @return Estimated number of entities or an empty optional, if no estimation is available. In this case an exact
+   * count is performed. The default implementation returns always an empty optional.
+   * @throws ODataApplicationException
+   */
+  default Optional<Long> estimateCount(final EntityManager em, final JPAEntityType entityType)
+      throws ODataApplicationException {
+    return Optional.empty();
+  }
+}
@@ -4,8 +4,10 @@ import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorExcep
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -19,6 +21,7 @@ import org.apache.olingo.server.api.uri.queryoption.SearchOption;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPADataBaseFunction;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPADBAdaptorException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 
@@ -32,6 +35,8 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 public class JPA_POSTSQL_DatabaseProcessor extends JPAAbstractDatabaseProcessor { // NOSONAR
   private static final String SELECT_BASE_PATTERN = "SELECT * FROM $FUNCTIONNAME$($PARAMETER$)";
   private static final String SELECT_COUNT_PATTERN = "SELECT COUNT(*) FROM $FUNCTIONNAME$($PARAMETER$)";
+  private static final String SELECT_ESTIMATED_COUNT = "SELECT CAST(reltuples AS BIGINT) FROM pg_class "
+      + "WHERE oid = to_regclass(?1) AND relkind IN ('r', 'p', 'm')";
 
   @Override
   public Expression<Boolean> createSearchWhereClause(final CriteriaBuilder cb, final CriteriaQuery<?> cq,
@@ -61,4 +66,24 @@ public class JPA_POSTSQL_DatabaseProcessor extends JPAAbstractDatabaseProcessor
       return executeQuery(uriResourceParts, jpaFunction, em, SELECT_BASE_PATTERN);
     throw new ODataJPAProcessorException(NOT_SUPPORTED_FUNC_WITH_NAVI, HttpStatusCode.NOT_IMPLEMENTED);
   }
+
+  /**
+   * The estimation is taken from the planner statistics in <i>pg_class.reltuples</i>, which are updated by VACUUM,
+   * ANALYZE and CREATE INDEX. Views and tables that have not been analyzed yet have no estimation.
+   */
+  @Override
+  public Optional<Long> estimateCount(final EntityManager em, final JPAEntityType entityType)
+      throws ODataApplicationException {
+
+    final Query estimateQuery = em.createNativeQuery(SELECT_ESTIMATED_COUNT);
+    // The table of the tenant, in case the entity manager maps the schemas
+    estimateQuery.setParameter(1, em instanceof ProcessorEntityManager
+        ? ((ProcessorEntityManager) em).mapTableName(entityType.getTableName())
+        : entityType.getTableName());
+    final List<?> result = estimateQuery.getResultList();
+    if (result.isEmpty() || result.get(0) == null)
+      return Optional.empty();
+    final long estimate = ((Number) result.get(0)).longValue();
+    return estimate > 0 ? Optional.of(estimate) : Optional.empty();
+  }
 }
@@ -44,7 +44,9 @@ public class ODataJPAProcessorException extends ODataJPAProcessException { // NO
     FUNCTION_UNKNOWN,
     ACTION_UNKNOWN,
     ENUMERATION_UNKNOWN,
-    NO_METADATA_PROVIDER;
+    NO_METADATA_PROVIDER,
+    MEDIA_REFERENCE_UNKNOWN,
+    MEDIA_REFERENCE_READ_ONLY;
 
     @Override
     public String getKey() {
@@ -0,0 +1,128 @@
+package com.sap.olingo.jpa.processor.core.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+
+/**
+ * Cache of the attribute paths resolved while compiling $filter expressions.<p>
+ * A filter is identified by its shape: the entity type, the association it is used for and the expression tree with
+ * the literals replaced by placeholders. For each shape the attribute paths resolved for the members of the expression
+ * are kept. Only this resolution against the metadata is skipped for a filter with a known shape. The filter is still
+ * compiled for each request into criteria expressions against the query root of the request, using the cached paths
+ * and the literals of the request. Authorization checks, like the field groups, are executed for each request as well.
+ * <p>
+ * Only filters on primitive and complex properties are cached. Filters containing navigations, lambda expressions or
+ * functions are compiled without cache. The cache is bounded. If it is full, the least recently used shape is removed.
+ * It is shared by all requests of a service and provides the number of hits and misses.
+ *
+ * @since 1.0.9
+ */
+public final class JPAFilterCompilationCache {
+  public static final int DEFAULT_MAX_ENTRIES = 1000;
+  private final int maxEntries;
+  private final Map<String, Entry> templates;
+  private final AtomicLong clock;
+  private final LongAdder hits;
+  private final LongAdder misses;
+
+  public JPAFilterCompilationCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * @param maxEntries Maximum number of filter shapes kept. With zero no filter is cached.
+   */
+  public JPAFilterCompilationCache(final int maxEntries) {
+    super();
+    if (maxEntries < 0)
+      throw new IllegalArgumentException("Maximum number of entries must not be negative");
+    this.maxEntries = maxEntries;
+    this.templates = new ConcurrentHashMap<>();
+    this.clock = new AtomicLong();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  /**
+   * @return Number of filters found in the cache
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return Number of cacheable filters not found in the cache
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return Number of filter shapes currently cached
+   */
+  public int size() {
+    return templates.size();
+  }
+
+  public void clear() {
+    templates.clear();
+  }
+
+  /**
+   * @param shape Shape of a filter
+   * @return The attribute paths of the members of the filter in the order they are visited or null, if the shape is
+   * not cached
+   */
+  @CheckForNull
+  List<JPAPath> getPaths(@Nonnull final String shape) {
+    final Entry entry = templates.get(shape);
+    if (entry != null) {
+      hits.increment();
+      entry.lastUsed = clock.incrementAndGet();
+      return entry.paths;
+    }
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Adds the attribute paths of a filter shape. If the cache is full, the least recently used shape gets removed.
+   */
+  void putPaths(@Nonnull final String shape, @Nonnull final List<JPAPath> paths) {
+    if (maxEntries == 0)
+      return;
+    templates.put(shape, new Entry(Collections.unmodifiableList(new ArrayList<>(paths)), clock.incrementAndGet()));
+    while (templates.size() > maxEntries)
+      removeLeastRecentlyUsed();
+  }
+
+  private void removeLeastRecentlyUsed() {
+    Map.Entry<String, Entry> eldest = null;
+    for (final Map.Entry<String, Entry> candidate : templates.entrySet()) {
+      if (eldest == null || candidate.getValue().lastUsed < eldest.getValue().lastUsed)
+        eldest = candidate;
+    }
+    if (eldest != null)
+      templates.remove(eldest.getKey(), eldest.getValue());
+  }
+
+  private static final class Entry {
+    private final List<JPAPath> paths;
+    private volatile long lastUsed;
+
+    private Entry(final List<JPAPath> paths, final long lastUsed) {
+      this.paths = paths;
+      this.lastUsed = lastUsed;
+    }
+  }
+}
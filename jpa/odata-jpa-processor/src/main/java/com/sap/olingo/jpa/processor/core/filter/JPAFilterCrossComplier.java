@@ -12,10 +12,10 @@ import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.uri.UriResource;
 import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
-import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitor;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.processor.core.api.JPAODataClaimProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataGroupProvider;
@@ -54,6 +54,7 @@ public final class JPAFilterCrossComplier extends JPAAbstractFilter {
   final JPAAbstractQuery parent;
   final Optional<JPAODataClaimProvider> claimsProvider;
   final List<String> groups;
+  final Optional<JPAFilterCompilationCache> filterCache;
   private From<?, ?> root;
 
   public JPAFilterCrossComplier(final OData odata, final JPAServiceDocument sd,
@@ -79,6 +80,7 @@ public final class JPAFilterCrossComplier extends JPAAbstractFilter {
     this.parent = parent;
     this.claimsProvider = requestContext.getClaimsProvider();
     this.groups = groupsProvider.isPresent() ? groupsProvider.get().getGroups() : Collections.emptyList();
+    this.filterCache = requestContext.getFilterCompilationCache();
   }
 
   /*
@@ -95,8 +97,12 @@ public final class JPAFilterCrossComplier extends JPAAbstractFilter {
       parent.getDebugger().stopRuntimeMeasurement(handle);
       return null;
     }
-    final ExpressionVisitor<JPAOperator> visitor = new JPAVisitor(this);
+    final String shape = filterCache.isPresent() ? JPAFilterShape.of(jpaEntityType, association, expression) : null;
+    final List<JPAPath> cachedPaths = shape != null ? filterCache.get().getPaths(shape) : null;
+    final JPAVisitor visitor = new JPAVisitor(this, cachedPaths);
     final Expression<Boolean> finalExpression = (Expression<Boolean>) expression.accept(visitor).get();
+    if (shape != null && cachedPaths == null)
+      filterCache.get().putPaths(shape, visitor.getResolvedPaths());
 
     parent.getDebugger().stopRuntimeMeasurement(handle);
     return finalExpression;
@@ -0,0 +1,166 @@
+package com.sap.olingo.jpa.processor.core.filter;
+
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.olingo.commons.api.edm.EdmEnumType;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceComplexProperty;
+import org.apache.olingo.server.api.uri.UriResourceKind;
+import org.apache.olingo.server.api.uri.UriResourceProperty;
+import org.apache.olingo.server.api.uri.queryoption.apply.AggregateExpression;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitor;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.VisitableExpression;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+
+/**
+ * Creates the shape of a filter expression, which is used as key of the {@link JPAFilterCompilationCache}. Within the
+ * shape the literals are replaced by a placeholder and their type, so filters only differing in their literal values
+ * have the same shape. A visit returns null if the expression can not be cached.
+ *
+ * @since 1.0.9
+ */
+final class JPAFilterShape implements ExpressionVisitor<String> {
+  private static final JPAFilterShape INSTANCE = new JPAFilterShape();
+  private static final String PLACEHOLDER = "?";
+  private static final String NULL = "null";
+
+  private JPAFilterShape() {
+    super();
+  }
+
+  /**
+   * @return The shape of the filter or null, if the filter can not be cached. Only expressions created by Olingo can
+   * be cached.
+   */
+  @CheckForNull
+  static String of(@Nullable final JPAEntityType jpaEntityType, @Nullable final JPAAssociationPath association,
+      @Nonnull final VisitableExpression expression) throws ExpressionVisitException, ODataApplicationException {
+
+    if (jpaEntityType == null || !(expression instanceof Expression))
+      return null;
+    final String shape = ((Expression) expression).accept(INSTANCE);
+    if (shape == null)
+      return null;
+    return jpaEntityType.getExternalFQN().getFullQualifiedNameAsString()
+        + "|" + (association == null ? "" : association.getAlias())
+        + "|" + shape;
+  }
+
+  @Override
+  public String visitBinaryOperator(final BinaryOperatorKind operator, final String left, final String right) {
+    if (left == null || right == null)
+      return null;
+    return "(" + left + " " + operator.name() + " " + right + ")";
+  }
+
+  @Override
+  public String visitBinaryOperator(final BinaryOperatorKind operator, final String left, final List<String> right) {
+    if (left == null || right.contains(null))
+      return null;
+    return "(" + left + " " + operator.name() + " (" + String.join(",", right) + "))";
+  }
+
+  @Override
+  public String visitUnaryOperator(final UnaryOperatorKind operator, final String operand) {
+    if (operand == null)
+      return null;
+    return operator.name() + "(" + operand + ")";
+  }
+
+  @Override
+  public String visitMethodCall(final MethodKind methodCall, final List<String> parameters) {
+    final StringBuilder shape = new StringBuilder(methodCall.name()).append('(');
+    for (int i = 0; i < parameters.size(); i++) {
+      if (parameters.get(i) == null)
+        return null;
+      if (i > 0)
+        shape.append(',');
+      shape.append(parameters.get(i));
+    }
+    return shape.append(')').toString();
+  }
+
+  @Override
+  public String visitLambdaExpression(final String lambdaFunction, final String lambdaVariable,
+      final Expression expression) {
+    return null;
+  }
+
+  @Override
+  public String visitLiteral(final Literal literal) {
+    if (literal.getType() == null)
+      return NULL.equals(literal.getText()) ? NULL : null;
+    return PLACEHOLDER + literal.getType().getFullQualifiedName().getFullQualifiedNameAsString();
+  }
+
+  /**
+   * Only members that are a path of single valued primitive or complex properties are cached. Navigations, collection
+   * properties, type casts, lambda expressions, $count and functions are resolved by the request.
+   */
+  @Override
+  public String visitMember(final Member member) {
+    if (member.getStartTypeFilter() != null || member.getResourcePath() == null)
+      return null;
+    final List<UriResource> parts = member.getResourcePath().getUriResourceParts();
+    if (parts.isEmpty())
+      return null;
+    final StringBuilder shape = new StringBuilder();
+    for (final UriResource part : parts) {
+      if (!isSingleValuedProperty(part))
+        return null;
+      if (shape.length() > 0)
+        shape.append('/');
+      shape.append(part.getSegmentValue());
+    }
+    return shape.toString();
+  }
+
+  @Override
+  public String visitAlias(final String aliasName) {
+    return null;
+  }
+
+  @Override
+  public String visitTypeLiteral(final EdmType type) {
+    return null;
+  }
+
+  @Override
+  public String visitLambdaReference(final String variableName) {
+    return null;
+  }
+
+  @Override
+  public String visitEnum(final EdmEnumType type, final List<String> enumValues) {
+    return PLACEHOLDER + type.getFullQualifiedName().getFullQualifiedNameAsString();
+  }
+
+  @Override
+  public String visitComputeAggregate(final AggregateExpression aggregateExpr) {
+    return null;
+  }
+
+  private static boolean isSingleValuedProperty(final UriResource part) {
+    if (part.getKind() == UriResourceKind.primitiveProperty)
+      return !((UriResourceProperty) part).isCollection();
+    if (part.getKind() == UriResourceKind.complexProperty)
+      return !((UriResourceProperty) part).isCollection()
+          && ((UriResourceComplexProperty) part).getComplexTypeFilter() == null;
+    return false;
+  }
+}
@@ -0,0 +1,63 @@
+package com.sap.olingo.jpa.processor.core.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.criteria.Expression;
+
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+
+/**
+ * Operator <code>in</code> comparing a property with a list of literals, like <code>$filter=ID in ('3','5')</code>.
+ */
+class JPAInOperatorImp implements JPAExpressionOperator {
+
+  private final JPAOperationConverter converter;
+  private final JPAMemberOperator left;
+  private final List<JPAPrimitiveTypeOperator> right;
+
+  JPAInOperatorImp(final JPAOperationConverter converter, final JPAMemberOperator left,
+      final List<JPAPrimitiveTypeOperator> right) {
+    super();
+    this.converter = converter;
+    this.left = left;
+    this.right = Collections.unmodifiableList(right);
+  }
+
+  @Override
+  public Expression<Boolean> get() throws ODataApplicationException {
+    return converter.convert(this);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public BinaryOperatorKind getOperator() {
+    return BinaryOperatorKind.IN;
+  }
+
+  @SuppressWarnings("unchecked")
+  Expression<Object> getLeft() throws ODataApplicationException {
+    return (Expression<Object>) left.get();
+  }
+
+  /**
+   * Converts the literals into the type of the property
+   */
+  List<Object> getRight() throws ODataApplicationException {
+    final List<Object> values = new ArrayList<>(right.size());
+    for (final JPAPrimitiveTypeOperator value : right) {
+      if (value instanceof JPALiteralOperator)
+        values.add(((JPALiteralOperator) value).get(left.determineAttribute()));
+      else
+        values.add(value.get());
+    }
+    return values;
+  }
+
+  @Override
+  public String getName() {
+    return BinaryOperatorKind.IN.name();
+  }
+}
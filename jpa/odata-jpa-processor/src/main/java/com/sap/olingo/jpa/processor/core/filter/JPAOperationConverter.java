@@ -4,6 +4,7 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaBuilder.In;
 import javax.persistence.criteria.Expression;
 
 import org.apache.olingo.server.api.ODataApplicationException;
@@ -105,6 +106,16 @@ public class JPAOperationConverter {
 
   }
 
+  /**
+   * The values are given to the criteria builder one by one, so it can bind each of them as a parameter.
+   */
+  public final Expression<Boolean> convert(final JPAInOperatorImp jpaOperator) throws ODataApplicationException {
+    final In<Object> in = cb.in(jpaOperator.getLeft());
+    for (final Object value : jpaOperator.getRight())
+      in.value(value);
+    return in;
+  }
+
   @SuppressWarnings("unchecked")
   public Expression<?> convert(final JPAMethodCall jpaFunction) throws ODataApplicationException {
     switch (jpaFunction.getFunction()) {
@@ -6,6 +6,8 @@ import static com.sap.olingo.jpa.processor.core.exception.ODataJPAFilterExceptio
 import static org.apache.olingo.commons.api.http.HttpStatusCode.INTERNAL_SERVER_ERROR;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.NOT_IMPLEMENTED;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,13 +54,26 @@ class JPAVisitor implements JPAExpressionVisitor { // NOSONAR
    */
   private final JPAFilterComplierAccess jpaComplier;
   private final JPAServiceDebugger debugger;
+  private final Iterator<JPAPath> cachedPaths;
+  private final List<JPAPath> resolvedPaths;
 
   /**
    * @param jpaFilterCrossComplier
    */
   JPAVisitor(final JPAFilterComplierAccess jpaFilterCrossComplier) {
+    this(jpaFilterCrossComplier, null);
+  }
+
+  /**
+   * @param jpaFilterCrossComplier Compiler providing the criteria builder, the root and the converter
+   * @param cachedPaths Attribute paths of the members taken from the {@link JPAFilterCompilationCache}. If provided,
+   * the members are not resolved again.
+   */
+  JPAVisitor(final JPAFilterComplierAccess jpaFilterCrossComplier, @Nullable final List<JPAPath> cachedPaths) {
     this.jpaComplier = jpaFilterCrossComplier;
     this.debugger = jpaComplier.getDebugger();
+    this.cachedPaths = cachedPaths == null ? null : cachedPaths.iterator();
+    this.resolvedPaths = new ArrayList<>();
   }
 
   @Override
@@ -118,6 +133,15 @@ class JPAVisitor implements JPAExpressionVisitor { // NOSONAR
   public JPAOperator visitBinaryOperator(final BinaryOperatorKind operator, final JPAOperator left,
       final List<JPAOperator> right)
       throws ExpressionVisitException, ODataApplicationException {
+
+    if (operator == BinaryOperatorKind.IN
+        && left instanceof JPAMemberOperator
+        && !hasNavigation(left)
+        && right.stream().allMatch(JPAPrimitiveTypeOperator.class::isInstance)) {
+      final List<JPAPrimitiveTypeOperator> values = new ArrayList<>(right.size());
+      right.forEach(value -> values.add((JPAPrimitiveTypeOperator) value));
+      return new JPAInOperatorImp(this.jpaComplier.getConverter(), (JPAMemberOperator) left, values);
+    }
     throw new ODataJPAFilterException(NOT_SUPPORTED_OPERATOR, NOT_IMPLEMENTED, operator.name());
   }
 
@@ -167,9 +191,15 @@ class JPAVisitor implements JPAExpressionVisitor { // NOSONAR
   public JPAOperator visitMember(final Member member) throws ExpressionVisitException, ODataApplicationException {
 
     final int handle = debugger.startRuntimeMeasurement(this, "visitMember");
-    final JPAPath attributePath = determineAttributePath(this.jpaComplier.getJpaEntityType(), member,
-        jpaComplier.getAssociation());
-    checkTransient(attributePath);
+    final JPAPath attributePath;
+    if (cachedPaths != null && cachedPaths.hasNext()) {
+      attributePath = cachedPaths.next();
+    } else {
+      attributePath = determineAttributePath(this.jpaComplier.getJpaEntityType(), member,
+          jpaComplier.getAssociation());
+      checkTransient(attributePath);
+    }
+    resolvedPaths.add(attributePath);
     if (getLambdaType(member.getResourcePath()) == UriResourceKind.lambdaAny) {
       debugger.stopRuntimeMeasurement(handle);
       return new JPALambdaAnyOperation(this.jpaComplier, member);
@@ -244,6 +274,13 @@ class JPAVisitor implements JPAExpressionVisitor { // NOSONAR
     return null;
   }
 
+  /**
+   * @return The attribute paths of the visited members in the order they have been visited
+   */
+  List<JPAPath> getResolvedPaths() {
+    return resolvedPaths;
+  }
+
   JPAServiceDocument getSd() {
     return jpaComplier.getSd();
   }
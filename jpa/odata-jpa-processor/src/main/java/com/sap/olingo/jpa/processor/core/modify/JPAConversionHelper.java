@@ -7,6 +7,8 @@ import static org.apache.olingo.commons.api.data.ValueType.ENUM;
 import static org.apache.olingo.commons.api.data.ValueType.PRIMITIVE;
 import static org.apache.olingo.commons.api.http.HttpStatusCode.BAD_REQUEST;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -38,6 +40,7 @@ import org.apache.olingo.server.api.deserializer.ODataDeserializer;
 import org.apache.olingo.server.api.serializer.SerializerException;
 import org.apache.olingo.server.api.uri.UriParameter;
 import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
 import org.apache.olingo.server.api.uri.UriResourceProperty;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
@@ -64,6 +67,8 @@ import com.sap.olingo.jpa.processor.core.query.Util;
 
 public class JPAConversionHelper {
 
+  private static final int COLLECTION_LOOK_AHEAD = 1024;
+
   private final Map<Object, Map<String, Object>> getterBuffer;
 
   public static Object convertParameter(final Parameter param, final JPAServiceDocument sd)
@@ -168,6 +173,63 @@ public class JPAConversionHelper {
     }
   }
 
+  /**
+   * Checks if a POST request shall create a collection of entities. This is the case for a JSON array sent to an
+   * entity set. The first bytes of the request body are read ahead, so the body is replaced by a buffered stream.
+   * @param request POST request
+   * @param requestFormat content type of the request body
+   * @param uriResourceParts resource path of the request
+   * @return true if the body contains a collection of entities
+   * @throws ODataJPAProcessorException
+   */
+  public boolean isEntityCollection(final ODataRequest request, final ContentType requestFormat,
+      final List<UriResource> uriResourceParts) throws ODataJPAProcessorException {
+
+    if (requestFormat == null || !requestFormat.isCompatible(ContentType.APPLICATION_JSON)
+        || uriResourceParts.size() != 1
+        || !(uriResourceParts.get(0) instanceof UriResourceEntitySet)
+        || !((UriResourceEntitySet) uriResourceParts.get(0)).getKeyPredicates().isEmpty()
+        || request.getBody() == null)
+      return false;
+    final InputStream body = request.getBody().markSupported() ? request.getBody()
+        : new BufferedInputStream(request.getBody());
+    request.setBody(body);
+    try {
+      body.mark(COLLECTION_LOOK_AHEAD);
+      int next;
+      int read = 0;
+      do {
+        next = body.read();
+      } while (next != -1 && Character.isWhitespace(next) && ++read < COLLECTION_LOOK_AHEAD);
+      body.reset();
+      return next == '[';
+    } catch (final IOException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.BAD_REQUEST);
+    }
+  }
+
+  /**
+   * Creates a reader for the entities of a collection POST request, see
+   * {@link #isEntityCollection(ODataRequest, ContentType, List)}.
+   * @param odata Olingo instance providing the deserializer
+   * @param request POST request
+   * @param requestFormat content type of the request body
+   * @param uriResourceParts resource path of the request
+   * @return reader providing the entities one after the other
+   * @throws ODataJPAProcessorException
+   */
+  public JPAEntityCollectionReader convertInputStreamToCollection(final OData odata, final ODataRequest request,
+      final ContentType requestFormat, final List<UriResource> uriResourceParts) throws ODataJPAProcessorException {
+
+    final EdmBindingTargetInfo targetEntityInfo = Util.determineModifyEntitySetAndKeys(uriResourceParts);
+    try {
+      return new JPAEntityCollectionReader(request.getBody(), createDeserializer(odata, requestFormat,
+          request.getHeaders(HttpHeader.ODATA_VERSION)), targetEntityInfo.getTargetEdmBindingTarget().getEntityType());
+    } catch (final DeserializerException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.BAD_REQUEST);
+    }
+  }
+
   /**
    *
    * @param odata
@@ -436,7 +498,7 @@ public class JPAConversionHelper {
     return null;
   }
 
-  public Entity createMediaEntity(Map<String, List<String>> allHeaders, String toContentTypeString, byte[] mediaContent, IntermediateEntityType et) {
+  public Entity createMediaEntity(Map<String, List<String>> allHeaders, String toContentTypeString, Object mediaContent, IntermediateEntityType et) {
     Entity entity = new Entity();
     Map<String, IntermediateProperty> declaredPropertiesMap = et.getDeclaredPropertiesList();
     for (String declaredPropertyName: declaredPropertiesMap.keySet()) {
@@ -0,0 +1,77 @@
+package com.sap.olingo.jpa.processor.core.modify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.CheckForNull;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.deserializer.DeserializerException;
+import org.apache.olingo.server.api.deserializer.ODataDeserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+
+/**
+ * Reads the entities of a JSON array, as used to create a collection of entities with one POST request. The
+ * entities are read one after the other from the request body, so only the entity currently read has to be kept as
+ * raw JSON. Each entity is converted by the Olingo deserializer, so annotations and inline entities are handled the
+ * same way as for the creation of a single entity.
+ *
+ * @since 1.0.9
+ */
+public final class JPAEntityCollectionReader implements AutoCloseable {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private final JsonParser parser;
+  private final ODataDeserializer deserializer;
+  private final EdmEntityType entityType;
+
+  JPAEntityCollectionReader(final InputStream body, final ODataDeserializer deserializer,
+      final EdmEntityType entityType) throws ODataJPAProcessorException {
+    super();
+    this.deserializer = deserializer;
+    this.entityType = entityType;
+    try {
+      this.parser = MAPPER.getFactory().createParser(body);
+      if (parser.nextToken() != JsonToken.START_ARRAY)
+        throw new ODataJPAProcessorException(new IllegalArgumentException("Request body is not a JSON array"),
+            HttpStatusCode.BAD_REQUEST);
+    } catch (final IOException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.BAD_REQUEST);
+    }
+  }
+
+  /**
+   * @return The next entity of the array or null, if all entities have been read
+   * @throws ODataJPAProcessorException In case the request body is not a valid array of entities
+   */
+  @CheckForNull
+  public Entity next() throws ODataJPAProcessorException {
+    try {
+      final JsonToken token = parser.nextToken();
+      if (token == JsonToken.END_ARRAY)
+        return null;
+      if (token != JsonToken.START_OBJECT)
+        throw new ODataJPAProcessorException(new IllegalArgumentException("Array element is not an entity"),
+            HttpStatusCode.BAD_REQUEST);
+      final byte[] entity = MAPPER.writeValueAsBytes(MAPPER.readTree(parser));
+      return deserializer.entity(new ByteArrayInputStream(entity), entityType).getEntity();
+    } catch (final IOException | DeserializerException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.BAD_REQUEST);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      parser.close();
+    } catch (final IOException e) {
+      // Nothing to do, the request body is not needed any longer
+    }
+  }
+}
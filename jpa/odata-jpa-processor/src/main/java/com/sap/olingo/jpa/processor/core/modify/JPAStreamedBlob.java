@@ -0,0 +1,97 @@
+package com.sap.olingo.jpa.processor.core.modify;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Blob that hands over the body of a media upload to the JDBC driver. The body is not read by the blob itself, so
+ * the content is copied from the request directly into the database, independent of its size. The content can only
+ * be read once. Attributes of type {@link Blob} annotated with
+ * {@link com.sap.olingo.jpa.metadata.core.edm.annotation.EdmMediaStream EdmMediaStream} receive an instance of this
+ * class on create and update of a media entity.
+ *
+ * @since 1.0.9
+ */
+public final class JPAStreamedBlob implements Blob {
+  private final InputStream content;
+  private final long length;
+  private boolean consumed;
+
+  /**
+   * @param content Body of the request
+   * @param length Length of the content as given by the Content-Length header or -1, if unknown
+   */
+  public JPAStreamedBlob(@Nonnull final InputStream content, final long length) {
+    super();
+    this.content = content;
+    this.length = length;
+  }
+
+  @Override
+  public long length() throws SQLException {
+    return length;
+  }
+
+  @Override
+  public byte[] getBytes(final long pos, final int length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Content of a streamed blob can only be read as stream");
+  }
+
+  @Override
+  public InputStream getBinaryStream() throws SQLException {
+    if (consumed)
+      throw new SQLException("Content of a streamed blob has already been read");
+    consumed = true;
+    return content;
+  }
+
+  @Override
+  public long position(final byte[] pattern, final long start) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public long position(final Blob pattern, final long start) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public int setBytes(final long pos, final byte[] bytes) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public int setBytes(final long pos, final byte[] bytes, final int offset, final int len) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public OutputStream setBinaryStream(final long pos) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public void truncate(final long len) throws SQLException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  public void free() throws SQLException {
+    consumed = true;
+  }
+
+  @Override
+  public InputStream getBinaryStream(final long pos, final long length) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Content of a streamed blob can only be read completely");
+  }
+
+  @Override
+  public String toString() {
+    return "JPAStreamedBlob [length=" + length + "]";
+  }
+}
@@ -8,6 +8,7 @@ import static org.apache.olingo.commons.api.http.HttpStatusCode.NO_CONTENT;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.Blob;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -17,6 +18,10 @@ import java.util.Map;
 import java.util.Optional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.*;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.impl.IntermediateEntityType;
@@ -52,6 +57,8 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataTransactionFactory.JPAOData
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.modify.JPAConversionHelper;
 import com.sap.olingo.jpa.processor.core.modify.JPACreateResultFactory;
+import com.sap.olingo.jpa.processor.core.modify.JPAEntityCollectionReader;
+import com.sap.olingo.jpa.processor.core.modify.JPAStreamedBlob;
 import com.sap.olingo.jpa.processor.core.modify.JPAUpdateResult;
 import com.sap.olingo.jpa.processor.core.query.EdmBindingTargetInfo;
 import com.sap.olingo.jpa.processor.core.query.ExpressionUtil;
@@ -64,8 +71,10 @@ import org.apache.olingo.server.api.uri.UriResourceProperty;
 import org.apache.olingo.server.api.uri.UriResourceValue;
 
 public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
+  private static final Log LOGGER = LogFactory.getLog(JPACUDRequestProcessor.class);
 
   private static final String DEBUG_CREATE_ENTITY = "createEntity";
+  private static final String DEBUG_CREATE_ENTITIES = "createEntities";
   private static final String DEBUG_UPDATE_ENTITY = "updateEntity";
   private static final String DEBUG_UPDATE_MEDIA_ENTITY = "updateMediaEntity";
   private static final String DEBUG_DELETE_MEDIA_ENTITY = "deleteMediaEntity";
@@ -125,9 +134,9 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     final int handle = debugger.startRuntimeMeasurement(this, DEBUG_CREATE_ENTITY);
     final JPACUDRequestHandler handler = requestContext.getCUDRequestHandler();
     final EdmBindingTargetInfo edmEntitySetInfo = Util.determineModifyEntitySetAndKeys(uriInfo.getUriResourceParts());
-    final byte[] mediaContent = odata.createFixedFormatDeserializer().binary(request.getBody());
     final JPAEntityType et = sd.getEntity(edmEntitySetInfo
             .getName());
+    final Object mediaContent = readMediaContent(request, (IntermediateEntityType) et);
     Entity odataEntity = helper.createMediaEntity(request.getAllHeaders(), requestFormat.toContentTypeString(), mediaContent, (IntermediateEntityType)et);
     final JPARequestEntity requestEntity = createRequestEntity(edmEntitySetInfo, odataEntity, request.getAllHeaders());
 
@@ -140,25 +149,27 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     try {
       final int createHandle = debugger.startRuntimeMeasurement(handler, DEBUG_CREATE_ENTITY);
       result = handler.createEntity(requestEntity, em);
+      flushOnMissingKey(requestEntity, result, foreignTransaction);
       if (!foreignTransaction)
         handler.validateChanges(em);
       debugger.stopRuntimeMeasurement(createHandle);
     } catch (final ODataJPAProcessException e) {
       checkForRollback(ownTransaction, foreignTransaction);
       debugger.stopRuntimeMeasurement(handle);
-      throw e;
+      throw releaseStoredMedia(mediaContent, e);
     } catch (final Exception e) {
       checkForRollback(ownTransaction, foreignTransaction);
       debugger.stopRuntimeMeasurement(handle);
-      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+      throw releaseStoredMedia(mediaContent, new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR));
     }
 
     if (result != null && result.getClass() != requestEntity.getEntityType().getTypeClass()
             && !(result instanceof Map<?, ?>)) {
       checkForRollback(ownTransaction, foreignTransaction);
       debugger.stopRuntimeMeasurement(handle);
-      throw new ODataJPAProcessorException(WRONG_RETURN_TYPE, INTERNAL_SERVER_ERROR, result.getClass().toString(),
-              requestEntity.getEntityType().getTypeClass().toString());
+      throw releaseStoredMedia(mediaContent, new ODataJPAProcessorException(WRONG_RETURN_TYPE,
+          INTERNAL_SERVER_ERROR, result.getClass().toString(), requestEntity.getEntityType().getTypeClass()
+              .toString()));
     }
 
     if (!foreignTransaction)
@@ -171,6 +182,10 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
   public void createEntity(final ODataRequest request, final ODataResponse response, final ContentType requestFormat,
       final ContentType responseFormat) throws ODataApplicationException, ODataLibraryException {
 
+    if (helper.isEntityCollection(request, requestFormat, uriInfo.getUriResourceParts())) {
+      createEntities(request, response, requestFormat, responseFormat);
+      return;
+    }
     final int handle = debugger.startRuntimeMeasurement(this, DEBUG_CREATE_ENTITY);
     final JPACUDRequestHandler handler = requestContext.getCUDRequestHandler();
 
@@ -178,6 +193,7 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     final Entity odataEntity = helper.convertInputStream(odata, request, requestFormat, uriInfo.getUriResourceParts());
 
     final JPARequestEntity requestEntity = createRequestEntity(edmEntitySetInfo, odataEntity, request.getAllHeaders());
+    checkMediaReferenceNotSet(requestEntity);
 
     // Create entity
     Object result = null;
@@ -188,6 +204,7 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     try {
       final int createHandle = debugger.startRuntimeMeasurement(handler, DEBUG_CREATE_ENTITY);
       result = handler.createEntity(requestEntity, em);
+      flushOnMissingKey(requestEntity, result, foreignTransaction);
       if (!foreignTransaction)
         handler.validateChanges(em);
       debugger.stopRuntimeMeasurement(createHandle);
@@ -217,6 +234,70 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     createCreateResponse(request, response, responseFormat, requestEntity, edmEntitySetInfo, result);
     debugger.stopRuntimeMeasurement(handle);
   }
+
+  /**
+   * Creates all entities of a JSON array posted to an entity set within one transaction. The entities are read one
+   * after the other from the request body and handed over to the {@link JPACUDRequestHandler}. If a change set batch
+   * size is given, the flush is deferred till the commit or the next query, so the inserts can be written with JDBC
+   * batches.
+   */
+  private void createEntities(final ODataRequest request, final ODataResponse response,
+      final ContentType requestFormat, final ContentType responseFormat) throws ODataApplicationException,
+      ODataLibraryException {
+
+    final int handle = debugger.startRuntimeMeasurement(this, DEBUG_CREATE_ENTITIES);
+    final JPACUDRequestHandler handler = requestContext.getCUDRequestHandler();
+    final EdmBindingTargetInfo edmEntitySetInfo = Util.determineModifyEntitySetAndKeys(uriInfo.getUriResourceParts());
+    final List<Entity> odataEntities = new ArrayList<>();
+    final List<JPARequestEntity> requestEntities = new ArrayList<>();
+    final List<Object> results = new ArrayList<>();
+
+    JPAODataTransaction ownTransaction = null;
+    final boolean foreignTransaction = requestContext.getTransactionFactory().hasActiveTransaction();
+    if (!foreignTransaction)
+      ownTransaction = requestContext.getTransactionFactory().createTransaction();
+    final Optional<FlushModeType> flushMode = deferFlush();
+    try (JPAEntityCollectionReader reader = helper.convertInputStreamToCollection(odata, request, requestFormat,
+        uriInfo.getUriResourceParts())) {
+      final int createHandle = debugger.startRuntimeMeasurement(handler, DEBUG_CREATE_ENTITIES);
+      Entity odataEntity;
+      while ((odataEntity = reader.next()) != null) {
+        final JPARequestEntity requestEntity = createRequestEntity(edmEntitySetInfo, odataEntity, request
+            .getAllHeaders());
+        checkMediaReferenceNotSet(requestEntity);
+        final Object result = handler.createEntity(requestEntity, em);
+        if (result != null && result.getClass() != requestEntity.getEntityType().getTypeClass()
+            && !(result instanceof Map<?, ?>))
+          throw new ODataJPAProcessorException(WRONG_RETURN_TYPE, INTERNAL_SERVER_ERROR, result.getClass().toString(),
+              requestEntity.getEntityType().getTypeClass().toString());
+        flushOnMissingKey(requestEntity, result, flushMode.isPresent());
+        odataEntities.add(odataEntity);
+        requestEntities.add(requestEntity);
+        results.add(result);
+      }
+      if (!foreignTransaction)
+        handler.validateChanges(em);
+      debugger.stopRuntimeMeasurement(createHandle);
+    } catch (final ODataJPAProcessException e) {
+      checkForRollback(ownTransaction, foreignTransaction);
+      debugger.stopRuntimeMeasurement(handle);
+      throw e;
+    } catch (final Exception e) {
+      checkForRollback(ownTransaction, foreignTransaction);
+      debugger.stopRuntimeMeasurement(handle);
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    } finally {
+      flushMode.ifPresent(em::setFlushMode);
+    }
+
+    if (!foreignTransaction)
+      ownTransaction.commit();
+    for (int i = 0; i < results.size(); i++)
+      updateJoinColumn(results.get(i), odataEntities.get(i), request, edmEntitySetInfo, handler, requestEntities.get(i));
+    createCreateCollectionResponse(request, response, responseFormat, edmEntitySetInfo, requestEntities, results);
+    debugger.stopRuntimeMeasurement(handle);
+  }
+
   // <--------------------++
   public void updateJoinColumn(Object result, Entity odataEntity, final ODataRequest request,
                                     EdmBindingTargetInfo edmEntitySetInfo, JPACUDRequestHandler handler,
@@ -396,6 +477,7 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
             .getName());
     Entity odataEntity = helper.deleteMediaEntity((IntermediateEntityType)et);
     final JPARequestEntity requestEntity = createRequestEntity(edmEntitySetInfo, odataEntity, request.getAllHeaders());
+    final Optional<String> previousMedia = determineStoredMedia(requestEntity, (IntermediateEntityType) et);
     JPAUpdateResult updateResult = null;
     JPAODataTransaction ownTransaction = null;
     final boolean foreignTransaction = requestContext.getTransactionFactory().hasActiveTransaction();
@@ -427,8 +509,10 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
               updateResult.getModifiedEntity().getClass().toString(), requestEntity.getEntityType().getTypeClass()
               .toString());
     }
-    if (!foreignTransaction)
+    if (!foreignTransaction) {
       ownTransaction.commit();
+      releaseStoredMedia(previousMedia);
+    }
 
     response.setStatusCode(NO_CONTENT.getStatusCode());
     debugger.stopRuntimeMeasurement(handle);
@@ -498,11 +582,12 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     final int handle = debugger.startRuntimeMeasurement(this, DEBUG_UPDATE_MEDIA_ENTITY);
     final JPACUDRequestHandler handler = requestContext.getCUDRequestHandler();
     final EdmBindingTargetInfo edmEntitySetInfo = Util.determineModifyEntitySetAndKeys(uriInfo.getUriResourceParts());
-    final byte[] mediaContent = odata.createFixedFormatDeserializer().binary(request.getBody());
     final JPAEntityType et = sd.getEntity(edmEntitySetInfo
             .getName());
+    final Object mediaContent = readMediaContent(request, (IntermediateEntityType) et);
     Entity odataEntity = helper.createMediaEntity(request.getAllHeaders(), requestFormat.toContentTypeString(), mediaContent, (IntermediateEntityType)et);
     final JPARequestEntity requestEntity = createRequestEntity(edmEntitySetInfo, odataEntity, request.getAllHeaders());
+    final Optional<String> previousMedia = determineStoredMedia(requestEntity, (IntermediateEntityType) et);
     JPAUpdateResult updateResult = null;
     JPAODataTransaction ownTransaction = null;
     final boolean foreignTransaction = requestContext.getTransactionFactory().hasActiveTransaction();
@@ -514,28 +599,30 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
         handler.validateChanges(em);
     } catch (final ODataJPAProcessException e) {
       checkForRollback(ownTransaction, foreignTransaction);
-      throw e;
+      throw releaseStoredMedia(mediaContent, e);
     } catch (final Throwable e) {
       checkForRollback(ownTransaction, foreignTransaction);
-      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+      throw releaseStoredMedia(mediaContent, new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR));
     } finally {
       debugger.stopRuntimeMeasurement(handle);
     }
     if (updateResult == null) {
       checkForRollback(ownTransaction, foreignTransaction);
       debugger.stopRuntimeMeasurement(handle);
-      throw new ODataJPAProcessorException(RETURN_NULL, INTERNAL_SERVER_ERROR);
+      throw releaseStoredMedia(mediaContent, new ODataJPAProcessorException(RETURN_NULL, INTERNAL_SERVER_ERROR));
     }
     if (updateResult.getModifiedEntity() != null && !requestEntity.getEntityType().getTypeClass().isInstance(
             updateResult.getModifiedEntity())) {
       checkForRollback(ownTransaction, foreignTransaction);
       debugger.stopRuntimeMeasurement(handle);
-      throw new ODataJPAProcessorException(WRONG_RETURN_TYPE, INTERNAL_SERVER_ERROR,
-              updateResult.getModifiedEntity().getClass().toString(), requestEntity.getEntityType().getTypeClass()
-              .toString());
+      throw releaseStoredMedia(mediaContent, new ODataJPAProcessorException(WRONG_RETURN_TYPE,
+          INTERNAL_SERVER_ERROR, updateResult.getModifiedEntity().getClass().toString(), requestEntity.getEntityType()
+              .getTypeClass().toString()));
     }
-    if (!foreignTransaction)
+    if (!foreignTransaction) {
       ownTransaction.commit();
+      releaseStoredMedia(previousMedia);
+    }
 
     if (updateResult.wasCreate()) {
       createCreateResponse(request, response, responseFormat, requestEntity.getEntityType(),
@@ -563,6 +650,7 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     // collection-valued navigation properties this adds to the relationship.
     // TODO navigation properties this replaces the relationship
     final JPARequestEntity requestEntity = createRequestEntity(edmEntitySetInfo, odataEntity, request.getAllHeaders());
+    checkMediaReferenceNotSet(requestEntity);
 
     // Update entity
     JPAUpdateResult updateResult = null;
@@ -627,6 +715,121 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
       ownTransaction.rollback();
   }
 
+  /**
+   * Within a change set, that is written using JDBC batches, the flush is deferred till the end of the change set
+   * or the next query. Keys generated by the database are only known after the insert. To be able to return them, the
+   * changes get flushed in case the key of the created entity is still missing.
+   */
+  private void flushOnMissingKey(final JPARequestEntity requestEntity, final Object result,
+      final boolean flushDeferred) {
+    if (flushDeferred
+        && requestContext.getChangeSetBatchSize() > 0
+        && result != null
+        && result.getClass() == requestEntity.getEntityType().getTypeClass()
+        && em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(result) == null)
+      em.flush();
+  }
+
+  private Optional<FlushModeType> deferFlush() {
+    if (requestContext.getChangeSetBatchSize() <= 0)
+      return Optional.empty();
+    final FlushModeType flushMode = em.getFlushMode();
+    em.setFlushMode(FlushModeType.AUTO);
+    return Optional.ofNullable(flushMode);
+  }
+
+  /**
+   * Media attributes of type {@link Blob} get the request body handed over as stream, so the content is not kept in
+   * memory. If a media storage is provided, media attributes of type String get the reference to the stored content.
+   * All other media attributes get the content as byte array.
+   */
+  private Object readMediaContent(final ODataRequest request, final IntermediateEntityType et)
+      throws DeserializerException, ODataJPAModelException, ODataJPAProcessException {
+
+    if (isStoredMedia(et))
+      return requestContext.getMediaStorage().get().store(request.getBody()); // NOSONAR
+    if (Blob.class.equals(et.getStreamProperty().getType()))
+      return new JPAStreamedBlob(request.getBody(), determineContentLength(request));
+    return odata.createFixedFormatDeserializer().binary(request.getBody());
+  }
+
+  private boolean isStoredMedia(final IntermediateEntityType et) throws ODataJPAModelException {
+    return requestContext.getMediaStorage().isPresent() && String.class.equals(et.getStreamProperty().getType());
+  }
+
+  /**
+   * The reference to stored content is only set by the media requests. Otherwise a client could point an entity to the
+   * content of another entity, which would then be released by an update or delete of the first one.
+   */
+  void checkMediaReferenceNotSet(final JPARequestEntity requestEntity) throws ODataJPAProcessorException {
+    try {
+      final JPAEntityType et = requestEntity.getEntityType();
+      if (requestContext.getMediaStorage().isPresent() && et.hasStream()) {
+        final JPAAttribute streamAttribute = et.getStreamAttributePath().getLeaf();
+        if (String.class.equals(streamAttribute.getType())
+            && requestEntity.getData().containsKey(streamAttribute.getInternalName()))
+          throw new ODataJPAProcessorException(MEDIA_REFERENCE_READ_ONLY, BAD_REQUEST, streamAttribute
+              .getExternalName());
+      }
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAProcessorException(e, INTERNAL_SERVER_ERROR);
+    }
+    for (final List<JPARequestEntity> relatedEntities : requestEntity.getRelatedEntities().values()) {
+      for (final JPARequestEntity relatedEntity : relatedEntities)
+        checkMediaReferenceNotSet(relatedEntity);
+    }
+  }
+
+  /**
+   * Reference to the stored content held by the entity before the request. It is released after the change has been
+   * committed.
+   */
+  private Optional<String> determineStoredMedia(final JPARequestEntity requestEntity, final IntermediateEntityType et)
+      throws ODataJPAModelException, ODataJPAProcessorException {
+
+    if (!isStoredMedia(et) || !requestEntity.getBeforeImage().isPresent())
+      return Optional.empty();
+    return Optional.ofNullable((String) helper.buildGetterMap(requestEntity.getBeforeImage().get()).get(et
+        .getStreamProperty().getInternalName()));
+  }
+
+  /**
+   * Releases the content stored for a change that failed. Problems releasing the content are added to the exception.
+   */
+  private <T extends Exception> T releaseStoredMedia(final Object mediaContent, final T exception) {
+    if (mediaContent instanceof String && requestContext.getMediaStorage().isPresent()) {
+      try {
+        requestContext.getMediaStorage().get().release((String) mediaContent);
+      } catch (final ODataJPAProcessException e) {
+        exception.addSuppressed(e);
+      }
+    }
+    return exception;
+  }
+
+  /**
+   * Releases the content replaced or removed by a committed change. As the change has been committed, a failing release
+   * does not fail the request. The content is kept in this case.
+   */
+  private void releaseStoredMedia(final Optional<String> previousMedia) {
+    if (previousMedia.isPresent()) {
+      try {
+        requestContext.getMediaStorage().get().release(previousMedia.get()); // NOSONAR
+      } catch (final ODataJPAProcessException e) {
+        LOGGER.warn("Media content " + previousMedia.get() + " could not be released", e);
+      }
+    }
+  }
+
+  private long determineContentLength(final ODataRequest request) {
+    final String contentLength = request.getHeader(HttpHeader.CONTENT_LENGTH);
+    try {
+      return contentLength == null ? -1L : Long.parseLong(contentLength.trim());
+    } catch (final NumberFormatException e) {
+      return -1L;
+    }
+  }
+
   private HttpMethod determineHttpVerb(final ODataRequest request, final List<UriResource> resourceParts) {
     final HttpMethod originalMethod = request.getMethod();
     final HttpMethod targetMethod;
@@ -776,8 +979,13 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
           .getKeys(), requestEntity.getEntityType());
       final Optional<Object> beforeImage = Optional.ofNullable(em.find(requestEntity.getEntityType().getTypeClass(),
           key));
-      if (beforeImage.isPresent())
+      if (beforeImage.isPresent()) {
+        // Within a change set the entity may have been created or changed by a previous request without being written
+        // yet. Detaching it would drop these changes, so they are written before.
+        if (requestContext.getTransactionFactory().hasActiveTransaction())
+          em.flush();
         em.detach(beforeImage.get());
+      }
       return beforeImage;
     }
     return Optional.empty();
@@ -861,6 +1069,26 @@ public final class JPACUDRequestProcessor extends JPAAbstractRequestProcessor {
     }
   }
 
+  private void createCreateCollectionResponse(final ODataRequest request, final ODataResponse response,
+      final ContentType responseFormat, final EdmBindingTargetInfo edmEntitySet,
+      final List<JPARequestEntity> requestEntities, final List<Object> results) throws SerializerException,
+      ODataJPAProcessorException, ODataJPASerializerException {
+
+    successStatusCode = HttpStatusCode.CREATED.getStatusCode();
+    final Preferences prefer = odata.createPreferences(request.getHeaders(HttpHeader.PREFER));
+    if (prefer.getReturn() == Return.MINIMAL) {
+      // There is no single location for a collection of entities
+      response.setStatusCode(NO_CONTENT.getStatusCode());
+      response.setHeader(HttpHeader.PREFERENCE_APPLIED, "return=minimal");
+    } else {
+      final EntityCollection entities = new EntityCollection();
+      for (int i = 0; i < results.size(); i++)
+        entities.getEntities().add(convertEntity(requestEntities.get(i).getEntityType(), results.get(i), request
+            .getAllHeaders()));
+      createSuccessResponse(response, responseFormat, serializer.serializeCollection(request, entities));
+    }
+  }
+
   private Map<JPAAssociationPath, List<JPARequestEntity>> createInlineEntities(final Entity odataEntity,
       final JPAAssociationPath path, final Map<String, List<String>> headers) throws ODataJPAProcessorException {
 
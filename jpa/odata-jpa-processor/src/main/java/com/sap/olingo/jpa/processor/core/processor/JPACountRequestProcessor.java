@@ -1,5 +1,7 @@
 package com.sap.olingo.jpa.processor.core.processor;
 
+import java.util.Optional;
+
 import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.commons.api.format.ContentType;
@@ -34,7 +36,15 @@ public final class JPACountRequestProcessor extends JPAAbstractGetRequestProcess
     final UriResource uriResource = uriInfo.getUriResourceParts().get(0);
 
     if (uriResource instanceof UriResourceEntitySet) {
-      final EntityCollection result = countEntities(request, uriInfo);
+      final Optional<Long> estimate = new JPAEstimatedCount(odata, requestContext).estimate(request);
+      final EntityCollection result;
+      if (estimate.isPresent()) {
+        result = new EntityCollection();
+        result.setCount(estimate.get().intValue());
+        JPAEstimatedCount.markEstimated(response);
+      } else {
+        result = countEntities(request, uriInfo);
+      }
       createSuccessResponse(response, ContentType.TEXT_PLAIN, serializer.serialize(request, result));
     } else {
       throw new ODataJPAProcessorException(ODataJPAProcessorException.MessageKeys.NOT_SUPPORTED_RESOURCE_TYPE,
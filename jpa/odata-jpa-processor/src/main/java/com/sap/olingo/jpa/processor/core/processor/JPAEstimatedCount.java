@@ -0,0 +1,80 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceKind;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+
+/**
+ * Determines an estimated count, if a client prefers it over an exact count by sending the preference
+ * <i>estimated-count</i>. The estimation is provided by the database processor. It is only requested for an entity
+ * set, which is neither filtered nor restricted by claims. In all other cases an exact count is performed.
+ *
+ * @since 1.0.9
+ */
+final class JPAEstimatedCount {
+  static final String PREFERENCE = "estimated-count";
+  private final OData odata;
+  private final JPAODataRequestContextAccess requestContext;
+
+  JPAEstimatedCount(final OData odata, final JPAODataRequestContextAccess requestContext) {
+    super();
+    this.odata = odata;
+    this.requestContext = requestContext;
+  }
+
+  /**
+   * @return The estimated count or an empty optional, if an exact count is needed
+   */
+  Optional<Long> estimate(final ODataRequest request) throws ODataApplicationException {
+    if (odata.createPreferences(request.getHeaders(HttpHeader.PREFER)).getPreference(PREFERENCE) == null)
+      return Optional.empty();
+    final UriResourceEntitySet entitySet = determineUnfilteredEntitySet(requestContext.getUriInfo());
+    if (entitySet == null || entitySet.getEntityType().getBaseType() != null)
+      return Optional.empty();
+    try {
+      final JPAEntityType et = requestContext.getEdmProvider().getServiceDocument().getEntity(entitySet
+          .getEntityType());
+      if (et == null || !et.getProtections().isEmpty())
+        return Optional.empty();
+      return requestContext.getDatabaseProcessor().estimateCount(requestContext.getEntityManager(), et);
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * Marks the count of the response as estimated.
+   */
+  static void markEstimated(final ODataResponse response) {
+    response.setHeader(HttpHeader.PREFERENCE_APPLIED, PREFERENCE);
+  }
+
+  private static UriResourceEntitySet determineUnfilteredEntitySet(final UriInfoResource uriInfo) {
+    if (uriInfo.getFilterOption() != null || uriInfo.getSearchOption() != null || uriInfo.getApplyOption() != null)
+      return null;
+    final List<UriResource> parts = uriInfo.getUriResourceParts();
+    if (parts.isEmpty() || parts.size() > 2
+        || (parts.size() == 2 && parts.get(1).getKind() != UriResourceKind.count)
+        || parts.get(0).getKind() != UriResourceKind.entitySet)
+      return null;
+    final UriResourceEntitySet entitySet = (UriResourceEntitySet) parts.get(0);
+    if (!entitySet.getKeyPredicates().isEmpty() || entitySet.getTypeFilterOnCollection() != null)
+      return null;
+    return entitySet;
+  }
+}
@@ -0,0 +1,150 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * Single byte range requested for a media stream, see RFC 7233. The forms <i>bytes=first-last</i>,
+ * <i>bytes=first-</i> and <i>bytes=-suffix</i> are supported. Multiple ranges and other units are ignored, so the
+ * complete content is returned in these cases.
+ *
+ * @since 1.0.9
+ */
+final class JPAMediaRange {
+  static final String ACCEPT_RANGES = "Accept-Ranges";
+  static final String CONTENT_RANGE = "Content-Range";
+  static final String BYTES = "bytes";
+  private static final Pattern RANGE = Pattern.compile("\\s*bytes\\s*=\\s*(\\d*)\\s*-\\s*(\\d*)\\s*");
+  private final long first;
+  private final long last;
+  private final long length;
+
+  private JPAMediaRange(final long first, final long last, final long length) {
+    super();
+    this.first = first;
+    this.last = last;
+    this.length = length;
+  }
+
+  /**
+   * @param header Value of the Range header
+   * @param length Length of the complete content
+   * @return The requested range or an empty optional, if the complete content shall be returned
+   */
+  static Optional<JPAMediaRange> of(@Nullable final String header, final long length) {
+    if (header == null || length < 0)
+      return Optional.empty();
+    final Matcher matcher = RANGE.matcher(header);
+    if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty()))
+      return Optional.empty();
+    try {
+      if (matcher.group(1).isEmpty()) {
+        final long suffix = Long.parseLong(matcher.group(2));
+        return Optional.of(new JPAMediaRange(Math.max(0, length - suffix), length - 1, length));
+      }
+      final long first = Long.parseLong(matcher.group(1));
+      final long last = matcher.group(2).isEmpty() ? length - 1 : Math.min(Long.parseLong(matcher.group(2)),
+          length - 1);
+      if (matcher.group(2).isEmpty() || first <= Long.parseLong(matcher.group(2)))
+        return Optional.of(new JPAMediaRange(first, last, length));
+      return Optional.empty();
+    } catch (final NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return False, if the range does not overlap the content, which has to be answered with 416 Range Not
+   * Satisfiable
+   */
+  boolean isSatisfiable() {
+    return first < length && first <= last;
+  }
+
+  long getFirst() {
+    return first;
+  }
+
+  long getLast() {
+    return last;
+  }
+
+  /**
+   * @return Value of the Content-Range header
+   */
+  String getContentRange() {
+    if (isSatisfiable())
+      return BYTES + " " + first + "-" + last + "/" + length;
+    return BYTES + " */" + length;
+  }
+
+  /**
+   * Restricts the content to the range. Bytes before the range are skipped, bytes after the range are not read.
+   */
+  InputStream restrict(final InputStream content) throws IOException {
+    long skip = first;
+    while (skip > 0) {
+      final long skipped = content.skip(skip);
+      if (skipped <= 0) {
+        if (content.read() == -1)
+          break;
+        skip--;
+      } else {
+        skip -= skipped;
+      }
+    }
+    return new RangeInputStream(content, last - first + 1);
+  }
+
+  private static class RangeInputStream extends FilterInputStream {
+    private long remaining;
+
+    RangeInputStream(final InputStream in, final long remaining) {
+      super(in);
+      this.remaining = remaining;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (remaining <= 0)
+        return -1;
+      final int result = super.read();
+      if (result != -1)
+        remaining--;
+      return result;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      if (remaining <= 0)
+        return -1;
+      final int result = super.read(b, off, (int) Math.min(len, remaining));
+      if (result > 0)
+        remaining -= result;
+      return result;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+      final long result = super.skip(Math.min(n, remaining));
+      remaining -= result;
+      return result;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return (int) Math.min(super.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+}
@@ -4,27 +4,41 @@ import static com.sap.olingo.jpa.processor.core.converter.JPAExpandResult.ROOT_R
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.ODATA_MAXPAGESIZE_NOT_A_NUMBER;
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.QUERY_PREPARATION_ERROR;
 import static com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException.MessageKeys.QUERY_RESULT_CONV_ERROR;
+import static java.util.Collections.emptyList;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaQuery;
 
 import org.apache.olingo.commons.api.data.ComplexValue;
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
+import org.apache.olingo.commons.api.data.EntityIterator;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
 import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataContent;
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.serializer.SerializerResult;
+import org.apache.olingo.server.api.serializer.SerializerStreamResult;
 import org.apache.olingo.server.api.uri.UriInfoResource;
 import org.apache.olingo.server.api.uri.UriResource;
 import org.apache.olingo.server.api.uri.UriResourceKind;
@@ -33,13 +47,23 @@ import org.apache.olingo.server.api.uri.queryoption.CountOption;
 import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaQuery;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.api.JPAODataTransactionFactory.JPAODataTransaction;
 import com.sap.olingo.jpa.processor.core.converter.JPAExpandResult;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPANotImplementedException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPATransactionException;
 import com.sap.olingo.jpa.processor.core.query.JPAAbstractExpandQuery;
 import com.sap.olingo.jpa.processor.core.query.JPACollectionItemInfo;
 import com.sap.olingo.jpa.processor.core.query.JPACollectionJoinQuery;
@@ -48,25 +72,46 @@ import com.sap.olingo.jpa.processor.core.query.JPAExpandItemInfo;
 import com.sap.olingo.jpa.processor.core.query.JPAExpandItemInfoFactory;
 import com.sap.olingo.jpa.processor.core.query.JPAExpandQueryFactory;
 import com.sap.olingo.jpa.processor.core.query.JPAExpandQueryResult;
+import com.sap.olingo.jpa.processor.core.query.JPAExpandSubQuery;
 import com.sap.olingo.jpa.processor.core.query.JPAJoinQuery;
 import com.sap.olingo.jpa.processor.core.query.JPAKeyBoundary;
 import com.sap.olingo.jpa.processor.core.query.JPANavigationPropertyInfo;
+import com.sap.olingo.jpa.processor.core.query.JPAStreamedQueryResult;
 import com.sap.olingo.jpa.processor.core.query.Util;
+import com.sap.olingo.jpa.processor.core.serializer.JPAMediaSerializerResult;
+import com.sap.olingo.jpa.processor.core.serializer.JPAStreamSerializer;
 
 public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestProcessor {
+  private static final String SKIPTOKEN_ENCODED = "%24skiptoken";
   private final ServiceMetadata serviceMetadata;
   private final UriResource lastItem;
   private final JPAODataPage page;
+  private final JPAReusableCountQuery countQuery;
+  private final JPAEstimatedCount estimatedCount;
 
   public JPANavigationRequestProcessor(final OData odata, final ServiceMetadata serviceMetadata,
       final JPAODataRequestContextAccess requestContext)
       throws ODataException {
 
+    this(odata, serviceMetadata, requestContext, new JPAReusableCountQuery(() -> new JPAJoinQuery(odata,
+        requestContext)));
+  }
+
+  /**
+   * @param countQuery Count query of the request. A count already determined, e.g. by the paging provider, is reused
+   * for $count=true.
+   */
+  JPANavigationRequestProcessor(final OData odata, final ServiceMetadata serviceMetadata,
+      final JPAODataRequestContextAccess requestContext, final JPAReusableCountQuery countQuery)
+      throws ODataException {
+
     super(odata, requestContext);
     this.serviceMetadata = serviceMetadata;
     final List<UriResource> resourceParts = uriInfo.getUriResourceParts();
     this.lastItem = resourceParts.get(resourceParts.size() - 1);
     this.page = requestContext.getPage();
+    this.countQuery = countQuery;
+    this.estimatedCount = new JPAEstimatedCount(odata, requestContext);
   }
 
   @Override
@@ -83,11 +128,18 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
       debugger.stopRuntimeMeasurement(handle);
       throw new ODataJPAProcessorException(QUERY_PREPARATION_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
     }
+    if (isStreamingSupported()) {
+      retrieveDataStreamed(request, response, responseFormat, query);
+      debugger.stopRuntimeMeasurement(handle);
+      return;
+    }
 
     final JPAConvertibleResult result = query.execute();
     // Read Expand and Collection
     final Optional<JPAKeyBoundary> keyBoundary = result.getKeyBoundary(requestContext, query.getNavigationInfo(), page);
     result.putChildren(readExpandEntities(request.getAllHeaders(), query.getNavigationInfo(), uriInfo, keyBoundary));
+    // Next link has to be determined before the rows get converted
+    final URI nextLink = buildNextLink(request, page, result);
     // Convert tuple result into an OData Result
     final int converterHandle = debugger.startRuntimeMeasurement(this, "convertResult");
     EntityCollection entityCollection;
@@ -101,12 +153,11 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
       throw new ODataJPAProcessorException(QUERY_RESULT_CONV_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
     }
     // Set Next Link
-    entityCollection.setNext(buildNextLink(page));
+    entityCollection.setNext(nextLink);
     // Count results if requested
     final CountOption countOption = uriInfo.getCountOption();
     if (countOption != null && countOption.getValue())
-      entityCollection.setCount(new JPAJoinQuery(odata, requestContext)
-          .countResults().intValue());
+      entityCollection.setCount(countResults(query, request, response).intValue());
 
     /*
      * See part 1:
@@ -139,6 +190,8 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
       final SerializerResult serializerResult = serializer.serialize(request, entityCollection);
       debugger.stopRuntimeMeasurement(serializerHandle);
       createSuccessResponse(response, responseFormat, serializerResult);
+      if (serializerResult instanceof JPAMediaSerializerResult)
+        restrictToRange(request, response, (JPAMediaSerializerResult) serializerResult);
     } else {
       // A request returns 204 No Content if the requested resource has the null value, or if the service applies a
       // return=minimal preference. In this case, the response body MUST be empty.
@@ -147,27 +200,223 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
     debugger.stopRuntimeMeasurement(handle);
   }
 
+  /**
+   * Answers a range request on a media stream with 206 Partial Content. A range that does not overlap the content is
+   * answered with 416 Range Not Satisfiable.
+   */
+  private void restrictToRange(final ODataRequest request, final ODataResponse response,
+      final JPAMediaSerializerResult serializerResult) throws ODataJPAProcessorException {
+
+    if (serializerResult.getLength() < 0)
+      return;
+    response.setHeader(JPAMediaRange.ACCEPT_RANGES, JPAMediaRange.BYTES);
+    final Optional<JPAMediaRange> range = JPAMediaRange.of(request.getHeader(HttpHeader.RANGE), serializerResult
+        .getLength());
+    try {
+      if (!range.isPresent()) {
+        setChannelContent(response, serializerResult, 0, serializerResult.getLength());
+      } else if (range.get().isSatisfiable()) {
+        response.setHeader(JPAMediaRange.CONTENT_RANGE, range.get().getContentRange());
+        if (!setChannelContent(response, serializerResult, range.get().getFirst(), range.get().getLast() - range.get()
+            .getFirst() + 1))
+          response.setContent(range.get().restrict(serializerResult.getContent()));
+        response.setStatusCode(HttpStatusCode.PARTIAL_CONTENT.getStatusCode());
+      } else {
+        response.setHeader(JPAMediaRange.CONTENT_RANGE, range.get().getContentRange());
+        if (response.getContent() != null)
+          response.getContent().close();
+        response.setContent(null);
+        response.setStatusCode(HttpStatusCode.RANGE_NOT_SATISFIABLE.getStatusCode());
+      }
+    } catch (final IOException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  /**
+   * Content that can be written directly into the channel of the response replaces the content stream. Both read from
+   * the same source, so the content stream needs not to be closed.
+   */
+  private boolean setChannelContent(final ODataResponse response, final JPAMediaSerializerResult serializerResult,
+      final long position, final long count) {
+
+    final Optional<ODataContent> content = serializerResult.getContent(position, count);
+    if (content.isPresent()) {
+      response.setContent(null);
+      response.setODataContent(content.get());
+    }
+    return content.isPresent();
+  }
+
+  /**
+   * Serializes the entities while the rows are read from the database, so neither the complete query result nor the
+   * complete entity collection have to be kept in memory. The response is only written, when Olingo writes the
+   * content, which happens before the entity manager gets closed.<p>
+   * Some JDBC drivers, e.g. the one of PostgreSQL, read the rows in chunks only if auto commit is switched off. So the
+   * rows are read within a transaction, in case none is active. As nothing gets changed, this transaction is rolled
+   * back when the rows have been read.
+   */
+  private void retrieveDataStreamed(final ODataRequest request, final ODataResponse response,
+      final ContentType responseFormat, final JPAJoinQuery query) throws ODataException {
+
+    final JPAODataTransaction readTransaction = requestContext.getTransactionFactory().hasActiveTransaction()
+        ? null
+        : requestContext.getTransactionFactory().createTransaction();
+    final JPAStreamedQueryResult result;
+    try {
+      result = query.executeStreamed();
+    } catch (final ODataApplicationException | RuntimeException e) {
+      endReadTransaction(readTransaction);
+      throw e;
+    }
+    final Stream<Tuple> rows = result.getRows().onClose(() -> endReadTransaction(readTransaction));
+    final EntityIterator entities;
+    try {
+      entities = new JPATupleChildConverter(sd, odata.createUriHelper(), serviceMetadata, requestContext)
+          .getResultIterator(result.getResult(), rows, result.getRequestedSelection());
+    } catch (final ODataApplicationException e) {
+      rows.close();
+      throw new ODataJPAProcessorException(QUERY_RESULT_CONV_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+    }
+    entities.setNext(buildNextLink(request, page));
+    final CountOption countOption = uriInfo.getCountOption();
+    if (countOption != null && countOption.getValue())
+      entities.setCount(countResults(query, request, response).intValue());
+
+    final int serializerHandle = debugger.startRuntimeMeasurement(serializer, "serialize");
+    final SerializerStreamResult serializerResult = ((JPAStreamSerializer) serializer).serialize(request, entities);
+    debugger.stopRuntimeMeasurement(serializerHandle);
+    // Collections always return 200 no matter if they are empty or not
+    response.setODataContent(serializerResult.getODataContent());
+    response.setStatusCode(successStatusCode);
+    response.setHeader(HttpHeader.CONTENT_TYPE, responseFormat.toContentTypeString());
+  }
+
+  private static void endReadTransaction(@Nullable final JPAODataTransaction transaction) {
+    try {
+      if (transaction != null && transaction.isActive())
+        transaction.rollback();
+    } catch (final ODataJPATransactionException e) {
+      throw new ODataRuntimeException(e);
+    }
+  }
+
+  /**
+   * The count is taken from the query, if it was read together with the entities, otherwise from the count query of
+   * the request. The count query is executed only, if the count was not determined before, e.g. by the paging
+   * provider, and the client does not accept an estimated count.
+   */
+  private Long countResults(final JPAJoinQuery query, final ODataRequest request, final ODataResponse response)
+      throws ODataApplicationException {
+    final Optional<Long> count = countQuery.getCount().isPresent() ? countQuery.getCount() : query.getCount();
+    if (count.isPresent())
+      return count.get();
+    final Optional<Long> estimate = estimatedCount.estimate(request);
+    if (estimate.isPresent()) {
+      JPAEstimatedCount.markEstimated(response);
+      return estimate.get();
+    }
+    return countQuery.countResults();
+  }
+
+  /**
+   * Streaming is only supported for entity collections, if requested. As expanded entities and collection attributes
+   * are read upfront and get linked to their parent, requests with $expand and requests of entities having
+   * collection attributes are not streamed. The same is true for keyset pages, as the next link depends on the last
+   * entity read.
+   */
+  private boolean isStreamingSupported() throws ODataJPAProcessorException {
+    if (!requestContext.useStreamedEntityCollection()
+        || !(serializer instanceof JPAStreamSerializer)
+        || uriInfo.getExpandOption() != null
+        || page instanceof JPAODataKeysetPage)
+      return false;
+    try {
+      final JPAEntityType et = sd.getEntity(Util.determineBindingTarget(uriInfo.getUriResourceParts())
+          .getEntityType());
+      return et != null && et.getCollectionAttributesPath().isEmpty();
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAProcessorException(QUERY_PREPARATION_ERROR, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+    }
+  }
+
   private void checkRequestSupported() throws ODataJPAProcessException {
     if (uriInfo.getApplyOption() != null)
       throw new ODataJPANotImplementedException("$apply");
   }
 
-  private URI buildNextLink(final JPAODataPage page) throws ODataJPAProcessorException {
-    if (page != null && page.getSkipToken() != null) {
-      try {
-        if (page.getSkipToken() instanceof String)
-          return new URI(Util.determineBindingTarget(uriInfo.getUriResourceParts()).getName() + "?"
-              + SystemQueryOptionKind.SKIPTOKEN.toString() + "='" + page.getSkipToken() + "'");
-        else
-          return new URI(Util.determineBindingTarget(uriInfo.getUriResourceParts()).getName() + "?"
-              + SystemQueryOptionKind.SKIPTOKEN.toString() + "=" + page.getSkipToken().toString());
-      } catch (final URISyntaxException e) {
-        throw new ODataJPAProcessorException(ODATA_MAXPAGESIZE_NOT_A_NUMBER, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
-      }
-    }
+  private URI buildNextLink(final ODataRequest request, final JPAODataPage page)
+      throws ODataJPAProcessorException {
+    if (page != null && page.getSkipToken() != null)
+      return buildNextLink(request, page.getSkipToken());
     return null;
   }
 
+  /**
+   * In case of a keyset page the skip token of the next page depends on the last entity read. It is requested from the
+   * paging provider, if the page has been filled completely.
+   */
+  private URI buildNextLink(final ODataRequest request, final JPAODataPage page,
+      final JPAConvertibleResult result) throws ODataJPAProcessorException {
+
+    if (page instanceof JPAODataKeysetPage && result instanceof JPAExpandResult) {
+      final JPAExpandResult expandResult = (JPAExpandResult) result;
+      final List<Tuple> rows = expandResult.getResult(ROOT_RESULT_KEY);
+      final Optional<JPAODataPagingProvider> provider = requestContext.getPagingProvider();
+      if (rows == null || rows.isEmpty() || rows.size() < page.getTop() || !provider.isPresent())
+        return null;
+      final Object skipToken = provider.get().getNextSkipToken((JPAODataKeysetPage) page,
+          createKey(expandResult.getEntityType(), rows.get(rows.size() - 1)));
+      return skipToken != null ? buildNextLink(request, skipToken) : null;
+    }
+    return buildNextLink(request, page);
+  }
+
+  private URI buildNextLink(final ODataRequest request, final Object skipToken) throws ODataJPAProcessorException {
+    try {
+      final String queryOptions = buildNextLinkQueryOptions(request);
+      if (skipToken instanceof String)
+        return new URI(Util.determineBindingTarget(uriInfo.getUriResourceParts()).getName() + "?" + queryOptions
+            + SystemQueryOptionKind.SKIPTOKEN.toString() + "='" + skipToken + "'");
+      else
+        return new URI(Util.determineBindingTarget(uriInfo.getUriResourceParts()).getName() + "?" + queryOptions
+            + SystemQueryOptionKind.SKIPTOKEN.toString() + "=" + skipToken.toString());
+    } catch (final URISyntaxException e) {
+      throw new ODataJPAProcessorException(ODATA_MAXPAGESIZE_NOT_A_NUMBER, HttpStatusCode.INTERNAL_SERVER_ERROR, e);
+    }
+  }
+
+  /**
+   * Returns the query options of the request, without a skip token, if requested by the paging provider. The options
+   * are taken over as they are, only blanks are encoded.
+   */
+  private String buildNextLinkQueryOptions(final ODataRequest request) {
+    final Optional<JPAODataPagingProvider> provider = requestContext.getPagingProvider();
+    final String rawQuery = request.getRawQueryPath();
+    if (!provider.isPresent() || !provider.get().keepQueryOptionsInNextLink() || rawQuery == null)
+      return "";
+    final StringBuilder queryOptions = new StringBuilder();
+    for (final String option : rawQuery.split("&")) {
+      final String optionName = option.split("=")[0];
+      if (!option.isEmpty()
+          && !SystemQueryOptionKind.SKIPTOKEN.toString().equalsIgnoreCase(optionName)
+          && !SKIPTOKEN_ENCODED.equalsIgnoreCase(optionName))
+        queryOptions.append(option.replace(" ", "%20")).append("&");
+    }
+    return queryOptions.toString();
+  }
+
+  private Map<String, Object> createKey(final JPAEntityType et, final Tuple row) throws ODataJPAProcessorException {
+    try {
+      final Map<String, Object> key = new HashMap<>();
+      for (final JPAAttribute keyElement : et.getKey())
+        key.put(keyElement.getExternalName(), row.get(keyElement.getExternalName()));
+      return key;
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
   private boolean complexHasNoContent(final List<Entity> entities) {
     final String name;
     if (entities.isEmpty())
@@ -240,7 +489,12 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
    * <li>This hard to create a big join for <code>$level=*</code></li>
    * <li>Server driven paging seems to be more complicated</li>
    * </ul>
-   * and the goal is to implement a general solution, multiple round trips have been taken.
+   * and the goal is to implement a general solution, multiple round trips have been taken.<br>
+   * In case the processor criteria builder is used, the expand queries do not depend on the result of the parent query.
+   * If requested by {@link JPAODataRequestContextAccess#useSingleStatementExpand()}, all of them are executed with one
+   * round trip. Only collection attributes are still read one by one.<br>
+   * If an executor is provided ({@link JPAODataRequestContextAccess#getExpandExecutor()}), the queries of sibling
+   * expands and of collection attributes are executed in parallel, each with an own entity manager.
    * <p>For a general overview see:
    * <a href=
    * "http://docs.oasis-open.org/odata/odata/v4.0/errata02/os/complete/part1-protocol/odata-v4.0-errata02-os-part1-protocol-complete.html#_Toc406398298"
@@ -274,28 +528,153 @@ public final class JPANavigationRequestProcessor extends JPAAbstractGetRequestPr
     // sub-query used within EXISTS.
     // Solution: Forward the highest and lowest key from the root and create a "between" those.
 
+    if (isSingleStatementExpand()) {
+      final List<CriteriaQuery<Tuple>> queries = new ArrayList<>();
+      final List<JPAPreparedExpand> preparedExpands = prepareExpandQueries(factory, parentHops, uriResourceInfo,
+          keyBoundary, queries);
+      final List<List<Tuple>> results = queries.isEmpty() ? emptyList()
+          : ((ProcessorEntityManager) em).getResultLists(queries);
+      allExpResults.putAll(buildExpandResults(headers, preparedExpands, results, keyBoundary));
+    } else {
+      final List<JPAExpandItemInfo> itemInfoList = new JPAExpandItemInfoFactory()
+          .buildExpandItemInfo(sd, uriResourceInfo, parentHops);
+      final List<JPAExpandQueryResult> expandResults = executeExpandQueries(factory, itemInfoList, headers,
+          keyBoundary);
+      for (int i = 0; i < itemInfoList.size(); i++) {
+        final JPAExpandItemInfo item = itemInfoList.get(i);
+        final JPAExpandQueryResult expandResult = expandResults.get(i);
+        if (expandResult.getNoResults() > 0)
+          // Only go to the next hop if the current one has a result
+          expandResult.putChildren(readExpandEntities(headers, item.getHops(), item.getUriInfo(), keyBoundary));
+        allExpResults.put(item.getExpandAssociation(), expandResult);
+      }
+    }
+    allExpResults.putAll(readCollectionAttributes(headers, parentHops, uriResourceInfo, keyBoundary));
+    debugger.stopRuntimeMeasurement(handle);
+    return allExpResults;
+  }
+
+  private Map<JPAAssociationPath, JPAExpandResult> readCollectionAttributes(final Map<String, List<String>> headers,
+      final List<JPANavigationPropertyInfo> parentHops, final UriInfoResource uriResourceInfo,
+      final Optional<JPAKeyBoundary> keyBoundary) throws ODataException {
+
+    final Map<JPAAssociationPath, JPAExpandResult> allCollectionResults = new HashMap<>();
+    final List<JPACollectionItemInfo> collectionInfoList = new JPAExpandItemInfoFactory()
+        .buildCollectionItemInfo(sd, uriResourceInfo, parentHops, requestContext.getGroupsProvider());
+    if (JPAParallelQueryExecutor.isSupported(requestContext, collectionInfoList.size())) {
+      try (JPAParallelQueryExecutor<JPAExpandResult> executor = createParallelExecutor(headers)) {
+        for (final JPACollectionItemInfo item : collectionInfoList) {
+          final JPACollectionJoinQuery collectionQuery = new JPACollectionJoinQuery(odata, item,
+              executor.createContext(item.getUriInfo()), keyBoundary);
+          executor.add(collectionQuery::execute);
+        }
+        final List<JPAExpandResult> collectionResults = executor.execute();
+        for (int i = 0; i < collectionInfoList.size(); i++)
+          allCollectionResults.put(collectionInfoList.get(i).getExpandAssociation(), collectionResults.get(i));
+      }
+    } else {
+      for (final JPACollectionItemInfo item : collectionInfoList) {
+        final JPACollectionJoinQuery collectionQuery = new JPACollectionJoinQuery(odata, item,
+            new JPAODataInternalRequestContext(item.getUriInfo(), requestContext, headers), keyBoundary);
+        final JPAExpandResult expandResult = collectionQuery.execute();
+        allCollectionResults.put(item.getExpandAssociation(), expandResult);
+      }
+    }
+    return allCollectionResults;
+  }
+
+  /**
+   * Executes the queries of sibling expands. In case an executor is available, they are executed in parallel.
+   */
+  private List<JPAExpandQueryResult> executeExpandQueries(final JPAExpandQueryFactory factory,
+      final List<JPAExpandItemInfo> itemInfoList, final Map<String, List<String>> headers,
+      final Optional<JPAKeyBoundary> keyBoundary) throws ODataException {
+
+    if (JPAParallelQueryExecutor.isSupported(requestContext, itemInfoList.size())) {
+      try (JPAParallelQueryExecutor<JPAExpandQueryResult> executor = createParallelExecutor(headers)) {
+        for (final JPAExpandItemInfo item : itemInfoList) {
+          final JPAODataRequestContextAccess context = executor.createContext(requestContext.getUriInfo());
+          final JPAAbstractExpandQuery expandQuery = new JPAExpandQueryFactory(odata, context,
+              context.getEntityManager().getCriteriaBuilder()).createQuery(item, keyBoundary);
+          executor.add(expandQuery::execute);
+        }
+        return executor.execute();
+      }
+    }
+    final List<JPAExpandQueryResult> expandResults = new ArrayList<>(itemInfoList.size());
+    for (final JPAExpandItemInfo item : itemInfoList) {
+      final JPAAbstractExpandQuery expandQuery = factory.createQuery(item, keyBoundary);
+      expandResults.add(expandQuery.execute());
+    }
+    return expandResults;
+  }
+
+  private <T> JPAParallelQueryExecutor<T> createParallelExecutor(final Map<String, List<String>> headers) {
+    return new JPAParallelQueryExecutor<>(requestContext, headers, requestContext.getExpandExecutor().get(),
+        requestContext.getEntityManagerFactory().get());
+  }
+
+  private boolean isSingleStatementExpand() {
+    return requestContext.useSingleStatementExpand()
+        && cb instanceof ProcessorCriteriaBuilder
+        && em instanceof ProcessorEntityManager;
+  }
+
+  /**
+   * Creates the expand queries of all levels, without executing them. The queries are collected in the order they are
+   * created, so the position of a query within <code>queries</code> is also the position of its result.
+   */
+  private List<JPAPreparedExpand> prepareExpandQueries(final JPAExpandQueryFactory factory,
+      final List<JPANavigationPropertyInfo> parentHops, final UriInfoResource uriResourceInfo,
+      final Optional<JPAKeyBoundary> keyBoundary, final List<CriteriaQuery<Tuple>> queries) throws ODataException {
+
     final List<JPAExpandItemInfo> itemInfoList = new JPAExpandItemInfoFactory()
         .buildExpandItemInfo(sd, uriResourceInfo, parentHops);
+    final List<JPAPreparedExpand> preparedExpands = new ArrayList<>(itemInfoList.size());
     for (final JPAExpandItemInfo item : itemInfoList) {
-      final JPAAbstractExpandQuery expandQuery = factory.createQuery(item, keyBoundary);
-      final JPAExpandQueryResult expandResult = expandQuery.execute();
-      if (expandResult.getNoResults() > 0)
-        // Only go to the next hop if the current one has a result
-        expandResult.putChildren(readExpandEntities(headers, item.getHops(), item.getUriInfo(), keyBoundary));
-      allExpResults.put(item.getExpandAssociation(), expandResult);
+      final JPAExpandSubQuery expandQuery = (JPAExpandSubQuery) factory.createQuery(item, keyBoundary);
+      final Optional<ProcessorCriteriaQuery<Tuple>> query = expandQuery.prepare();
+      final int index = query.isPresent() ? queries.size() : -1;
+      query.ifPresent(queries::add);
+      preparedExpands.add(new JPAPreparedExpand(item, expandQuery, index,
+          prepareExpandQueries(factory, item.getHops(), item.getUriInfo(), keyBoundary, queries)));
     }
+    return preparedExpands;
+  }
 
-    // process collection attributes
-    final List<JPACollectionItemInfo> collectionInfoList = new JPAExpandItemInfoFactory()
-        .buildCollectionItemInfo(sd, uriResourceInfo, parentHops, requestContext.getGroupsProvider());
-    for (final JPACollectionItemInfo item : collectionInfoList) {
-      final JPACollectionJoinQuery collectionQuery = new JPACollectionJoinQuery(odata, item,
-          new JPAODataInternalRequestContext(item.getUriInfo(), requestContext, headers), keyBoundary);
-      final JPAExpandResult expandResult = collectionQuery.execute();
-      allExpResults.put(item.getExpandAssociation(), expandResult);
+  private Map<JPAAssociationPath, JPAExpandResult> buildExpandResults(final Map<String, List<String>> headers,
+      final List<JPAPreparedExpand> preparedExpands, final List<List<Tuple>> results,
+      final Optional<JPAKeyBoundary> keyBoundary) throws ODataException {
+
+    final Map<JPAAssociationPath, JPAExpandResult> allExpResults = new HashMap<>();
+    for (final JPAPreparedExpand prepared : preparedExpands) {
+      final JPAExpandQueryResult expandResult = prepared.query.execute(prepared.index >= 0
+          ? results.get(prepared.index) : emptyList());
+      if (expandResult.getNoResults() > 0) {
+        final Map<JPAAssociationPath, JPAExpandResult> children = buildExpandResults(headers, prepared.children,
+            results, keyBoundary);
+        children.putAll(readCollectionAttributes(headers, prepared.item.getHops(), prepared.item.getUriInfo(),
+            keyBoundary));
+        expandResult.putChildren(children);
+      }
+      allExpResults.put(prepared.item.getExpandAssociation(), expandResult);
     }
-    debugger.stopRuntimeMeasurement(handle);
     return allExpResults;
   }
 
+  private static class JPAPreparedExpand {
+    private final JPAExpandItemInfo item;
+    private final JPAExpandSubQuery query;
+    private final int index;
+    private final List<JPAPreparedExpand> children;
+
+    private JPAPreparedExpand(final JPAExpandItemInfo item, final JPAExpandSubQuery query, final int index,
+        final List<JPAPreparedExpand> children) {
+      this.item = item;
+      this.query = query;
+      this.index = index;
+      this.children = children;
+    }
+  }
+
 }
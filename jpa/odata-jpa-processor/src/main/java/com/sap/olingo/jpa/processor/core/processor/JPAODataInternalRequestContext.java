@@ -10,10 +10,12 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.apache.olingo.server.api.uri.UriInfo;
@@ -32,7 +34,9 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataClaimProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataDatabaseProcessor;
 import com.sap.olingo.jpa.processor.core.api.JPAODataDefaultTransactionFactory;
 import com.sap.olingo.jpa.processor.core.api.JPAODataGroupProvider;
+import com.sap.olingo.jpa.processor.core.api.JPAODataMediaStorage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContext;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.api.JPAODataServiceContext;
@@ -42,6 +46,7 @@ import com.sap.olingo.jpa.processor.core.api.JPAServiceDebugger;
 import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseOperations;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAIllegalAccessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+import com.sap.olingo.jpa.processor.core.filter.JPAFilterCompilationCache;
 import com.sap.olingo.jpa.processor.core.query.ExpressionUtil;
 import com.sap.olingo.jpa.processor.core.serializer.JPASerializer;
 
@@ -65,6 +70,15 @@ public final class JPAODataInternalRequestContext implements JPAODataRequestCont
   private JPAODataDatabaseProcessor dbProcessor;
   private Optional<JPAEdmProvider> edmProvider;
   private JPAODataDatabaseOperations operationConverter;
+  private boolean useSingleStatementExpand;
+  private Optional<Executor> expandExecutor;
+  private Optional<? extends EntityManagerFactory> emf;
+  private boolean useStreamedEntityCollection;
+  private boolean useWindowFunctionCount;
+  private int changeSetBatchSize;
+  private Optional<JPAODataMediaStorage> mediaStorage = Optional.empty();
+  private Optional<JPAODataPagingProvider> pagingProvider;
+  private Optional<JPAFilterCompilationCache> filterCompilationCache;
 
   public JPAODataInternalRequestContext(@Nonnull final JPAODataRequestContext requestContext,
       @Nonnull final JPAODataSessionContextAccess sessionContext) {
@@ -113,8 +127,28 @@ public final class JPAODataInternalRequestContext implements JPAODataRequestCont
   JPAODataInternalRequestContext(final UriInfoResource uriInfo, @Nullable final JPASerializer serializer,
       final JPAODataRequestContextAccess context, final Map<String, List<String>> header)
       throws ODataJPAProcessorException {
+    this(uriInfo, serializer, context, header, context.getEntityManager());
+  }
+
+  /**
+   * Copy constructor switching the entity manager. Used for queries that are executed in parallel to the request.
+   * @param uriInfo Part of the request the query is executed for
+   * @param context Context of the request, which provides all other settings
+   * @param header Header of the request
+   * @param em Entity manager used exclusively by the query
+   * @throws ODataJPAProcessorException
+   */
+  JPAODataInternalRequestContext(final UriInfoResource uriInfo, final JPAODataRequestContextAccess context,
+      final Map<String, List<String>> header, @Nonnull final EntityManager em) throws ODataJPAProcessorException {
+    this(uriInfo, null, context, header, em);
+  }
+
+  private JPAODataInternalRequestContext(final UriInfoResource uriInfo, @Nullable final JPASerializer serializer,
+      final JPAODataRequestContextAccess context, final Map<String, List<String>> header, final EntityManager em)
+      throws ODataJPAProcessorException {
 
     copyContextValues(context);
+    this.em = em;
     this.serializer = serializer;
     this.cudRequestHandler = this.cudRequestHandler == null ? new JPADefaultCUDRequestHandler()
         : this.cudRequestHandler;
@@ -253,6 +287,51 @@ public final class JPAODataInternalRequestContext implements JPAODataRequestCont
     return operationConverter;
   }
 
+  @Override
+  public boolean useSingleStatementExpand() {
+    return useSingleStatementExpand;
+  }
+
+  @Override
+  public Optional<Executor> getExpandExecutor() {
+    return expandExecutor;
+  }
+
+  @Override
+  public boolean useStreamedEntityCollection() {
+    return useStreamedEntityCollection;
+  }
+
+  @Override
+  public boolean useWindowFunctionCount() {
+    return useWindowFunctionCount;
+  }
+
+  @Override
+  public int getChangeSetBatchSize() {
+    return changeSetBatchSize;
+  }
+
+  @Override
+  public Optional<JPAODataMediaStorage> getMediaStorage() {
+    return mediaStorage;
+  }
+
+  @Override
+  public Optional<JPAODataPagingProvider> getPagingProvider() {
+    return pagingProvider;
+  }
+
+  @Override
+  public Optional<? extends EntityManagerFactory> getEntityManagerFactory() {
+    return emf;
+  }
+
+  @Override
+  public Optional<JPAFilterCompilationCache> getFilterCompilationCache() {
+    return filterCompilationCache;
+  }
+
   private void copyContextValues(final JPAODataRequestContextAccess context)
       throws ODataJPAProcessorException {
     this.em = context.getEntityManager();
@@ -266,6 +345,15 @@ public final class JPAODataInternalRequestContext implements JPAODataRequestCont
     this.dbProcessor = context.getDatabaseProcessor();
     this.edmProvider = Optional.ofNullable(context.getEdmProvider());
     this.operationConverter = context.getOperationConverter();
+    this.useSingleStatementExpand = context.useSingleStatementExpand();
+    this.expandExecutor = context.getExpandExecutor();
+    this.emf = context.getEntityManagerFactory();
+    this.useStreamedEntityCollection = context.useStreamedEntityCollection();
+    this.useWindowFunctionCount = context.useWindowFunctionCount();
+    this.changeSetBatchSize = context.getChangeSetBatchSize();
+    this.mediaStorage = context.getMediaStorage();
+    this.pagingProvider = context.getPagingProvider();
+    this.filterCompilationCache = context.getFilterCompilationCache();
   }
 
   private void copyRequestContext(@Nonnull final JPAODataRequestContext requestContext,
@@ -283,6 +371,15 @@ public final class JPAODataInternalRequestContext implements JPAODataRequestCont
         : new JPARequestParameterHashMap();
     dbProcessor = sessionContext.getDatabaseProcessor();
     operationConverter = sessionContext.getOperationConverter();
+    useSingleStatementExpand = sessionContext.useSingleStatementExpand();
+    expandExecutor = sessionContext.getExpandExecutor();
+    emf = sessionContext.getEntityManagerFactory();
+    useStreamedEntityCollection = sessionContext.useStreamedEntityCollection();
+    useWindowFunctionCount = sessionContext.useWindowFunctionCount();
+    changeSetBatchSize = sessionContext.getChangeSetBatchSize();
+    mediaStorage = sessionContext.getMediaStorage();
+    pagingProvider = Optional.ofNullable(sessionContext.getPagingProvider());
+    filterCompilationCache = sessionContext.getFilterCompilationCache();
     edmProvider = determineEdmProvider(sessionContext, em);
   }
 
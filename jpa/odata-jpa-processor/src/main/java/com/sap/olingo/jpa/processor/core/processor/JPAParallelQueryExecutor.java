@@ -0,0 +1,144 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
+
+/**
+ * Executes independent queries, like the ones of sibling expands, in parallel. Each query gets an own request context
+ * with an own entity manager. Queries have to be created on the calling thread using a context provided by
+ * {@link #createContext(UriInfoResource)}, only the execution is done by the executor. The entity managers are closed
+ * by {@link #close()}.
+ * @param <T> type of the query result
+ */
+final class JPAParallelQueryExecutor<T> implements AutoCloseable {
+
+  private final JPAODataRequestContextAccess requestContext;
+  private final Map<String, List<String>> headers;
+  private final Executor executor;
+  private final EntityManagerFactory emf;
+  private final List<EntityManager> entityManagers;
+  private final List<JPAQueryExecution<T>> executions;
+
+  JPAParallelQueryExecutor(@Nonnull final JPAODataRequestContextAccess requestContext,
+      @Nonnull final Map<String, List<String>> headers, @Nonnull final Executor executor,
+      @Nonnull final EntityManagerFactory emf) {
+    this.requestContext = requestContext;
+    this.headers = headers;
+    this.executor = executor;
+    this.emf = emf;
+    this.entityManagers = new ArrayList<>();
+    this.executions = new ArrayList<>();
+  }
+
+  /**
+   * Checks if parallel execution is possible for the given request context
+   * @param requestContext Context providing executor and entity manager factory
+   * @param noQueries number of queries that shall be executed
+   * @return true if the queries shall be executed in parallel
+   */
+  static boolean isSupported(@Nonnull final JPAODataRequestContextAccess requestContext, final int noQueries) {
+    return noQueries > 1
+        && requestContext.getExpandExecutor().isPresent()
+        && requestContext.getEntityManagerFactory().isPresent();
+  }
+
+  JPAODataRequestContextAccess createContext(final UriInfoResource uriInfo) throws ODataException {
+    final EntityManager em = createEntityManager();
+    entityManagers.add(em);
+    return new JPAODataInternalRequestContext(uriInfo, requestContext, headers, em);
+  }
+
+  void add(@Nonnull final JPAQueryExecution<T> execution) {
+    executions.add(execution);
+  }
+
+  /**
+   * Executes all added queries and waits until all of them are finished.
+   * @return the results in the order the queries have been added
+   * @throws ODataException the first exception thrown by one of the queries. Other exceptions, like a
+   * PersistenceException, are wrapped into an {@link ODataJPAQueryException}, as done for queries executed sequentially
+   */
+  List<T> execute() throws ODataException {
+    final List<CompletableFuture<T>> futures = executions.stream()
+        .map(this::start)
+        .collect(Collectors.toList());
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+      return futures.stream()
+          .map(CompletableFuture::join)
+          .collect(Collectors.toList());
+    } catch (final CompletionException e) {
+      // The query exception is wrapped into a CompletionException. The original exception has to be re-thrown, so the
+      // caller can handle it.
+      if (e.getCause() instanceof ODataException)
+        throw (ODataException) e.getCause();
+      throw new ODataJPAQueryException(e.getCause() != null ? e.getCause() : e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+  @Override
+  public void close() {
+    for (final EntityManager em : entityManagers) {
+      if (em.isOpen())
+        em.close();
+    }
+    entityManagers.clear();
+  }
+
+  /**
+   * The entity managers of the queries have to use the same database schemas as the entity manager of the request,
+   * which may e.g. be the schemas of a tenant.
+   */
+  private EntityManager createEntityManager() {
+    final Map<String, Object> properties = entityManagerProperties(requestContext.getEntityManager());
+    if (!properties.isEmpty())
+      return emf.createEntityManager(properties);
+    return emf.createEntityManager();
+  }
+
+  /**
+   * @param em Entity manager of the request
+   * @return The properties an entity manager used in parallel to the request needs to access the same database
+   * schemas as the entity manager of the request
+   */
+  static Map<String, Object> entityManagerProperties(@Nonnull final EntityManager em) {
+    final Object schemaMapping = em.getProperties().get(ProcessorEntityManager.SCHEMA_MAPPING);
+    if (schemaMapping != null)
+      return Collections.singletonMap(ProcessorEntityManager.SCHEMA_MAPPING, schemaMapping);
+    return Collections.emptyMap();
+  }
+
+  private CompletableFuture<T> start(final JPAQueryExecution<T> execution) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return execution.execute();
+      } catch (final ODataApplicationException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+  @FunctionalInterface
+  interface JPAQueryExecution<T> {
+    T execute() throws ODataApplicationException;
+  }
+}
@@ -81,7 +81,9 @@ public final class JPAProcessorFactory {
 
     final List<UriResource> resourceParts = uriInfo.getUriResourceParts();
     final UriResource lastItem = resourceParts.get(resourceParts.size() - 1);
-    final JPAODataPage page = getPage(header, uriInfo, context);
+    final JPAReusableCountQuery countQuery = new JPAReusableCountQuery(() -> new JPAJoinQuery(odata,
+        new JPAODataInternalRequestContext(uriInfo, context, header)));
+    final JPAODataPage page = getPage(header, uriInfo, context, countQuery);
     JPAODataRequestContextAccess requestContext;
     try {
       requestContext = new JPAODataInternalRequestContext(page, serializerFactory
@@ -104,7 +106,10 @@ public final class JPAProcessorFactory {
       case singleton:
       case value:
         checkNavigationPathSupported(resourceParts);
-        return new JPANavigationRequestProcessor(odata, serviceMetadata, requestContext);
+        // A page of a next link has its own URI info, so the count of the request can not be reused
+        return page.getUriInfo() == uriInfo
+            ? new JPANavigationRequestProcessor(odata, serviceMetadata, requestContext, countQuery)
+            : new JPANavigationRequestProcessor(odata, serviceMetadata, requestContext);
       default:
         throw new ODataJPAProcessorException(ODataJPAProcessorException.MessageKeys.NOT_SUPPORTED_RESOURCE_TYPE,
             HttpStatusCode.NOT_IMPLEMENTED, lastItem.getKind().toString());
@@ -131,19 +136,17 @@ public final class JPAProcessorFactory {
   }
 
   private JPAODataPage getPage(final Map<String, List<String>> headers, final UriInfo uriInfo,
-      final JPAODataRequestContextAccess requestContext) throws ODataException {
+      final JPAODataRequestContextAccess requestContext, final JPACountQuery countQuery) throws ODataException {
 
     JPAODataPage page = new JPAODataPage(uriInfo, 0, Integer.MAX_VALUE, null);
     // Server-Driven-Paging
     if (serverDrivenPaging(uriInfo)) {
       final String skipToken = skipToken(uriInfo);
       if (skipToken != null && !skipToken.isEmpty()) {
-        page = sessionContext.getPagingProvider().getNextPage(skipToken);
+        page = sessionContext.getPagingProvider().getNextPage(skipToken, uriInfo);
         if (page == null)
           throw new ODataJPAProcessorException(QUERY_SERVER_DRIVEN_PAGING_GONE, HttpStatusCode.GONE, skipToken);
       } else {
-        final JPACountQuery countQuery = new JPAJoinQuery(odata, new JPAODataInternalRequestContext(uriInfo,
-            requestContext, headers));
         final Integer preferredPagesize = getPreferredPagesize(headers);
         final JPAODataPage firstPage = sessionContext.getPagingProvider().getFirstPage(uriInfo, preferredPagesize,
             countQuery, requestContext.getEntityManager());
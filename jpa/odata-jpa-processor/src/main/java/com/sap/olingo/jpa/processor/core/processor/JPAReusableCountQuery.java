@@ -0,0 +1,52 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import java.util.Optional;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+
+/**
+ * Count query of a request that is executed at most once. The query is only created when the count is requested the
+ * first time. So a count determined by the paging provider is reused for $count=true of the same request.
+ *
+ * @since 1.0.9
+ */
+final class JPAReusableCountQuery implements JPACountQuery {
+  private final CountQueryCreator creator;
+  private Long count;
+
+  JPAReusableCountQuery(final CountQueryCreator creator) {
+    super();
+    this.creator = creator;
+  }
+
+  @Override
+  public Long countResults() throws ODataApplicationException {
+    if (count == null) {
+      try {
+        count = creator.create().countResults();
+      } catch (final ODataApplicationException e) {
+        throw e;
+      } catch (final ODataException e) {
+        throw new ODataJPAProcessorException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return The count, if it has already been determined
+   */
+  Optional<Long> getCount() {
+    return Optional.ofNullable(count);
+  }
+
+  @FunctionalInterface
+  interface CountQueryCreator {
+    JPACountQuery create() throws ODataException;
+  }
+}
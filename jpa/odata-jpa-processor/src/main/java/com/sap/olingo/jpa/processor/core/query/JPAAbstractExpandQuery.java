@@ -1,7 +1,6 @@
 package com.sap.olingo.jpa.processor.core.query;
 
 import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.joining;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -32,6 +31,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAException;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 public abstract class JPAAbstractExpandQuery extends JPAAbstractJoinQuery {
@@ -78,47 +78,23 @@ public abstract class JPAAbstractExpandQuery extends JPAAbstractJoinQuery {
     }
   }
 
-  protected String buildConcatenatedKey(final Tuple row, final JPAAssociationPath association)
+  protected JPAResultKey buildResultKey(final Tuple row, final JPAAssociationPath association)
       throws ODataJPAModelException {
 
     if (!association.hasJoinTable()) {
-      /*final List<JPAPath> joinColumns = association.getRightColumnsList();
-      return joinColumns.stream()
-          .map(c -> (row.get(c
-              .getAlias()))
-                  .toString())
-          .collect(joining(JPAPath.PATH_SEPARATOR));*/
-    	if(association.getRightColumnsList().isEmpty()){
-            final List<JPAOnConditionItem> joinColumns = association.getJoinColumnsList();
-            return joinColumns.stream()
-                    .map(c -> (row.get(c.getRightPath()
-                            .getAlias()))
-                            .toString())
-                    .collect(joining(JPAPath.PATH_SEPARATOR));
-          } else {
-            final List<JPAPath> joinColumns = association.getRightColumnsList();
-            return joinColumns.stream()
-                .map(c -> (row.get(c
-                    .getAlias()))
-                        .toString())
-                .collect(joining(JPAPath.PATH_SEPARATOR));
-          }
+      if (association.getRightColumnsList().isEmpty()) {
+        return JPAResultKey.of(row, association.getJoinColumnsList(), c -> c.getRightPath().getAlias());
+      } else {
+        return JPAResultKey.of(row, association.getRightColumnsList(), JPAPath::getAlias);
+      }
     } else {
-      /*final List<JPAPath> joinColumns = association.getLeftColumnsList();
-      return joinColumns.stream()
-          .map(c -> (row.get(association.getAlias() + ALIAS_SEPARATOR + c.getAlias())).toString())
-          .collect(joining(JPAPath.PATH_SEPARATOR));*/
-    	if(association.getLeftColumnsList().isEmpty()){
-            final List<JPAOnConditionItem> joinColumns = association.getJoinColumnsList();
-            return joinColumns.stream()
-                    .map(c -> (row.get(association.getAlias() + ALIAS_SEPARATOR + c.getLeftPath().getAlias())).toString())
-                    .collect(joining(JPAPath.PATH_SEPARATOR));
-          } else {
-            final List<JPAPath> joinColumns = association.getLeftColumnsList();
-            return joinColumns.stream()
-                .map(c -> (row.get(association.getAlias() + ALIAS_SEPARATOR + c.getAlias())).toString())
-                .collect(joining(JPAPath.PATH_SEPARATOR));
-          }
+      if (association.getLeftColumnsList().isEmpty()) {
+        return JPAResultKey.of(row, association.getJoinColumnsList(),
+            c -> association.getAlias() + ALIAS_SEPARATOR + c.getLeftPath().getAlias());
+      } else {
+        return JPAResultKey.of(row, association.getLeftColumnsList(),
+            c -> association.getAlias() + ALIAS_SEPARATOR + c.getAlias());
+      }
     }
   }
 
@@ -168,7 +144,7 @@ public abstract class JPAAbstractExpandQuery extends JPAAbstractJoinQuery {
     return groupBy;
   }
 
-  abstract Map<String, Long> count() throws ODataApplicationException;
+  abstract Map<JPAResultKey, Long> count() throws ODataApplicationException;
 
   protected boolean countRequested(final JPANavigationPropertyInfo lastInfo) {
     if (lastInfo.getUriInfo() == null)
@@ -195,11 +171,12 @@ public abstract class JPAAbstractExpandQuery extends JPAAbstractJoinQuery {
     return selections;
   }
 
-  protected Map<String, Long> convertCountResult(final List<Tuple> intermediateResult) throws ODataJPAQueryException {
-    final Map<String, Long> result = new HashMap<>();
+  protected Map<JPAResultKey, Long> convertCountResult(final List<Tuple> intermediateResult)
+      throws ODataJPAQueryException {
+    final Map<JPAResultKey, Long> result = new HashMap<>();
     for (final Tuple row : intermediateResult) {
       try {
-        final String actualKey = buildConcatenatedKey(row, association);
+        final JPAResultKey actualKey = buildResultKey(row, association);
         final Number count = (Number) row.get(COUNT_COLUMN_NAME);
         result.put(actualKey, count.longValue());
       } catch (final ODataJPAModelException e) {
@@ -56,6 +56,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAStructuredType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAException;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.api.JPAODataClaimProvider;
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
@@ -243,6 +244,41 @@ public abstract class JPAAbstractJoinQuery extends JPAAbstractQuery implements J
     return null;
   }
 
+  /**
+   * Restricts the result to the entities following the last entity of the previous page. The entities are ordered by
+   * their key, so for a key with the attributes k1, k2 and k3 the condition is:<br>
+   * <code>k1 > v1 OR (k1 = v1 AND k2 > v2) OR (k1 = v1 AND k2 = v2 AND k3 > v3)</code>
+   * @param keysetPage page to be read
+   * @return null in case of the first page
+   * @throws ODataJPAQueryException
+   */
+  @SuppressWarnings("unchecked")
+  protected <Y extends Comparable<? super Y>> javax.persistence.criteria.Expression<Boolean> createKeysetWhere(
+      final JPAODataKeysetPage keysetPage) throws ODataJPAQueryException {
+
+    final Map<String, Object> lastKey = keysetPage.getLastKey();
+    if (lastKey.isEmpty())
+      return null;
+    try {
+      javax.persistence.criteria.Expression<Boolean> keysetCondition = null;
+      javax.persistence.criteria.Expression<Boolean> equalCondition = null;
+      for (final JPAAttribute keyElement : jpaEntity.getKey()) {
+        final Path<Y> keyPath = (Path<Y>) ExpressionUtil.convertToCriteriaPath(target, jpaEntity.getPath(keyElement
+            .getExternalName()).getPath());
+        final Y value = (Y) lastKey.get(keyElement.getExternalName());
+        final javax.persistence.criteria.Expression<Boolean> greaterCondition = cb.greaterThan(keyPath, value);
+        if (keysetCondition == null)
+          keysetCondition = greaterCondition;
+        else
+          keysetCondition = cb.or(keysetCondition, cb.and(equalCondition, greaterCondition));
+        equalCondition = addWhereClause(equalCondition, cb.equal(keyPath, value));
+      }
+      return keysetCondition;
+    } catch (final ODataJPAModelException e) {
+      throw new ODataJPAQueryException(e, INTERNAL_SERVER_ERROR);
+    }
+  }
+
   /**
    *
    * @param orderByTarget
@@ -539,6 +539,9 @@ public abstract class JPAAbstractQuery {
     final Expression<? extends Number> rowNumberPath = target.get(ROW_NUMBER_COLUMN_NAME);
     final Optional<TopOption> top = Optional.ofNullable(hop.getUriInfo().getTopOption());
     final Optional<SkipOption> skip = Optional.ofNullable(hop.getUriInfo().getSkipOption());
+    if (cb instanceof ProcessorCriteriaBuilder)
+      return ((ProcessorCriteriaBuilder) cb).limitPerPartition(rowNumberPath, skip.map(SkipOption::getValue)
+          .orElse(null), top.map(TopOption::getValue).orElse(null));
     final Integer firstRow = skip.map(SkipOption::getValue).orElse(0);
     final Predicate offset = cb.gt(rowNumberPath, firstRow);
     final Predicate limit = top
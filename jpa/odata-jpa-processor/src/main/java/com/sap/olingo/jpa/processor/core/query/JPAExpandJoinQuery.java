@@ -31,6 +31,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 /**
@@ -90,7 +91,7 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
       final List<Tuple> intermediateResult = tupleQuery.getQuery().getResultList();
       debugger.stopRuntimeMeasurement(resultHandle);
       // Simplest solution for the top/skip problem. Read all and throw away, what is not requested
-      final Map<String, List<Tuple>> result = convertResult(intermediateResult, association, determineSkip(),
+      final Map<JPAResultKey, List<Tuple>> result = convertResult(intermediateResult, association, determineSkip(),
           determineTop());
       return new JPAExpandQueryResult(result, count(), jpaEntity, tupleQuery.getSelection().joinedRequested());
     } catch (final JPANoSelectionException e) {
@@ -174,18 +175,18 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
    * @return
    * @throws ODataApplicationException
    */
-  Map<String, List<Tuple>> convertResult(final List<Tuple> intermediateResult, final JPAAssociationPath associationPath,
-      final long skip, final long top) throws ODataApplicationException {
-    String joinKey = "";
+  Map<JPAResultKey, List<Tuple>> convertResult(final List<Tuple> intermediateResult,
+      final JPAAssociationPath associationPath, final long skip, final long top) throws ODataApplicationException {
+    JPAResultKey joinKey = null;
     long skipped = 0;
     long taken = 0;
 
     List<Tuple> subResult = null;
-    final Map<String, List<Tuple>> convertedResult = new HashMap<>();
+    final Map<JPAResultKey, List<Tuple>> convertedResult = new HashMap<>();
     for (final Tuple row : intermediateResult) {
-      String actualKey;
+      JPAResultKey actualKey;
       try {
-        actualKey = buildConcatenatedKey(row, associationPath);
+        actualKey = buildResultKey(row, associationPath);
       } catch (final ODataJPAModelException e) {
         throw new ODataJPAQueryException(e, HttpStatusCode.BAD_REQUEST);
       }
@@ -207,7 +208,7 @@ public final class JPAExpandJoinQuery extends JPAAbstractExpandQuery {
   }
 
   @Override
-  final Map<String, Long> count() throws ODataApplicationException {
+  final Map<JPAResultKey, Long> count() throws ODataApplicationException {
     final int handle = debugger.startRuntimeMeasurement(this, "count");
     try {
       final JPAExpandJoinCountQuery countQuery = new JPAExpandJoinCountQuery(odata, requestContext, jpaEntity,
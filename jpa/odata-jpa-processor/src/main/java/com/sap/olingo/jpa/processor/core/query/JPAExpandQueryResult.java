@@ -27,6 +27,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelExcept
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.converter.JPAExpandResult;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
@@ -34,16 +35,17 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 /**
  * Builds a hierarchy of expand results. One instance contains on the one hand of the result itself, a map which has the
  * join columns values of the parent as its key and on the other hand a map that point the results of the next expand.
- * The join columns are concatenated in the order they are stored in the corresponding Association Path.
+ * The join column values are combined to a {@link JPAResultKey} in the order they are stored in the corresponding
+ * Association Path.
  * @author Oliver Grande
  *
  */
 public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertibleResult {
-  private static final Map<String, List<Tuple>> EMPTY_RESULT;
+  private static final Map<JPAResultKey, List<Tuple>> EMPTY_RESULT;
   private final Map<JPAAssociationPath, JPAExpandResult> childrenResult;
-  private final Map<String, List<Tuple>> jpaResult;
-  private Map<String, EntityCollection> odataResult;
-  private final Map<String, Long> counts;
+  private final Map<JPAResultKey, List<Tuple>> jpaResult;
+  private Map<JPAResultKey, EntityCollection> odataResult;
+  private final Map<JPAResultKey, Long> counts;
   private final JPAEntityType jpaEntityType;
   private final Collection<JPAPath> requestedSelection;
 
@@ -58,7 +60,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
    * @see JPATupleChildConverter
    * @return
    */
-  private static Map<String, List<Tuple>> putEmptyResult() {
+  private static Map<JPAResultKey, List<Tuple>> putEmptyResult() {
     EMPTY_RESULT.put(ROOT_RESULT_KEY, Collections.emptyList());
     return EMPTY_RESULT;
   }
@@ -67,7 +69,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
     this(putEmptyResult(), Collections.emptyMap(), jpaEntityType, selectionPath);
   }
 
-  public JPAExpandQueryResult(final Map<String, List<Tuple>> result, final Map<String, Long> counts,
+  public JPAExpandQueryResult(final Map<JPAResultKey, List<Tuple>> result, final Map<JPAResultKey, Long> counts,
       @Nonnull final JPAEntityType jpaEntityType, final Collection<JPAPath> selectionPath) {
 
     Objects.requireNonNull(jpaEntityType);
@@ -79,7 +81,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
   }
 
   @Override
-  public Map<String, EntityCollection> asEntityCollection(final JPATupleChildConverter converter)
+  public Map<JPAResultKey, EntityCollection> asEntityCollection(final JPATupleChildConverter converter)
       throws ODataApplicationException {
 
     convert(new JPATupleChildConverter(converter));
@@ -117,7 +119,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
    * @see org.apache.org.jpa.processor.core.converter.JPAExpandResult#getCount()
    */
   @Override
-  public Long getCount(final String key) {
+  public Long getCount(final JPAResultKey key) {
     return counts != null ? counts.get(key) : null;
   }
 
@@ -137,7 +139,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
 
   public long getNoResultsDeep() {
     long count = 0;
-    for (final Entry<String, List<Tuple>> result : jpaResult.entrySet()) {
+    for (final Entry<JPAResultKey, List<Tuple>> result : jpaResult.entrySet()) {
       count += result.getValue().size();
     }
     return count;
@@ -146,10 +148,10 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
   /*
    * (non-Javadoc)
    *
-   * @see org.apache.org.jpa.processor.core.converter.JPAExpandResult#getResult(java.lang.String)
+   * @see org.apache.org.jpa.processor.core.converter.JPAExpandResult#getResult(JPAResultKey)
    */
   @Override
-  public List<Tuple> getResult(final String key) {
+  public List<Tuple> getResult(final JPAResultKey key) {
     return jpaResult.get(key);
   }
 
@@ -176,7 +178,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
   }
 
   @Override
-  public Map<String, List<Tuple>> getResults() {
+  public Map<JPAResultKey, List<Tuple>> getResults() {
     return jpaResult;
   }
 
@@ -186,7 +188,7 @@ public final class JPAExpandQueryResult implements JPAExpandResult, JPAConvertib
    * @return
    */
   @Override
-  public EntityCollection getEntityCollection(final String key) {
+  public EntityCollection getEntityCollection(final JPAResultKey key) {
     return odataResult.containsKey(key) ? odataResult.get(key) : new EntityCollection();
   }
 
@@ -40,8 +40,10 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAOnConditionItem;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaQuery;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
 import com.sap.olingo.jpa.processor.cb.ProcessorSubquery;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 /**
@@ -52,6 +54,7 @@ import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
  * 25.11.2020
  */
 public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
+  private SelectionPathInfo<JPAPath> preparedSelection;
 
   public JPAExpandSubQuery(final OData odata, final JPAInlineItemInfo item,
       final JPAODataRequestContextAccess requestContext) throws ODataException {
@@ -65,8 +68,7 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
     try {
       final JPAQueryCreationResult tupleQuery = createTupleQuery();
       final List<Tuple> intermediateResult = tupleQuery.getQuery().getResultList();
-      final Map<String, List<Tuple>> result = convertResult(intermediateResult);
-      return new JPAExpandQueryResult(result, count(), jpaEntity, tupleQuery.getSelection().joinedRequested());
+      return createResult(intermediateResult, tupleQuery.getSelection());
     } catch (final JPANoSelectionException e) {
       return new JPAExpandQueryResult(emptyMap(), emptyMap(), this.jpaEntity, emptyList());
     } catch (final ODataApplicationException e) {
@@ -79,6 +81,43 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
     }
   }
 
+  /**
+   * Creates the query of this expand without executing it. This allows to execute the queries of several expands with
+   * one database round trip, see {@link ProcessorEntityManager#getResultLists(List)}. The result has to be handed over
+   * via {@link #execute(List)}.
+   * @return the query or an empty optional, in case nothing has to be selected
+   * @throws ODataApplicationException
+   */
+  public Optional<ProcessorCriteriaQuery<Tuple>> prepare() throws ODataApplicationException {
+    final int handle = debugger.startRuntimeMeasurement(this, "prepare");
+    try {
+      preparedSelection = buildTupleQuery();
+      return Optional.of((ProcessorCriteriaQuery<Tuple>) cq);
+    } catch (final JPANoSelectionException e) {
+      return Optional.empty();
+    } catch (final ODataApplicationException e) {
+      throw e;
+    } catch (final ODataException e) {
+      throw new ODataApplicationException(e.getLocalizedMessage(), INTERNAL_SERVER_ERROR.getStatusCode(), getLocale(),
+          e);
+    } finally {
+      debugger.stopRuntimeMeasurement(handle);
+    }
+  }
+
+  /**
+   * Converts the result of a query created by {@link #prepare()}.
+   * @param intermediateResult Rows of the combined query that belong to this expand
+   * @return Expand result grouped by the key of the parent entities
+   * @throws ODataApplicationException
+   */
+  public JPAExpandQueryResult execute(@Nonnull final List<Tuple> intermediateResult)
+      throws ODataApplicationException {
+    if (preparedSelection == null)
+      return new JPAExpandQueryResult(emptyMap(), emptyMap(), this.jpaEntity, emptyList());
+    return createResult(intermediateResult, preparedSelection);
+  }
+
   @Override
   protected Map<String, From<?, ?>> createFromClause(final List<JPAAssociationPath> orderByTarget,
       final Collection<JPAPath> selectionPath, final CriteriaQuery<?> query, final JPANavigationPropertyInfo lastInfo)
@@ -154,7 +193,7 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
   }
 
   @Override
-  final Map<String, Long> count() throws ODataApplicationException {
+  final Map<JPAResultKey, Long> count() throws ODataApplicationException {
     final int handle = debugger.startRuntimeMeasurement(this, "count");
     try {
       final JPAExpandSubCountQuery countQuery = new JPAExpandSubCountQuery(odata, requestContext, jpaEntity,
@@ -176,15 +215,15 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
     return sq;
   }
 
-  private Map<String, List<Tuple>> convertResult(final List<Tuple> intermediateResult)
+  private Map<JPAResultKey, List<Tuple>> convertResult(final List<Tuple> intermediateResult)
       throws ODataApplicationException {
-    String joinKey = "";
+    JPAResultKey joinKey = null;
     List<Tuple> subResult = null;
-    final Map<String, List<Tuple>> convertedResult = new HashMap<>();
+    final Map<JPAResultKey, List<Tuple>> convertedResult = new HashMap<>();
     for (final Tuple row : intermediateResult) {
-      String actualKey;
+      JPAResultKey actualKey;
       try {
-        actualKey = buildConcatenatedKey(row, association);
+        actualKey = buildResultKey(row, association);
       } catch (final ODataJPAModelException e) {
         throw new ODataJPAQueryException(e, BAD_REQUEST);
       }
@@ -276,10 +315,25 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
     }
   }
 
+  private JPAExpandQueryResult createResult(final List<Tuple> intermediateResult,
+      final SelectionPathInfo<JPAPath> selection) throws ODataApplicationException {
+    final Map<JPAResultKey, List<Tuple>> result = convertResult(intermediateResult);
+    return new JPAExpandQueryResult(result, count(), jpaEntity, selection.joinedRequested());
+  }
+
   private @Nonnull JPAQueryCreationResult createTupleQuery() throws JPANoSelectionException,
       ODataException {
 
     final int handle = debugger.startRuntimeMeasurement(this, "createTupleQuery");
+    final SelectionPathInfo<JPAPath> selectionPath = buildTupleQuery();
+    final TypedQuery<Tuple> query = em.createQuery((ProcessorCriteriaQuery<Tuple>) cq);
+
+    debugger.stopRuntimeMeasurement(handle);
+    return new JPAQueryCreationResult(query, selectionPath);
+  }
+
+  private @Nonnull SelectionPathInfo<JPAPath> buildTupleQuery() throws JPANoSelectionException, ODataException {
+
     final ProcessorCriteriaQuery<Tuple> tq = (ProcessorCriteriaQuery<Tuple>) cq;
     final List<JPAAssociationPath> orderByAttributes = extractOrderByNaviAttributes(uriResource.getOrderByOption());
     final SelectionPathInfo<JPAPath> selectionPath = buildSelectionPathList(this.uriResource);
@@ -294,10 +348,7 @@ public class JPAExpandSubQuery extends JPAAbstractExpandQuery {
     tq.distinct(orderByAttributes.isEmpty());
     if (!orderByAttributes.isEmpty())
       cq.groupBy(createGroupBy(joinTables, target, selectionPath.joinedPersistent()));
-    final TypedQuery<Tuple> query = em.createQuery(tq);
-
-    debugger.stopRuntimeMeasurement(handle);
-    return new JPAQueryCreationResult(query, selectionPath);
+    return selectionPath;
   }
 
   Map<String, From<?, ?>> createJoinTables(final ProcessorCriteriaQuery<Tuple> tq,
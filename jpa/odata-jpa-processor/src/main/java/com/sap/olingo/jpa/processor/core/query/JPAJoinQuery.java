@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.persistence.Tuple;
@@ -17,6 +18,7 @@ import javax.persistence.TypedQuery;
 import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
+import javax.persistence.criteria.Selection;
 
 import org.apache.olingo.commons.api.edm.EdmBindingTarget;
 import org.apache.olingo.commons.api.ex.ODataException;
@@ -30,10 +32,15 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPACollectionAttribute;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.processor.cb.ProcessorCriteriaBuilder;
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
 
 public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery {
+  private static final String COUNT_COLUMN_NAME = "ODataCount";
+  private Optional<Long> count = Optional.empty();
 
   private static List<JPANavigationPropertyInfo> determineNavigationInfo(
       final JPAServiceDocument sd, final UriInfoResource uriResource) throws ODataException {
@@ -113,32 +120,18 @@ public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery
     // Pre-process URI parameter, so they can be used at different places
     final int handle = debugger.startRuntimeMeasurement(this, "execute");
 
-    final List<JPAAssociationPath> orderByNaviAttributes = extractOrderByNaviAttributes(uriResource.getOrderByOption());
     final SelectionPathInfo<JPAPath> selectionPath = buildSelectionPathList(this.uriResource);
+    final boolean withCount = countWithWindowFunction();
     try {
-      final Map<String, From<?, ?>> joinTables = createFromClause(orderByNaviAttributes,
-          selectionPath.joinedPersistent(), cq, lastInfo);
-
-      cq.multiselect(createSelectClause(joinTables, selectionPath.joinedPersistent(), target, groups))
-          .distinct(determineDistinct());
-
-      final javax.persistence.criteria.Expression<Boolean> whereClause = createWhere();
-      if (whereClause != null)
-        cq.where(whereClause);
+      final TypedQuery<Tuple> tq = createTupleQuery(selectionPath, withCount);
 
-      cq.orderBy(new JPAOrderByBuilder(jpaEntity, target, cb, groups).createOrderByList(joinTables, uriResource));
-
-      if (!orderByNaviAttributes.isEmpty())
-        cq.groupBy(createGroupBy(joinTables, root, selectionPath.joinedPersistent()));
-
-      final TypedQuery<Tuple> tq = em.createQuery(cq);
-      addTopSkip(tq);
-
-      final HashMap<String, List<Tuple>> result = new HashMap<>(1);
+      final HashMap<JPAResultKey, List<Tuple>> result = new HashMap<>(1);
       final int resultHandle = debugger.startRuntimeMeasurement(tq, "getResultList");
       final List<Tuple> intermediateResult = tq.getResultList();
 
       debugger.stopRuntimeMeasurement(resultHandle);
+      if (withCount && !intermediateResult.isEmpty())
+        count = Optional.of(((Number) intermediateResult.get(0).get(COUNT_COLUMN_NAME)).longValue());
       result.put(ROOT_RESULT_KEY, intermediateResult);
       return returnResult(selectionPath.joinedRequested(), result);
     } catch (final JPANoSelectionException e) {
@@ -148,20 +141,108 @@ public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery
     }
   }
 
+  /**
+   * Executes the query without reading the rows. The rows are provided as a stream, so they can be processed one after
+   * the other, e.g. during the serialization of the response. The stream has to be consumed before the entity manager
+   * gets closed.<br>
+   * Only supported for queries that return entities.
+   * @return rows of the query together with the information needed to convert them
+   * @throws ODataApplicationException
+   */
+  public JPAStreamedQueryResult executeStreamed() throws ODataApplicationException {
+    final int handle = debugger.startRuntimeMeasurement(this, "executeStreamed");
+
+    final SelectionPathInfo<JPAPath> selectionPath = buildSelectionPathList(this.uriResource);
+    final Collection<JPAPath> requestedSelection = selectionPath.joinedRequested();
+    final JPAExpandQueryResult result = new JPAExpandQueryResult(determineODataTargetEntityType(requestContext),
+        requestedSelection);
+    try {
+      final TypedQuery<Tuple> tq = createTupleQuery(selectionPath, false);
+
+      final int resultHandle = debugger.startRuntimeMeasurement(tq, "getResultStream");
+      final Stream<Tuple> rows = tq.getResultStream();
+      debugger.stopRuntimeMeasurement(resultHandle);
+      return new JPAStreamedQueryResult(result, requestedSelection, rows);
+    } catch (final JPANoSelectionException e) {
+      return new JPAStreamedQueryResult(result, requestedSelection, Stream.empty());
+    } finally {
+      debugger.stopRuntimeMeasurement(handle);
+    }
+  }
+
   public List<JPANavigationPropertyInfo> getNavigationInfo() {
     return navigationInfo;
   }
 
+  /**
+   * Number of entities requested by $count=true, in case it has been read by {@link #execute()} together with the
+   * rows using the window function <code>COUNT(*) OVER()</code>. See
+   * {@link JPAODataRequestContextAccess#useWindowFunctionCount()}. The count is not available, if the query did not
+   * return a row, e.g. because $skip exceeds the number of entities.
+   * @return number of entities or empty if it has not been read with the rows
+   */
+  public Optional<Long> getCount() {
+    return count;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public AbstractQuery<Tuple> getQuery() {
     return cq;
   }
 
+  private TypedQuery<Tuple> createTupleQuery(final SelectionPathInfo<JPAPath> selectionPath, final boolean withCount)
+      throws ODataApplicationException, JPANoSelectionException {
+
+    final List<JPAAssociationPath> orderByNaviAttributes = extractOrderByNaviAttributes(uriResource.getOrderByOption());
+    final Map<String, From<?, ?>> joinTables = createFromClause(orderByNaviAttributes,
+        selectionPath.joinedPersistent(), cq, lastInfo);
+
+    final List<Selection<?>> selections = createSelectClause(joinTables, selectionPath.joinedPersistent(), target,
+        groups);
+    if (withCount)
+      selections.add(((ProcessorCriteriaBuilder) cb).countRows().alias(COUNT_COLUMN_NAME));
+    cq.multiselect(selections)
+        .distinct(determineDistinct());
+
+    javax.persistence.criteria.Expression<Boolean> whereClause = createWhere();
+    if (page instanceof JPAODataKeysetPage)
+      whereClause = addWhereClause(whereClause, createKeysetWhere((JPAODataKeysetPage) page));
+    if (whereClause != null)
+      cq.where(whereClause);
+
+    cq.orderBy(new JPAOrderByBuilder(jpaEntity, target, cb, groups).createOrderByList(joinTables, uriResource,
+        page));
+
+    if (!orderByNaviAttributes.isEmpty())
+      cq.groupBy(createGroupBy(joinTables, root, selectionPath.joinedPersistent()));
+
+    final TypedQuery<Tuple> tq = em.createQuery(cq);
+    addTopSkip(tq);
+    return tq;
+  }
+
   private javax.persistence.criteria.Expression<Boolean> createWhere() throws ODataApplicationException {
     return addWhereClause(super.createWhere(uriResource, navigationInfo), createProtectionWhere(claimsProvider));
   }
 
+  /**
+   * The count can be read together with the rows, if the window function is supported and each row represents one
+   * entity. This is not the case for SELECT DISTINCT, as the window function is evaluated before duplicates are
+   * removed, for collection properties and for keyset pages, which restrict the rows by the last key of the previous
+   * page.
+   */
+  private boolean countWithWindowFunction() {
+    return requestContext.useWindowFunctionCount()
+        && cb instanceof ProcessorCriteriaBuilder
+        && uriResource.getCountOption() != null
+        && uriResource.getCountOption().getValue()
+        && !determineDistinct()
+        && !(page instanceof JPAODataKeysetPage)
+        && !(lastInfo.getAssociationPath() != null
+            && lastInfo.getAssociationPath().getLeaf() instanceof JPACollectionAttribute);
+  }
+
   /**
    * Desired if SELECT DISTINCT shall be generated. This is required e.g. if multiple values for the same claims are
    * present. As a DISTINCT is usually slower the decision algorithm my need to be enhanced in the future
@@ -179,7 +260,7 @@ public class JPAJoinQuery extends JPAAbstractJoinQuery implements JPACountQuery
   }
 
   private JPAConvertibleResult returnResult(@Nonnull final Collection<JPAPath> selectionPath,
-      final HashMap<String, List<Tuple>> result) throws ODataApplicationException {
+      final HashMap<JPAResultKey, List<Tuple>> result) throws ODataApplicationException {
     final JPAEntityType odataEntityType = determineODataTargetEntityType(requestContext);
     if (lastInfo.getAssociationPath() != null
         && (lastInfo.getAssociationPath().getLeaf() instanceof JPACollectionAttribute))
@@ -47,6 +47,8 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAOnConditionItem;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAStructuredType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPANotImplementedException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
@@ -107,6 +109,21 @@ final class JPAOrderByBuilder {
   @Nonnull
   List<Order> createOrderByList(@Nonnull final Map<String, From<?, ?>> joinTables,
       @Nonnull final UriInfoResource uriResource) throws ODataApplicationException {
+    return createOrderByList(joinTables, uriResource, null);
+  }
+
+  /**
+   * Create a list of order by for the root (non $expand) query part. In case of a keyset page, the result is always
+   * ordered by the primary key, as the page starts after the key of the last entity of the previous page.
+   * @param joinTables tables joined by the query, addressed by their alias
+   * @param uriResource request providing $orderby
+   * @param page page to be read, may be null
+   * @return A list of generated orderby clauses
+   * @throws ODataApplicationException
+   */
+  @Nonnull
+  List<Order> createOrderByList(@Nonnull final Map<String, From<?, ?>> joinTables,
+      @Nonnull final UriInfoResource uriResource, @Nullable final JPAODataPage page) throws ODataApplicationException {
 
     final List<Order> result = new ArrayList<>();
     final Set<Path<?>> orderBys = new HashSet<>();
@@ -118,6 +135,9 @@ final class JPAOrderByBuilder {
       if (uriResource.getTopOption() != null || uriResource.getSkipOption() != null) {
         LOGGER.trace("Determined $top/$skip: add primary key to Order By");
         addOrderByPrimaryKey(result, orderBys);
+      } else if (page instanceof JPAODataKeysetPage) {
+        LOGGER.trace("Determined keyset page: add primary key to Order By");
+        addOrderByPrimaryKey(result, orderBys);
       }
     } catch (final ODataJPAModelException e) {
       throw new ODataJPAQueryException(e, BAD_REQUEST);
@@ -0,0 +1,39 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.persistence.Tuple;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.processor.core.converter.JPAExpandResult;
+
+/**
+ * Result of a query, which rows have not been read yet. Besides the rows, it provides the (empty) expand result that
+ * describes the entity type and the requested selection of the rows.
+ */
+public final class JPAStreamedQueryResult {
+  private final JPAExpandResult result;
+  private final Collection<JPAPath> requestedSelection;
+  private final Stream<Tuple> rows;
+
+  JPAStreamedQueryResult(@Nonnull final JPAExpandResult result, @Nonnull final Collection<JPAPath> requestedSelection,
+      @Nonnull final Stream<Tuple> rows) {
+    this.result = result;
+    this.requestedSelection = requestedSelection;
+    this.rows = rows;
+  }
+
+  public JPAExpandResult getResult() {
+    return result;
+  }
+
+  public Collection<JPAPath> getRequestedSelection() {
+    return requestedSelection;
+  }
+
+  public Stream<Tuple> getRows() {
+    return rows;
+  }
+}
@@ -0,0 +1,102 @@
+package com.sap.olingo.jpa.processor.core.serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.server.api.ODataContent;
+
+/**
+ * Media content read from a channel, e.g. provided by a
+ * {@link com.sap.olingo.jpa.processor.core.api.JPAODataMediaStorage JPAODataMediaStorage}. Content of a
+ * {@link FileChannel} is handed over with {@link FileChannel#transferTo(long, long, WritableByteChannel)}, so it does
+ * not need to be copied into the heap. The channel is closed after the content has been written.
+ *
+ * @since 1.0.9
+ */
+final class JPAChannelSerializerResult implements JPAMediaSerializerResult {
+  private static final int BUFFER_SIZE = 8192;
+  private final SeekableByteChannel channel;
+  private final long length;
+
+  JPAChannelSerializerResult(final SeekableByteChannel channel) throws IOException {
+    this.channel = channel;
+    this.length = channel.size();
+  }
+
+  @Override
+  public InputStream getContent() {
+    return Channels.newInputStream(channel);
+  }
+
+  @Override
+  public long getLength() {
+    return length;
+  }
+
+  @Override
+  public Optional<ODataContent> getContent(final long position, final long count) {
+    return Optional.of(new ChannelContent(position, count));
+  }
+
+  private class ChannelContent implements ODataContent {
+    private final long position;
+    private final long count;
+
+    private ChannelContent(final long position, final long count) {
+      this.position = position;
+      this.count = count;
+    }
+
+    @Override
+    public void write(final WritableByteChannel target) {
+      try (SeekableByteChannel source = channel) {
+        if (source instanceof FileChannel)
+          transfer((FileChannel) source, target);
+        else
+          copy(source, target);
+      } catch (final IOException e) {
+        throw new ODataRuntimeException(e);
+      }
+    }
+
+    @Override
+    public void write(final OutputStream stream) {
+      write(Channels.newChannel(stream));
+    }
+
+    private void transfer(final FileChannel source, final WritableByteChannel target) throws IOException {
+      long written = 0;
+      while (written < count) {
+        final long transferred = source.transferTo(position + written, count - written, target);
+        if (transferred <= 0)
+          break;
+        written += transferred;
+      }
+    }
+
+    private void copy(final SeekableByteChannel source, final WritableByteChannel target) throws IOException {
+      final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+      long remaining = count;
+      source.position(position);
+      while (remaining > 0) {
+        buffer.limit((int) Math.min(BUFFER_SIZE, remaining));
+        final int read = source.read(buffer);
+        if (read < 0)
+          break;
+        buffer.flip();
+        while (buffer.hasRemaining())
+          target.write(buffer);
+        buffer.clear();
+        remaining -= read;
+      }
+    }
+  }
+}
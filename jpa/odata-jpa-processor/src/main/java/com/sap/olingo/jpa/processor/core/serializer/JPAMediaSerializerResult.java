@@ -0,0 +1,31 @@
+package com.sap.olingo.jpa.processor.core.serializer;
+
+import java.util.Optional;
+
+import org.apache.olingo.server.api.ODataContent;
+import org.apache.olingo.server.api.serializer.SerializerResult;
+
+/**
+ * Result of the serialization of a media stream. Besides the content it provides the length of the stream, which is
+ * needed to answer range requests.
+ *
+ * @since 1.0.9
+ */
+public interface JPAMediaSerializerResult extends SerializerResult {
+
+  /**
+   * @return Length of the content in bytes or -1, if unknown
+   */
+  long getLength();
+
+  /**
+   * Provides a part of the content that is written directly into the channel of the response, instead of being copied
+   * from {@link #getContent()}.
+   * @param position Position of the first byte to be written
+   * @param count Number of bytes to be written
+   * @return Empty, if the content can only be read from {@link #getContent()}
+   */
+  default Optional<ODataContent> getContent(final long position, final long count) {
+    return Optional.empty();
+  }
+}
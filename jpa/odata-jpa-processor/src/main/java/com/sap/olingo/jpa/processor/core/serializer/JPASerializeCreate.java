@@ -13,6 +13,7 @@ import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions;
 import org.apache.olingo.server.api.serializer.EntitySerializerOptions;
 import org.apache.olingo.server.api.serializer.ODataSerializer;
 import org.apache.olingo.server.api.serializer.SerializerException;
@@ -82,6 +83,30 @@ final class JPASerializeCreate implements JPASerializer {
     }
   }
 
+  @Override
+  public SerializerResult serializeCollection(final ODataRequest request, final EntityCollection result)
+      throws SerializerException, ODataJPASerializerException {
+
+    final ExpandOption expandOption = new ExpandOptionWrapper(new ExpandItemWrapper());
+    final EdmBindingTarget targetEdmBindingTarget = Util.determineBindingTarget(uriInfo.getUriResourceParts());
+    final EdmEntityType entityType = targetEdmBindingTarget.getEntityType();
+    try {
+      final ContextURL contextUrl = ContextURL.with()
+          .serviceRoot(buildServiceRoot(request, serviceContext))
+          .entitySetOrSingletonOrType(targetEdmBindingTarget.getName())
+          .build();
+
+      final EntityCollectionSerializerOptions options = EntityCollectionSerializerOptions.with()
+          .contextURL(contextUrl)
+          .expand(expandOption)
+          .build();
+
+      return serializer.entityCollection(serviceMetadata, entityType, result, options);
+    } catch (final URISyntaxException e) {
+      throw new ODataJPASerializerException(e, HttpStatusCode.BAD_REQUEST);
+    }
+  }
+
   private class ExpandItemWrapper implements ExpandItem {
 
     @Override
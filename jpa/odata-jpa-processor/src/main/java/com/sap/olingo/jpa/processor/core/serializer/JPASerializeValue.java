@@ -1,7 +1,12 @@
 package com.sap.olingo.jpa.processor.core.serializer;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.sql.Blob;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.olingo.commons.api.data.Annotatable;
 import org.apache.olingo.commons.api.data.Entity;
@@ -26,16 +31,20 @@ import org.apache.olingo.server.api.uri.UriResourceEntitySet;
 import org.apache.olingo.server.api.uri.UriResourceNavigation;
 import org.apache.olingo.server.api.uri.UriResourceProperty;
 
+import com.sap.olingo.jpa.processor.core.api.JPAODataMediaStorage;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPASerializerException;
 
 final class JPASerializeValue extends JPASerializePrimitiveAbstract {
   private final FixedFormatSerializer serializer;
+  private final Optional<JPAODataMediaStorage> mediaStorage;
 
   JPASerializeValue(final ServiceMetadata serviceMetadata, final FixedFormatSerializer serializer,
-      final UriInfo uriInfo) {
+      final UriInfo uriInfo, final Optional<JPAODataMediaStorage> mediaStorage) {
 
     super(serviceMetadata, uriInfo);
     this.serializer = serializer;
+    this.mediaStorage = mediaStorage;
   }
 
   @Override
@@ -64,7 +73,7 @@ final class JPASerializeValue extends JPASerializePrimitiveAbstract {
       if (property == null)
         throw new ODataJPASerializerException(ODataJPASerializerException.MessageKeys.RESULT_NOT_FOUND,
             HttpStatusCode.INTERNAL_SERVER_ERROR);
-      serializerResult = serializer.binary((byte[]) property.getValue());
+      return serializeStream(property.getValue());
     } else {
 
       final UriResourceProperty uriProperty = (UriResourceProperty) uriInfo.getUriResourceParts().get(uriInfo
@@ -90,6 +99,43 @@ final class JPASerializeValue extends JPASerializePrimitiveAbstract {
 
   }
 
+  /**
+   * Content provided as {@link Blob} is handed over as stream, so it does not need to be copied into memory. A String
+   * is the reference to content kept by the media storage.
+   */
+  private SerializerResult serializeStream(final Object value) throws SerializerException,
+      ODataJPASerializerException {
+
+    if (value instanceof String && mediaStorage.isPresent())
+      return serializeStoredMedia((String) value);
+    if (value instanceof Blob) {
+      try {
+        final Blob blob = (Blob) value;
+        return new JPAValueSerializerResult(blob.getBinaryStream(), blob.length());
+      } catch (final SQLException e) {
+        throw new ODataJPASerializerException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+      }
+    }
+    final byte[] content = (byte[]) value;
+    return new JPAValueSerializerResult(serializer.binary(content), content == null ? -1L : content.length);
+  }
+
+  private SerializerResult serializeStoredMedia(final String reference) throws ODataJPASerializerException {
+    try {
+      final SeekableByteChannel channel = mediaStorage.get().read(reference); // NOSONAR
+      try {
+        return new JPAChannelSerializerResult(channel);
+      } catch (final IOException e) {
+        channel.close();
+        throw e;
+      }
+    } catch (final ODataJPAProcessException e) {
+      throw new ODataJPASerializerException(e, HttpStatusCode.fromStatusCode(e.getStatusCode()));
+    } catch (final IOException e) {
+      throw new ODataJPASerializerException(e, HttpStatusCode.INTERNAL_SERVER_ERROR);
+    }
+  }
+
   private boolean isStream() {
     final UriResource successor = uriInfo.getUriResourceParts().get(uriInfo.getUriResourceParts().size() - 2);
 
@@ -19,6 +19,15 @@ public interface JPASerializer {
 
   public ContentType getContentType();
 
+  /**
+   * Serializes a collection of entities, e.g. the entities created by a POST request with a JSON array. By default
+   * the collection is serialized like the result of {@link #serialize(ODataRequest, EntityCollection)}.
+   */
+  default SerializerResult serializeCollection(final ODataRequest request, final EntityCollection result)
+      throws SerializerException, ODataJPASerializerException {
+    return serialize(request, result);
+  }
+
   default URI buildServiceRoot(final ODataRequest request, final JPAODataSessionContextAccess serviceContext)
       throws URISyntaxException {
 
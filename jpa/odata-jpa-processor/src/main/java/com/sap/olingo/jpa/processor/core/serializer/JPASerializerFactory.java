@@ -107,7 +107,8 @@ public final class JPASerializerFactory {
       case count:
         return new JPASerializeCount(odata.createFixedFormatSerializer());
       case value:
-        return new JPASerializeValue(serviceMetadata, odata.createFixedFormatSerializer(), uriInfo);
+        return new JPASerializeValue(serviceMetadata, odata.createFixedFormatSerializer(), uriInfo,
+            serviceContext.getMediaStorage());
       default:
         throw new ODataJPASerializerException(ODataJPASerializerException.MessageKeys.NOT_SUPPORTED_RESOURCE_TYPE,
             HttpStatusCode.NOT_IMPLEMENTED, uriResourceKind.toString());
@@ -0,0 +1,16 @@
+package com.sap.olingo.jpa.processor.core.serializer;
+
+import org.apache.olingo.commons.api.data.EntityIterator;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.serializer.SerializerStreamResult;
+
+import com.sap.olingo.jpa.processor.core.exception.ODataJPASerializerException;
+
+/**
+ * Serializer that is able to write entities while they are read, instead of requiring a complete entity collection.
+ */
+public interface JPAStreamSerializer extends JPASerializer {
+  public SerializerStreamResult serialize(final ODataRequest request, final EntityIterator result)
+      throws SerializerException, ODataJPASerializerException;
+}
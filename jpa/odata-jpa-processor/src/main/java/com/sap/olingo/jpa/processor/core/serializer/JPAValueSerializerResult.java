@@ -2,20 +2,29 @@ package com.sap.olingo.jpa.processor.core.serializer;
 
 import java.io.InputStream;
 
-import org.apache.olingo.server.api.serializer.SerializerResult;
-
-final class JPAValueSerializerResult implements SerializerResult {
+final class JPAValueSerializerResult implements JPAMediaSerializerResult {
   /**
    * 
    */
   private final InputStream result;
+  private final long length;
 
   public JPAValueSerializerResult(final InputStream inputStream) {
+    this(inputStream, -1L);
+  }
+
+  public JPAValueSerializerResult(final InputStream inputStream, final long length) {
     this.result = inputStream;
+    this.length = length;
   }
 
   @Override
   public InputStream getContent() {
     return result;
   }
-}
\ No newline at end of file
+
+  @Override
+  public long getLength() {
+    return length;
+  }
+}
@@ -0,0 +1,322 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.sap.olingo.jpa.processor.core.api.example.JPAExampleCUDRequestHandler;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
+import com.sap.olingo.jpa.processor.core.modify.JPAUpdateResult;
+import com.sap.olingo.jpa.processor.core.processor.JPARequestEntity;
+import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivision;
+import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
+import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+/**
+ * Writes change sets with 1000 created entities with and without JDBC batch writing and compares the number of
+ * database round trips needed for the inserts.
+ */
+class ChangeSetBatchWritingTest {
+  private static final String PUNIT_NAME = "com.sap.olingo.jpa";
+  private static final String URI_PREFIX = "http://localhost:8080/Test/Olingo.svc/";
+  private static final String CODE_PUBLISHER = "Bench";
+  private static final int NO_ENTITIES = 1000;
+  private static final int BATCH_SIZE = 100;
+  private static DataSource ds;
+  private static AtomicInteger insertRoundTrips;
+
+  @BeforeAll
+  static void setupDataSource() {
+    insertRoundTrips = new AtomicInteger();
+    ds = countingDataSource(DataSourceHelper.createDataSource(DataSourceHelper.DB_H2));
+  }
+
+  @AfterEach
+  void teardown() throws ODataException, SQLException {
+    try (Connection connection = ds.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "DELETE FROM \"OLINGO\".\"AdministrativeDivision\" WHERE \"CodePublisher\" = ?")) {
+      statement.setString(1, CODE_PUBLISHER);
+      statement.executeUpdate();
+    }
+    createContext(0).getEntityManagerFactory().get().getCache().evictAll();
+    createContext(BATCH_SIZE).getEntityManagerFactory().get().getCache().evictAll();
+  }
+
+  @Test
+  void testChangeSetWithBatchWritingCreatesAllEntities() throws ODataException, IOException, SQLException {
+    final List<String> act = processChangeSet(createContext(BATCH_SIZE));
+
+    assertEquals(NO_ENTITIES, countCreated(act));
+    assertEquals(NO_ENTITIES, countStored());
+  }
+
+  @Test
+  void testChangeSetWithBatchWritingReturnsKeyPerContentId() throws ODataException, IOException {
+    final List<String> act = processChangeSet(createContext(BATCH_SIZE));
+    final Pattern location = Pattern.compile("Location: .*DivisionCode='(\\d+)'.*");
+    String contentId = null;
+    int found = 0;
+    for (final String line : act) {
+      if (line.startsWith("Content-ID: "))
+        contentId = line.substring("Content-ID: ".length());
+      final Matcher matcher = location.matcher(line);
+      if (matcher.matches()) {
+        assertEquals(contentId, matcher.group(1));
+        found++;
+      }
+    }
+    assertEquals(NO_ENTITIES, found);
+  }
+
+  @Test
+  void testChangeSetWithBatchWritingNeedsFewerRoundTrips() throws ODataException, IOException, SQLException {
+    insertRoundTrips.set(0);
+    processChangeSet(createContext(0));
+    final int withoutBatchWriting = insertRoundTrips.get();
+    teardown();
+
+    insertRoundTrips.set(0);
+    processChangeSet(createContext(BATCH_SIZE));
+    final int withBatchWriting = insertRoundTrips.get();
+
+    assertEquals(NO_ENTITIES, withoutBatchWriting);
+    assertTrue(withBatchWriting <= NO_ENTITIES / BATCH_SIZE + 1, "Round trips: " + withBatchWriting);
+  }
+
+  @Test
+  void testChangeSetWithBatchWritingReadsEntityCreatedBefore() throws ODataException, IOException, SQLException {
+    final QueryingRequestHandler handler = new QueryingRequestHandler();
+    final List<String> act = processChangeSet(createContext(BATCH_SIZE), createUpdateAfterCreate(), handler);
+
+    assertEquals(2, act.stream().filter(line -> line.startsWith("HTTP/1.1 20")).count());
+    assertEquals(1L, handler.storedBeforeUpdate);
+    assertEquals(500, readArea());
+  }
+
+  private JPAODataSessionContextAccess createContext(final int batchSize) throws ODataException {
+    return JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(TestBase.enumPackages)
+        .setChangeSetBatchSize(batchSize)
+        .build();
+  }
+
+  private List<String> processChangeSet(final JPAODataSessionContextAccess sessionContext) throws ODataException,
+      IOException {
+    return processChangeSet(sessionContext, createChangeSet(), new JPAExampleCUDRequestHandler());
+  }
+
+  private List<String> processChangeSet(final JPAODataSessionContextAccess sessionContext,
+      final StringBuilder changeSet, final JPAExampleCUDRequestHandler handler) throws ODataException, IOException {
+
+    final HttpServletRequest request = IntegrationTestHelper.getRequestMock(URI_PREFIX + "$batch",
+        changeSet, Collections.emptyMap());
+    when(request.getLocales()).thenReturn(Collections.enumeration(Arrays.asList(Locale.ENGLISH)));
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    final HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(new OutputStreamDouble(content));
+
+    new JPAODataRequestHandler(sessionContext, JPAODataRequestContext.with()
+        .setCUDRequestHandler(handler)
+        .build()).process(request, response);
+
+    final ArgumentCaptor<Integer> status = ArgumentCaptor.forClass(Integer.class);
+    verify(response).setStatus(status.capture());
+    assertEquals(202, status.getValue());
+    return Arrays.asList(new String(content.toByteArray(), StandardCharsets.UTF_8).split("\r\n"));
+  }
+
+  private StringBuilder createChangeSet() {
+    final StringBuilder body = new StringBuilder("--abc123\r\n")
+        .append("Content-Type: multipart/mixed;boundary=cs_1\r\n")
+        .append("\r\n");
+    for (int i = 1; i <= NO_ENTITIES; i++) {
+      body.append("--cs_1\r\n")
+          .append("Content-Type: application/http\r\n")
+          .append("Content-Transfer-Encoding: binary\r\n")
+          .append("Content-ID: ").append(i).append("\r\n")
+          .append("\r\n")
+          .append("POST AdministrativeDivisions HTTP/1.1\r\n")
+          .append("Content-Type: application/json\r\n")
+          .append("\r\n")
+          .append("{\"CodePublisher\":\"").append(CODE_PUBLISHER).append("\",\"CodeID\":\"NUTS3\",")
+          .append("\"DivisionCode\":\"").append(i).append("\",\"CountryCode\":\"DEU\"}\r\n");
+    }
+    return body.append("--cs_1--\r\n")
+        .append("\r\n")
+        .append("--abc123--");
+  }
+
+  private StringBuilder createUpdateAfterCreate() {
+    return new StringBuilder("--abc123\r\n")
+        .append("Content-Type: multipart/mixed;boundary=cs_1\r\n")
+        .append("\r\n")
+        .append("--cs_1\r\n")
+        .append("Content-Type: application/http\r\n")
+        .append("Content-Transfer-Encoding: binary\r\n")
+        .append("Content-ID: 1\r\n")
+        .append("\r\n")
+        .append("POST AdministrativeDivisions HTTP/1.1\r\n")
+        .append("Content-Type: application/json\r\n")
+        .append("\r\n")
+        .append("{\"CodePublisher\":\"").append(CODE_PUBLISHER).append("\",\"CodeID\":\"NUTS3\",")
+        .append("\"DivisionCode\":\"1\",\"CountryCode\":\"DEU\"}\r\n")
+        .append("--cs_1\r\n")
+        .append("Content-Type: application/http\r\n")
+        .append("Content-Transfer-Encoding: binary\r\n")
+        .append("Content-ID: 2\r\n")
+        .append("\r\n")
+        .append("PATCH $1 HTTP/1.1\r\n")
+        .append("Content-Type: application/json\r\n")
+        .append("\r\n")
+        .append("{\"Area\":500}\r\n")
+        .append("--cs_1--\r\n")
+        .append("\r\n")
+        .append("--abc123--");
+  }
+
+  private static long countCreated(final List<String> lines) {
+    return lines.stream().filter(line -> line.startsWith("HTTP/1.1 201")).count();
+  }
+
+  private long countStored() throws SQLException {
+    try (Connection connection = ds.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "SELECT COUNT(*) FROM \"OLINGO\".\"AdministrativeDivision\" WHERE \"CodePublisher\" = ?")) {
+      statement.setString(1, CODE_PUBLISHER);
+      try (ResultSet result = statement.executeQuery()) {
+        result.next();
+        return result.getLong(1);
+      }
+    }
+  }
+
+  private int readArea() throws SQLException {
+    try (Connection connection = ds.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "SELECT \"Area\" FROM \"OLINGO\".\"AdministrativeDivision\" WHERE \"CodePublisher\" = ?")) {
+      statement.setString(1, CODE_PUBLISHER);
+      try (ResultSet result = statement.executeQuery()) {
+        result.next();
+        return result.getInt(1);
+      }
+    }
+  }
+
+  /**
+   * Counts the statements executed against the database to insert data. A JDBC batch counts as one round trip.
+   */
+  private static DataSource countingDataSource(final DataSource dataSource) {
+    return (DataSource) Proxy.newProxyInstance(ChangeSetBatchWritingTest.class.getClassLoader(),
+        new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+          // The entity manager factories are cached per data source, so the proxy needs an own identity
+          if ("hashCode".equals(method.getName()))
+            return System.identityHashCode(proxy);
+          if ("equals".equals(method.getName()))
+            return proxy == args[0];
+          final Object result = invoke(dataSource, method, args);
+          if ("getConnection".equals(method.getName()))
+            return countingConnection((Connection) result);
+          return result;
+        });
+  }
+
+  private static Connection countingConnection(final Connection connection) {
+    return (Connection) Proxy.newProxyInstance(ChangeSetBatchWritingTest.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+          final Object result = invoke(connection, method, args);
+          if ("prepareStatement".equals(method.getName())
+              && ((String) args[0]).trim().toUpperCase(Locale.ENGLISH).startsWith("INSERT"))
+            return countingStatement((PreparedStatement) result);
+          return result;
+        });
+  }
+
+  private static PreparedStatement countingStatement(final PreparedStatement statement) {
+    return (PreparedStatement) Proxy.newProxyInstance(ChangeSetBatchWritingTest.class.getClassLoader(),
+        new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+          if (method.getName().startsWith("execute"))
+            insertRoundTrips.incrementAndGet();
+          return invoke(statement, method, args);
+        });
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Queries the entities created so far before it updates an entity, like a handler that validates an update.
+   */
+  private static class QueryingRequestHandler extends JPAExampleCUDRequestHandler {
+    private Long storedBeforeUpdate;
+
+    @Override
+    public JPAUpdateResult updateEntity(final JPARequestEntity requestEntity, final EntityManager em,
+        final HttpMethod method) throws ODataJPAProcessException {
+      final CriteriaBuilder cb = em.getCriteriaBuilder();
+      final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+      final Root<AdministrativeDivision> root = query.from(AdministrativeDivision.class);
+      query.select(cb.count(root)).where(cb.equal(root.get("codePublisher"), CODE_PUBLISHER));
+      storedBeforeUpdate = em.createQuery(query).getSingleResult();
+      return super.updateEntity(requestEntity, em, method);
+    }
+  }
+
+  private static class OutputStreamDouble extends ServletOutputStream {
+    private final ByteArrayOutputStream buffer;
+
+    OutputStreamDouble(final ByteArrayOutputStream buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      buffer.write(b);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.olingo.jpa.processor.core.api.example.JPAExampleCUDRequestHandler;
+import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
+import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+/**
+ * Creates a collection of entities with one POST request containing a JSON array.
+ */
+class CreateEntityCollectionTest {
+  private static final String PUNIT_NAME = "com.sap.olingo.jpa";
+  private static final String URI_PREFIX = "http://localhost:8080/Test/Olingo.svc/";
+  private static final String CODE_PUBLISHER = "Bulk";
+  private static DataSource ds;
+  private HttpServletResponse response;
+  private ByteArrayOutputStream content;
+
+  @BeforeAll
+  static void setupDataSource() {
+    ds = DataSourceHelper.createDataSource(DataSourceHelper.DB_H2);
+  }
+
+  @AfterEach
+  void teardown() throws ODataException, SQLException {
+    try (Connection connection = ds.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "DELETE FROM \"OLINGO\".\"AdministrativeDivision\" WHERE \"CodePublisher\" = ?")) {
+      statement.setString(1, CODE_PUBLISHER);
+      statement.executeUpdate();
+    }
+    createContext(0).getEntityManagerFactory().get().getCache().evictAll();
+  }
+
+  @Test
+  void testCreatesAllEntitiesOfArray() throws ODataException, IOException, SQLException {
+    final int status = post(createContext(0), createArray("1", "2", "3"), Collections.emptyMap());
+
+    assertEquals(201, status);
+    assertEquals(3, countStored());
+  }
+
+  @Test
+  void testReturnsCreatedEntities() throws ODataException, IOException {
+    post(createContext(0), createArray("1", "2"), Collections.emptyMap());
+
+    final JsonNode act = new ObjectMapper().readTree(content.toByteArray());
+    assertTrue(act.get("@odata.context").asText().endsWith("$metadata#AdministrativeDivisions"));
+    assertEquals(2, act.get("value").size());
+    assertEquals("1", act.get("value").get(0).get("DivisionCode").asText());
+    assertEquals("2", act.get("value").get(1).get("DivisionCode").asText());
+  }
+
+  @Test
+  void testReturnsNoContentOnReturnMinimal() throws ODataException, IOException, SQLException {
+    final Map<String, List<String>> headers = new HashMap<>();
+    headers.put("Prefer", Collections.singletonList("return=minimal"));
+    final int status = post(createContext(0), createArray("1", "2"), headers);
+
+    assertEquals(204, status);
+    assertEquals(2, countStored());
+  }
+
+  @Test
+  void testCreatesNothingIfOneEntityFails() throws ODataException, IOException, SQLException {
+    final int status = post(createContext(0), createArray("1", "2", "1"), Collections.emptyMap());
+
+    assertTrue(status >= 400, "Status: " + status);
+    assertEquals(0, countStored());
+  }
+
+  @Test
+  void testCreatesAllEntitiesWithBatchWriting() throws ODataException, IOException, SQLException {
+    final int status = post(createContext(100), createArray("1", "2", "3"), Collections.emptyMap());
+
+    assertEquals(201, status);
+    assertEquals(3, countStored());
+    createContext(100).getEntityManagerFactory().get().getCache().evictAll();
+  }
+
+  private JPAODataSessionContextAccess createContext(final int batchSize) throws ODataException {
+    return JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(TestBase.enumPackages)
+        .setChangeSetBatchSize(batchSize)
+        .build();
+  }
+
+  private int post(final JPAODataSessionContextAccess sessionContext, final StringBuilder body,
+      final Map<String, List<String>> headers) throws ODataException, IOException {
+
+    final Map<String, List<String>> requestHeaders = new HashMap<>(headers);
+    requestHeaders.put("Content-Type", Collections.singletonList("application/json"));
+    final HttpServletRequest request = IntegrationTestHelper.getRequestMock(URI_PREFIX + "AdministrativeDivisions",
+        body, requestHeaders);
+    when(request.getMethod()).thenReturn("POST");
+    when(request.getLocales()).thenReturn(Collections.enumeration(Arrays.asList(Locale.ENGLISH)));
+    content = new ByteArrayOutputStream();
+    response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(new OutputStreamDouble(content));
+
+    new JPAODataRequestHandler(sessionContext, JPAODataRequestContext.with()
+        .setCUDRequestHandler(new JPAExampleCUDRequestHandler())
+        .build()).process(request, response);
+
+    final ArgumentCaptor<Integer> status = ArgumentCaptor.forClass(Integer.class);
+    verify(response).setStatus(status.capture());
+    return status.getValue();
+  }
+
+  private StringBuilder createArray(final String... divisionCodes) {
+    final StringBuilder body = new StringBuilder("[");
+    for (int i = 0; i < divisionCodes.length; i++) {
+      if (i > 0)
+        body.append(',');
+      body.append("{\"CodePublisher\":\"").append(CODE_PUBLISHER).append("\",\"CodeID\":\"NUTS3\",")
+          .append("\"DivisionCode\":\"").append(divisionCodes[i]).append("\",\"CountryCode\":\"DEU\"}");
+    }
+    return body.append(']');
+  }
+
+  private long countStored() throws SQLException {
+    try (Connection connection = ds.getConnection();
+        PreparedStatement statement = connection.prepareStatement(
+            "SELECT COUNT(*) FROM \"OLINGO\".\"AdministrativeDivision\" WHERE \"CodePublisher\" = ?")) {
+      statement.setString(1, CODE_PUBLISHER);
+      try (ResultSet result = statement.executeQuery()) {
+        result.next();
+        return result.getLong(1);
+      }
+    }
+  }
+
+  private static class OutputStreamDouble extends ServletOutputStream {
+    private final ByteArrayOutputStream buffer;
+
+    OutputStreamDouble(final ByteArrayOutputStream buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      buffer.write(b);
+    }
+  }
+}
@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -16,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 import javax.persistence.OptimisticLockException;
 import javax.persistence.RollbackException;
 
@@ -35,6 +38,7 @@ import org.apache.olingo.server.api.prefer.Preferences.Preference;
 import org.apache.olingo.server.api.serializer.BatchSerializerException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -184,6 +188,52 @@ class JPAODataBatchProcessorTest {
     assertFalse(act.isChangeSet());
   }
 
+  @Test
+  void whenChangeSetBatchSizeSetThenDeferFlushAndRestoreFlushMode() throws ODataApplicationException,
+      ODataLibraryException {
+    final List<FlushModeType> flushModes = new ArrayList<>();
+    when(requestContext.getChangeSetBatchSize()).thenReturn(100);
+    when(em.getFlushMode()).thenReturn(FlushModeType.COMMIT);
+    when(response.getStatusCode()).thenReturn(HttpStatusCode.CREATED.getStatusCode());
+    doAnswer(invocation -> {
+      flushModes.add(FlushModeType.AUTO);
+      return null;
+    }).when(em).setFlushMode(FlushModeType.AUTO);
+    when(facade.handleODataRequest(request)).thenAnswer(invocation -> {
+      assertEquals(1, flushModes.size());
+      return response;
+    });
+
+    cut.processChangeSet(facade, requests);
+    final InOrder inOrder = inOrder(em, transaction);
+    inOrder.verify(em).setFlushMode(FlushModeType.AUTO);
+    inOrder.verify(transaction).commit();
+    inOrder.verify(em).setFlushMode(FlushModeType.COMMIT);
+  }
+
+  @Test
+  void whenChangeSetBatchSizeSetThenRestoreFlushModeOnRollback() throws ODataApplicationException,
+      ODataLibraryException {
+    when(requestContext.getChangeSetBatchSize()).thenReturn(100);
+    when(em.getFlushMode()).thenReturn(FlushModeType.COMMIT);
+    when(response.getStatusCode()).thenReturn(HttpStatusCode.BAD_REQUEST.getStatusCode());
+    when(facade.handleODataRequest(request)).thenReturn(response);
+
+    cut.processChangeSet(facade, requests);
+    verify(transaction, times(1)).rollback();
+    verify(em).setFlushMode(FlushModeType.COMMIT);
+  }
+
+  @Test
+  void whenNoChangeSetBatchSizeSetThenFlushModeUnchanged() throws ODataApplicationException,
+      ODataLibraryException {
+    when(response.getStatusCode()).thenReturn(HttpStatusCode.CREATED.getStatusCode());
+    when(facade.handleODataRequest(request)).thenReturn(response);
+
+    cut.processChangeSet(facade, requests);
+    verify(em, never()).setFlushMode(any());
+  }
+
   @Test
   void whenTransactionCouldNotBeCreatedThenThrowWith501() throws ODataApplicationException,
       ODataLibraryException {
@@ -5,7 +5,10 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
+import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
 import org.apache.olingo.commons.api.edmx.EdmxReference;
@@ -21,10 +24,45 @@ public class JPAODataContextAccessDouble implements JPAODataSessionContextAccess
   private final JPAODataDatabaseOperations context;
   private final String[] packageNames;
   private final JPAODataPagingProvider pagingProvider;
+  private final boolean useSingleStatementExpand;
+  private final Optional<Executor> expandExecutor;
+  private final Optional<EntityManagerFactory> emf;
+  private final boolean useStreamedEntityCollection;
+  private final boolean useWindowFunctionCount;
 
   public JPAODataContextAccessDouble(final JPAEdmProvider edmProvider, final DataSource ds,
       final JPAODataPagingProvider provider, final String... packages) {
+    this(edmProvider, ds, provider, false, packages);
+  }
+
+  public JPAODataContextAccessDouble(final JPAEdmProvider edmProvider, final DataSource ds,
+      final JPAODataPagingProvider provider, final boolean useSingleStatementExpand, final String... packages) {
+    this(edmProvider, ds, provider, useSingleStatementExpand, null, null, packages);
+  }
+
+  public JPAODataContextAccessDouble(final JPAEdmProvider edmProvider, final DataSource ds,
+      final JPAODataPagingProvider provider, final boolean useSingleStatementExpand, final Executor expandExecutor,
+      final EntityManagerFactory emf, final String... packages) {
+    this(edmProvider, ds, provider, useSingleStatementExpand, expandExecutor, emf, false, packages);
+  }
+
+  public JPAODataContextAccessDouble(final JPAEdmProvider edmProvider, final DataSource ds,
+      final JPAODataPagingProvider provider, final boolean useSingleStatementExpand, final Executor expandExecutor,
+      final EntityManagerFactory emf, final boolean useStreamedEntityCollection, final String... packages) {
+    this(edmProvider, ds, provider, useSingleStatementExpand, expandExecutor, emf, useStreamedEntityCollection, false,
+        packages);
+  }
+
+  public JPAODataContextAccessDouble(final JPAEdmProvider edmProvider, final DataSource ds,
+      final JPAODataPagingProvider provider, final boolean useSingleStatementExpand, final Executor expandExecutor,
+      final EntityManagerFactory emf, final boolean useStreamedEntityCollection, final boolean useWindowFunctionCount,
+      final String... packages) {
     super();
+    this.useStreamedEntityCollection = useStreamedEntityCollection;
+    this.useWindowFunctionCount = useWindowFunctionCount;
+    this.useSingleStatementExpand = useSingleStatementExpand;
+    this.expandExecutor = Optional.ofNullable(expandExecutor);
+    this.emf = Optional.ofNullable(emf);
     this.edmProvider = edmProvider;
     this.ds = ds;
     this.context = new JPADefaultDatabaseProcessor();
@@ -67,4 +105,29 @@ public class JPAODataContextAccessDouble implements JPAODataSessionContextAccess
   public JPAODataPagingProvider getPagingProvider() {
     return pagingProvider;
   }
+
+  @Override
+  public boolean useSingleStatementExpand() {
+    return useSingleStatementExpand;
+  }
+
+  @Override
+  public Optional<Executor> getExpandExecutor() {
+    return expandExecutor;
+  }
+
+  @Override
+  public Optional<? extends EntityManagerFactory> getEntityManagerFactory() {
+    return emf;
+  }
+
+  @Override
+  public boolean useStreamedEntityCollection() {
+    return useStreamedEntityCollection;
+  }
+
+  @Override
+  public boolean useWindowFunctionCount() {
+    return useWindowFunctionCount;
+  }
 }
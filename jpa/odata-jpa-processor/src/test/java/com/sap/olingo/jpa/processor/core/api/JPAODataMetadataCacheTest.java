@@ -0,0 +1,178 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataLibraryException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.etag.ServiceMetadataETagSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+class JPAODataMetadataCacheTest extends TestBase {
+  private JPAODataMetadataCache cut;
+  private OData odata;
+  private ServiceMetadata serviceMetadata;
+
+  @BeforeEach
+  void setup() throws ODataException {
+    cut = new JPAODataMetadataCache();
+    odata = OData.newInstance();
+    serviceMetadata = odata.createServiceMetadata(new JPAEdmProvider(PUNIT_NAME, emf, null, enumPackages),
+        new ArrayList<>());
+  }
+
+  @Test
+  void testMetadataResponseProvidesDocumentAndETag() throws ODataLibraryException, IOException {
+    final ODataResponse response = readMetadata(createRequest());
+
+    assertEquals(200, response.getStatusCode());
+    assertEquals(ContentType.APPLICATION_XML.toContentTypeString(), response.getHeader(HttpHeader.CONTENT_TYPE));
+    assertNull(response.getHeader(HttpHeader.CONTENT_ENCODING));
+    assertEquals(HttpHeader.ACCEPT_ENCODING, response.getHeader(HttpHeader.VARY));
+    assertNotNull(response.getHeader(HttpHeader.ETAG));
+    assertEquals(serializeMetadata(), new String(read(response.getContent()), UTF_8));
+  }
+
+  @Test
+  void testMetadataResponseIsStable() throws ODataLibraryException, IOException {
+    final ODataResponse first = readMetadata(createRequest());
+    final ODataResponse second = readMetadata(createRequest());
+
+    assertEquals(first.getHeader(HttpHeader.ETAG), second.getHeader(HttpHeader.ETAG));
+    assertArrayEquals(read(first.getContent()), read(second.getContent()));
+  }
+
+  @Test
+  void testMetadataResponseNotModified() throws ODataLibraryException {
+    final String eTag = readMetadata(createRequest()).getHeader(HttpHeader.ETAG);
+    final ODataRequest request = createRequest();
+    request.addHeader(HttpHeader.IF_NONE_MATCH, eTag);
+    final ODataResponse act = readMetadata(request);
+
+    assertEquals(304, act.getStatusCode());
+    assertNull(act.getContent());
+  }
+
+  @Test
+  void testMetadataResponseGzip() throws ODataLibraryException, IOException {
+    final ODataResponse plain = readMetadata(createRequest());
+    final ODataRequest request = createRequest();
+    request.addHeader(HttpHeader.ACCEPT_ENCODING, "deflate, gzip;q=0.8");
+    final ODataResponse act = readMetadata(request);
+
+    assertEquals("gzip", act.getHeader(HttpHeader.CONTENT_ENCODING));
+    assertNotEquals(plain.getHeader(HttpHeader.ETAG), act.getHeader(HttpHeader.ETAG));
+    assertArrayEquals(read(plain.getContent()), read(new GZIPInputStream(act.getContent())));
+  }
+
+  @Test
+  void testMetadataResponseDeflate() throws ODataLibraryException, IOException {
+    final ODataResponse plain = readMetadata(createRequest());
+    final ODataRequest request = createRequest();
+    request.addHeader(HttpHeader.ACCEPT_ENCODING, "gzip;q=0, deflate");
+    final ODataResponse act = readMetadata(request);
+
+    assertEquals("deflate", act.getHeader(HttpHeader.CONTENT_ENCODING));
+    assertArrayEquals(read(plain.getContent()), read(new InflaterInputStream(act.getContent())));
+  }
+
+  @Test
+  void testMetadataResponseHeadWithoutContent() throws ODataLibraryException {
+    final ODataRequest request = createRequest();
+    request.setMethod(HttpMethod.HEAD);
+    final ODataResponse act = readMetadata(request);
+
+    assertEquals(200, act.getStatusCode());
+    assertNull(act.getContent());
+  }
+
+  @Test
+  void testMetadataResponseUsesApplicationETag() throws ODataLibraryException {
+    final ServiceMetadata metadata = mock(ServiceMetadata.class);
+    final ServiceMetadataETagSupport eTagSupport = mock(ServiceMetadataETagSupport.class);
+    when(metadata.getServiceMetadataETagSupport()).thenReturn(eTagSupport);
+    when(metadata.getEdm()).thenReturn(serviceMetadata.getEdm());
+    when(metadata.getReferences()).thenReturn(Collections.emptyList());
+    when(eTagSupport.getMetadataETag()).thenReturn("W/\"Hugo\"");
+    final ODataResponse act = new ODataResponse();
+    cut.readMetadata(odata, metadata, createRequest(), act, ContentType.APPLICATION_XML);
+
+    assertEquals("W/\"Hugo\"", act.getHeader(HttpHeader.ETAG));
+  }
+
+  @Test
+  void testServiceDocumentCachedPerUri() throws ODataLibraryException, IOException {
+    final ODataResponse relative = new ODataResponse();
+    cut.readServiceDocument(odata, serviceMetadata, createRequest(), relative, ContentType.APPLICATION_JSON, null);
+    final ODataResponse absolute = new ODataResponse();
+    cut.readServiceDocument(odata, serviceMetadata, createRequest(), absolute, ContentType.APPLICATION_JSON,
+        "http://localhost:8080/test");
+
+    assertTrue(new String(read(relative.getContent()), UTF_8).contains("\"@odata.context\":\"$metadata\""));
+    assertTrue(new String(read(absolute.getContent()), UTF_8).contains(
+        "\"@odata.context\":\"http://localhost:8080/test/$metadata\""));
+    assertNotEquals(relative.getHeader(HttpHeader.ETAG), absolute.getHeader(HttpHeader.ETAG));
+  }
+
+  @Test
+  void testDetermineEncoding() {
+    assertNull(JPAODataMetadataCache.determineEncoding(null));
+    assertNull(JPAODataMetadataCache.determineEncoding(Arrays.asList("br", "identity")));
+    assertNull(JPAODataMetadataCache.determineEncoding(Arrays.asList("gzip;q=0")));
+    assertEquals("gzip", JPAODataMetadataCache.determineEncoding(Arrays.asList("br", "GZIP")));
+    assertEquals("deflate", JPAODataMetadataCache.determineEncoding(Arrays.asList("deflate;q=0.5, gzip;q=0.0")));
+  }
+
+  private ODataResponse readMetadata(final ODataRequest request) throws ODataLibraryException {
+    final ODataResponse response = new ODataResponse();
+    cut.readMetadata(odata, serviceMetadata, request, response, ContentType.APPLICATION_XML);
+    return response;
+  }
+
+  private ODataRequest createRequest() {
+    final ODataRequest request = new ODataRequest();
+    request.setMethod(HttpMethod.GET);
+    return request;
+  }
+
+  private String serializeMetadata() throws ODataLibraryException, IOException {
+    return new String(read(odata.createSerializer(ContentType.APPLICATION_XML).metadataDocument(serviceMetadata)
+        .getContent()), UTF_8);
+  }
+
+  private byte[] read(final InputStream input) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[1024];
+    int count;
+    while ((count = input.read(buffer)) > 0)
+      output.write(buffer, 0, count);
+    return output.toByteArray();
+  }
+}
@@ -2,6 +2,7 @@ package com.sap.olingo.jpa.processor.core.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.isA;
@@ -17,8 +18,10 @@ import javax.servlet.http.HttpServletRequestWrapper;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataHttpHandler;
+import org.apache.olingo.server.api.ServiceMetadata;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -144,6 +147,52 @@ class JPAODataRequestHandlerTest extends TestBase {
     verify(handler, times(1)).process(argThat(new HttpRequestMatcher()), any());
   }
 
+  @Test
+  void testServiceMetadataCreatedOnlyOnce() throws ODataException {
+    final OData odata = mock(OData.class);
+    final ODataHttpHandler handler = mock(ODataHttpHandler.class);
+    final ServiceMetadata serviceMetadata = mock(ServiceMetadata.class);
+    when(odata.createServiceMetadata(any(), any())).thenReturn(serviceMetadata);
+    when(odata.createHandler(any())).thenReturn(handler);
+    final JPAODataSessionContextAccess context = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build();
+    new JPAODataRequestHandler(context, odata).process(request, response);
+    new JPAODataRequestHandler(context, odata).process(request, response);
+    verify(odata, times(1)).createServiceMetadata(any(), any());
+    verify(odata, times(2)).createHandler(serviceMetadata);
+  }
+
+  @Test
+  void testServiceMetadataSharedBetweenRequests() throws ODataException {
+    final JPAODataServiceContext context = (JPAODataServiceContext) JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build();
+    final OData odata = OData.newInstance();
+    final ServiceMetadata act = context.getServiceMetadata(odata, context.getEdmProvider());
+    assertNotNull(act);
+    assertSame(act, context.getServiceMetadata(odata, context.getEdmProvider()));
+  }
+
+  @Test
+  void testProcessMetadataFromCache() throws ODataException, IOException {
+    final JPAODataSessionContextAccess context = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .setUseMetadataCache(true)
+        .build();
+    createHeaders();
+    addHeader(HttpHeader.ACCEPT_ENCODING, "gzip");
+    request = IntegrationTestHelper.getRequestMock("http://localhost:8080/Test/Olingo.svc/$metadata?$format=xml",
+        new StringBuilder(), headers);
+    new JPAODataRequestHandler(context).process(request, response);
+    assertEquals(200, getStatus());
+    verify(response).addHeader(HttpHeader.CONTENT_ENCODING, "gzip");
+  }
+
   public static class HttpRequestMatcher implements ArgumentMatcher<HttpServletRequest> {
     @Override
     public boolean matches(final HttpServletRequest argument) {
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.Test;
 import com.sap.olingo.jpa.metadata.api.JPAEdmMetadataPostProcessor;
 import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEdmNameBuilder;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.IntermediateEntityTypeAccess;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.IntermediateNavigationPropertyAccess;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.extension.IntermediatePropertyAccess;
@@ -106,6 +107,137 @@ class JPAODataServiceContextBuilderTest {
     assertEquals(provider, cut.getPagingProvider());
   }
 
+  @Test
+  void checkCompileModelResolvesModel() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .setCompileModel(true)
+        .build();
+
+    assertNotNull(cut.getEdmProvider().getServiceDocument().getEntity("Organizations").getPath("Address/Region"));
+  }
+
+  @Test
+  void checkCompileModelReportsModelError() {
+    final JPAODataServiceContext.Builder builder = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setCompileModel(true);
+
+    assertThrows(ODataJPAModelException.class, builder::build);
+  }
+
+  @Test
+  void checkNoMetadataCacheAsDefault() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build();
+
+    assertFalse(cut.getMetadataCache().isPresent());
+  }
+
+  @Test
+  void checkReturnsMetadataCacheIfSet() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setUseMetadataCache(true)
+        .build();
+
+    assertTrue(cut.getMetadataCache().isPresent());
+  }
+
+  @Test
+  void checkNoFilterCompilationCacheAsDefault() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build();
+
+    assertFalse(cut.getFilterCompilationCache().isPresent());
+  }
+
+  @Test
+  void checkReturnsFilterCompilationCacheIfSet() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setUseFilterCompilationCache(true)
+        .build();
+
+    assertTrue(cut.getFilterCompilationCache().isPresent());
+  }
+
+  @Test
+  void checkNoWindowFunctionCountAsDefault() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build();
+
+    assertFalse(cut.useWindowFunctionCount());
+  }
+
+  @Test
+  void checkReturnsWindowFunctionCountIfSet() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setUseWindowFunctionCount(true)
+        .build();
+
+    assertTrue(cut.useWindowFunctionCount());
+  }
+
+  @Test
+  void checkNoChangeSetBatchSizeAsDefault() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build();
+
+    assertEquals(0, cut.getChangeSetBatchSize());
+  }
+
+  @Test
+  void checkReturnsChangeSetBatchSizeIfSet() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setChangeSetBatchSize(100)
+        .build();
+
+    assertEquals(100, cut.getChangeSetBatchSize());
+    assertEquals("JDBC", cut.getEntityManagerFactory().get().getProperties().get("eclipselink.jdbc.batch-writing"));
+    assertEquals("100", cut.getEntityManagerFactory().get().getProperties().get(
+        "eclipselink.jdbc.batch-writing.size"));
+  }
+
+  @Test
+  void checkNoMediaStorageAsDefault() throws ODataException {
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .build();
+
+    assertFalse(cut.getMediaStorage().isPresent());
+  }
+
+  @Test
+  void checkReturnsMediaStorageIfSet() throws ODataException {
+    final JPAODataMediaStorage mediaStorage = mock(JPAODataMediaStorage.class);
+    cut = JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setMediaStorage(mediaStorage)
+        .build();
+
+    assertEquals(mediaStorage, cut.getMediaStorage().get());
+  }
+
   @Test
   void checkEmptyListOnNoReferencesProvided() throws ODataException {
 
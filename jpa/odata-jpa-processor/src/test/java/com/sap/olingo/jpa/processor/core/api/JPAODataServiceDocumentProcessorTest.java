@@ -1,14 +1,20 @@
 package com.sap.olingo.jpa.processor.core.api;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntityContainer;
 import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpMethod;
 import org.apache.olingo.server.api.OData;
 import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.ODataLibraryException;
@@ -77,4 +83,15 @@ class JPAODataServiceDocumentProcessorTest {
     verify(response).setContent(argThat(new InputStreamMatcher(
         "\"@odata.context\":\"http://localhost:8080/test/$metadata\"")));
   }
+
+  @Test
+  void testCreateServiceDocumentFromCache() throws ODataApplicationException, ODataLibraryException {
+    when(sessionContext.getMetadataCache()).thenReturn(Optional.of(new JPAODataMetadataCache()));
+    when(request.getMethod()).thenReturn(HttpMethod.GET);
+    cut = new JPAODataServiceDocumentProcessor(sessionContext);
+    cut.init(OData.newInstance(), metadata);
+    cut.readServiceDocument(request, response, uriInfo, ContentType.APPLICATION_JSON);
+    verify(response).setContent(argThat(new InputStreamMatcher("\"@odata.context\":\"$metadata\"")));
+    verify(response).setHeader(eq(HttpHeader.ETAG), anyString());
+  }
 }
@@ -0,0 +1,109 @@
+package com.sap.olingo.jpa.processor.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.core.uri.parser.Parser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+/**
+ * Parses a number of requests with service metadata created per request, as done before the metadata were kept by
+ * the service context, and with the metadata shared via the service context. Compares the number of calls of the
+ * edm provider and the memory allocated for parsing.
+ */
+class ServiceMetadataReuseTest extends TestBase {
+  private static final String PUNIT_NAME = "com.sap.olingo.jpa";
+  private static final String BASE_URI = "http://localhost:8080/Test/Olingo.svc";
+  private static final String PATH = "Organizations";
+  private static final String QUERY = "$filter=Address/RegionName eq 'Kalifornien'&$select=ID,Name1&$expand=Roles";
+  private static final int NO_REQUESTS = 50;
+  private OData odata;
+  private JPAEdmProvider edmProvider;
+
+  @BeforeEach
+  void setup() throws ODataException {
+    odata = OData.newInstance();
+    edmProvider = spy(createContext().getEdmProvider());
+  }
+
+  @Test
+  void testSharedMetadataCallsProviderOnlyForFirstRequest() throws ODataException {
+    final JPAODataServiceContext context = createContext();
+    parse(() -> context.getServiceMetadata(odata, edmProvider), 1);
+    final int firstRequest = countProviderCalls();
+
+    parse(() -> context.getServiceMetadata(odata, edmProvider), NO_REQUESTS - 1);
+
+    assertTrue(firstRequest > 0);
+    assertEquals(firstRequest, countProviderCalls());
+  }
+
+  @Test
+  void testMetadataPerRequestCallsProviderForEachRequest() throws ODataException {
+    parse(() -> odata.createServiceMetadata(edmProvider, edmProvider.getReferences()), 1);
+    final int firstRequest = countProviderCalls();
+
+    parse(() -> odata.createServiceMetadata(edmProvider, edmProvider.getReferences()), NO_REQUESTS - 1);
+
+    assertEquals(NO_REQUESTS * firstRequest, countProviderCalls());
+  }
+
+  @Test
+  void testSharedMetadataAllocatesLessMemory() throws ODataException {
+    final com.sun.management.ThreadMXBean threads = getThreadMXBean();
+    final JPAODataServiceContext context = createContext();
+    // Warm up, so class loading is not measured
+    parse(() -> odata.createServiceMetadata(edmProvider, edmProvider.getReferences()), 5);
+    parse(() -> context.getServiceMetadata(odata, edmProvider), 5);
+
+    final long perRequestStart = threads.getCurrentThreadAllocatedBytes();
+    parse(() -> odata.createServiceMetadata(edmProvider, edmProvider.getReferences()), NO_REQUESTS);
+    final long perRequest = threads.getCurrentThreadAllocatedBytes() - perRequestStart;
+
+    final long sharedStart = threads.getCurrentThreadAllocatedBytes();
+    parse(() -> context.getServiceMetadata(odata, edmProvider), NO_REQUESTS);
+    final long shared = threads.getCurrentThreadAllocatedBytes() - sharedStart;
+
+    assertTrue(shared < perRequest, "Allocated bytes per request: shared " + shared / NO_REQUESTS + ", per request "
+        + perRequest / NO_REQUESTS);
+  }
+
+  private void parse(final Supplier<ServiceMetadata> metadata, final int noRequests) throws ODataException {
+    for (int i = 0; i < noRequests; i++)
+      assertNotNull(new Parser(metadata.get().getEdm(), odata).parseUri(PATH, QUERY, null, BASE_URI));
+  }
+
+  private int countProviderCalls() {
+    return mockingDetails(edmProvider).getInvocations().size();
+  }
+
+  private JPAODataServiceContext createContext() throws ODataException {
+    return (JPAODataServiceContext) JPAODataServiceContext.with()
+        .setDataSource(ds)
+        .setPUnit(PUNIT_NAME)
+        .setTypePackage(enumPackages)
+        .build();
+  }
+
+  private static com.sun.management.ThreadMXBean getThreadMXBean() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+        .getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+    return threads;
+  }
+}
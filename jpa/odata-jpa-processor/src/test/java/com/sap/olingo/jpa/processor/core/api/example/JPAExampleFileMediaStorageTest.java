@@ -0,0 +1,148 @@
+package com.sap.olingo.jpa.processor.core.api.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
+
+class JPAExampleFileMediaStorageTest {
+  private static final String SHA_256_OF_IMAGE =
+      "1aa4cb0bcca76e92e30677e809bb3d4b5c066715ef4d558184e319496bcc5125";
+  @TempDir
+  Path root;
+  private JPAExampleFileMediaStorage cut;
+
+  @BeforeEach
+  void setup() throws IOException {
+    cut = new JPAExampleFileMediaStorage(root);
+  }
+
+  @Test
+  void testReferenceIsHashOfContent() throws ODataJPAProcessException {
+    final String act = cut.store(createContent("Image"));
+
+    assertEquals(SHA_256_OF_IMAGE, act);
+    assertEquals(act, cut.store(createContent("Image")));
+    assertNotEquals(act, cut.store(createContent("Logo")));
+  }
+
+  @Test
+  void testStoresSameContentOnce() throws ODataJPAProcessException, IOException {
+    cut.store(createContent("Image"));
+    cut.store(createContent("Image"));
+
+    assertEquals(1, countContentFiles());
+  }
+
+  @Test
+  void testReadsStoredContent() throws ODataJPAProcessException, IOException {
+    final String reference = cut.store(createContent("Image"));
+
+    try (SeekableByteChannel act = cut.read(reference)) {
+      assertTrue(act instanceof FileChannel);
+      assertEquals(5, act.size());
+      final ByteBuffer buffer = ByteBuffer.allocate(5);
+      act.read(buffer);
+      assertArrayEquals("Image".getBytes(StandardCharsets.UTF_8), buffer.array());
+    }
+  }
+
+  @Test
+  void testKeepsContentUntilLastReferenceReleased() throws ODataJPAProcessException, IOException {
+    final String reference = cut.store(createContent("Image"));
+    cut.store(createContent("Image"));
+
+    cut.release(reference);
+    try (SeekableByteChannel act = cut.read(reference)) {
+      assertEquals(5, act.size());
+    }
+    cut.release(reference);
+    assertEquals(0, countContentFiles());
+    final ODataJPAProcessException act = assertThrows(ODataJPAProcessException.class, () -> cut.read(reference));
+    assertEquals(404, act.getStatusCode());
+  }
+
+  @Test
+  void testKeepsReferenceCountOfNewInstance() throws ODataJPAProcessException, IOException {
+    final String reference = cut.store(createContent("Image"));
+    cut.store(createContent("Image"));
+
+    final JPAExampleFileMediaStorage other = new JPAExampleFileMediaStorage(root);
+    other.release(reference);
+    assertEquals(1, countContentFiles());
+    other.release(reference);
+    assertEquals(0, countContentFiles());
+  }
+
+  @Test
+  void testInstancesSharingDirectoryKeepReferenceCount() throws Exception {
+    final JPAExampleFileMediaStorage other = new JPAExampleFileMediaStorage(root);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<String>> references = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        final JPAExampleFileMediaStorage storage = i % 2 == 0 ? cut : other;
+        references.add(executor.submit(() -> storage.store(createContent("Image"))));
+      }
+      for (int i = 0; i < references.size() - 1; i++)
+        (i % 2 == 0 ? other : cut).release(references.get(i).get());
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, countContentFiles());
+    cut.release(SHA_256_OF_IMAGE);
+    assertEquals(0, countContentFiles());
+  }
+
+  @Test
+  void testRemovesUploadFiles() throws ODataJPAProcessException, IOException {
+    cut.store(createContent("Image"));
+    cut.store(createContent("Image"));
+
+    try (Stream<Path> files = Files.list(root)) {
+      assertFalse(files.filter(Files::isRegularFile).anyMatch(file -> !file.endsWith(".lock")));
+    }
+  }
+
+  @Test
+  void testRejectsInvalidReference() {
+    final ODataJPAProcessException act = assertThrows(ODataJPAProcessException.class, () -> cut.read(
+        "../../etc/passwd"));
+    assertEquals(404, act.getStatusCode());
+    assertThrows(ODataJPAProcessException.class, () -> cut.release("../../etc/passwd"));
+  }
+
+  private ByteArrayInputStream createContent(final String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private long countContentFiles() throws IOException {
+    try (Stream<Path> files = Files.walk(root)) {
+      return files.filter(Files::isRegularFile).filter(file -> !file.toString().endsWith(".refs"))
+          .filter(file -> !file.endsWith(".lock")).count();
+    }
+  }
+}
@@ -0,0 +1,298 @@
+package com.sap.olingo.jpa.processor.core.api.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.ex.ODataRuntimeException;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriParameter;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceKind;
+import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
+import org.apache.olingo.server.api.uri.queryoption.SkipOption;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOption;
+import org.apache.olingo.server.api.uri.queryoption.TopOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.processor.core.api.JPAODataKeysetPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+
+class JPAExampleKeysetPagingProviderTest {
+  private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes();
+  private JPACountQuery countQuery;
+  private Map<String, Object> lastKey;
+
+  @BeforeEach
+  void setup() throws ODataApplicationException {
+    countQuery = mock(JPACountQuery.class);
+    when(countQuery.countResults()).thenReturn(10L);
+    lastKey = new HashMap<>();
+    lastKey.put("ID", "5");
+  }
+
+  @Test
+  void testFirstPageIsKeysetPageWithoutCount() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataPage act = cut.getFirstPage(info, null, countQuery, null);
+
+    assertTrue(act instanceof JPAODataKeysetPage);
+    assertEquals(0, act.getSkip());
+    assertEquals(5, act.getTop());
+    assertNull(act.getSkipToken());
+    assertTrue(((JPAODataKeysetPage) act).getLastKey().isEmpty());
+    assertEquals(info, act.getUriInfo());
+    verify(countQuery, never()).countResults();
+  }
+
+  @Test
+  void testFirstPageRespectsMaxPagesizeHeader() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataPage act = cut.getFirstPage(info, 3, countQuery, null);
+
+    assertEquals(3, act.getTop());
+  }
+
+  @Test
+  void testFirstPageRespectsTop() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    addTopToUri(info, 3);
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataPage act = cut.getFirstPage(info, null, countQuery, null);
+
+    assertEquals(3, act.getTop());
+  }
+
+  @Test
+  void testReturnNullIfEntitySetIsUnknown() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAExampleKeysetPagingProvider cut = createPersonCut(5);
+
+    assertNull(cut.getFirstPage(info, null, countQuery, null));
+  }
+
+  @Test
+  void testNextSkipTokenProvidesPageStartingAfterKey() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, countQuery, null);
+    final Object skipToken = cut.getNextSkipToken(first, lastKey);
+    assertNotNull(skipToken);
+
+    final JPAODataPage act = cut.getNextPage(toODataString((String) skipToken), info);
+    assertTrue(act instanceof JPAODataKeysetPage);
+    assertEquals(0, act.getSkip());
+    assertEquals(5, act.getTop());
+    assertEquals("5", ((JPAODataKeysetPage) act).getLastKey().get("ID"));
+    assertEquals(info, act.getUriInfo());
+  }
+
+  @Test
+  void testNextSkipTokenRespectsRemainingTop() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    addTopToUri(info, 7);
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, countQuery, null);
+    final JPAODataKeysetPage second = (JPAODataKeysetPage) cut.getNextPage((String) cut.getNextSkipToken(first,
+        lastKey), info);
+
+    assertEquals(2, second.getTop());
+    assertNull(cut.getNextSkipToken(second, lastKey));
+  }
+
+  @Test
+  void testNextSkipTokenNullIfTopReached() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    addTopToUri(info, 5);
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, countQuery, null);
+
+    assertNull(cut.getNextSkipToken(first, lastKey));
+  }
+
+  @Test
+  void testNextSkipTokenNullForForeignPage() {
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage page = new JPAODataKeysetPage(buildUriInfo(), 5, Collections.emptyMap());
+
+    assertNull(cut.getNextSkipToken(page, lastKey));
+  }
+
+  @Test
+  void testUsesOffsetPagingWithOrderBy() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    when(info.getOrderByOption()).thenReturn(mock(OrderByOption.class));
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataPage act = cut.getFirstPage(info, null, countQuery, null);
+
+    assertFalse(act instanceof JPAODataKeysetPage);
+    assertEquals(5, act.getTop());
+    assertNotNull(act.getSkipToken());
+    final JPAODataPage next = cut.getNextPage(toODataString((String) act.getSkipToken()), info);
+    assertEquals(5, next.getSkip());
+  }
+
+  @Test
+  void testUsesOffsetPagingWithSkip() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final SkipOption skip = mock(SkipOption.class);
+    when(skip.getValue()).thenReturn(2);
+    when(info.getSkipOption()).thenReturn(skip);
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataPage act = cut.getFirstPage(info, null, countQuery, null);
+
+    assertFalse(act instanceof JPAODataKeysetPage);
+    assertEquals(2, act.getSkip());
+  }
+
+  @Test
+  void testReturnNullForUnknownSkipToken() {
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+
+    assertNull(cut.getNextPage("'Hugo'", buildUriInfo()));
+  }
+
+  @Test
+  void testReturnNullWithoutRequest() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, countQuery, null);
+
+    assertNull(cut.getNextPage(toODataString((String) cut.getNextSkipToken(first, lastKey))));
+  }
+
+  @Test
+  void testNextPageProvidedByOtherInstance() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) createOrgCut(5).getFirstPage(info, null, countQuery, null);
+    final String skipToken = (String) createOrgCut(5).getNextSkipToken(first, lastKey);
+
+    final JPAODataPage act = createOrgCut(5).getNextPage(toODataString(skipToken), info);
+    assertEquals("5", ((JPAODataKeysetPage) act).getLastKey().get("ID"));
+  }
+
+  @Test
+  void testNextPageKeepsTypeOfKey() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final Map<String, Object> key = new HashMap<>();
+    key.put("ID", 5);
+    key.put("Version", 3L);
+    key.put("ValidFrom", LocalDate.of(2020, 2, 29));
+    key.put("Code", "A.'B'");
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, countQuery, null);
+
+    final JPAODataKeysetPage act = (JPAODataKeysetPage) cut.getNextPage((String) cut.getNextSkipToken(first, key),
+        info);
+    assertEquals(key, act.getLastKey());
+  }
+
+  @Test
+  void testReturnNullForModifiedSkipToken() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, countQuery, null);
+    final String skipToken = (String) cut.getNextSkipToken(first, lastKey);
+    final Map<String, Object> otherKey = new HashMap<>();
+    otherKey.put("ID", "9");
+    final String otherToken = (String) cut.getNextSkipToken(first, otherKey);
+    // Combine the content of one token with the signature of the other one
+    final String modified = otherToken.substring(0, otherToken.lastIndexOf('.'))
+        + skipToken.substring(skipToken.lastIndexOf('.'));
+
+    assertNull(cut.getNextPage(toODataString(modified), info));
+  }
+
+  @Test
+  void testReturnNullForSkipTokenOfOtherRequest() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, countQuery, null);
+    final String skipToken = (String) cut.getNextSkipToken(first, lastKey);
+    final UriInfo otherInfo = buildUriInfo();
+    addTopToUri(otherInfo, 3);
+    final SystemQueryOption top = otherInfo.getTopOption();
+    when(top.getName()).thenReturn("$top");
+    when(top.getText()).thenReturn("3");
+    when(otherInfo.getSystemQueryOptions()).thenReturn(Collections.singletonList(top));
+
+    assertNull(cut.getNextPage(toODataString(skipToken), otherInfo));
+  }
+
+  @Test
+  void testThrowsExceptionForUnsupportedKeyType() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo();
+    final JPAExampleKeysetPagingProvider cut = createOrgCut(5);
+    final JPAODataKeysetPage first = (JPAODataKeysetPage) cut.getFirstPage(info, null, countQuery, null);
+    final Map<String, Object> key = new HashMap<>();
+    key.put("ID", new Object());
+
+    assertThrows(ODataRuntimeException.class, () -> cut.getNextSkipToken(first, key));
+  }
+
+  @Test
+  void testThrowsExceptionForShortSecret() {
+    final Map<String, Integer> sizes = Collections.singletonMap("Organizations", 5);
+    final byte[] secret = "short".getBytes();
+    assertThrows(IllegalArgumentException.class, () -> new JPAExampleKeysetPagingProvider(sizes, secret));
+  }
+
+  private UriInfo buildUriInfo() {
+    final UriInfo uriInfo = mock(UriInfo.class);
+    final UriResourceEntitySet uriEs = mock(UriResourceEntitySet.class);
+    final EdmEntitySet es = mock(EdmEntitySet.class);
+    final List<UriResource> resourcePath = new ArrayList<>();
+    final List<UriParameter> keys = new ArrayList<>();
+
+    resourcePath.add(uriEs);
+    when(uriEs.getKind()).thenReturn(UriResourceKind.entitySet);
+    when(uriEs.getEntitySet()).thenReturn(es);
+    when(uriEs.getKeyPredicates()).thenReturn(keys);
+    when(es.getName()).thenReturn("Organizations");
+    when(uriInfo.getUriResourceParts()).thenReturn(resourcePath);
+    return uriInfo;
+  }
+
+  private void addTopToUri(final UriInfo info, final int value) {
+    final TopOption top = mock(TopOption.class);
+    when(top.getValue()).thenReturn(value);
+    when(info.getTopOption()).thenReturn(top);
+  }
+
+  private JPAExampleKeysetPagingProvider createOrgCut(final int size) {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("Organizations", size);
+    return new JPAExampleKeysetPagingProvider(sizes, SECRET);
+  }
+
+  private JPAExampleKeysetPagingProvider createPersonCut(final int size) {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("Persons", size);
+    return new JPAExampleKeysetPagingProvider(sizes, SECRET);
+  }
+
+  private String toODataString(final String skipToken) {
+    return "'" + skipToken + "'";
+  }
+}
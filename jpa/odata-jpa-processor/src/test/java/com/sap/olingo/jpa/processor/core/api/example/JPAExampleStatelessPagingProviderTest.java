@@ -0,0 +1,182 @@
+package com.sap.olingo.jpa.processor.core.api.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriParameter;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceKind;
+import org.apache.olingo.server.api.uri.queryoption.FilterOption;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOption;
+import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
+import org.apache.olingo.server.api.uri.queryoption.TopOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+
+class JPAExampleStatelessPagingProviderTest {
+  private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes();
+  private JPACountQuery countQuery;
+
+  @BeforeEach
+  void setup() throws ODataApplicationException {
+    countQuery = mock(JPACountQuery.class);
+    when(countQuery.countResults()).thenReturn(12L);
+  }
+
+  @Test
+  void testThrowsExceptionIfSecretTooShort() {
+    final Map<String, Integer> sizes = new HashMap<>();
+    final byte[] secret = "Hugo".getBytes();
+    assertThrows(IllegalArgumentException.class, () -> new JPAExampleStatelessPagingProvider(sizes, secret));
+  }
+
+  @Test
+  void testKeepsQueryOptionsInNextLink() {
+    assertTrue(createOrgCut(5).keepQueryOptionsInNextLink());
+  }
+
+  @Test
+  void testFirstPageProvidesSkipToken() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo("CodeID eq 'NUTS1'");
+    final JPAODataPage act = createOrgCut(5).getFirstPage(info, null, countQuery, null);
+
+    assertEquals(0, act.getSkip());
+    assertEquals(5, act.getTop());
+    assertNotNull(act.getSkipToken());
+    assertEquals(info, act.getUriInfo());
+  }
+
+  @Test
+  void testFirstPageWithoutSkipTokenIfAllFit() throws ODataApplicationException {
+    final UriInfo info = buildUriInfo("CodeID eq 'NUTS1'");
+    addTopToUri(info, 3);
+    final JPAODataPage act = createOrgCut(5).getFirstPage(info, null, countQuery, null);
+
+    assertEquals(3, act.getTop());
+    assertNull(act.getSkipToken());
+    verify(countQuery, never()).countResults();
+  }
+
+  @Test
+  void testReturnNullIfEntitySetIsUnknown() throws ODataApplicationException {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("Persons", 5);
+    final JPAExampleStatelessPagingProvider cut = new JPAExampleStatelessPagingProvider(sizes, SECRET);
+
+    assertNull(cut.getFirstPage(buildUriInfo("CodeID eq 'NUTS1'"), null, countQuery, null));
+  }
+
+  @Test
+  void testNextPageReadByOtherInstance() throws ODataApplicationException {
+    final JPAODataPage first = createOrgCut(5).getFirstPage(buildUriInfo("CodeID eq 'NUTS1'"), null, countQuery,
+        null);
+    final UriInfo nextInfo = buildUriInfo("CodeID eq 'NUTS1'");
+    final JPAODataPage second = createOrgCut(5).getNextPage(toODataString(first.getSkipToken()), nextInfo);
+
+    assertEquals(5, second.getSkip());
+    assertEquals(5, second.getTop());
+    assertNotNull(second.getSkipToken());
+    assertEquals(nextInfo, second.getUriInfo());
+
+    final JPAODataPage third = createOrgCut(5).getNextPage(toODataString(second.getSkipToken()), nextInfo);
+    assertEquals(10, third.getSkip());
+    assertEquals(2, third.getTop());
+    assertNull(third.getSkipToken());
+  }
+
+  @Test
+  void testReturnNullIfQueryOptionsChanged() throws ODataApplicationException {
+    final JPAExampleStatelessPagingProvider cut = createOrgCut(5);
+    final JPAODataPage first = cut.getFirstPage(buildUriInfo("CodeID eq 'NUTS1'"), null, countQuery, null);
+
+    assertNull(cut.getNextPage(toODataString(first.getSkipToken()), buildUriInfo("CodeID eq 'NUTS2'")));
+  }
+
+  @Test
+  void testReturnNullIfSecretDiffers() throws ODataApplicationException {
+    final JPAODataPage first = createOrgCut(5).getFirstPage(buildUriInfo("CodeID eq 'NUTS1'"), null, countQuery,
+        null);
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("Organizations", 5);
+    final JPAExampleStatelessPagingProvider cut = new JPAExampleStatelessPagingProvider(sizes,
+        "abcdef0123456789abcdef0123456789".getBytes());
+
+    assertNull(cut.getNextPage(toODataString(first.getSkipToken()), buildUriInfo("CodeID eq 'NUTS1'")));
+  }
+
+  @Test
+  void testReturnNullIfSkipTokenTampered() throws ODataApplicationException {
+    final JPAExampleStatelessPagingProvider cut = createOrgCut(5);
+    final JPAODataPage first = cut.getFirstPage(buildUriInfo("CodeID eq 'NUTS1'"), null, countQuery, null);
+    final String tampered = "a" + ((String) first.getSkipToken()).substring(1);
+
+    assertNull(cut.getNextPage(toODataString(tampered), buildUriInfo("CodeID eq 'NUTS1'")));
+  }
+
+  @Test
+  void testReturnNullForUnknownSkipToken() {
+    final JPAExampleStatelessPagingProvider cut = createOrgCut(5);
+
+    assertNull(cut.getNextPage("'Hugo'", buildUriInfo("CodeID eq 'NUTS1'")));
+    assertNull(cut.getNextPage("'Hugo'"));
+  }
+
+  private UriInfo buildUriInfo(final String filter) {
+    final UriInfo uriInfo = mock(UriInfo.class);
+    final UriResourceEntitySet uriEs = mock(UriResourceEntitySet.class);
+    final EdmEntitySet es = mock(EdmEntitySet.class);
+    final FilterOption filterOption = mock(FilterOption.class);
+    final List<UriResource> resourcePath = new ArrayList<>();
+    final List<UriParameter> keys = new ArrayList<>();
+    final List<SystemQueryOption> options = new ArrayList<>();
+
+    resourcePath.add(uriEs);
+    options.add(filterOption);
+    when(uriEs.getKind()).thenReturn(UriResourceKind.entitySet);
+    when(uriEs.getEntitySet()).thenReturn(es);
+    when(uriEs.getKeyPredicates()).thenReturn(keys);
+    when(uriEs.getSegmentValue()).thenReturn("Organizations");
+    when(es.getName()).thenReturn("Organizations");
+    when(filterOption.getKind()).thenReturn(SystemQueryOptionKind.FILTER);
+    when(filterOption.getName()).thenReturn("$filter");
+    when(filterOption.getText()).thenReturn(filter);
+    when(uriInfo.getUriResourceParts()).thenReturn(resourcePath);
+    when(uriInfo.getSystemQueryOptions()).thenReturn(options);
+    return uriInfo;
+  }
+
+  private void addTopToUri(final UriInfo info, final int value) {
+    final TopOption top = mock(TopOption.class);
+    when(top.getValue()).thenReturn(value);
+    when(info.getTopOption()).thenReturn(top);
+  }
+
+  private JPAExampleStatelessPagingProvider createOrgCut(final int size) {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("Organizations", size);
+    return new JPAExampleStatelessPagingProvider(sizes, SECRET);
+  }
+
+  private String toODataString(final Object skipToken) {
+    return "'" + skipToken + "'";
+  }
+}
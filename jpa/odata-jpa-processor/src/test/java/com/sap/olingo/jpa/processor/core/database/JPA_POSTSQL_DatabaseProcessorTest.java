@@ -1,8 +1,16 @@
 package com.sap.olingo.jpa.processor.core.database;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -13,8 +21,11 @@ import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.uri.queryoption.SearchOption;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
 
 class JPA_POSTSQL_DatabaseProcessorTest extends JPA_XXX_DatabaseProcessorTest {
   @BeforeEach
@@ -40,4 +51,48 @@ class JPA_POSTSQL_DatabaseProcessorTest extends JPA_XXX_DatabaseProcessorTest {
     assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), act.getStatusCode());
 
   }
+
+  @Test
+  void testEstimateCountReturnsPlannerStatistics() throws ODataApplicationException {
+    final JPAEntityType entityType = mock(JPAEntityType.class);
+    when(entityType.getTableName()).thenReturn("\"OLINGO\".\"AdministrativeDivision\"");
+    when(functionQuery.getResultList()).thenReturn(Arrays.asList(225L));
+
+    final Optional<Long> act = cut.estimateCount(em, entityType);
+    assertEquals(225L, act.get());
+    verify(functionQuery).setParameter(1, "\"OLINGO\".\"AdministrativeDivision\"");
+  }
+
+  @Test
+  void testEstimateCountUsesMappedSchema() throws ODataApplicationException {
+    final ProcessorEntityManager processorEm = mock(ProcessorEntityManager.class);
+    final JPAEntityType entityType = mock(JPAEntityType.class);
+    when(entityType.getTableName()).thenReturn("\"OLINGO\".\"AdministrativeDivision\"");
+    when(processorEm.mapTableName("\"OLINGO\".\"AdministrativeDivision\""))
+        .thenReturn("\"TENANT\".\"AdministrativeDivision\"");
+    when(processorEm.createNativeQuery(anyString())).thenReturn(functionQuery);
+    when(functionQuery.getResultList()).thenReturn(Arrays.asList(225L));
+
+    assertEquals(225L, cut.estimateCount(processorEm, entityType).get());
+    verify(functionQuery).setParameter(1, "\"TENANT\".\"AdministrativeDivision\"");
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = { -1L, 0L })
+  void testEstimateCountReturnsEmptyIfNotAnalyzed(final long reltuples) throws ODataApplicationException {
+    final JPAEntityType entityType = mock(JPAEntityType.class);
+    when(entityType.getTableName()).thenReturn("\"OLINGO\".\"AdministrativeDivision\"");
+    when(functionQuery.getResultList()).thenReturn(Arrays.asList(reltuples));
+
+    assertFalse(cut.estimateCount(em, entityType).isPresent());
+  }
+
+  @Test
+  void testEstimateCountReturnsEmptyIfTableUnknown() throws ODataApplicationException {
+    final JPAEntityType entityType = mock(JPAEntityType.class);
+    when(entityType.getTableName()).thenReturn("\"OLINGO\".\"Dummy\"");
+    when(functionQuery.getResultList()).thenReturn(Collections.emptyList());
+
+    assertFalse(cut.estimateCount(em, entityType).isPresent());
+  }
 }
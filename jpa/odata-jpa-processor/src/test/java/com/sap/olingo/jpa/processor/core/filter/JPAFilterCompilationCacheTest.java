@@ -0,0 +1,211 @@
+package com.sap.olingo.jpa.processor.core.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.From;
+
+import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceKind;
+import org.apache.olingo.server.api.uri.UriResourceNavigation;
+import org.apache.olingo.server.api.uri.UriResourcePrimitiveProperty;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.core.uri.queryoption.expression.BinaryImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.LiteralImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.MemberImpl;
+import org.apache.olingo.server.core.uri.queryoption.expression.MethodImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.api.JPAServiceDebugger;
+import com.sap.olingo.jpa.processor.core.database.JPAODataDatabaseOperations;
+
+class JPAFilterCompilationCacheTest {
+  private JPAEntityType et;
+  private EdmPrimitiveType stringType;
+  private EdmPrimitiveType intType;
+
+  @BeforeEach
+  void setup() {
+    et = mock(JPAEntityType.class);
+    stringType = mock(EdmPrimitiveType.class);
+    intType = mock(EdmPrimitiveType.class);
+    when(et.getExternalFQN()).thenReturn(new FullQualifiedName("com.sap.olingo.jpa", "Organization"));
+    when(stringType.getFullQualifiedName()).thenReturn(new FullQualifiedName("Edm", "String"));
+    when(intType.getFullQualifiedName()).thenReturn(new FullQualifiedName("Edm", "Int32"));
+  }
+
+  @Test
+  void testCacheCountsHitsAndMisses() {
+    final JPAFilterCompilationCache cut = new JPAFilterCompilationCache();
+    final List<JPAPath> paths = Collections.singletonList(mock(JPAPath.class));
+
+    assertNull(cut.getPaths("A"));
+    cut.putPaths("A", paths);
+    assertEquals(paths, cut.getPaths("A"));
+    assertEquals(1, cut.getHits());
+    assertEquals(1, cut.getMisses());
+    assertEquals(1, cut.size());
+    cut.clear();
+    assertEquals(0, cut.size());
+  }
+
+  @Test
+  void testCacheIsBounded() {
+    final JPAFilterCompilationCache cut = new JPAFilterCompilationCache(1);
+    cut.putPaths("A", Collections.emptyList());
+    cut.putPaths("B", Collections.emptyList());
+
+    assertEquals(1, cut.size());
+    assertNull(cut.getPaths("A"));
+    assertNotNull(cut.getPaths("B"));
+  }
+
+  @Test
+  void testCacheRemovesLeastRecentlyUsed() {
+    final JPAFilterCompilationCache cut = new JPAFilterCompilationCache(2);
+    cut.putPaths("A", Collections.emptyList());
+    cut.putPaths("B", Collections.emptyList());
+    cut.getPaths("A");
+    cut.putPaths("C", Collections.emptyList());
+
+    assertEquals(2, cut.size());
+    assertNotNull(cut.getPaths("A"));
+    assertNull(cut.getPaths("B"));
+    assertNotNull(cut.getPaths("C"));
+  }
+
+  @Test
+  void testCacheThrowsExceptionOnNegativeSize() {
+    assertThrows(IllegalArgumentException.class, () -> new JPAFilterCompilationCache(-1));
+  }
+
+  @Test
+  void testShapeIgnoresLiteralValues() throws ExpressionVisitException, ODataApplicationException {
+    final String first = JPAFilterShape.of(et, null, createEquals("Name1", "'Third Org.'", stringType));
+    final String second = JPAFilterShape.of(et, null, createEquals("Name1", "'First Org.'", stringType));
+
+    assertNotNull(first);
+    assertEquals(first, second);
+  }
+
+  @Test
+  void testShapeDiffersOnMemberOperatorAndType() throws ExpressionVisitException, ODataApplicationException {
+    final String shape = JPAFilterShape.of(et, null, createEquals("Name1", "'Org'", stringType));
+
+    assertNotEquals(shape, JPAFilterShape.of(et, null, createEquals("Name2", "'Org'", stringType)));
+    assertNotEquals(shape, JPAFilterShape.of(et, null, createEquals("Name1", "1", intType)));
+    assertNotEquals(shape, JPAFilterShape.of(et, null, new BinaryImpl(createMember("Name1"), BinaryOperatorKind.NE,
+        new LiteralImpl("'Org'", stringType), null)));
+    assertNotEquals(shape, JPAFilterShape.of(et, null, new BinaryImpl(createMember("Name1"), BinaryOperatorKind.EQ,
+        new LiteralImpl("null", null), null)));
+  }
+
+  @Test
+  void testShapeContainsAssociation() throws ExpressionVisitException, ODataApplicationException {
+    final JPAAssociationPath association = mock(JPAAssociationPath.class);
+    when(association.getAlias()).thenReturn("Roles");
+    final Expression expression = createEquals("Name1", "'Org'", stringType);
+
+    assertNotEquals(JPAFilterShape.of(et, null, expression), JPAFilterShape.of(et, association, expression));
+  }
+
+  @Test
+  void testShapeOfMethodCall() throws ExpressionVisitException, ODataApplicationException {
+    final Expression expression = new MethodImpl(MethodKind.CONTAINS, Arrays.asList(createMember("Name1"),
+        new LiteralImpl("'Org'", stringType)));
+
+    assertEquals("com.sap.olingo.jpa.Organization||CONTAINS(Name1,?Edm.String)",
+        JPAFilterShape.of(et, null, expression));
+  }
+
+  @Test
+  void testShapeNullOnNavigation() throws ExpressionVisitException, ODataApplicationException {
+    final UriResourceNavigation navigation = mock(UriResourceNavigation.class);
+    when(navigation.getKind()).thenReturn(UriResourceKind.navigationProperty);
+    final Expression expression = new BinaryImpl(createMember(navigation, createProperty("Name1")),
+        BinaryOperatorKind.EQ, new LiteralImpl("'Org'", stringType), null);
+
+    assertNull(JPAFilterShape.of(et, null, expression));
+  }
+
+  @Test
+  void testShapeNullWithoutEntityType() throws ExpressionVisitException, ODataApplicationException {
+    assertNull(JPAFilterShape.of(null, null, createEquals("Name1", "'Org'", stringType)));
+  }
+
+  @Test
+  void testVisitorUsesCachedPaths() throws ExpressionVisitException, ODataApplicationException,
+      ODataJPAModelException {
+    final JPAFilterComplierAccess compiler = mock(JPAFilterComplierAccess.class);
+    final JPAPath path = mock(JPAPath.class);
+    final JPAAttribute leaf = mock(JPAAttribute.class);
+    when(path.getLeaf()).thenReturn(leaf);
+    when(path.isPartOfGroups(Collections.emptyList())).thenReturn(true);
+    final JPAServiceDebugger debugger = mock(JPAServiceDebugger.class);
+    final JPAOperationConverter converter = new JPAOperationConverter(mock(CriteriaBuilder.class), mock(
+        JPAODataDatabaseOperations.class));
+    final From<?, ?> root = mock(From.class);
+    when(compiler.getDebugger()).thenReturn(debugger);
+    when(compiler.getConverter()).thenReturn(converter);
+    when(compiler.getJpaEntityType()).thenReturn(et);
+    doReturn(root).when(compiler).getRoot();
+    when(compiler.getGroups()).thenReturn(Collections.emptyList());
+
+    final JPAVisitor cut = new JPAVisitor(compiler, Collections.singletonList(path));
+    final JPAOperator act = cut.visitMember(createMember("Name1"));
+
+    assertSame(leaf, ((JPAMemberOperator) act).determineAttribute());
+    assertEquals(Collections.singletonList(path), cut.getResolvedPaths());
+    verify(et, never()).getPath(anyString());
+  }
+
+  private Expression createEquals(final String property, final String literal, final EdmPrimitiveType type) {
+    return new BinaryImpl(createMember(property), BinaryOperatorKind.EQ, new LiteralImpl(literal, type), null);
+  }
+
+  private Member createMember(final String property) {
+    return createMember(createProperty(property));
+  }
+
+  private Member createMember(final UriResource... parts) {
+    final UriInfoResource resource = mock(UriInfoResource.class);
+    when(resource.getUriResourceParts()).thenReturn(Arrays.asList(parts));
+    return new MemberImpl(resource, null);
+  }
+
+  private UriResourcePrimitiveProperty createProperty(final String name) {
+    final UriResourcePrimitiveProperty property = mock(UriResourcePrimitiveProperty.class);
+    when(property.getKind()).thenReturn(UriResourceKind.primitiveProperty);
+    when(property.getSegmentValue()).thenReturn(name);
+    return property;
+  }
+}
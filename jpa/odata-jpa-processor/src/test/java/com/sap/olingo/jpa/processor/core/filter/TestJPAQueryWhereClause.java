@@ -113,6 +113,54 @@ class TestJPAQueryWhereClause extends TestBase {
     assertEquals(9, orgs.size());
   }
 
+  @Test
+  void testFilterIn() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$filter=ID in ('3','5','7')");
+    helper.assertStatus(200);
+
+    final ArrayNode orgs = helper.getValues();
+    assertEquals(3, orgs.size());
+  }
+
+  @Test
+  void testFilterInConvertsValueToAttributeType() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=Area in (96339703,94235304)");
+    helper.assertStatus(200);
+
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=Area eq 96339703 or Area eq 94235304");
+    expected.assertStatus(200);
+    assertEquals(2, helper.getValues().size());
+    assertEquals(expected.getValues(), helper.getValues());
+  }
+
+  @Test
+  void testFilterNotIn() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "Organizations?$filter=not (ID in ('3','5'))");
+    helper.assertStatus(200);
+
+    final ArrayNode orgs = helper.getValues();
+    assertEquals(8, orgs.size());
+  }
+
+  @Test
+  void testFilterInWithinLambda() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "Organizations?$filter=Roles/any(d:d/RoleCategory in ('A','C'))");
+    helper.assertStatus(200);
+
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf,
+        "Organizations?$filter=Roles/any(d:d/RoleCategory eq 'A' or d/RoleCategory eq 'C')");
+    expected.assertStatus(200);
+    assertEquals(expected.getValues().size(), helper.getValues().size());
+  }
+
   @Test
   void testFilterOneEnumNotEqual() throws IOException, ODataException {
 
@@ -0,0 +1,68 @@
+package com.sap.olingo.jpa.processor.core.modify;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
+
+class JPAStreamedBlobTest {
+  private InputStream content;
+  private JPAStreamedBlob cut;
+
+  @BeforeEach
+  void setup() {
+    content = new ByteArrayInputStream(new byte[] { 1, 2, 3 });
+    cut = new JPAStreamedBlob(content, 3);
+  }
+
+  @Test
+  void testReturnsLength() throws SQLException {
+    assertEquals(3L, cut.length());
+    assertEquals(-1L, new JPAStreamedBlob(content, -1).length());
+  }
+
+  @Test
+  void testContentCanBeReadOnlyOnce() throws SQLException {
+    assertSame(content, cut.getBinaryStream());
+    assertThrows(SQLException.class, () -> cut.getBinaryStream());
+  }
+
+  @Test
+  void testContentNotProvidedAsBytes() {
+    assertThrows(SQLFeatureNotSupportedException.class, () -> cut.getBytes(1, 3));
+    assertThrows(SQLFeatureNotSupportedException.class, () -> cut.getBinaryStream(1, 2));
+  }
+
+  @Test
+  void testContentWrittenByDriver() throws SQLException {
+    try (Connection connection = DataSourceHelper.createDataSource(DataSourceHelper.DB_H2).getConnection()) {
+      connection.setAutoCommit(false);
+      try (PreparedStatement update = connection.prepareStatement(
+          "UPDATE \"OLINGO\".\"OrganizationImage\" SET \"Image\" = ? WHERE \"ID\" = '9'")) {
+        update.setBlob(1, cut);
+        assertEquals(1, update.executeUpdate());
+      }
+      try (PreparedStatement select = connection.prepareStatement(
+          "SELECT \"Image\" FROM \"OLINGO\".\"OrganizationImage\" WHERE \"ID\" = '9'");
+          ResultSet result = select.executeQuery()) {
+        result.next();
+        assertArrayEquals(new byte[] { 1, 2, 3 }, result.getBytes(1));
+      } finally {
+        connection.rollback();
+      }
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.sap.olingo.jpa.processor.core.modify;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -231,6 +232,72 @@ class TestJPACUDRequestHelper {
         ContentType.APPLICATION_JSON, uriResourceParts));
   }
 
+  @Test
+  void testIsEntityCollectionTrueForJsonArray() throws UnsupportedEncodingException, EdmPrimitiveTypeException,
+      ODataJPAProcessorException {
+
+    prepareEntitySet();
+    final ByteArrayInputStream is = new ByteArrayInputStream(" \n[{\"ID\" : \"35\"}]".getBytes("UTF-8"));
+    when(request.getBody()).thenReturn(is);
+
+    assertTrue(cut.isEntityCollection(request, ContentType.APPLICATION_JSON, uriResourceParts));
+    assertEquals(' ', is.read());
+  }
+
+  @Test
+  void testIsEntityCollectionFalseForJsonObject() throws UnsupportedEncodingException, EdmPrimitiveTypeException,
+      ODataJPAProcessorException {
+
+    prepareEntitySet();
+    when(request.getBody()).thenReturn(new ByteArrayInputStream("{\"ID\" : \"35\"}".getBytes("UTF-8")));
+
+    assertFalse(cut.isEntityCollection(request, ContentType.APPLICATION_JSON, uriResourceParts));
+  }
+
+  @Test
+  void testIsEntityCollectionFalseForXml() throws UnsupportedEncodingException, EdmPrimitiveTypeException,
+      ODataJPAProcessorException {
+
+    prepareEntitySet();
+    when(request.getBody()).thenReturn(new ByteArrayInputStream("[]".getBytes("UTF-8")));
+
+    assertFalse(cut.isEntityCollection(request, ContentType.APPLICATION_XML, uriResourceParts));
+  }
+
+  @Test
+  void testConvertInputStreamToCollectionReadsAllEntities() throws UnsupportedEncodingException,
+      EdmPrimitiveTypeException, ODataJPAProcessorException {
+
+    prepareEntitySet();
+    when(request.getBody()).thenReturn(new ByteArrayInputStream("[{\"ID\" : \"35\"}, {\"ID\" : \"36\"}]".getBytes(
+        "UTF-8")));
+
+    final List<Entity> act = new ArrayList<>();
+    try (JPAEntityCollectionReader reader = cut.convertInputStreamToCollection(OData.newInstance(), request,
+        ContentType.APPLICATION_JSON, uriResourceParts)) {
+      Entity entity;
+      while ((entity = reader.next()) != null)
+        act.add(entity);
+    }
+    assertEquals(2, act.size());
+    assertEquals("35", act.get(0).getProperty("ID").getValue());
+  }
+
+  @Test
+  void testConvertInputStreamToCollectionThrowsExceptionOnNoEntity() throws UnsupportedEncodingException,
+      EdmPrimitiveTypeException, ODataJPAProcessorException {
+
+    prepareEntitySet();
+    when(request.getBody()).thenReturn(new ByteArrayInputStream("[{\"ID\" : \"35\"}, 36]".getBytes("UTF-8")));
+
+    try (JPAEntityCollectionReader reader = cut.convertInputStreamToCollection(OData.newInstance(), request,
+        ContentType.APPLICATION_JSON, uriResourceParts)) {
+      assertNotNull(reader.next());
+      final ODataJPAProcessorException act = assertThrows(ODataJPAProcessorException.class, reader::next);
+      assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(), act.getStatusCode());
+    }
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   void testConvertInputStreamPrimitiveColectionProperty() throws UnsupportedEncodingException,
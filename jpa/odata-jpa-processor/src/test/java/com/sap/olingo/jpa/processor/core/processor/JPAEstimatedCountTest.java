@@ -0,0 +1,153 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.server.api.OData;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.ODataRequest;
+import org.apache.olingo.server.api.ODataResponse;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.apache.olingo.server.api.uri.UriParameter;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourceEntitySet;
+import org.apache.olingo.server.api.uri.UriResourceKind;
+import org.apache.olingo.server.api.uri.queryoption.FilterOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEdmProvider;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAProtectionInfo;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
+import com.sap.olingo.jpa.processor.core.api.JPAODataDatabaseProcessor;
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+
+class JPAEstimatedCountTest {
+  private JPAEstimatedCount cut;
+  private JPAODataRequestContextAccess requestContext;
+  private JPAODataDatabaseProcessor dbProcessor;
+  private ODataRequest request;
+  private UriInfo uriInfo;
+  private UriResourceEntitySet entitySet;
+  private JPAEntityType et;
+  private EntityManager em;
+
+  @BeforeEach
+  void setup() throws ODataException {
+    requestContext = mock(JPAODataRequestContextAccess.class);
+    dbProcessor = mock(JPAODataDatabaseProcessor.class);
+    request = mock(ODataRequest.class);
+    uriInfo = mock(UriInfo.class);
+    entitySet = mock(UriResourceEntitySet.class);
+    et = mock(JPAEntityType.class);
+    em = mock(EntityManager.class);
+    final EdmEntityType edmType = mock(EdmEntityType.class);
+    final JPAEdmProvider edmProvider = mock(JPAEdmProvider.class);
+    final JPAServiceDocument sd = mock(JPAServiceDocument.class);
+
+    when(requestContext.getUriInfo()).thenReturn(uriInfo);
+    when(requestContext.getDatabaseProcessor()).thenReturn(dbProcessor);
+    when(requestContext.getEntityManager()).thenReturn(em);
+    when(requestContext.getEdmProvider()).thenReturn(edmProvider);
+    when(edmProvider.getServiceDocument()).thenReturn(sd);
+    when(sd.getEntity(edmType)).thenReturn(et);
+    when(et.getProtections()).thenReturn(Collections.emptyList());
+    when(entitySet.getKind()).thenReturn(UriResourceKind.entitySet);
+    when(entitySet.getEntityType()).thenReturn(edmType);
+    when(entitySet.getKeyPredicates()).thenReturn(Collections.emptyList());
+    when(uriInfo.getUriResourceParts()).thenReturn(Collections.singletonList(entitySet));
+    when(request.getHeaders(HttpHeader.PREFER)).thenReturn(Collections.singletonList("estimated-count"));
+    when(dbProcessor.estimateCount(em, et)).thenReturn(Optional.of(1_000_000L));
+
+    cut = new JPAEstimatedCount(OData.newInstance(), requestContext);
+  }
+
+  @Test
+  void testEstimateReturnsEstimationOfDatabaseProcessor() throws ODataApplicationException {
+    assertEquals(1_000_000L, cut.estimate(request).get());
+  }
+
+  @Test
+  void testEstimateReturnsEstimationForCountRequest() throws ODataApplicationException {
+    final UriResource count = mock(UriResource.class);
+    when(count.getKind()).thenReturn(UriResourceKind.count);
+    when(uriInfo.getUriResourceParts()).thenReturn(Arrays.asList(entitySet, count));
+
+    assertEquals(1_000_000L, cut.estimate(request).get());
+  }
+
+  @Test
+  void testEstimateReturnsEmptyWithoutPreference() throws ODataApplicationException {
+    when(request.getHeaders(HttpHeader.PREFER)).thenReturn(null);
+
+    assertFalse(cut.estimate(request).isPresent());
+    verify(dbProcessor, never()).estimateCount(any(), any());
+  }
+
+  @Test
+  void testEstimateReturnsEmptyWithFilter() throws ODataApplicationException {
+    when(uriInfo.getFilterOption()).thenReturn(mock(FilterOption.class));
+
+    assertFalse(cut.estimate(request).isPresent());
+    verify(dbProcessor, never()).estimateCount(any(), any());
+  }
+
+  @Test
+  void testEstimateReturnsEmptyForNavigation() throws ODataApplicationException {
+    final UriResource navigation = mock(UriResource.class);
+    when(navigation.getKind()).thenReturn(UriResourceKind.navigationProperty);
+    when(uriInfo.getUriResourceParts()).thenReturn(Arrays.asList(entitySet, navigation));
+
+    assertFalse(cut.estimate(request).isPresent());
+  }
+
+  @Test
+  void testEstimateReturnsEmptyWithKey() throws ODataApplicationException {
+    final UriParameter key = mock(UriParameter.class);
+    when(entitySet.getKeyPredicates()).thenReturn(Collections.singletonList(key));
+
+    assertFalse(cut.estimate(request).isPresent());
+  }
+
+  @Test
+  void testEstimateReturnsEmptyForProtectedEntityType() throws ODataApplicationException, ODataJPAModelException {
+    final JPAProtectionInfo protection = mock(JPAProtectionInfo.class);
+    when(et.getProtections()).thenReturn(Collections.singletonList(protection));
+
+    assertFalse(cut.estimate(request).isPresent());
+    verify(dbProcessor, never()).estimateCount(any(), any());
+  }
+
+  @Test
+  void testEstimateConvertsModelException() throws ODataJPAModelException {
+    when(et.getProtections()).thenThrow(ODataJPAModelException.class);
+
+    assertThrows(ODataJPAProcessorException.class, () -> cut.estimate(request));
+  }
+
+  @Test
+  void testMarkEstimatedSetsPreferenceApplied() {
+    final ODataResponse response = mock(ODataResponse.class);
+
+    JPAEstimatedCount.markEstimated(response);
+    verify(response).setHeader(HttpHeader.PREFERENCE_APPLIED, "estimated-count");
+  }
+}
@@ -0,0 +1,85 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JPAMediaRangeTest {
+  private static final byte[] CONTENT = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+
+  @ParameterizedTest
+  @CsvSource({
+      "'bytes=0-3', 0, 3, 'bytes 0-3/10'",
+      "'bytes=5-', 5, 9, 'bytes 5-9/10'",
+      "'bytes=-3', 7, 9, 'bytes 7-9/10'",
+      "'bytes=-20', 0, 9, 'bytes 0-9/10'",
+      "'bytes=8-20', 8, 9, 'bytes 8-9/10'",
+      "' bytes = 2 - 2 ', 2, 2, 'bytes 2-2/10'" })
+  void testRangeOf(final String header, final long first, final long last, final String contentRange) {
+    final JPAMediaRange act = JPAMediaRange.of(header, CONTENT.length).get();
+
+    assertTrue(act.isSatisfiable());
+    assertEquals(first, act.getFirst());
+    assertEquals(last, act.getLast());
+    assertEquals(contentRange, act.getContentRange());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "", "bytes=", "bytes=-", "bytes=3-1", "bytes=0-1,3-4", "items=0-1", "bytes=a-1" })
+  void testRangeIgnored(final String header) {
+    assertFalse(JPAMediaRange.of(header, CONTENT.length).isPresent());
+  }
+
+  @Test
+  void testRangeIgnoredWithoutHeaderOrLength() {
+    assertFalse(JPAMediaRange.of(null, CONTENT.length).isPresent());
+    assertFalse(JPAMediaRange.of("bytes=0-1", -1).isPresent());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "bytes=10-", "bytes=10-12", "bytes=-0" })
+  void testRangeNotSatisfiable(final String header) {
+    final Optional<JPAMediaRange> act = JPAMediaRange.of(header, CONTENT.length);
+
+    assertTrue(act.isPresent());
+    assertFalse(act.get().isSatisfiable());
+    assertEquals("bytes */10", act.get().getContentRange());
+  }
+
+  @Test
+  void testRestrictReturnsRangeOnly() throws IOException {
+    final InputStream act = JPAMediaRange.of("bytes=2-4", CONTENT.length).get()
+        .restrict(new ByteArrayInputStream(CONTENT));
+
+    assertArrayEquals(new byte[] { 2, 3, 4 }, readAll(act));
+  }
+
+  @Test
+  void testRestrictReturnsSuffix() throws IOException {
+    final InputStream act = JPAMediaRange.of("bytes=-2", CONTENT.length).get()
+        .restrict(new ByteArrayInputStream(CONTENT));
+
+    assertArrayEquals(new byte[] { 8, 9 }, readAll(act));
+  }
+
+  private byte[] readAll(final InputStream stream) throws IOException {
+    final ByteArrayOutputStream result = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[4];
+    int read;
+    while ((read = stream.read(buffer)) != -1)
+      result.write(buffer, 0, read);
+    return result.toByteArray();
+  }
+}
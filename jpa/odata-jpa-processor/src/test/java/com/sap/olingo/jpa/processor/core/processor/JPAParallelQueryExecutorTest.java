@@ -0,0 +1,187 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriInfoResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPARequestParameterMap;
+import com.sap.olingo.jpa.processor.cb.ProcessorEntityManager;
+import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAQueryException;
+
+class JPAParallelQueryExecutorTest {
+  private JPAParallelQueryExecutor<String> cut;
+  private JPAODataRequestContextAccess requestContext;
+  private EntityManagerFactory emf;
+  private EntityManager em;
+  private EntityManager parallelEm;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() {
+    requestContext = mock(JPAODataRequestContextAccess.class);
+    emf = mock(EntityManagerFactory.class);
+    em = mock(EntityManager.class);
+    parallelEm = mock(EntityManager.class);
+    executor = Executors.newFixedThreadPool(2);
+
+    when(requestContext.getEntityManager()).thenReturn(em);
+    when(requestContext.getRequestParameter()).thenReturn(mock(JPARequestParameterMap.class));
+    when(requestContext.getClaimsProvider()).thenReturn(Optional.empty());
+    when(requestContext.getGroupsProvider()).thenReturn(Optional.empty());
+    when(emf.createEntityManager()).thenReturn(parallelEm);
+    when(parallelEm.isOpen()).thenReturn(Boolean.TRUE);
+    cut = new JPAParallelQueryExecutor<>(requestContext, new HashMap<>(), executor, emf);
+  }
+
+  @AfterEach
+  void teardown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void testIsSupportedFalseWithoutExecutor() {
+    when(requestContext.getExpandExecutor()).thenReturn(Optional.empty());
+    when(requestContext.getEntityManagerFactory()).thenAnswer(i -> Optional.of(emf));
+    assertFalse(JPAParallelQueryExecutor.isSupported(requestContext, 2));
+  }
+
+  @Test
+  void testIsSupportedFalseWithoutEntityManagerFactory() {
+    when(requestContext.getExpandExecutor()).thenReturn(Optional.of(executor));
+    when(requestContext.getEntityManagerFactory()).thenAnswer(i -> Optional.empty());
+    assertFalse(JPAParallelQueryExecutor.isSupported(requestContext, 2));
+  }
+
+  @Test
+  void testIsSupportedFalseForOneQuery() {
+    when(requestContext.getExpandExecutor()).thenReturn(Optional.of(executor));
+    when(requestContext.getEntityManagerFactory()).thenAnswer(i -> Optional.of(emf));
+    assertFalse(JPAParallelQueryExecutor.isSupported(requestContext, 1));
+  }
+
+  @Test
+  void testIsSupportedTrue() {
+    when(requestContext.getExpandExecutor()).thenReturn(Optional.of(executor));
+    when(requestContext.getEntityManagerFactory()).thenAnswer(i -> Optional.of(emf));
+    assertTrue(JPAParallelQueryExecutor.isSupported(requestContext, 2));
+  }
+
+  @Test
+  void testCreateContextUsesNewEntityManager() throws ODataException {
+    final UriInfoResource uriInfo = mock(UriInfoResource.class);
+    final JPAODataRequestContextAccess act = cut.createContext(uriInfo);
+
+    assertEquals(parallelEm, act.getEntityManager());
+    assertNotEquals(em, act.getEntityManager());
+    assertEquals(uriInfo, act.getUriInfo());
+  }
+
+  @Test
+  void testCreateContextTakesOverSchemaMapping() throws ODataException {
+    final Map<String, String> schemaMapping = Collections.singletonMap("\"OLINGO\"", "\"TENANT1\"");
+    final EntityManager tenantEm = mock(EntityManager.class);
+    when(em.getProperties()).thenReturn(Collections.singletonMap(ProcessorEntityManager.SCHEMA_MAPPING,
+        schemaMapping));
+    when(emf.createEntityManager(Collections.singletonMap(ProcessorEntityManager.SCHEMA_MAPPING, schemaMapping)))
+        .thenReturn(tenantEm);
+    final JPAODataRequestContextAccess act = cut.createContext(mock(UriInfoResource.class));
+
+    assertEquals(tenantEm, act.getEntityManager());
+  }
+
+  @Test
+  void testExecuteReturnsResultsInOrder() throws ODataException {
+    final CountDownLatch secondFinished = new CountDownLatch(1);
+    cut.add(() -> {
+      try {
+        return secondFinished.await(5, TimeUnit.SECONDS) ? "First" : "Timeout";
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return "Interrupted";
+      }
+    });
+    cut.add(() -> {
+      secondFinished.countDown();
+      return "Second";
+    });
+    cut.add(() -> "Third");
+
+    assertEquals(Arrays.asList("First", "Second", "Third"), cut.execute());
+  }
+
+  @Test
+  void testExecuteRunsOnExecutorThreads() throws ODataException {
+    final Thread caller = Thread.currentThread();
+    cut.add(() -> Thread.currentThread().getName());
+    cut.add(() -> Thread.currentThread().getName());
+
+    final List<String> act = cut.execute();
+    assertFalse(act.contains(caller.getName()));
+  }
+
+  @Test
+  void testExecuteRethrowsQueryException() {
+    final ODataApplicationException exception = new ODataApplicationException("Test", 400, null);
+    cut.add(() -> "First");
+    cut.add(() -> {
+      throw exception;
+    });
+
+    final ODataException act = assertThrows(ODataException.class, () -> cut.execute());
+    assertEquals(exception, act);
+  }
+
+  @Test
+  void testExecuteWrapsPersistenceException() {
+    final PersistenceException exception = new PersistenceException("Test");
+    cut.add(() -> "First");
+    cut.add(() -> {
+      throw exception;
+    });
+
+    final ODataJPAQueryException act = assertThrows(ODataJPAQueryException.class, () -> cut.execute());
+    assertEquals(HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(), act.getStatusCode());
+    assertEquals(exception, act.getCause());
+  }
+
+  @Test
+  void testCloseClosesEntityManager() throws ODataException {
+    cut.createContext(mock(UriInfoResource.class));
+    cut.createContext(mock(UriInfoResource.class));
+    cut.close();
+
+    verify(parallelEm, times(2)).close();
+    verify(em, never()).close();
+  }
+}
@@ -0,0 +1,57 @@
+package com.sap.olingo.jpa.processor.core.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
+import com.sap.olingo.jpa.processor.core.query.JPACountQuery;
+
+class JPAReusableCountQueryTest {
+  private JPACountQuery query;
+  private JPAReusableCountQuery cut;
+
+  @BeforeEach
+  void setup() {
+    query = mock(JPACountQuery.class);
+    cut = new JPAReusableCountQuery(() -> query);
+  }
+
+  @Test
+  void testCountResultsExecutesQueryOnce() throws ODataApplicationException {
+    when(query.countResults()).thenReturn(19L);
+
+    assertFalse(cut.getCount().isPresent());
+    assertEquals(19L, cut.countResults());
+    assertEquals(19L, cut.countResults());
+    assertEquals(19L, cut.getCount().get());
+    verify(query, times(1)).countResults();
+  }
+
+  @Test
+  void testCountResultsRethrowsApplicationException() throws ODataApplicationException {
+    final ODataJPAProcessorException exception = mock(ODataJPAProcessorException.class);
+    when(query.countResults()).thenThrow(exception);
+
+    assertEquals(exception, assertThrows(ODataApplicationException.class, () -> cut.countResults()));
+    assertFalse(cut.getCount().isPresent());
+  }
+
+  @Test
+  void testCountResultsWrapsCreationException() {
+    cut = new JPAReusableCountQuery(() -> {
+      throw new ODataException("Test");
+    });
+
+    assertThrows(ODataJPAProcessorException.class, () -> cut.countResults());
+  }
+}
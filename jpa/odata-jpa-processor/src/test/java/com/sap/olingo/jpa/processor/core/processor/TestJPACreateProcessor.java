@@ -25,6 +25,8 @@ import java.util.Map.Entry;
 import java.util.Optional;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
 
 import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.edm.Edm;
@@ -423,6 +425,58 @@ class TestJPACreateProcessor extends TestJPAModifyProcessor {
     assertEquals(0, spy.noValidateCalls);
   }
 
+  @Test
+  void testFlushesInChangeSetIfKeyMissing() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareSimpleRequest();
+    final EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    final PersistenceUnitUtil util = mock(PersistenceUnitUtil.class);
+
+    final RequestHandleSpy spy = new RequestHandleSpy();
+    when(requestContext.getCUDRequestHandler()).thenReturn(spy);
+    when(requestContext.getChangeSetBatchSize()).thenReturn(100);
+    when(factory.hasActiveTransaction()).thenReturn(Boolean.TRUE);
+    when(em.getEntityManagerFactory()).thenReturn(emf);
+    when(emf.getPersistenceUnitUtil()).thenReturn(util);
+    when(util.getIdentifier(any())).thenReturn(null);
+
+    processor.createEntity(request, response, ContentType.JSON, ContentType.JSON);
+    verify(em, times(1)).flush();
+  }
+
+  @Test
+  void testDoesNotFlushInChangeSetIfKeyKnown() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareSimpleRequest();
+    final EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    final PersistenceUnitUtil util = mock(PersistenceUnitUtil.class);
+
+    final RequestHandleSpy spy = new RequestHandleSpy();
+    when(requestContext.getCUDRequestHandler()).thenReturn(spy);
+    when(requestContext.getChangeSetBatchSize()).thenReturn(100);
+    when(factory.hasActiveTransaction()).thenReturn(Boolean.TRUE);
+    when(em.getEntityManagerFactory()).thenReturn(emf);
+    when(emf.getPersistenceUnitUtil()).thenReturn(util);
+    when(util.getIdentifier(any())).thenReturn("35");
+
+    processor.createEntity(request, response, ContentType.JSON, ContentType.JSON);
+    verify(em, never()).flush();
+  }
+
+  @Test
+  void testDoesNotFlushWithoutChangeSetBatchSize() throws ODataException {
+    final ODataResponse response = new ODataResponse();
+    final ODataRequest request = prepareSimpleRequest();
+
+    final RequestHandleSpy spy = new RequestHandleSpy();
+    when(requestContext.getCUDRequestHandler()).thenReturn(spy);
+    when(factory.hasActiveTransaction()).thenReturn(Boolean.TRUE);
+
+    processor.createEntity(request, response, ContentType.JSON, ContentType.JSON);
+    verify(em, never()).flush();
+    verify(em, never()).getEntityManagerFactory();
+  }
+
   @Test
   void testDoesNotCallsValidateChangesOnError() throws ODataException {
     final ODataResponse response = new ODataResponse();
@@ -1,5 +1,6 @@
 package com.sap.olingo.jpa.processor.core.processor;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -7,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -41,7 +43,10 @@ import org.apache.olingo.server.api.uri.UriResourceProperty;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAttribute;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAStructuredType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelException;
 import com.sap.olingo.jpa.processor.core.api.JPAAbstractCUDRequestHandler;
@@ -50,6 +55,7 @@ import com.sap.olingo.jpa.processor.core.api.JPAODataClaimProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataClaimsProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataGroupProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataGroupsProvider;
+import com.sap.olingo.jpa.processor.core.api.JPAODataMediaStorage;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 import com.sap.olingo.jpa.processor.core.modify.JPAUpdateResult;
@@ -602,6 +608,72 @@ class TestJPAUpdateProcessor extends TestJPAModifyProcessor {
     verify(transaction, times(1)).commit();
   }
 
+  @Test
+  void testMediaReferenceCanNotBeSetByUpdate() throws ODataJPAModelException {
+    when(requestContext.getMediaStorage()).thenReturn(Optional.of(mock(JPAODataMediaStorage.class)));
+    final JPARequestEntity requestEntity = createMediaRequestEntity(String.class, "content", "abc");
+
+    final ODataJPAProcessorException act = assertThrows(ODataJPAProcessorException.class,
+        () -> processor.checkMediaReferenceNotSet(requestEntity));
+    assertEquals(HttpStatusCode.BAD_REQUEST.getStatusCode(), act.getStatusCode());
+  }
+
+  @Test
+  void testMediaReferenceCanNotBeSetByRelatedEntity() throws ODataJPAModelException {
+    when(requestContext.getMediaStorage()).thenReturn(Optional.of(mock(JPAODataMediaStorage.class)));
+    final JPARequestEntity requestEntity = createMediaRequestEntity(String.class, "name", "Willi");
+    final JPARequestEntity relatedEntity = createMediaRequestEntity(String.class, "content", "abc");
+    final Map<JPAAssociationPath, List<JPARequestEntity>> relatedEntities = new HashMap<>();
+    relatedEntities.put(mock(JPAAssociationPath.class), Arrays.asList(relatedEntity));
+    when(requestEntity.getRelatedEntities()).thenReturn(relatedEntities);
+
+    assertThrows(ODataJPAProcessorException.class, () -> processor.checkMediaReferenceNotSet(requestEntity));
+  }
+
+  @Test
+  void testMediaReferenceCheckIgnoresOtherAttributes() throws ODataJPAModelException {
+    when(requestContext.getMediaStorage()).thenReturn(Optional.of(mock(JPAODataMediaStorage.class)));
+    final JPARequestEntity requestEntity = createMediaRequestEntity(String.class, "name", "Willi");
+
+    assertDoesNotThrow(() -> processor.checkMediaReferenceNotSet(requestEntity));
+  }
+
+  @Test
+  void testMediaContentCanBeSetWithoutMediaStorage() throws ODataJPAModelException {
+    when(requestContext.getMediaStorage()).thenReturn(Optional.empty());
+    final JPARequestEntity requestEntity = createMediaRequestEntity(String.class, "content", "abc");
+
+    assertDoesNotThrow(() -> processor.checkMediaReferenceNotSet(requestEntity));
+  }
+
+  @Test
+  void testMediaContentNotStoredCanBeSet() throws ODataJPAModelException {
+    when(requestContext.getMediaStorage()).thenReturn(Optional.of(mock(JPAODataMediaStorage.class)));
+    final JPARequestEntity requestEntity = createMediaRequestEntity(byte[].class, "content", new byte[] { 1 });
+
+    assertDoesNotThrow(() -> processor.checkMediaReferenceNotSet(requestEntity));
+  }
+
+  private JPARequestEntity createMediaRequestEntity(final Class<?> streamType, final String attribute,
+      final Object value) throws ODataJPAModelException {
+    final JPAAttribute streamAttribute = mock(JPAAttribute.class);
+    doReturn(streamType).when(streamAttribute).getType();
+    when(streamAttribute.getInternalName()).thenReturn("content");
+    when(streamAttribute.getExternalName()).thenReturn("Content");
+    final JPAPath streamPath = mock(JPAPath.class);
+    when(streamPath.getLeaf()).thenReturn(streamAttribute);
+    final JPAEntityType et = mock(JPAEntityType.class);
+    when(et.hasStream()).thenReturn(true);
+    when(et.getStreamAttributePath()).thenReturn(streamPath);
+    final Map<String, Object> data = new HashMap<>();
+    data.put(attribute, value);
+    final JPARequestEntity requestEntity = mock(JPARequestEntity.class);
+    when(requestEntity.getEntityType()).thenReturn(et);
+    when(requestEntity.getData()).thenReturn(data);
+    when(requestEntity.getRelatedEntities()).thenReturn(new HashMap<>());
+    return requestEntity;
+  }
+
   class RequestHandleSpy extends JPAAbstractCUDRequestHandler {
     public int noValidateCalls;
     public JPAEntityType et;
@@ -0,0 +1,124 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.api.JPAEntityManagerFactory;
+import com.sap.olingo.jpa.processor.core.testmodel.DataSourceHelper;
+import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
+
+/**
+ * Reads entities with $expand over several levels with the query per expand level and with single statement expand.
+ * Compares the number of database round trips needed to read the data.
+ */
+class ExpandRoundTripTest {
+  private static final String PUNIT_NAME = "com.sap.olingo.jpa";
+  private static final String ONE_LEVEL =
+      "AdministrativeDivisions(DivisionCode='BE25',CodeID='NUTS2',CodePublisher='Eurostat')?$expand=Parent";
+  private static final String TWO_BRANCHES =
+      "AdministrativeDivisions(DivisionCode='BE32',CodeID='NUTS2',CodePublisher='Eurostat')?$expand=Parent,Children";
+  private static final String THREE_LEVELS =
+      "AdministrativeDivisions(DivisionCode='33016',CodeID='LAU2',CodePublisher='Eurostat')?$expand=Parent($expand=Parent($expand=Parent))";
+  private static EntityManagerFactory emf;
+  private static AtomicInteger selectRoundTrips;
+
+  @BeforeAll
+  static void setupDataSource() {
+    selectRoundTrips = new AtomicInteger();
+    emf = JPAEntityManagerFactory.getEntityManagerFactory(PUNIT_NAME, countingDataSource(DataSourceHelper
+        .createDataSource(DataSourceHelper.DB_H2)));
+  }
+
+  @BeforeEach
+  void setup() {
+    selectRoundTrips.set(0);
+  }
+
+  @Test
+  void testOneLevelNeedsSameRoundTrips() throws IOException, ODataException {
+    assertEquals(2, countRoundTrips(ONE_LEVEL, false));
+    assertEquals(2, countRoundTrips(ONE_LEVEL, true));
+  }
+
+  @Test
+  void testTwoBranchesNeedFewerRoundTrips() throws IOException, ODataException {
+    assertEquals(3, countRoundTrips(TWO_BRANCHES, false));
+    assertEquals(2, countRoundTrips(TWO_BRANCHES, true));
+  }
+
+  @Test
+  void testThreeLevelsNeedFewerRoundTrips() throws IOException, ODataException {
+    assertEquals(4, countRoundTrips(THREE_LEVELS, false));
+    assertEquals(2, countRoundTrips(THREE_LEVELS, true));
+  }
+
+  private int countRoundTrips(final String url, final boolean singleStatement) throws IOException,
+      ODataException {
+    selectRoundTrips.set(0);
+    new IntegrationTestHelper(emf, url, singleStatement).assertStatus(200);
+    return selectRoundTrips.get();
+  }
+
+  /**
+   * Counts the statements executed against the database to read data.
+   */
+  private static DataSource countingDataSource(final DataSource dataSource) {
+    return (DataSource) Proxy.newProxyInstance(ExpandRoundTripTest.class.getClassLoader(),
+        new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+          // The entity manager factories are cached per data source, so the proxy needs an own identity
+          if ("hashCode".equals(method.getName()))
+            return System.identityHashCode(proxy);
+          if ("equals".equals(method.getName()))
+            return proxy == args[0];
+          final Object result = invoke(dataSource, method, args);
+          if ("getConnection".equals(method.getName()))
+            return countingConnection((Connection) result);
+          return result;
+        });
+  }
+
+  private static Connection countingConnection(final Connection connection) {
+    return (Connection) Proxy.newProxyInstance(ExpandRoundTripTest.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+          final Object result = invoke(connection, method, args);
+          if ("prepareStatement".equals(method.getName())
+              && ((String) args[0]).trim().toUpperCase(Locale.ENGLISH).startsWith("SELECT"))
+            return countingStatement((PreparedStatement) result);
+          return result;
+        });
+  }
+
+  private static PreparedStatement countingStatement(final PreparedStatement statement) {
+    return (PreparedStatement) Proxy.newProxyInstance(ExpandRoundTripTest.class.getClassLoader(),
+        new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+          if (method.getName().startsWith("execute"))
+            selectRoundTrips.incrementAndGet();
+          return invoke(statement, method, args);
+        });
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -21,6 +21,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAAssociationPath;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAEntityType;
 import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAServiceDocument;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.util.TestBase;
 
 class JPAExpandSubCountQueryTest extends TestBase {
@@ -57,10 +58,10 @@ class JPAExpandSubCountQueryTest extends TestBase {
 
     cut = new JPAExpandSubCountQuery(odata, requestContext, et, association, hops);
 
-    final Map<String, Long> act = cut.convertCountResult(intermediateResult);
+    final Map<JPAResultKey, Long> act = cut.convertCountResult(intermediateResult);
 
     assertNotNull(act);
     assertEquals(1, act.size());
-    assertEquals(5L, act.get(""));
+    assertEquals(5L, act.get(JPAResultKey.of()));
   }
 }
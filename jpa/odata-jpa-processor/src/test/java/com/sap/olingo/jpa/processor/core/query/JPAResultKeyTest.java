@@ -0,0 +1,101 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Function;
+
+import javax.persistence.Tuple;
+
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
+
+class JPAResultKeyTest {
+
+  @Test
+  void testSingleValueKeyEqualsSameValue() {
+    assertEquals(JPAResultKey.of("1"), JPAResultKey.of(new String("1")));
+    assertEquals(JPAResultKey.of("1").hashCode(), JPAResultKey.of(new String("1")).hashCode());
+  }
+
+  @Test
+  void testTwoValueKeyEqualsSameValues() {
+    assertEquals(JPAResultKey.of("1", "A"), JPAResultKey.of(new String("1"), new String("A")));
+    assertEquals(JPAResultKey.of("1", "A").hashCode(), JPAResultKey.of("1", "A").hashCode());
+  }
+
+  @Test
+  void testMultiValueKeyEqualsSameValues() {
+    assertEquals(JPAResultKey.of("Eurostat", "NUTS1", "BE2"), JPAResultKey.of("Eurostat", "NUTS1", "BE2"));
+    assertEquals(JPAResultKey.of("Eurostat", "NUTS1", "BE2").hashCode(),
+        JPAResultKey.of("Eurostat", "NUTS1", "BE2").hashCode());
+  }
+
+  @Test
+  void testVarargsCreatesSpecializedKeys() {
+    assertEquals(JPAResultKey.of("1"), JPAResultKey.of(new Object[] { "1" }));
+    assertEquals(JPAResultKey.of("1", "A"), JPAResultKey.of(new Object[] { "1", "A" }));
+  }
+
+  @Test
+  void testKeyNotEqualsDifferentOrder() {
+    assertNotEquals(JPAResultKey.of("1", "A"), JPAResultKey.of("A", "1"));
+  }
+
+  @Test
+  void testKeyNotEqualsDifferentNumberOfValues() {
+    assertNotEquals(JPAResultKey.of("1"), JPAResultKey.of("1", null));
+    assertNotEquals(JPAResultKey.of("1", "A"), JPAResultKey.of("1", "A", null));
+  }
+
+  @Test
+  void testKeyNotEqualsSameTextDifferentType() {
+    assertNotEquals(JPAResultKey.of("1"), JPAResultKey.of(1L));
+    assertNotEquals(JPAResultKey.of("1/A"), JPAResultKey.of("1", "A"));
+  }
+
+  @Test
+  void testKeyEqualsDifferentIntegerTypes() {
+    assertEquals(JPAResultKey.of(Integer.valueOf(10)), JPAResultKey.of(Long.valueOf(10)));
+    assertEquals(JPAResultKey.of(Short.valueOf((short) 10), "A"), JPAResultKey.of(Long.valueOf(10), "A"));
+  }
+
+  @Test
+  void testKeyCanHandleNull() {
+    assertEquals(JPAResultKey.of((Object) null), JPAResultKey.of((Object) null));
+    assertNotEquals(JPAResultKey.of("1", null), JPAResultKey.of(null, "1"));
+  }
+
+  @Test
+  void testRootNotEqualsRootAsValue() {
+    assertNotEquals(JPAResultKey.ROOT, JPAResultKey.of("root"));
+    assertEquals(JPAResultKey.ROOT, JPAResultKey.of());
+  }
+
+  @Test
+  void testKeyFromTupleEqualsKeyFromValues() {
+    final Tuple row = mock(Tuple.class);
+    when(row.get("CodePublisher")).thenReturn("Eurostat");
+    when(row.get("CodeID")).thenReturn("NUTS1");
+    when(row.get("DivisionCode")).thenReturn("BE2");
+
+    assertEquals(JPAResultKey.of("Eurostat"),
+        JPAResultKey.of(row, Collections.singletonList("CodePublisher"), Function.identity()));
+    assertEquals(JPAResultKey.of("Eurostat", "NUTS1"),
+        JPAResultKey.of(row, Arrays.asList("CodePublisher", "CodeID"), Function.identity()));
+    assertEquals(JPAResultKey.of("Eurostat", "NUTS1", "BE2"),
+        JPAResultKey.of(row, Arrays.asList("CodePublisher", "CodeID", "DivisionCode"), Function.identity()));
+  }
+
+  @Test
+  void testToStringConcatenatesValues() {
+    assertEquals("1", JPAResultKey.of("1").toString());
+    assertEquals("1/A", JPAResultKey.of("1", "A").toString());
+    assertEquals("Eurostat/NUTS1/BE2", JPAResultKey.of("Eurostat", "NUTS1", "BE2").toString());
+  }
+}
@@ -0,0 +1,139 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.persistence.Tuple;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sap.olingo.jpa.metadata.core.edm.mapper.api.JPAPath;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
+import com.sap.olingo.jpa.processor.core.util.TupleDouble;
+
+/**
+ * Groups 10000 child rows by the join columns of their parent and looks up the children of 1000 parent rows, once with
+ * keys concatenated into a string, as done before the typed result keys were introduced, and once with
+ * {@link JPAResultKey}. The string keys were built twice per parent row, for the entities and for the count. Compares
+ * the memory allocated and the number of keys that collide.
+ */
+class ResultKeyAllocationTest {
+  private static final List<String> COLUMNS = Arrays.asList("CodePublisher", "ParentID");
+  private static final int NO_PARENTS = 1000;
+  private static final int NO_CHILDREN = 10000;
+  private static List<Tuple> parents;
+  private static List<Tuple> children;
+
+  @BeforeAll
+  static void setupRows() {
+    parents = new ArrayList<>(NO_PARENTS);
+    for (int i = 0; i < NO_PARENTS; i++)
+      parents.add(createRow("Eurostat", 100000 + i));
+    children = new ArrayList<>(NO_CHILDREN);
+    for (int i = 0; i < NO_CHILDREN; i++)
+      children.add(createRow("Eurostat", 100000 + i % NO_PARENTS));
+  }
+
+  @Test
+  void testBothKeysFindAllChildren() {
+    assertEquals(NO_CHILDREN, convert(ResultKeyAllocationTest::concatenateKey, 1));
+    assertEquals(NO_CHILDREN, convert(ResultKeyAllocationTest::resultKey, 1));
+  }
+
+  @Test
+  void testResultKeyAllocatesLessMemory() {
+    final com.sun.management.ThreadMXBean threads = getThreadMXBean();
+    // Warm up, so class loading and compilation is not measured
+    for (int i = 0; i < 5; i++) {
+      convert(ResultKeyAllocationTest::concatenateKey, 2);
+      convert(ResultKeyAllocationTest::resultKey, 1);
+    }
+
+    final long concatenatedStart = threads.getCurrentThreadAllocatedBytes();
+    convert(ResultKeyAllocationTest::concatenateKey, 2);
+    final long concatenated = threads.getCurrentThreadAllocatedBytes() - concatenatedStart;
+
+    final long resultKeyStart = threads.getCurrentThreadAllocatedBytes();
+    convert(ResultKeyAllocationTest::resultKey, 1);
+    final long resultKey = threads.getCurrentThreadAllocatedBytes() - resultKeyStart;
+
+    assertTrue(resultKey < concatenated, "Allocated bytes: result key " + resultKey + ", concatenated "
+        + concatenated);
+  }
+
+  @Test
+  void testConcatenatedKeysCollideResultKeysNot() {
+    final List<Tuple> rows = Arrays.asList(
+        createRow("Euro/stat", "1"),
+        createRow("Euro", "stat/1"),
+        createRow("1", null),
+        createRow("1", "null"));
+    final Set<Object> concatenated = new HashSet<>();
+    final Set<Object> resultKeys = new HashSet<>();
+    for (final Tuple row : rows) {
+      concatenated.add(concatenateKey(row));
+      resultKeys.add(resultKey(row));
+    }
+
+    assertEquals(2, concatenated.size());
+    assertEquals(rows.size(), resultKeys.size());
+  }
+
+  /**
+   * Groups the children by key and reads the children of each parent with <code>lookupsPerParent</code> look ups.
+   * @return number of children found for the parents
+   */
+  private static int convert(final Function<Tuple, Object> keyBuilder, final int lookupsPerParent) {
+    final Map<Object, List<Tuple>> groups = new HashMap<>();
+    for (final Tuple child : children)
+      groups.computeIfAbsent(keyBuilder.apply(child), key -> new ArrayList<>()).add(child);
+    int found = 0;
+    for (final Tuple parent : parents) {
+      found += groups.get(keyBuilder.apply(parent)).size();
+      for (int i = 1; i < lookupsPerParent; i++)
+        groups.get(keyBuilder.apply(parent));
+    }
+    return found;
+  }
+
+  private static Object concatenateKey(final Tuple row) {
+    final StringBuilder buffer = new StringBuilder();
+    for (final String column : COLUMNS) {
+      buffer.append(JPAPath.PATH_SEPARATOR);
+      buffer.append(row.get(column));
+    }
+    buffer.deleteCharAt(0);
+    return buffer.toString();
+  }
+
+  private static Object resultKey(final Tuple row) {
+    return JPAResultKey.of(row, COLUMNS, Function.identity());
+  }
+
+  private static Tuple createRow(final Object codePublisher, final Object parentId) {
+    final Map<String, Object> values = new HashMap<>();
+    values.put(COLUMNS.get(0), codePublisher);
+    values.put(COLUMNS.get(1), parentId);
+    return new TupleDouble(values);
+  }
+
+  private static com.sun.management.ThreadMXBean getThreadMXBean() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+        .getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+    return threads;
+  }
+}
@@ -24,6 +24,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelExcept
 import com.sap.olingo.jpa.processor.core.api.JPAODataContextAccessDouble;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContext;
 import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPAIllegalAccessException;
 import com.sap.olingo.jpa.processor.core.processor.JPAODataInternalRequestContext;
 import com.sap.olingo.jpa.processor.core.util.EdmEntityTypeDouble;
@@ -65,11 +66,11 @@ class TestJPAExpandQueryCreateResult extends TestBase {
     final Tuple t = new TupleDouble(oneResult);
     result.add(t);
 
-    final Map<String, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
+    final Map<JPAResultKey, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
 
-    assertNotNull(act.get("1"));
-    assertEquals(1, act.get("1").size());
-    assertEquals("1", act.get("1").get(0).get("BusinessPartnerID"));
+    assertNotNull(act.get(JPAResultKey.of("1")));
+    assertEquals(1, act.get(JPAResultKey.of("1")).size());
+    assertEquals("1", act.get(JPAResultKey.of("1")).get(0).get("BusinessPartnerID"));
   }
 
   @Test
@@ -90,12 +91,12 @@ class TestJPAExpandQueryCreateResult extends TestBase {
     t = new TupleDouble(oneResult);
     result.add(t);
 
-    final Map<String, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
+    final Map<JPAResultKey, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
 
     assertEquals(1, act.size());
-    assertNotNull(act.get("2"));
-    assertEquals(2, act.get("2").size());
-    assertEquals("2", act.get("2").get(0).get("BusinessPartnerID"));
+    assertNotNull(act.get(JPAResultKey.of("2")));
+    assertEquals(2, act.get(JPAResultKey.of("2")).size());
+    assertEquals("2", act.get(JPAResultKey.of("2")).get(0).get("BusinessPartnerID"));
   }
 
   @Test
@@ -116,12 +117,12 @@ class TestJPAExpandQueryCreateResult extends TestBase {
     t = new TupleDouble(oneResult);
     result.add(t);
 
-    final Map<String, List<Tuple>> act = cut.convertResult(result, exp, 0, 1);
+    final Map<JPAResultKey, List<Tuple>> act = cut.convertResult(result, exp, 0, 1);
 
     assertEquals(1, act.size());
-    assertNotNull(act.get("2"));
-    assertEquals(1, act.get("2").size());
-    assertEquals("A", act.get("2").get(0).get("RoleCategory"));
+    assertNotNull(act.get(JPAResultKey.of("2")));
+    assertEquals(1, act.get(JPAResultKey.of("2")).size());
+    assertEquals("A", act.get(JPAResultKey.of("2")).get(0).get("RoleCategory"));
   }
 
   @Test
@@ -142,12 +143,12 @@ class TestJPAExpandQueryCreateResult extends TestBase {
     t = new TupleDouble(oneResult);
     result.add(t);
 
-    final Map<String, List<Tuple>> act = cut.convertResult(result, exp, 1, 1000);
+    final Map<JPAResultKey, List<Tuple>> act = cut.convertResult(result, exp, 1, 1000);
 
     assertEquals(1, act.size());
-    assertNotNull(act.get("2"));
-    assertEquals(1, act.get("2").size());
-    assertEquals("C", act.get("2").get(0).get("RoleCategory"));
+    assertNotNull(act.get(JPAResultKey.of("2")));
+    assertEquals(1, act.get(JPAResultKey.of("2")).size());
+    assertEquals("C", act.get(JPAResultKey.of("2")).get(0).get("RoleCategory"));
   }
 
   @Test
@@ -168,13 +169,13 @@ class TestJPAExpandQueryCreateResult extends TestBase {
     t = new TupleDouble(oneResult);
     result.add(t);
 
-    final Map<String, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
+    final Map<JPAResultKey, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
 
     assertEquals(2, act.size());
-    assertNotNull(act.get("1"));
-    assertNotNull(act.get("2"));
-    assertEquals(1, act.get("2").size());
-    assertEquals("C", act.get("2").get(0).get("RoleCategory"));
+    assertNotNull(act.get(JPAResultKey.of("1")));
+    assertNotNull(act.get(JPAResultKey.of("2")));
+    assertEquals(1, act.get(JPAResultKey.of("2")).size());
+    assertEquals("C", act.get(JPAResultKey.of("2")).get(0).get("RoleCategory"));
   }
 
   @Test
@@ -190,11 +191,11 @@ class TestJPAExpandQueryCreateResult extends TestBase {
     final Tuple t = new TupleDouble(oneResult);
     result.add(t);
 
-    final Map<String, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
+    final Map<JPAResultKey, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
 
-    assertNotNull(act.get("NUTS/2/BE25"));
-    assertEquals(1, act.get("NUTS/2/BE25").size());
-    assertEquals("BE2", act.get("NUTS/2/BE25").get(0).get("ParentDivisionCode"));
+    assertNotNull(act.get(JPAResultKey.of("NUTS", "2", "BE25")));
+    assertEquals(1, act.get(JPAResultKey.of("NUTS", "2", "BE25")).size());
+    assertEquals("BE2", act.get(JPAResultKey.of("NUTS", "2", "BE25")).get(0).get("ParentDivisionCode"));
   }
 
   @Test
@@ -222,15 +223,15 @@ class TestJPAExpandQueryCreateResult extends TestBase {
     t = new TupleDouble(oneResult);
     result.add(t);
 
-    final Map<String, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
+    final Map<JPAResultKey, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
 
     assertEquals(2, act.size());
-    assertNotNull(act.get("NUTS/2/BE25"));
-    assertEquals(1, act.get("NUTS/2/BE25").size());
-    assertEquals("BE2", act.get("NUTS/2/BE25").get(0).get("ParentDivisionCode"));
-    assertNotNull(act.get("NUTS/2/BE10"));
-    assertEquals(1, act.get("NUTS/2/BE10").size());
-    assertEquals("BE1", act.get("NUTS/2/BE10").get(0).get("ParentDivisionCode"));
+    assertNotNull(act.get(JPAResultKey.of("NUTS", "2", "BE25")));
+    assertEquals(1, act.get(JPAResultKey.of("NUTS", "2", "BE25")).size());
+    assertEquals("BE2", act.get(JPAResultKey.of("NUTS", "2", "BE25")).get(0).get("ParentDivisionCode"));
+    assertNotNull(act.get(JPAResultKey.of("NUTS", "2", "BE10")));
+    assertEquals(1, act.get(JPAResultKey.of("NUTS", "2", "BE10")).size());
+    assertEquals("BE1", act.get(JPAResultKey.of("NUTS", "2", "BE10")).get(0).get("ParentDivisionCode"));
   }
 
   @Test
@@ -248,10 +249,10 @@ class TestJPAExpandQueryCreateResult extends TestBase {
     final Tuple t = new TupleDouble(oneResult);
     result.add(t);
 
-    final Map<String, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
+    final Map<JPAResultKey, List<Tuple>> act = cut.convertResult(result, exp, 0, Long.MAX_VALUE);
 
-    assertNotNull(act.get("2"));
-    assertEquals(1, act.get("2").size());
-    assertEquals("97", act.get("2").get(0).get("ID"));
+    assertNotNull(act.get(JPAResultKey.of("2")));
+    assertEquals(1, act.get(JPAResultKey.of("2")).size());
+    assertEquals("97", act.get(JPAResultKey.of("2")).get(0).get("ID"));
   }
 }
@@ -0,0 +1,77 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+class TestJPAProcessorExpandParallel extends TestBase {
+  private static ExecutorService executor;
+
+  @BeforeAll
+  static void classSetup() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterAll
+  static void classTeardown() {
+    executor.shutdown();
+  }
+
+  static Stream<String> expandUrls() {
+    return Stream.of(
+        "Organizations?$orderby=ID&$expand=Roles",
+        "AdministrativeDivisions(DivisionCode='BE32',CodeID='NUTS2',CodePublisher='Eurostat')?$expand=Parent,Children",
+        "AdministrativeDivisions(DivisionCode='BE32',CodeID='NUTS2',CodePublisher='Eurostat')?$expand=Parent,Children,AllDescriptions($orderby=Language)",
+        "AdministrativeDivisions(DivisionCode='BE253',CodeID='NUTS3',CodePublisher='Eurostat')?$expand=Parent($expand=Children,Parent)",
+        "Organizations('3')?$select=ID,Name1&$expand=Roles,SupportEngineers",
+        "Organizations?$count=true&$expand=Roles($count=true),AdministrativeInformation/Created/User",
+        "CollectionDeeps('501')",
+        "Collections('502')");
+  }
+
+  @ParameterizedTest
+  @MethodSource("expandUrls")
+  void testParallelExpandReturnsSameResult(final String url) throws IOException, ODataException {
+
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf, url);
+    expected.assertStatus(200);
+    final IntegrationTestHelper act = new IntegrationTestHelper(emf, url, executor);
+    act.assertStatus(200);
+
+    assertEquals(expected.getNormalizedResult(), act.getNormalizedResult());
+  }
+
+  @Test
+  void testParallelExpandUsesExecutor() throws IOException, ODataException {
+    final AtomicInteger noExecutions = new AtomicInteger();
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions(DivisionCode='BE32',CodeID='NUTS2',CodePublisher='Eurostat')?$expand=Parent,Children",
+        command -> {
+          noExecutions.incrementAndGet();
+          executor.execute(command);
+        });
+    helper.assertStatus(200);
+
+    final ObjectNode division = helper.getValue();
+    assertEquals("BE3", division.get("Parent").get("DivisionCode").asText());
+    assertTrue(division.get("Children").size() > 0);
+    assertEquals(2, noExecutions.get());
+  }
+}
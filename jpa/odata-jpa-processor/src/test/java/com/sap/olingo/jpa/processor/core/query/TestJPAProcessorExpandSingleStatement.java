@@ -0,0 +1,62 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+class TestJPAProcessorExpandSingleStatement extends TestBase {
+
+  static Stream<String> expandUrls() {
+    return Stream.of(
+        "Organizations?$orderby=ID&$expand=Roles",
+        "Organizations('2')?$expand=Roles",
+        "Organizations?$orderby=Name1&$select=Name1&$expand=Roles",
+        "Organizations('3')?$expand=AdministrativeInformation/Created/User",
+        "AdministrativeDivisions(DivisionCode='BE25',CodeID='NUTS2',CodePublisher='Eurostat')?$expand=Parent",
+        "AdministrativeDivisions(DivisionCode='BE253',CodeID='NUTS3',CodePublisher='Eurostat')?$expand=Parent($expand=Children)",
+        "AdministrativeDivisions(DivisionCode='33016',CodeID='LAU2',CodePublisher='Eurostat')?$expand=Parent($expand=Parent($expand=Parent))",
+        "AdministrativeDivisions(DivisionCode='BE32',CodeID='NUTS2',CodePublisher='Eurostat')?$expand=Parent,Children",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$top=4&$skip=1&$expand=Children($top=2;$expand=Children($top=1;$skip=1))&orderby=DivisionCode",
+        "AdministrativeDivisions(DivisionCode='BE2',CodeID='NUTS1',CodePublisher='Eurostat')?$expand=Children($top=2;$skip=2;$orderby=DivisionCode desc)",
+        "AdministrativeDivisions?$filter=DivisionCode eq 'BE25' and CodeID eq 'NUTS2'&$expand=Children($filter=DivisionCode eq 'BE252')",
+        "Organizations?$count=true&$expand=Roles($count=true)",
+        "BusinessPartnerRoles(BusinessPartnerID='1',RoleCategory='A')?$expand=Organization($select=ID,Comment)",
+        "Organizations('3')?$expand=*");
+  }
+
+  @ParameterizedTest
+  @MethodSource("expandUrls")
+  void testSingleStatementExpandReturnsSameResult(final String url) throws IOException, ODataException {
+
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf, url);
+    expected.assertStatus(200);
+    final IntegrationTestHelper act = new IntegrationTestHelper(emf, url, true);
+    act.assertStatus(200);
+
+    assertEquals(expected.getNormalizedResult(), act.getNormalizedResult());
+  }
+
+  @Test
+  void testSingleStatementExpandNoChildFound() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions(DivisionCode='BE25',CodeID='NUTS2',CodePublisher='Eurostat')?$expand=Children($filter=DivisionCode eq 'XXX';$expand=Children)",
+        true);
+    helper.assertStatus(200);
+
+    final ObjectNode division = helper.getValue();
+    final ArrayNode children = (ArrayNode) division.get("Children");
+    assertEquals(0, children.size());
+  }
+}
@@ -0,0 +1,80 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
+import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+class TestJPAProcessorStreamedEntityCollection extends TestBase {
+
+  static Stream<String> collectionUrls() {
+    return Stream.of(
+        "AdministrativeDivisions?$orderby=CodePublisher,CodeID,DivisionCode",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$orderby=DivisionCode desc&$top=3&$skip=1",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS2'&$count=true",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$select=DivisionCode,Area",
+        "AdministrativeDivisions?$filter=CodeID eq 'XXX'",
+        "AdministrativeDivisions(DivisionCode='BE2',CodeID='NUTS1',CodePublisher='Eurostat')/Children",
+        "AdministrativeDivisions(DivisionCode='BE2',CodeID='NUTS1',CodePublisher='Eurostat')/Children?$count=true&$top=2",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$expand=Children",
+        "AdministrativeDivisionDescriptions?$filter=Language eq 'de'",
+        "BusinessPartnerRoles",
+        "Organizations?$orderby=ID",
+        "Persons?$select=ID");
+  }
+
+  @ParameterizedTest
+  @MethodSource("collectionUrls")
+  void testStreamedCollectionReturnsSameResult(final String url) throws IOException, ODataException {
+
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf, url);
+    expected.assertStatus(200);
+    final IntegrationTestHelper act = new IntegrationTestHelper(emf, url, (JPAODataPagingProvider) null, true);
+    act.assertStatus(200);
+
+    assertEquals(expected.getNormalizedResult(), act.getNormalizedResult());
+  }
+
+  @Test
+  void testStreamedCollectionReturnsSameXmlResult() throws IOException, ODataException {
+    final String url = "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$orderby=DivisionCode&$format=xml";
+
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf, url);
+    expected.assertStatus(200);
+    final IntegrationTestHelper act = new IntegrationTestHelper(emf, url, (JPAODataPagingProvider) null, true);
+    act.assertStatus(200);
+
+    assertEquals(expected.getRawResult().replaceAll("<a:updated>.*?</a:updated>", ""),
+        act.getRawResult().replaceAll("<a:updated>.*?</a:updated>", ""));
+  }
+
+  @Test
+  void testStreamedCollectionReturnsNextLink() throws IOException, ODataException {
+
+    final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
+    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
+        .getArguments()[0], 0, 5, "Hugo"));
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$orderby=DivisionCode", provider, true);
+    helper.assertStatus(200);
+    final ObjectNode value = helper.getValue();
+    assertEquals(5, value.get("value").size());
+    assertEquals("AdministrativeDivisions?$skiptoken='Hugo'", value.get("@odata.nextLink").asText());
+  }
+}
@@ -0,0 +1,81 @@
+package com.sap.olingo.jpa.processor.core.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import org.apache.olingo.commons.api.ex.ODataException;
+import org.apache.olingo.server.api.uri.UriInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
+import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
+import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
+import com.sap.olingo.jpa.processor.core.util.TestBase;
+
+class TestJPAProcessorWindowFunctionCount extends TestBase {
+
+  static Stream<String> countUrls() {
+    return Stream.of(
+        "AdministrativeDivisions?$count=true",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS2'&$count=true",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$orderby=DivisionCode desc&$top=3&$skip=1&$count=true",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$skip=100&$count=true",
+        "AdministrativeDivisions?$filter=CodeID eq 'XXX'&$count=true",
+        "AdministrativeDivisions(DivisionCode='BE2',CodeID='NUTS1',CodePublisher='Eurostat')/Children?$count=true&$top=2",
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$expand=Children&$count=true&$top=2",
+        "Organizations?$orderby=Roles/$count desc&$count=true&$top=3",
+        "Persons?$select=ID&$count=true");
+  }
+
+  @ParameterizedTest
+  @MethodSource("countUrls")
+  void testWindowFunctionCountReturnsSameResult(final String url) throws IOException, ODataException {
+
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf, url);
+    expected.assertStatus(200);
+    final IntegrationTestHelper act = new IntegrationTestHelper(emf, url, (JPAODataPagingProvider) null, false,
+        true);
+    act.assertStatus(200);
+
+    assertEquals(expected.getNormalizedResult(), act.getNormalizedResult());
+  }
+
+  @Test
+  void testWindowFunctionCountReturnsCountWithPage() throws IOException, ODataException {
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$top=2&$count=true", (JPAODataPagingProvider) null, false,
+        true);
+    helper.assertStatus(200);
+    final ObjectNode value = helper.getValue();
+    assertEquals(2, value.get("value").size());
+    assertEquals(19, value.get("@odata.count").asInt());
+  }
+
+  @Test
+  void testCountOfPagingProviderIsReused() throws IOException, ODataException {
+
+    final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
+    final Long[] count = new Long[1];
+    when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> {
+      count[0] = ((JPACountQuery) i.getArguments()[2]).countResults();
+      return new JPAODataPage((UriInfo) i.getArguments()[0], 0, 5, "Hugo");
+    });
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS1'&$count=true", provider);
+    helper.assertStatus(200);
+    final ObjectNode value = helper.getValue();
+    assertEquals(5, value.get("value").size());
+    assertEquals(19L, count[0]);
+    assertEquals(19, value.get("@odata.count").asInt());
+  }
+}
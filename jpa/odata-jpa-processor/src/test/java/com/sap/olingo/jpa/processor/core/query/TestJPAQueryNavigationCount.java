@@ -3,6 +3,10 @@ package com.sap.olingo.jpa.processor.core.query;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.junit.jupiter.api.Test;
@@ -49,4 +53,26 @@ class TestJPAQueryNavigationCount extends TestBase {
     assertEquals(200, helper.getStatus());
     assertEquals("2", helper.getRawResult());
   }
+
+  @Test
+  void testEntitySetCountExactIfNoEstimationAvailable() throws IOException, ODataException {
+    final Map<String, List<String>> headers = new HashMap<>();
+    headers.put("Prefer", Collections.singletonList("estimated-count"));
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations/$count", headers);
+
+    assertEquals(200, helper.getStatus());
+    assertEquals("10", helper.getRawResult());
+  }
+
+  @Test
+  void testCountTrueExactIfNoEstimationAvailable() throws IOException, ODataException {
+    final Map<String, List<String>> headers = new HashMap<>();
+    headers.put("Prefer", Collections.singletonList("estimated-count"));
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$count=true&$top=2", headers);
+
+    assertEquals(200, helper.getStatus());
+    assertEquals(10, helper.getValue().get("@odata.count").asInt());
+  }
 }
@@ -6,8 +6,13 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.olingo.commons.api.ex.ODataException;
 import org.junit.jupiter.api.Test;
@@ -229,6 +234,31 @@ class TestJPAQuerySelectByPath extends TestBase {
     assertEquals(93316, act.length, 0);
   }
 
+  @Test
+  void testNavigationToStreamValueWithRange() throws IOException, ODataException {
+    new ImageLoader().loadPerson(emf.createEntityManager(), "OlingoOrangeTM.png", "99");
+    final Map<String, List<String>> headers = new HashMap<>();
+    headers.put("Range", Arrays.asList("bytes=100-199"));
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "PersonImages('99')/$value", headers);
+    helper.assertStatus(206);
+
+    final byte[] act = helper.getBinaryResult();
+    assertEquals(100, act.length);
+    verify(helper.getResponse()).addHeader("Content-Range", "bytes 100-199/93316");
+  }
+
+  @Test
+  void testNavigationToStreamValueWithRangeNotSatisfiable() throws IOException, ODataException {
+    new ImageLoader().loadPerson(emf.createEntityManager(), "OlingoOrangeTM.png", "99");
+    final Map<String, List<String>> headers = new HashMap<>();
+    headers.put("Range", Arrays.asList("bytes=93316-"));
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "PersonImages('99')/$value", headers);
+    helper.assertStatus(416);
+    verify(helper.getResponse()).addHeader("Content-Range", "bytes */93316");
+  }
+
   @Test
   void testNavigationToStreamValueVia() throws IOException, ODataException {
     new ImageLoader().loadPerson(emf.createEntityManager(), "OlingoOrangeTM.png", "99");
@@ -1,9 +1,12 @@
 package com.sap.olingo.jpa.processor.core.query;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNotNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -13,7 +16,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.apache.olingo.commons.api.edm.EdmEntityType;
@@ -38,17 +43,22 @@ import org.apache.olingo.server.api.uri.queryoption.SystemQueryOptionKind;
 import org.apache.olingo.server.api.uri.queryoption.expression.Member;
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sap.olingo.jpa.processor.core.api.JPAClaimsPair;
 import com.sap.olingo.jpa.processor.core.api.JPAODataClaimsProvider;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPage;
 import com.sap.olingo.jpa.processor.core.api.JPAODataPagingProvider;
+import com.sap.olingo.jpa.processor.core.api.example.JPAExampleKeysetPagingProvider;
+import com.sap.olingo.jpa.processor.core.api.example.JPAExampleStatelessPagingProvider;
 import com.sap.olingo.jpa.processor.core.util.IntegrationTestHelper;
 import com.sap.olingo.jpa.processor.core.util.TestBase;
 import com.sap.olingo.jpa.processor.core.util.matcher.CountQueryMatcher;
 
 class TestJPAServerDrivenPaging extends TestBase {
+  private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes();
+
   @Test
   void testReturnsNotImplementedIfPagingProviderNotAvailable() throws IOException, ODataException {
 
@@ -59,7 +69,7 @@ class TestJPAServerDrivenPaging extends TestBase {
   @Test
   void testReturnsGoneIfPagingProviderRetunrsNullForSkiptoken() throws IOException, ODataException {
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getNextPage("xyz")).thenReturn(null);
+    when(provider.getNextPage(eq("xyz"), any())).thenReturn(null);
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$skiptoken=xyz", provider);
     helper.assertStatus(410);
 
@@ -116,7 +126,7 @@ class TestJPAServerDrivenPaging extends TestBase {
     final UriInfo uriInfo = buildUriInfo();
 
     final JPAODataPagingProvider provider = mock(JPAODataPagingProvider.class);
-    when(provider.getNextPage("xyz")).thenReturn(new JPAODataPage(uriInfo, 5, 5, null));
+    when(provider.getNextPage(eq("xyz"), any())).thenReturn(new JPAODataPage(uriInfo, 5, 5, null));
 
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$skiptoken=xyz", provider);
     helper.assertStatus(200);
@@ -259,7 +269,7 @@ class TestJPAServerDrivenPaging extends TestBase {
     when(provider.getFirstPage(any(), any(), any(), any())).thenAnswer(i -> new JPAODataPage((UriInfo) i
         .getArguments()[0], 0, 5, "Hugo"));
 
-    when(provider.getNextPage("'Hugo'")).thenReturn(new JPAODataPage(uriInfo, 5, 5, "Willi"));
+    when(provider.getNextPage(eq("'Hugo'"), any())).thenReturn(new JPAODataPage(uriInfo, 5, 5, "Willi"));
     final IntegrationTestHelper helper = new IntegrationTestHelper(emf, "Organizations?$orderby=ID desc&$select=ID",
         provider);
     helper.assertStatus(200);
@@ -272,6 +282,149 @@ class TestJPAServerDrivenPaging extends TestBase {
 
   }
 
+  @Test
+  void testKeysetPagingReturnsAllEntities() throws IOException, ODataException {
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf, "AdministrativeDivisions");
+    expected.assertStatus(200);
+
+    final List<String> act = readAllKeysetPages("AdministrativeDivisions", 50);
+    assertEquals(expected.getValues().size(), act.size());
+    assertEquals(act.size(), new HashSet<>(act).size());
+  }
+
+  @Test
+  void testKeysetPagingRespectsFilterAndTop() throws IOException, ODataException {
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS3'&$orderby=CodePublisher,CodeID,DivisionCode&$top=25");
+    expected.assertStatus(200);
+    final List<String> exp = new ArrayList<>();
+    expected.getValues().forEach(division -> exp.add(toKey(division)));
+
+    final List<String> act = readAllKeysetPages("AdministrativeDivisions?$filter=CodeID eq 'NUTS3'&$top=25", 10);
+    assertEquals(exp, act);
+  }
+
+  @Test
+  void testKeysetPagingReturnsCountOfAllEntities() throws IOException, ODataException {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("AdministrativeDivisions", 10);
+    final JPAODataPagingProvider provider = new JPAExampleKeysetPagingProvider(sizes, SECRET);
+    final IntegrationTestHelper first = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS2'&$count=true", provider);
+    first.assertStatus(200);
+    final ObjectNode firstPage = first.getValue();
+    final IntegrationTestHelper second = new IntegrationTestHelper(emf, firstPage.get("@odata.nextLink").asText(),
+        provider);
+    second.assertStatus(200);
+
+    assertEquals(10, firstPage.get("value").size());
+    assertEquals(firstPage.get("@odata.count").asInt(), second.getValue().get("@odata.count").asInt());
+  }
+
+  @Test
+  void testKeysetPagingReturnsNextPageOnOtherInstance() throws IOException, ODataException {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("AdministrativeDivisions", 10);
+    final IntegrationTestHelper first = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS2'", new JPAExampleKeysetPagingProvider(sizes, SECRET));
+    first.assertStatus(200);
+    final String nextLink = first.getValue().get("@odata.nextLink").asText();
+    final IntegrationTestHelper second = new IntegrationTestHelper(emf, nextLink,
+        new JPAExampleKeysetPagingProvider(sizes, SECRET));
+    second.assertStatus(200);
+
+    assertFalse(second.getValues().isEmpty());
+    assertTrue(toKey(first.getValues().get(9)).compareTo(toKey(second.getValues().get(0))) < 0);
+  }
+
+  @Test
+  void testKeysetPagingReturnsGoneIfQueryOptionsChanged() throws IOException, ODataException {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("AdministrativeDivisions", 10);
+    final JPAODataPagingProvider provider = new JPAExampleKeysetPagingProvider(sizes, SECRET);
+    final IntegrationTestHelper first = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS2'", provider);
+    first.assertStatus(200);
+    final String nextLink = first.getValue().get("@odata.nextLink").asText();
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, nextLink.replace("NUTS2", "NUTS3"), provider);
+    helper.assertStatus(410);
+  }
+
+  @Test
+  void testStatelessPagingKeepsQueryOptionsInNextLink() throws IOException, ODataException {
+    final IntegrationTestHelper first = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS3'&$orderby=DivisionCode", createStatelessProvider(10));
+    first.assertStatus(200);
+    final String nextLink = first.getValue().get("@odata.nextLink").asText();
+
+    assertTrue(nextLink.startsWith("AdministrativeDivisions?$filter=CodeID%20eq%20'NUTS3'&$orderby=DivisionCode&"
+        + "$skiptoken='"));
+  }
+
+  @Test
+  void testStatelessPagingReturnsAllEntitiesOnDifferentInstances() throws IOException, ODataException {
+    final IntegrationTestHelper expected = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS3'&$orderby=DivisionCode");
+    expected.assertStatus(200);
+    final List<String> exp = new ArrayList<>();
+    expected.getValues().forEach(division -> exp.add(toKey(division)));
+
+    final List<String> act = new ArrayList<>();
+    String nextUrl = "AdministrativeDivisions?$filter=CodeID eq 'NUTS3'&$orderby=DivisionCode";
+    while (nextUrl != null) {
+      // Each page is read with a new provider instance, as if it would be read by another server
+      final IntegrationTestHelper helper = new IntegrationTestHelper(emf, nextUrl, createStatelessProvider(10));
+      helper.assertStatus(200);
+      final ObjectNode page = helper.getValue();
+      assertTrue(page.get("value").size() <= 10);
+      page.get("value").forEach(division -> act.add(toKey(division)));
+      nextUrl = page.get("@odata.nextLink") != null ? page.get("@odata.nextLink").asText() : null;
+    }
+    assertEquals(exp, act);
+  }
+
+  @Test
+  void testStatelessPagingReturnsGoneIfQueryOptionsChanged() throws IOException, ODataException {
+    final IntegrationTestHelper first = new IntegrationTestHelper(emf,
+        "AdministrativeDivisions?$filter=CodeID eq 'NUTS3'&$orderby=DivisionCode", createStatelessProvider(10));
+    first.assertStatus(200);
+    final String nextLink = first.getValue().get("@odata.nextLink").asText();
+
+    final IntegrationTestHelper helper = new IntegrationTestHelper(emf, nextLink.replace("NUTS3", "NUTS2"),
+        createStatelessProvider(10));
+    helper.assertStatus(410);
+  }
+
+  private JPAODataPagingProvider createStatelessProvider(final int pageSize) {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("AdministrativeDivisions", pageSize);
+    return new JPAExampleStatelessPagingProvider(sizes, SECRET);
+  }
+
+  private List<String> readAllKeysetPages(final String url, final int pageSize) throws IOException,
+      ODataException {
+    final Map<String, Integer> sizes = new HashMap<>();
+    sizes.put("AdministrativeDivisions", pageSize);
+    final JPAODataPagingProvider provider = new JPAExampleKeysetPagingProvider(sizes, SECRET);
+    final List<String> result = new ArrayList<>();
+    String nextUrl = url;
+    while (nextUrl != null) {
+      final IntegrationTestHelper helper = new IntegrationTestHelper(emf, nextUrl, provider);
+      helper.assertStatus(200);
+      final ObjectNode page = helper.getValue();
+      assertTrue(page.get("value").size() <= pageSize);
+      page.get("value").forEach(division -> result.add(toKey(division)));
+      nextUrl = page.get("@odata.nextLink") != null ? page.get("@odata.nextLink").asText() : null;
+    }
+    return result;
+  }
+
+  private String toKey(final JsonNode division) {
+    return division.get("CodePublisher").asText() + "/" + division.get("CodeID").asText() + "/"
+        + division.get("DivisionCode").asText();
+  }
+
   private UriInfo buildUriInfo() throws EdmPrimitiveTypeException {
     final UriInfo uriInfo = mock(UriInfo.class);
     final UriResourceEntitySet uriEs = mock(UriResourceEntitySet.class);
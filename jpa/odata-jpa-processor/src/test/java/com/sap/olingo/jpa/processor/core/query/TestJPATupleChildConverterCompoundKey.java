@@ -22,6 +22,7 @@ import com.sap.olingo.jpa.metadata.core.edm.mapper.exception.ODataJPAModelExcept
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContext;
 import com.sap.olingo.jpa.processor.core.api.JPAODataRequestContextAccess;
 import com.sap.olingo.jpa.processor.core.api.JPAODataSessionContextAccess;
+import com.sap.olingo.jpa.processor.core.converter.JPAResultKey;
 import com.sap.olingo.jpa.processor.core.converter.JPATupleChildConverter;
 import com.sap.olingo.jpa.processor.core.processor.JPAODataInternalRequestContext;
 import com.sap.olingo.jpa.processor.core.testmodel.AdministrativeDivisionDescriptionKey;
@@ -57,8 +58,8 @@ class TestJPATupleChildConverterCompoundKey extends TestBase {
   void checkConvertsOneResultsTwoKeys() throws ODataApplicationException, ODataJPAModelException {
     // .../BusinessPartnerRoles(BusinessPartnerID='3',RoleCategory='C')
 
-    final HashMap<String, List<Tuple>> resultContainer = new HashMap<>(1);
-    resultContainer.put("root", jpaQueryResult);
+    final HashMap<JPAResultKey, List<Tuple>> resultContainer = new HashMap<>(1);
+    resultContainer.put(ROOT_RESULT_KEY, jpaQueryResult);
 
     cut = new JPATupleChildConverter(helper.sd, uriHelper, new ServiceMetadataDouble(nameBuilder,
         "BusinessPartnerRole"), requestContext);
@@ -88,8 +89,8 @@ class TestJPATupleChildConverterCompoundKey extends TestBase {
   void checkConvertsOneResultsEmbeddedKey() throws ODataApplicationException, ODataJPAModelException {
     // .../AdministrativeDivisionDescriptions(CodePublisher='ISO', CodeID='3166-1', DivisionCode='DEU',Language='en')
 
-    final HashMap<String, List<Tuple>> resultContainer = new HashMap<>(1);
-    resultContainer.put("root", jpaQueryResult);
+    final HashMap<JPAResultKey, List<Tuple>> resultContainer = new HashMap<>(1);
+    resultContainer.put(ROOT_RESULT_KEY, jpaQueryResult);
 
     cut = new JPATupleChildConverter(helper.sd, uriHelper, new ServiceMetadataDouble(nameBuilder,
         "AdministrativeDivisionDescription"), requestContext);
@@ -0,0 +1,125 @@
+package com.sap.olingo.jpa.processor.core.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JPAChannelSerializerResultTest {
+  private static final byte[] CONTENT = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+  @TempDir
+  Path root;
+
+  @Test
+  void testProvidesLengthOfChannel() throws IOException {
+    final JPAChannelSerializerResult cut = new JPAChannelSerializerResult(openFile());
+
+    assertEquals(10L, cut.getLength());
+  }
+
+  @Test
+  void testProvidesContentAsStream() throws IOException {
+    final JPAChannelSerializerResult cut = new JPAChannelSerializerResult(openFile());
+
+    final ByteArrayOutputStream act = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[4];
+    int read;
+    while ((read = cut.getContent().read(buffer)) > 0)
+      act.write(buffer, 0, read);
+    assertArrayEquals(CONTENT, act.toByteArray());
+  }
+
+  @Test
+  void testWritesRangeOfFile() throws IOException {
+    final FileChannel channel = openFile();
+    final JPAChannelSerializerResult cut = new JPAChannelSerializerResult(channel);
+
+    final ByteArrayOutputStream act = new ByteArrayOutputStream();
+    cut.getContent(3, 4).get().write(act);
+    assertArrayEquals(new byte[] { 3, 4, 5, 6 }, act.toByteArray());
+    assertFalse(channel.isOpen());
+  }
+
+  @Test
+  void testWritesRangeOfOtherChannel() throws IOException {
+    final SeekableByteChannel channel = new ByteArrayChannel(CONTENT);
+    final JPAChannelSerializerResult cut = new JPAChannelSerializerResult(channel);
+
+    final ByteArrayOutputStream act = new ByteArrayOutputStream();
+    cut.getContent(7, 3).get().write(act);
+    assertArrayEquals(new byte[] { 7, 8, 9 }, act.toByteArray());
+    assertFalse(channel.isOpen());
+  }
+
+  private FileChannel openFile() throws IOException {
+    final Path file = Files.write(root.resolve("content"), CONTENT);
+    return FileChannel.open(file, StandardOpenOption.READ);
+  }
+
+  private static class ByteArrayChannel implements SeekableByteChannel {
+    private final byte[] content;
+    private int position;
+    private boolean open = true;
+
+    ByteArrayChannel(final byte[] content) {
+      this.content = content;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+      open = false;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+      if (position >= content.length)
+        return -1;
+      final int count = Math.min(dst.remaining(), content.length - position);
+      dst.put(content, position, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long position() throws IOException {
+      return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(final long newPosition) throws IOException {
+      position = (int) newPosition;
+      return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+      return content.length;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long size) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -1,23 +1,40 @@
 package com.sap.olingo.jpa.processor.core.serializer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.sql.Blob;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.olingo.commons.api.data.Entity;
 import org.apache.olingo.commons.api.data.EntityCollection;
 import org.apache.olingo.commons.api.data.Property;
 import org.apache.olingo.commons.api.data.ValueType;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.edm.EdmEntityType;
+import org.apache.olingo.commons.api.edm.EdmKeyPropertyRef;
 import org.apache.olingo.commons.api.edm.EdmPrimitiveType;
 import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.FullQualifiedName;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ServiceMetadata;
 import org.apache.olingo.server.api.serializer.FixedFormatSerializer;
@@ -32,6 +49,9 @@ import org.apache.olingo.server.api.uri.UriResourceValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.sap.olingo.jpa.processor.core.api.JPAODataMediaStorage;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessException;
+import com.sap.olingo.jpa.processor.core.exception.ODataJPAProcessorException;
 import com.sap.olingo.jpa.processor.core.exception.ODataJPASerializerException;
 
 class TestJPASerializeValue {
@@ -39,13 +59,15 @@ class TestJPASerializeValue {
   private ServiceMetadata serviceMetadata;
   private FixedFormatSerializer serializer;
   private UriInfo uriInfo;
+  private JPAODataMediaStorage mediaStorage;
 
   @BeforeEach
   public void setup() {
     serviceMetadata = mock(ServiceMetadata.class);
     uriInfo = mock(UriInfo.class);
     serializer = mock(FixedFormatSerializer.class);
-    cut = new JPASerializeValue(serviceMetadata, serializer, uriInfo);
+    mediaStorage = mock(JPAODataMediaStorage.class);
+    cut = new JPASerializeValue(serviceMetadata, serializer, uriInfo, Optional.of(mediaStorage));
   }
 
   @Test
@@ -82,4 +104,70 @@ class TestJPASerializeValue {
     assertNotNull(act);
     verify(serializer, times(0)).primitiveValue(eq(valueODataType), isNull(), any());
   }
+
+  @Test
+  void testProvidesBlobAsStream() throws SerializerException, ODataJPASerializerException, SQLException {
+    final InputStream content = new ByteArrayInputStream(new byte[] { 1, 2, 3 });
+    final Blob blob = mock(Blob.class);
+    when(blob.getBinaryStream()).thenReturn(content);
+    when(blob.length()).thenReturn(3L);
+
+    final SerializerResult act = cut.serialize(new ODataRequest(), createMediaResult(blob));
+    assertSame(content, act.getContent());
+    assertEquals(3L, ((JPAMediaSerializerResult) act).getLength());
+    verify(serializer, never()).binary(any());
+  }
+
+  @Test
+  void testProvidesLengthOfBinary() throws SerializerException, ODataJPASerializerException {
+    final byte[] content = new byte[] { 1, 2, 3 };
+
+    final SerializerResult act = cut.serialize(new ODataRequest(), createMediaResult(content));
+    assertEquals(3L, ((JPAMediaSerializerResult) act).getLength());
+    verify(serializer).binary(content);
+  }
+
+  @Test
+  void testProvidesStoredMediaAsChannel() throws SerializerException, ODataJPAProcessException, IOException {
+    final SeekableByteChannel channel = mock(SeekableByteChannel.class);
+    when(channel.size()).thenReturn(3L);
+    when(mediaStorage.read("4711")).thenReturn(channel);
+
+    final SerializerResult act = cut.serialize(new ODataRequest(), createMediaResult("4711"));
+    assertEquals(3L, ((JPAMediaSerializerResult) act).getLength());
+    assertTrue(((JPAMediaSerializerResult) act).getContent(0, 3).isPresent());
+    verify(serializer, never()).binary(any());
+  }
+
+  @Test
+  void testRethrowsStatusOfUnknownStoredMedia() throws ODataJPAProcessException {
+    when(mediaStorage.read("4711")).thenThrow(new ODataJPAProcessorException(
+        ODataJPAProcessorException.MessageKeys.MEDIA_REFERENCE_UNKNOWN, HttpStatusCode.NOT_FOUND, "4711"));
+
+    final ODataJPASerializerException act = assertThrows(ODataJPASerializerException.class, () -> cut.serialize(
+        new ODataRequest(), createMediaResult("4711")));
+    assertEquals(HttpStatusCode.NOT_FOUND.getStatusCode(), act.getStatusCode());
+  }
+
+  private EntityCollection createMediaResult(final Object content) {
+    final EntityCollection results = new EntityCollection();
+    final Entity result = new Entity();
+    final Edm edm = mock(Edm.class);
+    final EdmEntityType edmType = mock(EdmEntityType.class);
+    final EdmKeyPropertyRef key = mock(EdmKeyPropertyRef.class);
+    final UriResourceEntitySet imageOData = mock(UriResourceEntitySet.class);
+    final UriResourceValue valueOData = mock(UriResourceValue.class);
+
+    when(uriInfo.getUriResourceParts()).thenReturn(Arrays.asList(imageOData, valueOData));
+    when(serviceMetadata.getEdm()).thenReturn(edm);
+    when(edm.getEntityType(new FullQualifiedName("com.sap.olingo.jpa.PersonImage"))).thenReturn(edmType);
+    when(edmType.getKeyPropertyRefs()).thenReturn(Arrays.asList(key));
+    when(key.getName()).thenReturn("ID");
+    result.setType("com.sap.olingo.jpa.PersonImage");
+    result.setMediaContentType("image/png");
+    result.getProperties().add(new Property(null, "ID", ValueType.PRIMITIVE, "99"));
+    result.getProperties().add(new Property(null, "Image", ValueType.PRIMITIVE, content));
+    results.getEntities().add(result);
+    return results;
+  }
 }
@@ -18,6 +18,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.persistence.EntityManager;
@@ -130,10 +131,58 @@ public class IntegrationTestHelper {
     this(localEmf, ds, urlPath, requestBody, functionPackage, provider, null, null, null);
   }
 
+  public IntegrationTestHelper(final EntityManagerFactory localEmf, final String urlPath,
+      final boolean useSingleStatementExpand) throws IOException, ODataException {
+    this(localEmf, null, urlPath, null, null, null, null, null, null, useSingleStatementExpand, null);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory localEmf, final String urlPath,
+      final Executor expandExecutor) throws IOException, ODataException {
+    this(localEmf, null, urlPath, null, null, null, null, null, null, false, expandExecutor);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory localEmf, final String urlPath,
+      final JPAODataPagingProvider provider, final boolean useStreamedEntityCollection) throws IOException,
+      ODataException {
+    this(localEmf, null, urlPath, null, null, provider, null, null, null, false, null, useStreamedEntityCollection);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory localEmf, final String urlPath,
+      final JPAODataPagingProvider provider, final boolean useStreamedEntityCollection,
+      final boolean useWindowFunctionCount) throws IOException, ODataException {
+    this(localEmf, null, urlPath, null, null, provider, null, null, null, false, null, useStreamedEntityCollection,
+        useWindowFunctionCount);
+  }
+
   public IntegrationTestHelper(final EntityManagerFactory localEmf, final DataSource ds, final String urlPath,
       final StringBuffer requestBody, final String functionPackage, final JPAODataPagingProvider provider,
       final Map<String, List<String>> headers, final JPAODataClaimsProvider claims, final JPAODataGroupProvider groups)
       throws IOException, ODataException {
+    this(localEmf, ds, urlPath, requestBody, functionPackage, provider, headers, claims, groups, false, null);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory localEmf, final DataSource ds, final String urlPath,
+      final StringBuffer requestBody, final String functionPackage, final JPAODataPagingProvider provider,
+      final Map<String, List<String>> headers, final JPAODataClaimsProvider claims, final JPAODataGroupProvider groups,
+      final boolean useSingleStatementExpand, final Executor expandExecutor) throws IOException, ODataException {
+    this(localEmf, ds, urlPath, requestBody, functionPackage, provider, headers, claims, groups,
+        useSingleStatementExpand, expandExecutor, false);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory localEmf, final DataSource ds, final String urlPath,
+      final StringBuffer requestBody, final String functionPackage, final JPAODataPagingProvider provider,
+      final Map<String, List<String>> headers, final JPAODataClaimsProvider claims, final JPAODataGroupProvider groups,
+      final boolean useSingleStatementExpand, final Executor expandExecutor, final boolean useStreamedEntityCollection)
+      throws IOException, ODataException {
+    this(localEmf, ds, urlPath, requestBody, functionPackage, provider, headers, claims, groups,
+        useSingleStatementExpand, expandExecutor, useStreamedEntityCollection, false);
+  }
+
+  public IntegrationTestHelper(final EntityManagerFactory localEmf, final DataSource ds, final String urlPath,
+      final StringBuffer requestBody, final String functionPackage, final JPAODataPagingProvider provider,
+      final Map<String, List<String>> headers, final JPAODataClaimsProvider claims, final JPAODataGroupProvider groups,
+      final boolean useSingleStatementExpand, final Executor expandExecutor, final boolean useStreamedEntityCollection,
+      final boolean useWindowFunctionCount) throws IOException, ODataException {
 
     super();
     final OData odata = OData.newInstance();
@@ -146,9 +195,11 @@ public class IntegrationTestHelper {
       packages = ArrayUtils.add(packages, functionPackage);
     final JPAEdmProvider edmProvider = new JPAEdmProvider(PUNIT_NAME, localEmf, null, packages);
 
-    final EntityManager em = createEmfWrapper(localEmf, edmProvider).createEntityManager();
+    final EntityManagerFactory wrappedEmf = createEmfWrapper(localEmf, edmProvider);
+    final EntityManager em = wrappedEmf.createEntityManager();
 
     final JPAODataSessionContextAccess sessionContext = new JPAODataContextAccessDouble(edmProvider, ds, provider,
+        useSingleStatementExpand, expandExecutor, wrappedEmf, useStreamedEntityCollection, useWindowFunctionCount,
         functionPackage);
 
     final ODataHttpHandler handler = odata.createHandler(odata.createServiceMetadata(sessionContext.getEdmProvider(),
@@ -225,6 +276,14 @@ public class IntegrationTestHelper {
     return (ObjectNode) value;
   }
 
+  /**
+   * Returns the result with sorted arrays. This allows to compare results that contain rows without a defined order.
+   */
+  public JsonNode getNormalizedResult() throws JsonProcessingException, IOException {
+    final ObjectMapper mapper = new ObjectMapper();
+    return normalize(mapper, mapper.readTree(getRawResult()));
+  }
+
   public ValueNode getSingleValue() throws JsonProcessingException, IOException {
     final ObjectMapper mapper = new ObjectMapper();
     final JsonNode value = mapper.readTree(getRawResult());
@@ -246,6 +305,26 @@ public class IntegrationTestHelper {
 
   }
 
+  private static JsonNode normalize(final ObjectMapper mapper, final JsonNode node) {
+    if (node instanceof ObjectNode) {
+      final ObjectNode object = (ObjectNode) node;
+      final Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+      final ObjectNode normalized = mapper.createObjectNode();
+      while (fields.hasNext()) {
+        final Map.Entry<String, JsonNode> field = fields.next();
+        normalized.set(field.getKey(), normalize(mapper, field.getValue()));
+      }
+      return normalized;
+    }
+    if (node instanceof ArrayNode) {
+      final List<JsonNode> elements = new ArrayList<>();
+      node.forEach(element -> elements.add(normalize(mapper, element)));
+      elements.sort((left, right) -> left.toString().compareTo(right.toString()));
+      return mapper.createArrayNode().addAll(elements);
+    }
+    return node;
+  }
+
   public int getBatchResultStatus(final int i) throws IOException {
     final List<String> result = getRawBatchResult();
     int count = 0;